@@ -0,0 +1,119 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.cardinalityconstraints.CCConfig;
+import org.logicng.cardinalityconstraints.CCEncoder;
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the encodings of cardinality constraints.  The encodings are named by the type of the constraint
+ * ({@code AMO}, {@code AMK}, {@code ALK}, or {@code EXK}) and the encoder of {@link CCConfig}.  At-most-k, at-least-k,
+ * and exactly-k constraints are encoded with {@code k = size / 4}.  A new formula factory is used for each iteration.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CCEncoderBenchmark {
+
+  @Param({"AMO_PURE", "AMO_LADDER", "AMO_PRODUCT", "AMO_NESTED", "AMO_COMMANDER", "AMO_BINARY", "AMO_BIMANDER",
+          "AMK_TOTALIZER", "AMK_MODULAR_TOTALIZER", "AMK_CARDINALITY_NETWORK",
+          "ALK_TOTALIZER", "ALK_MODULAR_TOTALIZER", "ALK_CARDINALITY_NETWORK",
+          "EXK_TOTALIZER", "EXK_CARDINALITY_NETWORK"})
+  public String encoding;
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private CCEncoder encoder;
+  private PBConstraint constraint;
+
+  @Setup(Level.Iteration)
+  public void createConstraint() {
+    final FormulaFactory f = new FormulaFactory();
+    final List<Variable> vars = new ArrayList<>(this.size);
+    for (int i = 0; i < this.size; i++)
+      vars.add(f.variable("v" + i));
+    final String type = this.encoding.substring(0, 3);
+    final String encoder = this.encoding.substring(4);
+    final CCConfig.Builder builder = new CCConfig.Builder();
+    final int k = Math.max(1, this.size / 4);
+    switch (type) {
+      case "AMO":
+        builder.amoEncoding(CCConfig.AMO_ENCODER.valueOf(encoder));
+        this.constraint = f.cc(CType.LE, 1, vars);
+        break;
+      case "AMK":
+        builder.amkEncoding(CCConfig.AMK_ENCODER.valueOf(encoder));
+        this.constraint = f.cc(CType.LE, k, vars);
+        break;
+      case "ALK":
+        builder.alkEncoding(CCConfig.ALK_ENCODER.valueOf(encoder));
+        this.constraint = f.cc(CType.GE, k, vars);
+        break;
+      case "EXK":
+        builder.exkEncoding(CCConfig.EXK_ENCODER.valueOf(encoder));
+        this.constraint = f.cc(CType.EQ, k, vars);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown cardinality constraint type: " + type);
+    }
+    this.encoder = new CCEncoder(f, builder.build());
+  }
+
+  @Benchmark
+  public ImmutableFormulaList encode() {
+    return this.encoder.encode(this.constraint);
+  }
+}
@@ -0,0 +1,98 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.transformations.cnf.CNFConfig;
+import org.logicng.transformations.cnf.CNFEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the CNF encoder on random formulas.  Since formulas cache their CNF, the formulas are generated on a
+ * new formula factory before each invocation (with a fixed seed), only the encoding is measured.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CNFEncoderBenchmark {
+
+  private static final int NUMBER_OF_FORMULAS = 10;
+
+  @Param({"FACTORIZATION", "TSEITIN", "PLAISTED_GREENBAUM", "ADVANCED"})
+  public String algorithm;
+
+  @Param({"3", "5"})
+  public int depth;
+
+  @Param({"10", "50"})
+  public int vars;
+
+  private CNFEncoder encoder;
+  private List<Formula> formulas;
+
+  @Setup(Level.Invocation)
+  public void createFormulas() {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(Instances.SEED);
+    this.formulas = new ArrayList<>(NUMBER_OF_FORMULAS);
+    for (int i = 0; i < NUMBER_OF_FORMULAS; i++)
+      this.formulas.add(Instances.randomFormula(f, random, this.depth, this.vars));
+    this.encoder = new CNFEncoder(f, new CNFConfig.Builder().algorithm(CNFConfig.Algorithm.valueOf(this.algorithm)).build());
+  }
+
+  @Benchmark
+  public List<Formula> encode() {
+    final List<Formula> result = new ArrayList<>(this.formulas.size());
+    for (final Formula formula : this.formulas)
+      result.add(this.encoder.encode(formula));
+    return result;
+  }
+}
@@ -0,0 +1,108 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the construction of formulas in a formula factory.  {@code construct} builds a random 3-CNF on a new
+ * formula factory, i.e. it measures the creation of new formulas.  {@code reconstruct} builds the same 3-CNF again on
+ * a factory which already contains it, i.e. it measures the lookup of existing formulas.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormulaFactoryBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int clauses;
+
+  private FormulaFactory existing;
+
+  @Setup(Level.Trial)
+  public void fillFactory() {
+    this.existing = new FormulaFactory();
+    this.build(this.existing);
+  }
+
+  @TearDown(Level.Trial)
+  public void clearFactory() {
+    this.existing = null;
+  }
+
+  @Benchmark
+  public Formula construct() {
+    return this.build(new FormulaFactory());
+  }
+
+  @Benchmark
+  public Formula reconstruct() {
+    return this.build(this.existing);
+  }
+
+  /**
+   * Builds a random 3-CNF with {@code clauses} clauses over {@code clauses / 4} variables.
+   * @param f the formula factory
+   * @return the 3-CNF
+   */
+  private Formula build(final FormulaFactory f) {
+    final Random random = new Random(Instances.SEED);
+    final int vars = Math.max(3, this.clauses / 4);
+    final List<Formula> cnf = new ArrayList<>(this.clauses);
+    for (int i = 0; i < this.clauses; i++)
+      cnf.add(f.or(f.literal("v" + random.nextInt(vars), random.nextBoolean()),
+              f.literal("v" + random.nextInt(vars), random.nextBoolean()),
+              f.literal("v" + random.nextInt(vars), random.nextBoolean())));
+    return f.and(cnf);
+  }
+}
@@ -0,0 +1,122 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the restriction and substitution of formulas.  {@code restrictClauses} and {@code substituteClauses}
+ * transform each clause of a random 3-CNF separately, i.e. they measure the transformation of shallow formulas.
+ * {@code restrictCNF} and {@code substituteCNF} transform the whole 3-CNF at once.  The assignment and the substitution
+ * cover a quarter of the variables.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormulaTraversalBenchmark {
+
+  @Param({"1000", "10000"})
+  public int clauses;
+
+  private List<Formula> cnf;
+  private Formula conjunction;
+  private Assignment assignment;
+  private Substitution substitution;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(Instances.SEED);
+    final int vars = Math.max(4, this.clauses / 4);
+    this.cnf = new ArrayList<>(this.clauses);
+    for (int i = 0; i < this.clauses; i++)
+      this.cnf.add(f.or(f.literal("v" + random.nextInt(vars), random.nextBoolean()),
+              f.literal("v" + random.nextInt(vars), random.nextBoolean()),
+              f.literal("v" + random.nextInt(vars), random.nextBoolean())));
+    this.conjunction = f.and(this.cnf);
+    final List<Literal> literals = new ArrayList<>();
+    this.substitution = new Substitution();
+    for (int i = 0; i < vars / 4; i++) {
+      final Variable var = f.variable("v" + (4 * i));
+      literals.add(random.nextBoolean() ? var : var.negate());
+      this.substitution.addMapping(var, f.and(f.variable("w" + i), f.variable("w" + (i + 1))));
+    }
+    this.assignment = new Assignment(literals, true);
+  }
+
+  @Benchmark
+  public void restrictClauses(final Blackhole blackhole) {
+    for (final Formula clause : this.cnf)
+      blackhole.consume(clause.restrict(this.assignment));
+  }
+
+  @Benchmark
+  public void substituteClauses(final Blackhole blackhole) {
+    for (final Formula clause : this.cnf)
+      blackhole.consume(clause.substitute(this.substitution));
+  }
+
+  @Benchmark
+  public Formula restrictCNF() {
+    return this.conjunction.restrict(this.assignment);
+  }
+
+  @Benchmark
+  public Formula substituteCNF() {
+    return this.conjunction.substitute(this.substitution);
+  }
+}
@@ -0,0 +1,142 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.readers.DimacsReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Helper methods for loading and generating the instances of the benchmarks.
+ * <p>
+ * The bundled instances are read from the {@code tests} folder of the LogicNG repository.  By default the folder is
+ * expected at {@code ../tests} (i.e. the benchmarks are started from the {@code benchmarks} folder), another location
+ * can be given with the system property {@code logicng.tests}.
+ * @version 1.1
+ * @since 1.1
+ */
+final class Instances {
+
+  /**
+   * The seed for all random instances.
+   */
+  static final long SEED = 42;
+
+  /**
+   * Private constructor.
+   */
+  private Instances() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Returns a bundled instance.
+   * @param folder the folder of the instance in the {@code tests} folder
+   * @param name   the file name of the instance
+   * @return the file of the instance
+   */
+  static File file(final String folder, final String name) {
+    return new File(new File(System.getProperty("logicng.tests", "../tests"), folder), name);
+  }
+
+  /**
+   * Reads the clauses of a DIMACS CNF file as formulas.
+   * @param file the file
+   * @param f    the formula factory
+   * @return the clauses
+   * @throws IOException if the file could not be read
+   */
+  static List<Formula> readClauses(final File file, final FormulaFactory f) throws IOException {
+    final List<Formula> clauses = new ArrayList<>();
+    DimacsReader.read(file, new DimacsReader.ClauseConsumer() {
+      @Override
+      public void header(boolean weighted, int variables, int numberOfClauses, long top) {
+        // the header is not needed
+      }
+
+      @Override
+      public void clause(long weight, final LNGIntVector literals) {
+        final List<Literal> lits = new ArrayList<>(literals.size());
+        for (int i = 0; i < literals.size(); i++)
+          lits.add(f.literal("v" + Math.abs(literals.get(i)), literals.get(i) > 0));
+        clauses.add(f.or(lits));
+      }
+    });
+    return clauses;
+  }
+
+  /**
+   * Generates a random formula with all operators of LogicNG except pseudo-Boolean constraints.
+   * @param f      the formula factory
+   * @param random the random generator
+   * @param depth  the depth of the formula
+   * @param vars   the number of variables
+   * @return the random formula
+   */
+  static Formula randomFormula(final FormulaFactory f, final Random random, int depth, int vars) {
+    if (depth == 0)
+      return f.literal("v" + random.nextInt(vars), random.nextBoolean());
+    switch (random.nextInt(5)) {
+      case 0:
+        return f.and(randomOperands(f, random, depth, vars));
+      case 1:
+        return f.or(randomOperands(f, random, depth, vars));
+      case 2:
+        return f.not(randomFormula(f, random, depth - 1, vars));
+      case 3:
+        return f.implication(randomFormula(f, random, depth - 1, vars), randomFormula(f, random, depth - 1, vars));
+      default:
+        return f.equivalence(randomFormula(f, random, depth - 1, vars), randomFormula(f, random, depth - 1, vars));
+    }
+  }
+
+  /**
+   * Generates two or three random operands for an n-ary operator.
+   * @param f      the formula factory
+   * @param random the random generator
+   * @param depth  the depth of the operator
+   * @param vars   the number of variables
+   * @return the random operands
+   */
+  private static List<Formula> randomOperands(final FormulaFactory f, final Random random, int depth, int vars) {
+    final int n = 2 + random.nextInt(2);
+    final List<Formula> operands = new ArrayList<>(n);
+    for (int i = 0; i < n; i++)
+      operands.add(randomFormula(f, random, depth - 1, vars));
+    return operands;
+  }
+}
@@ -0,0 +1,103 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the MaxSAT algorithms on the bundled instances of {@code tests/maxsat}.  The instance is loaded into a
+ * new solver before each invocation, only the solving is measured.  WMSU3 is not benchmarked, since it does not
+ * support the unweighted instances of {@code tests/maxsat}.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaxSATBenchmark {
+
+  @Param({"wbo", "incWBO", "linearSU", "linearUS", "msu3"})
+  public String algorithm;
+
+  @Param({"c5315-bug-gate-0.dimacs.seq.filtered.cnf", "c6288-bug-gate-0.dimacs.seq.filtered.cnf",
+          "mot_comb1._red-gate-0.dimacs.seq.filtered.cnf"})
+  public String instance;
+
+  private MaxSATSolver solver;
+
+  @Setup(Level.Invocation)
+  public void loadInstance() throws IOException {
+    switch (this.algorithm) {
+      case "wbo":
+        this.solver = MaxSATSolver.wbo();
+        break;
+      case "incWBO":
+        this.solver = MaxSATSolver.incWBO();
+        break;
+      case "linearSU":
+        this.solver = MaxSATSolver.linearSU();
+        break;
+      case "linearUS":
+        this.solver = MaxSATSolver.linearUS();
+        break;
+      case "msu3":
+        this.solver = MaxSATSolver.msu3();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown MaxSAT algorithm: " + this.algorithm);
+    }
+    DimacsReader.readWCNF(Instances.file("maxsat", this.instance), this.solver, new FormulaFactory());
+  }
+
+  @Benchmark
+  public MaxSAT.MaxSATResult solve() {
+    return this.solver.solve();
+  }
+}
@@ -0,0 +1,98 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.collections.ImmutableFormulaList;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.pseudobooleans.PBConfig;
+import org.logicng.pseudobooleans.PBEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the encodings of pseudo-Boolean constraints.  The constraints have random coefficients between 1 and
+ * {@code size} (with a fixed seed) and a right-hand side of half of the sum of the coefficients.  A new formula factory
+ * is used for each iteration.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PBEncoderBenchmark {
+
+  @Param({"SWC", "BINARY_MERGE", "ADDER_NETWORKS"})
+  public String encoding;
+
+  @Param({"10", "50", "200"})
+  public int size;
+
+  private PBEncoder encoder;
+  private PBConstraint constraint;
+
+  @Setup(Level.Iteration)
+  public void createConstraint() {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(Instances.SEED);
+    final Literal[] literals = new Literal[this.size];
+    final int[] coefficients = new int[this.size];
+    int sum = 0;
+    for (int i = 0; i < this.size; i++) {
+      literals[i] = f.literal("v" + i, random.nextBoolean());
+      coefficients[i] = 1 + random.nextInt(this.size);
+      sum += coefficients[i];
+    }
+    this.constraint = f.pbc(CType.LE, sum / 2, literals, coefficients);
+    this.encoder = new PBEncoder(f, new PBConfig.Builder().pbEncoding(PBConfig.PB_ENCODER.valueOf(this.encoding)).build());
+  }
+
+  @Benchmark
+  public ImmutableFormulaList encode() {
+    return this.encoder.encode(this.constraint);
+  }
+}
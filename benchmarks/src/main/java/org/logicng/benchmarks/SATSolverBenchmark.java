@@ -0,0 +1,106 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.benchmarks;
+
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the SAT solvers on the bundled instances of {@code tests/sat}.  Each invocation creates a new solver,
+ * adds the clauses of the instance, and solves them.
+ * @version 1.1
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SATSolverBenchmark {
+
+  @Param({"miniSat", "glucose", "cleaneLingMinimalistic", "cleaneLingFull"})
+  public String solver;
+
+  @Param({"3col40_5_10.shuffled.cnf", "9symml_gr_rcs_w6.shuffled.cnf", "bart30.shuffled.cnf", "ca064.shuffled.cnf",
+          "dp02s02.shuffled.cnf", "term1_gr_rcs_w3.shuffled.cnf"})
+  public String instance;
+
+  private FormulaFactory f;
+  private List<Formula> clauses;
+
+  @Setup(Level.Trial)
+  public void readInstance() throws IOException {
+    this.f = new FormulaFactory();
+    this.clauses = Instances.readClauses(Instances.file("sat", this.instance), this.f);
+  }
+
+  @Benchmark
+  public Tristate solve() {
+    final SATSolver s;
+    switch (this.solver) {
+      case "miniSat":
+        s = MiniSat.miniSat(this.f);
+        break;
+      case "glucose":
+        s = MiniSat.glucose(this.f);
+        break;
+      case "cleaneLingMinimalistic":
+        s = CleaneLing.minimalistic(this.f);
+        break;
+      case "cleaneLingFull":
+        s = CleaneLing.full(this.f);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown solver: " + this.solver);
+    }
+    s.add(this.clauses);
+    return s.sat();
+  }
+}
@@ -0,0 +1,307 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.bdds;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A binary decision diagram (BDD) of a {@link BDDFactory}.
+ * <p>
+ * The function of a BDD never changes.  Since the nodes of a factory are unique, two BDDs of the same factory are equal
+ * iff they represent the same Boolean function, so equivalence and validity checks are constant time operations.
+ * <p>
+ * A BDD keeps its nodes alive in the factory until it is released by {@link #free()}.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class BDD {
+
+  private final int index;
+  private final BDDFactory factory;
+  private boolean freed;
+
+  /**
+   * Constructs a new BDD.
+   * @param index   the index of the root node in the kernel
+   * @param factory the factory
+   */
+  BDD(final int index, final BDDFactory factory) {
+    this.index = index;
+    this.factory = factory;
+  }
+
+  /**
+   * Returns the index of the root node in the kernel.
+   * @return the index
+   */
+  int index() {
+    return this.index;
+  }
+
+  /**
+   * Returns the factory of this BDD.
+   * @return the factory
+   */
+  public BDDFactory factory() {
+    return this.factory;
+  }
+
+  /**
+   * Returns the conjunction of this BDD and another BDD.
+   * @param other the other BDD
+   * @return the conjunction
+   */
+  public BDD and(final BDD other) {
+    return this.apply(BDDKernel.OP_AND, other);
+  }
+
+  /**
+   * Returns the disjunction of this BDD and another BDD.
+   * @param other the other BDD
+   * @return the disjunction
+   */
+  public BDD or(final BDD other) {
+    return this.apply(BDDKernel.OP_OR, other);
+  }
+
+  /**
+   * Returns the implication from this BDD to another BDD.
+   * @param other the other BDD
+   * @return the implication
+   */
+  public BDD implies(final BDD other) {
+    return this.apply(BDDKernel.OP_IMP, other);
+  }
+
+  /**
+   * Returns the equivalence of this BDD and another BDD.
+   * @param other the other BDD
+   * @return the equivalence
+   */
+  public BDD equivalence(final BDD other) {
+    return this.apply(BDDKernel.OP_EQUIV, other);
+  }
+
+  /**
+   * Returns the negation of this BDD.
+   * @return the negation
+   */
+  public BDD negate() {
+    return this.factory.wrap(this.factory.kernel().not(this.index));
+  }
+
+  /**
+   * Existentially quantifies the given variables in this BDD.
+   * @param variables the variables
+   * @return the result
+   */
+  public BDD exists(final Collection<Variable> variables) {
+    final boolean[] vars = new boolean[this.factory.kernel().numVars()];
+    for (final Variable var : variables) {
+      final int idx = this.factory.knownIndex(var);
+      if (idx != -1)
+        vars[idx] = true;
+    }
+    return this.factory.wrap(this.factory.kernel().exists(this.index, vars));
+  }
+
+  /**
+   * Existentially quantifies the given variables in this BDD.
+   * @param variables the variables
+   * @return the result
+   */
+  public BDD exists(final Variable... variables) {
+    return this.exists(Arrays.asList(variables));
+  }
+
+  /**
+   * Universally quantifies the given variables in this BDD.
+   * @param variables the variables
+   * @return the result
+   */
+  public BDD forall(final Collection<Variable> variables) {
+    return this.negate().exists(variables).negate();
+  }
+
+  /**
+   * Restricts this BDD by the given literals.
+   * @param literals the literals
+   * @return the result
+   */
+  public BDD restrict(final Collection<? extends Literal> literals) {
+    final int[] values = new int[this.factory.kernel().numVars()];
+    Arrays.fill(values, -1);
+    for (final Literal lit : literals) {
+      final int idx = this.factory.knownIndex(lit.variable());
+      if (idx != -1)
+        values[idx] = lit.phase() ? 1 : 0;
+    }
+    return this.factory.wrap(this.factory.kernel().restrict(this.index, values));
+  }
+
+  /**
+   * Restricts this BDD by the given literals.
+   * @param literals the literals
+   * @return the result
+   */
+  public BDD restrict(final Literal... literals) {
+    return this.restrict(Arrays.asList(literals));
+  }
+
+  /**
+   * Returns whether this BDD is the constant {@code true}.
+   * @return {@code true} if this BDD is a tautology, {@code false} otherwise
+   */
+  public boolean isTautology() {
+    return this.index == BDDKernel.BDD_TRUE;
+  }
+
+  /**
+   * Returns whether this BDD is the constant {@code false}.
+   * @return {@code true} if this BDD is a contradiction, {@code false} otherwise
+   */
+  public boolean isContradiction() {
+    return this.index == BDDKernel.BDD_FALSE;
+  }
+
+  /**
+   * Returns the number of models of this BDD wrt. all variables of its factory.
+   * @return the number of models
+   */
+  public BigInteger modelCount() {
+    return this.factory.kernel().modelCount(this.index);
+  }
+
+  /**
+   * Returns the number of inner nodes of this BDD.
+   * @return the number of nodes
+   */
+  public int nodeCount() {
+    return this.factory.kernel().nodeCount(this.index);
+  }
+
+  /**
+   * Returns a CNF of this BDD with one clause for each path to the terminal {@code false}.
+   * @return the CNF
+   */
+  public Formula cnf() {
+    final List<Formula> clauses = new ArrayList<>();
+    this.paths(this.index, BDDKernel.BDD_FALSE, new ArrayList<Literal>(), clauses);
+    return this.factory.formulaFactory().and(clauses);
+  }
+
+  /**
+   * Returns a DNF of this BDD with one term for each path to the terminal {@code true}.
+   * @return the DNF
+   */
+  public Formula dnf() {
+    final List<Formula> terms = new ArrayList<>();
+    this.paths(this.index, BDDKernel.BDD_TRUE, new ArrayList<Literal>(), terms);
+    return this.factory.formulaFactory().or(terms);
+  }
+
+  /**
+   * Collects the paths from a node to a terminal.  For the terminal {@code true} each path is added as a conjunction of
+   * its literals, for the terminal {@code false} as a disjunction of the negated literals.
+   * @param node     the node
+   * @param terminal the terminal
+   * @param path     the current path
+   * @param result   the collected paths
+   */
+  private void paths(final int node, final int terminal, final List<Literal> path, final List<Formula> result) {
+    final FormulaFactory f = this.factory.formulaFactory();
+    if (node < 2) {
+      if (node != terminal)
+        return;
+      if (terminal == BDDKernel.BDD_TRUE)
+        result.add(f.and(path));
+      else {
+        final List<Literal> negated = new ArrayList<>(path.size());
+        for (final Literal lit : path)
+          negated.add(lit.negate());
+        result.add(f.or(negated));
+      }
+      return;
+    }
+    final BDDKernel kernel = this.factory.kernel();
+    final Variable var = this.factory.variable(kernel.var(node));
+    path.add(var.negate());
+    this.paths(kernel.low(node), terminal, path, result);
+    path.set(path.size() - 1, var);
+    this.paths(kernel.high(node), terminal, path, result);
+    path.remove(path.size() - 1);
+  }
+
+  private BDD apply(final int op, final BDD other) {
+    if (other.factory != this.factory)
+      throw new IllegalArgumentException("Cannot combine BDDs of different factories");
+    return this.factory.wrap(this.factory.kernel().apply(op, this.index, other.index));
+  }
+
+  /**
+   * Releases the nodes of this BDD in its factory so that they can be garbage collected if they are not used by other
+   * BDDs.  This BDD must not be used anymore afterwards.  Releasing a BDD a second time has no effect.
+   */
+  public void free() {
+    if (!this.freed) {
+      this.freed = true;
+      this.factory.kernel().delRef(this.index);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.factory.hashCode() + this.index;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other)
+      return true;
+    if (other instanceof BDD) {
+      final BDD o = (BDD) other;
+      return this.factory == o.factory && this.index == o.index;
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BDD{index=%d, nodes=%d}", this.index, this.nodeCount());
+  }
+}
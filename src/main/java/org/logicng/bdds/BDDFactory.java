@@ -0,0 +1,405 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.bdds;
+
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Not;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A factory for binary decision diagrams (BDDs).
+ * <p>
+ * All BDDs of a factory share the nodes of one {@link BDDKernel}, so each Boolean function is represented by exactly
+ * one node and two BDDs of a factory are equivalent iff they are equal.  Variables are registered on their first use
+ * and placed below all known variables.  An initial variable order can be given by {@link #addVariables(Collection)}
+ * and improved later by {@link #reorder()}.
+ * <p>
+ * Each BDD handed out by a factory holds an external reference to its root node.  Since Java offers no reliable hook
+ * when a {@link BDD} object is unreachable, BDDs which are not needed anymore should be released by {@link BDD#free()}
+ * so that their nodes can be garbage collected.  Intermediate results of the operations are released by the factory
+ * itself.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class BDDFactory {
+
+  private final FormulaFactory f;
+  private final BDDKernel kernel;
+  private final Map<Variable, Integer> var2idx;
+  private final List<Variable> idx2var;
+
+  /**
+   * Constructs a new BDD factory with default table sizes.
+   * @param f the formula factory
+   */
+  public BDDFactory(final FormulaFactory f) {
+    this(f, 10000, 10000);
+  }
+
+  /**
+   * Constructs a new BDD factory.
+   * @param f         the formula factory
+   * @param nodeSize  the initial size of the node table
+   * @param cacheSize the size of the operation cache
+   */
+  public BDDFactory(final FormulaFactory f, final int nodeSize, final int cacheSize) {
+    this.f = f;
+    this.kernel = new BDDKernel(nodeSize, cacheSize);
+    this.var2idx = new HashMap<>();
+    this.idx2var = new ArrayList<>();
+  }
+
+  /**
+   * Registers the given variables in their order below all known variables.  Variables which are already known are
+   * ignored.
+   * @param variables the variables
+   */
+  public void addVariables(final Collection<Variable> variables) {
+    for (final Variable var : variables)
+      this.index(var);
+  }
+
+  /**
+   * Returns the current variable order from the top to the bottom level.
+   * @return the variable order
+   */
+  public List<Variable> variableOrder() {
+    final List<Variable> order = new ArrayList<>(this.idx2var.size());
+    for (int level = 0; level < this.kernel.numVars(); level++)
+      order.add(this.idx2var.get(this.kernel.varAt(level)));
+    return order;
+  }
+
+  /**
+   * Reorders the variables by sifting in order to minimize the number of nodes of all BDDs of this factory.  All BDDs
+   * stay valid.
+   */
+  public void reorder() {
+    this.kernel.reorder();
+  }
+
+  /**
+   * Returns the number of nodes of all BDDs of this factory.
+   * @return the number of nodes
+   */
+  public int nodeCount() {
+    return this.kernel.liveNodes();
+  }
+
+  /**
+   * Returns the BDD for the constant {@code true}.
+   * @return the BDD
+   */
+  public BDD verum() {
+    return this.wrap(BDDKernel.BDD_TRUE);
+  }
+
+  /**
+   * Returns the BDD for the constant {@code false}.
+   * @return the BDD
+   */
+  public BDD falsum() {
+    return this.wrap(BDDKernel.BDD_FALSE);
+  }
+
+  /**
+   * Returns the BDD for a literal.
+   * @param literal the literal
+   * @return the BDD
+   */
+  public BDD literal(final Literal literal) {
+    return this.wrap(this.kernel.ithVar(this.index(literal.variable()), literal.phase()));
+  }
+
+  /**
+   * Builds the BDD for a formula.
+   * @param formula the formula
+   * @return the BDD
+   */
+  public BDD build(final Formula formula) {
+    final Map<Formula, Integer> uses = new HashMap<>();
+    countUses(formula, uses);
+    final Map<Formula, Integer> cache = new HashMap<>();
+    final int node = this.build(formula, cache, uses);
+    final BDD result = this.wrap(node);
+    for (final int n : cache.values())
+      this.kernel.delRef(n);
+    return result;
+  }
+
+  /**
+   * Counts for each sub-formula how often it is an operand of a distinct sub-formula.  The root is counted once.
+   * @param formula the formula
+   * @param uses    the number of uses for each sub-formula
+   */
+  private static void countUses(final Formula formula, final Map<Formula, Integer> uses) {
+    if (formula.type() == FType.TRUE || formula.type() == FType.FALSE)
+      return;
+    final Integer count = uses.get(formula);
+    uses.put(formula, count == null ? 1 : count + 1);
+    if (count != null || formula.type() == FType.LITERAL || formula.type() == FType.PBC)
+      return;
+    for (final Formula op : formula)
+      countUses(op, uses);
+  }
+
+  /**
+   * Recursively builds the BDD for a formula.  All nodes in the cache carry an external reference which is removed as
+   * soon as the last parent of the sub-formula was built.
+   * @param formula the formula
+   * @param cache   the cache for sub-formulas
+   * @param uses    the remaining number of uses for each sub-formula
+   * @return the node
+   */
+  private int build(final Formula formula, final Map<Formula, Integer> cache, final Map<Formula, Integer> uses) {
+    final Integer cached = cache.get(formula);
+    if (cached != null)
+      return cached;
+    final int result;
+    switch (formula.type()) {
+      case FALSE:
+        return BDDKernel.BDD_FALSE;
+      case TRUE:
+        return BDDKernel.BDD_TRUE;
+      case LITERAL:
+        final Literal lit = (Literal) formula;
+        result = this.kernel.addRef(this.kernel.ithVar(this.index(lit.variable()), lit.phase()));
+        break;
+      case NOT:
+        final Formula operand = ((Not) formula).operand();
+        result = this.kernel.addRef(this.kernel.not(this.build(operand, cache, uses)));
+        this.release(operand, cache, uses);
+        break;
+      case IMPL:
+      case EQUIV:
+        final BinaryOperator binary = (BinaryOperator) formula;
+        final int left = this.build(binary.left(), cache, uses);
+        final int right = this.build(binary.right(), cache, uses);
+        final int binOp = formula.type() == FType.IMPL ? BDDKernel.OP_IMP : BDDKernel.OP_EQUIV;
+        result = this.kernel.addRef(this.kernel.apply(binOp, left, right));
+        this.release(binary.left(), cache, uses);
+        this.release(binary.right(), cache, uses);
+        break;
+      case AND:
+      case OR:
+        final int op = formula.type() == FType.AND ? BDDKernel.OP_AND : BDDKernel.OP_OR;
+        final Iterator<Formula> it = formula.iterator();
+        final Formula first = it.next();
+        int current = this.kernel.addRef(this.build(first, cache, uses));
+        this.release(first, cache, uses);
+        while (it.hasNext()) {
+          final Formula nextOperand = it.next();
+          final int next = this.kernel.addRef(this.kernel.apply(op, current, this.build(nextOperand, cache, uses)));
+          this.kernel.delRef(current);
+          this.release(nextOperand, cache, uses);
+          current = next;
+        }
+        result = current;
+        break;
+      case PBC:
+        result = this.kernel.addRef(this.buildPBC((PBConstraint) formula));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+    cache.put(formula, result);
+    return result;
+  }
+
+  /**
+   * Records that a parent of a sub-formula was built and releases the node of the sub-formula if this was its last
+   * parent.
+   * @param formula the sub-formula
+   * @param cache   the cache for sub-formulas
+   * @param uses    the remaining number of uses for each sub-formula
+   */
+  private void release(final Formula formula, final Map<Formula, Integer> cache, final Map<Formula, Integer> uses) {
+    final Integer count = uses.get(formula);
+    if (count == null)
+      return;
+    if (count > 1) {
+      uses.put(formula, count - 1);
+      return;
+    }
+    uses.remove(formula);
+    final Integer node = cache.remove(formula);
+    if (node != null)
+      this.kernel.delRef(node);
+  }
+
+  /**
+   * Builds the BDD for a pseudo-Boolean constraint by deciding the literals one after another.  Partial sums for which
+   * the comparator is already decided are replaced by a constant.
+   * @param pbc the pseudo-Boolean constraint
+   * @return the node
+   */
+  private int buildPBC(final PBConstraint pbc) {
+    final Literal[] lits = pbc.operands();
+    final int[] coeffs = pbc.coefficients();
+    final int[] minRest = new int[lits.length + 1];
+    final int[] maxRest = new int[lits.length + 1];
+    for (int i = lits.length - 1; i >= 0; i--) {
+      minRest[i] = minRest[i + 1] + Math.min(coeffs[i], 0);
+      maxRest[i] = maxRest[i + 1] + Math.max(coeffs[i], 0);
+    }
+    final List<Map<Integer, Integer>> memo = new ArrayList<>(lits.length);
+    for (int i = 0; i < lits.length; i++)
+      memo.add(new HashMap<Integer, Integer>());
+    final int result = this.buildPBC(pbc, lits, coeffs, minRest, maxRest, 0, 0, memo);
+    for (final Map<Integer, Integer> level : memo)
+      for (final int n : level.values())
+        this.kernel.delRef(n);
+    return result;
+  }
+
+  private int buildPBC(final PBConstraint pbc, final Literal[] lits, final int[] coeffs, final int[] minRest,
+                       final int[] maxRest, final int i, final int sum, final List<Map<Integer, Integer>> memo) {
+    if (i == lits.length)
+      return evaluateComparator(pbc, sum) ? BDDKernel.BDD_TRUE : BDDKernel.BDD_FALSE;
+    if (pbc.comparator() == CType.EQ) {
+      if (pbc.rhs() < sum + minRest[i] || pbc.rhs() > sum + maxRest[i])
+        return BDDKernel.BDD_FALSE;
+    } else {
+      final boolean minHolds = evaluateComparator(pbc, sum + minRest[i]);
+      if (minHolds == evaluateComparator(pbc, sum + maxRest[i]))
+        return minHolds ? BDDKernel.BDD_TRUE : BDDKernel.BDD_FALSE;
+    }
+    final Integer cached = memo.get(i).get(sum);
+    if (cached != null)
+      return cached;
+    final int high = this.kernel.addRef(this.buildPBC(pbc, lits, coeffs, minRest, maxRest, i + 1, sum + coeffs[i], memo));
+    final int low = this.kernel.addRef(this.buildPBC(pbc, lits, coeffs, minRest, maxRest, i + 1, sum, memo));
+    final int var = this.index(lits[i].variable());
+    final int positive = this.kernel.addRef(this.kernel.apply(BDDKernel.OP_AND,
+            this.kernel.ithVar(var, lits[i].phase()), high));
+    final int negative = this.kernel.addRef(this.kernel.apply(BDDKernel.OP_AND,
+            this.kernel.ithVar(var, !lits[i].phase()), low));
+    final int result = this.kernel.addRef(this.kernel.apply(BDDKernel.OP_OR, positive, negative));
+    this.kernel.delRef(high);
+    this.kernel.delRef(low);
+    this.kernel.delRef(positive);
+    this.kernel.delRef(negative);
+    memo.get(i).put(sum, result);
+    return result;
+  }
+
+  private static boolean evaluateComparator(final PBConstraint pbc, final int lhs) {
+    switch (pbc.comparator()) {
+      case EQ:
+        return lhs == pbc.rhs();
+      case LE:
+        return lhs <= pbc.rhs();
+      case LT:
+        return lhs < pbc.rhs();
+      case GE:
+        return lhs >= pbc.rhs();
+      case GT:
+        return lhs > pbc.rhs();
+      default:
+        throw new IllegalStateException("Unknown pseudo-Boolean comparator: " + pbc.comparator());
+    }
+  }
+
+  /**
+   * Returns the kernel of this factory.
+   * @return the kernel
+   */
+  BDDKernel kernel() {
+    return this.kernel;
+  }
+
+  /**
+   * Returns the formula factory of this factory.
+   * @return the formula factory
+   */
+  FormulaFactory formulaFactory() {
+    return this.f;
+  }
+
+  /**
+   * Returns the variable with the given kernel index.
+   * @param index the index
+   * @return the variable
+   */
+  Variable variable(final int index) {
+    return this.idx2var.get(index);
+  }
+
+  /**
+   * Returns the kernel index of a variable and registers it if it is unknown.
+   * @param var the variable
+   * @return the index
+   */
+  private int index(final Variable var) {
+    Integer index = this.var2idx.get(var);
+    if (index == null) {
+      index = this.kernel.addVariable();
+      this.var2idx.put(var, index);
+      this.idx2var.add(var);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the kernel index of a known variable.
+   * @param var the variable
+   * @return the index or -1 if the variable is unknown
+   */
+  int knownIndex(final Variable var) {
+    final Integer index = this.var2idx.get(var);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Wraps a node as BDD and registers an external reference for it.
+   * @param node the node
+   * @return the BDD
+   */
+  BDD wrap(final int node) {
+    return new BDD(this.kernel.addRef(node), this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BDDFactory{variables=%d, nodes=%d}", this.idx2var.size(), this.nodeCount());
+  }
+}
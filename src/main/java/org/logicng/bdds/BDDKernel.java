@@ -0,0 +1,795 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.bdds;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The kernel of the BDD package.
+ * <p>
+ * All nodes are stored in primitive int arrays and identified by their index.  The indices {@code 0} and {@code 1} are
+ * the terminal nodes {@code false} and {@code true}.  A node stores its variable, not its level, so a variable can
+ * change its level during reordering without touching the nodes of other variables.  A unique table guarantees that
+ * there are never two nodes with the same variable and children.  The results of the binary operations and the
+ * negation are stored in a computed table with a fixed size which is overwritten on collisions.
+ * <p>
+ * Nodes which are referenced from outside the kernel must be registered with {@link #addRef(int)}.  All other nodes
+ * are garbage collected when the node table is full.  Intermediate results of the recursive operations are protected
+ * by a reference stack.
+ * <p>
+ * The variables can be reordered by sifting: each variable is moved through all levels by swapping adjacent levels in
+ * place and is then placed at the level with the fewest nodes.  During reordering the kernel keeps a list of the nodes
+ * of each variable, so a swap only visits the nodes of the two swapped levels.
+ * @version 1.1
+ * @since 1.1
+ */
+final class BDDKernel {
+
+  static final int BDD_FALSE = 0;
+  static final int BDD_TRUE = 1;
+
+  static final int OP_AND = 0;
+  static final int OP_OR = 1;
+  static final int OP_IMP = 2;
+  static final int OP_EQUIV = 3;
+  private static final int OP_NOT = 4;
+
+  private static final int FREE = -1;
+  private static final double MAX_GROWTH = 1.2;
+
+  private int[] var;
+  private int[] low;
+  private int[] high;
+  private int[] refs;
+  private int[] hash;
+  private int[] next;
+  private int freePos;
+  private int freeNum;
+  private int nodeSize;
+
+  private int numVars;
+  private int[] var2level;
+  private int[] level2var;
+
+  private final int[] cacheOp;
+  private final int[] cacheA;
+  private final int[] cacheB;
+  private final int[] cacheRes;
+
+  private int[] refStack;
+  private int refStackTop;
+
+  private boolean reordering;
+  private int[] internalRefs;
+  private int liveNodes;
+  private int[][] varNodes;
+  private int[] varNodeCount;
+  private int[] varNodePos;
+
+  /**
+   * Constructs a new kernel.
+   * @param nodeSize  the initial size of the node table
+   * @param cacheSize the size of the computed table
+   */
+  BDDKernel(final int nodeSize, final int cacheSize) {
+    this.nodeSize = Math.max(nodeSize, 16);
+    this.var = new int[this.nodeSize];
+    this.low = new int[this.nodeSize];
+    this.high = new int[this.nodeSize];
+    this.refs = new int[this.nodeSize];
+    this.hash = new int[this.nodeSize];
+    this.next = new int[this.nodeSize];
+    Arrays.fill(this.hash, -1);
+    for (int i = 2; i < this.nodeSize; i++) {
+      this.low[i] = FREE;
+      this.next[i] = i + 1;
+    }
+    this.next[this.nodeSize - 1] = -1;
+    this.freePos = 2;
+    this.freeNum = this.nodeSize - 2;
+    this.var[BDD_FALSE] = -1;
+    this.var[BDD_TRUE] = -1;
+    this.low[BDD_TRUE] = BDD_TRUE;
+    this.high[BDD_TRUE] = BDD_TRUE;
+    this.var2level = new int[16];
+    this.level2var = new int[16];
+    final int size = Math.max(cacheSize, 16);
+    this.cacheOp = new int[size];
+    this.cacheA = new int[size];
+    this.cacheB = new int[size];
+    this.cacheRes = new int[size];
+    this.clearCache();
+    this.refStack = new int[64];
+  }
+
+  /**
+   * Adds a new variable at the lowest level.
+   * @return the index of the new variable
+   */
+  int addVariable() {
+    if (this.numVars == this.var2level.length) {
+      this.var2level = Arrays.copyOf(this.var2level, 2 * this.numVars);
+      this.level2var = Arrays.copyOf(this.level2var, 2 * this.numVars);
+    }
+    this.var2level[this.numVars] = this.numVars;
+    this.level2var[this.numVars] = this.numVars;
+    return this.numVars++;
+  }
+
+  /**
+   * Returns the number of variables.
+   * @return the number of variables
+   */
+  int numVars() {
+    return this.numVars;
+  }
+
+  /**
+   * Returns the variable of a node or -1 for a terminal node.
+   * @param node the node
+   * @return the variable
+   */
+  int var(final int node) {
+    return this.var[node];
+  }
+
+  /**
+   * Returns the low (false) child of a node.
+   * @param node the node
+   * @return the low child
+   */
+  int low(final int node) {
+    return this.low[node];
+  }
+
+  /**
+   * Returns the high (true) child of a node.
+   * @param node the node
+   * @return the high child
+   */
+  int high(final int node) {
+    return this.high[node];
+  }
+
+  /**
+   * Returns the level of a node.  The terminal nodes are at the level {@link #numVars()}.
+   * @param node the node
+   * @return the level
+   */
+  int level(final int node) {
+    return node < 2 ? this.numVars : this.var2level[this.var[node]];
+  }
+
+  /**
+   * Returns the level of a variable.
+   * @param var the variable
+   * @return the level
+   */
+  int levelOf(final int var) {
+    return this.var2level[var];
+  }
+
+  /**
+   * Returns the variable at a level.
+   * @param level the level
+   * @return the variable
+   */
+  int varAt(final int level) {
+    return this.level2var[level];
+  }
+
+  /**
+   * Registers an external reference to a node.  A referenced node and all its descendants are never garbage collected.
+   * @param node the node
+   * @return the node
+   */
+  int addRef(final int node) {
+    if (node >= 2)
+      this.refs[node]++;
+    return node;
+  }
+
+  /**
+   * Removes an external reference to a node.
+   * @param node the node
+   */
+  void delRef(final int node) {
+    if (node >= 2 && this.refs[node] > 0)
+      this.refs[node]--;
+  }
+
+  /**
+   * Returns the node for a single variable.
+   * @param var   the variable
+   * @param phase the phase
+   * @return the node
+   */
+  int ithVar(final int var, final boolean phase) {
+    return phase ? this.mk(var, BDD_FALSE, BDD_TRUE) : this.mk(var, BDD_TRUE, BDD_FALSE);
+  }
+
+  /**
+   * Returns the node with the given variable and children.  The children must be protected by the reference stack or
+   * by external references.
+   * @param var  the variable
+   * @param low  the low child
+   * @param high the high child
+   * @return the node
+   */
+  int mk(final int var, final int low, final int high) {
+    if (low == high)
+      return low;
+    int bucket = this.bucket(var, low, high);
+    for (int n = this.hash[bucket]; n != -1; n = this.next[n])
+      if (this.var[n] == var && this.low[n] == low && this.high[n] == high)
+        return n;
+    if (this.freePos == -1) {
+      if (this.reordering)
+        this.resize();
+      else {
+        this.push(low);
+        this.push(high);
+        this.gc();
+        this.pop(2);
+        if (this.freeNum < this.nodeSize / 5)
+          this.resize();
+      }
+      bucket = this.bucket(var, low, high);
+    }
+    final int node = this.freePos;
+    this.freePos = this.next[node];
+    this.freeNum--;
+    this.var[node] = var;
+    this.low[node] = low;
+    this.high[node] = high;
+    this.next[node] = this.hash[bucket];
+    this.hash[bucket] = node;
+    if (this.reordering) {
+      this.liveNodes++;
+      this.internalRefs[low]++;
+      this.internalRefs[high]++;
+      this.addToVarNodes(node);
+    }
+    return node;
+  }
+
+  /**
+   * Applies a binary operation to two nodes.
+   * @param op the operation
+   * @param a  the first node
+   * @param b  the second node
+   * @return the result
+   */
+  int apply(final int op, final int a, final int b) {
+    this.push(a);
+    this.push(b);
+    final int result = this.applyRec(op, a, b);
+    this.pop(2);
+    return result;
+  }
+
+  private int applyRec(final int op, final int a, final int b) {
+    switch (op) {
+      case OP_AND:
+        if (a == BDD_FALSE || b == BDD_FALSE)
+          return BDD_FALSE;
+        if (a == BDD_TRUE || a == b)
+          return b;
+        if (b == BDD_TRUE)
+          return a;
+        break;
+      case OP_OR:
+        if (a == BDD_TRUE || b == BDD_TRUE)
+          return BDD_TRUE;
+        if (a == BDD_FALSE || a == b)
+          return b;
+        if (b == BDD_FALSE)
+          return a;
+        break;
+      case OP_IMP:
+        if (a == BDD_FALSE || b == BDD_TRUE || a == b)
+          return BDD_TRUE;
+        if (a == BDD_TRUE)
+          return b;
+        break;
+      case OP_EQUIV:
+        if (a == b)
+          return BDD_TRUE;
+        if (a < 2 && b < 2)
+          return BDD_FALSE;
+        if (a == BDD_TRUE)
+          return b;
+        if (b == BDD_TRUE)
+          return a;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown BDD operation: " + op);
+    }
+    final int first = op != OP_IMP && b < a ? b : a;
+    final int second = first == a ? b : a;
+    final int entry = this.cacheIndex(op, first, second);
+    if (this.cacheOp[entry] == op && this.cacheA[entry] == first && this.cacheB[entry] == second)
+      return this.cacheRes[entry];
+    final int levelA = this.level(a);
+    final int levelB = this.level(b);
+    final int result;
+    if (levelA == levelB)
+      result = this.combine(this.var[a], this.push(this.applyRec(op, this.low[a], this.low[b])),
+              this.push(this.applyRec(op, this.high[a], this.high[b])));
+    else if (levelA < levelB)
+      result = this.combine(this.var[a], this.push(this.applyRec(op, this.low[a], b)),
+              this.push(this.applyRec(op, this.high[a], b)));
+    else
+      result = this.combine(this.var[b], this.push(this.applyRec(op, a, this.low[b])),
+              this.push(this.applyRec(op, a, this.high[b])));
+    this.store(entry, op, first, second, result);
+    return result;
+  }
+
+  /**
+   * Returns the negation of a node.
+   * @param a the node
+   * @return the negation
+   */
+  int not(final int a) {
+    this.push(a);
+    final int result = this.notRec(a);
+    this.pop(1);
+    return result;
+  }
+
+  private int notRec(final int a) {
+    if (a < 2)
+      return 1 - a;
+    final int entry = this.cacheIndex(OP_NOT, a, 0);
+    if (this.cacheOp[entry] == OP_NOT && this.cacheA[entry] == a)
+      return this.cacheRes[entry];
+    final int result = this.combine(this.var[a], this.push(this.notRec(this.low[a])), this.push(this.notRec(this.high[a])));
+    this.store(entry, OP_NOT, a, 0, result);
+    return result;
+  }
+
+  /**
+   * Existentially quantifies the given variables in a node.
+   * @param a    the node
+   * @param vars the variables to quantify, indexed by variable
+   * @return the result
+   */
+  int exists(final int a, final boolean[] vars) {
+    int lastLevel = -1;
+    for (int v = 0; v < vars.length; v++)
+      if (vars[v])
+        lastLevel = Math.max(lastLevel, this.var2level[v]);
+    final int stackTop = this.refStackTop;
+    this.push(a);
+    final int result = this.exists(a, vars, lastLevel, new HashMap<Integer, Integer>());
+    this.refStackTop = stackTop;
+    return result;
+  }
+
+  private int exists(final int a, final boolean[] vars, final int lastLevel, final Map<Integer, Integer> memo) {
+    if (a < 2 || this.level(a) > lastLevel)
+      return a;
+    final Integer cached = memo.get(a);
+    if (cached != null)
+      return cached;
+    final int l = this.push(this.exists(this.low[a], vars, lastLevel, memo));
+    final int h = this.push(this.exists(this.high[a], vars, lastLevel, memo));
+    final int result = this.var[a] < vars.length && vars[this.var[a]] ? this.applyRec(OP_OR, l, h) : this.mk(this.var[a], l, h);
+    memo.put(a, this.push(result));
+    return result;
+  }
+
+  /**
+   * Restricts a node by a partial assignment.
+   * @param a      the node
+   * @param values the values by variable: 1 for true, 0 for false and -1 for unassigned variables
+   * @return the result
+   */
+  int restrict(final int a, final int[] values) {
+    final int stackTop = this.refStackTop;
+    this.push(a);
+    final int result = this.restrict(a, values, new HashMap<Integer, Integer>());
+    this.refStackTop = stackTop;
+    return result;
+  }
+
+  private int restrict(final int a, final int[] values, final Map<Integer, Integer> memo) {
+    if (a < 2)
+      return a;
+    final Integer cached = memo.get(a);
+    if (cached != null)
+      return cached;
+    final int value = this.var[a] < values.length ? values[this.var[a]] : -1;
+    final int result;
+    if (value == 1)
+      result = this.restrict(this.high[a], values, memo);
+    else if (value == 0)
+      result = this.restrict(this.low[a], values, memo);
+    else
+      result = this.mk(this.var[a], this.push(this.restrict(this.low[a], values, memo)),
+              this.push(this.restrict(this.high[a], values, memo)));
+    memo.put(a, this.push(result));
+    return result;
+  }
+
+  /**
+   * Returns the number of models of a node wrt. all variables of the kernel.
+   * @param a the node
+   * @return the number of models
+   */
+  BigInteger modelCount(final int a) {
+    return this.modelCount(a, new HashMap<Integer, BigInteger>()).shiftLeft(this.level(a));
+  }
+
+  private BigInteger modelCount(final int a, final Map<Integer, BigInteger> memo) {
+    if (a < 2)
+      return a == BDD_TRUE ? BigInteger.ONE : BigInteger.ZERO;
+    BigInteger count = memo.get(a);
+    if (count == null) {
+      final int level = this.level(a);
+      count = this.modelCount(this.low[a], memo).shiftLeft(this.level(this.low[a]) - level - 1)
+              .add(this.modelCount(this.high[a], memo).shiftLeft(this.level(this.high[a]) - level - 1));
+      memo.put(a, count);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of inner nodes reachable from a node.
+   * @param a the node
+   * @return the number of nodes
+   */
+  int nodeCount(final int a) {
+    final boolean[] marked = new boolean[this.nodeSize];
+    int count = 0;
+    final List<Integer> stack = new ArrayList<>();
+    stack.add(a);
+    while (!stack.isEmpty()) {
+      final int n = stack.remove(stack.size() - 1);
+      if (n < 2 || marked[n])
+        continue;
+      marked[n] = true;
+      count++;
+      stack.add(this.low[n]);
+      stack.add(this.high[n]);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of live inner nodes, i.e. nodes reachable from an externally referenced node.
+   * @return the number of live nodes
+   */
+  int liveNodes() {
+    final boolean[] marked = this.mark();
+    int count = 0;
+    for (int n = 2; n < this.nodeSize; n++)
+      if (marked[n])
+        count++;
+    return count;
+  }
+
+  /**
+   * Reorders the variables by sifting.
+   */
+  void reorder() {
+    if (this.refStackTop != 0)
+      throw new IllegalStateException("Cannot reorder the variables during a BDD operation");
+    this.gc();
+    this.initInternalRefs();
+    this.reordering = true;
+    final int[] nodesPerVar = Arrays.copyOf(this.varNodeCount, this.numVars);
+    final Integer[] vars = new Integer[this.numVars];
+    for (int v = 0; v < this.numVars; v++)
+      vars[v] = v;
+    Arrays.sort(vars, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer v1, final Integer v2) {
+        return nodesPerVar[v2] - nodesPerVar[v1];
+      }
+    });
+    for (final int v : vars)
+      this.sift(v);
+    this.reordering = false;
+    this.internalRefs = null;
+    this.varNodes = null;
+    this.varNodeCount = null;
+    this.varNodePos = null;
+    this.clearCache();
+  }
+
+  /**
+   * Moves a variable to its best level while all other variables keep their relative order.
+   * @param v the variable
+   */
+  private void sift(final int v) {
+    int best = this.liveNodes;
+    int bestLevel = this.var2level[v];
+    while (this.var2level[v] < this.numVars - 1 && this.liveNodes <= MAX_GROWTH * best) {
+      this.swap(this.var2level[v]);
+      if (this.liveNodes < best) {
+        best = this.liveNodes;
+        bestLevel = this.var2level[v];
+      }
+    }
+    while (this.var2level[v] > 0 && (this.var2level[v] > bestLevel || this.liveNodes <= MAX_GROWTH * best)) {
+      this.swap(this.var2level[v] - 1);
+      if (this.liveNodes < best) {
+        best = this.liveNodes;
+        bestLevel = this.var2level[v];
+      }
+    }
+    while (this.var2level[v] < bestLevel)
+      this.swap(this.var2level[v]);
+  }
+
+  /**
+   * Swaps the variables at the given level and the level below in place.
+   * @param level the level
+   */
+  private void swap(final int level) {
+    final int x = this.level2var[level];
+    final int y = this.level2var[level + 1];
+    final int[] nodes = this.varNodes[x];
+    final int[] xNodes = new int[this.varNodeCount[x]];
+    int numXNodes = 0;
+    for (int i = 0; i < this.varNodeCount[x]; i++) {
+      final int n = nodes[i];
+      if (this.var[this.low[n]] == y || this.var[this.high[n]] == y)
+        xNodes[numXNodes++] = n;
+    }
+    for (int i = 0; i < numXNodes; i++) {
+      final int n = xNodes[i];
+      final int f0 = this.low[n];
+      final int f1 = this.high[n];
+      final int f00 = this.var[f0] == y ? this.low[f0] : f0;
+      final int f01 = this.var[f0] == y ? this.high[f0] : f0;
+      final int f10 = this.var[f1] == y ? this.low[f1] : f1;
+      final int f11 = this.var[f1] == y ? this.high[f1] : f1;
+      final int n0 = this.mk(x, f00, f10);
+      this.internalRefs[n0]++;
+      final int n1 = this.mk(x, f01, f11);
+      this.internalRefs[n1]++;
+      this.unlink(n);
+      this.removeFromVarNodes(n);
+      this.var[n] = y;
+      this.low[n] = n0;
+      this.high[n] = n1;
+      this.addToVarNodes(n);
+      final int bucket = this.bucket(y, n0, n1);
+      this.next[n] = this.hash[bucket];
+      this.hash[bucket] = n;
+      this.release(f0);
+      this.release(f1);
+    }
+    this.level2var[level] = y;
+    this.level2var[level + 1] = x;
+    this.var2level[x] = level + 1;
+    this.var2level[y] = level;
+  }
+
+  /**
+   * Decrements the internal reference count of a node during reordering and frees it if it is dead.
+   * @param node the node
+   */
+  private void release(final int node) {
+    if (node < 2 || --this.internalRefs[node] > 0)
+      return;
+    final int l = this.low[node];
+    final int h = this.high[node];
+    this.unlink(node);
+    this.removeFromVarNodes(node);
+    this.low[node] = FREE;
+    this.next[node] = this.freePos;
+    this.freePos = node;
+    this.freeNum++;
+    this.liveNodes--;
+    this.release(l);
+    this.release(h);
+  }
+
+  /**
+   * Initializes the internal reference counts for reordering: the external references plus the number of parents.
+   * Also initializes the node lists of the variables.
+   */
+  private void initInternalRefs() {
+    this.internalRefs = new int[this.nodeSize];
+    this.varNodes = new int[this.numVars][];
+    this.varNodeCount = new int[this.numVars];
+    this.varNodePos = new int[this.nodeSize];
+    for (int v = 0; v < this.numVars; v++)
+      this.varNodes[v] = new int[16];
+    this.liveNodes = 0;
+    for (int n = 2; n < this.nodeSize; n++)
+      if (this.low[n] != FREE) {
+        this.liveNodes++;
+        this.internalRefs[n] += this.refs[n];
+        this.internalRefs[this.low[n]]++;
+        this.internalRefs[this.high[n]]++;
+        this.addToVarNodes(n);
+      }
+  }
+
+  /**
+   * Adds a node to the node list of its variable.
+   * @param node the node
+   */
+  private void addToVarNodes(final int node) {
+    final int v = this.var[node];
+    if (this.varNodeCount[v] == this.varNodes[v].length)
+      this.varNodes[v] = Arrays.copyOf(this.varNodes[v], 2 * this.varNodes[v].length);
+    this.varNodePos[node] = this.varNodeCount[v];
+    this.varNodes[v][this.varNodeCount[v]++] = node;
+  }
+
+  /**
+   * Removes a node from the node list of its variable by moving the last node of the list to its position.
+   * @param node the node
+   */
+  private void removeFromVarNodes(final int node) {
+    final int v = this.var[node];
+    final int pos = this.varNodePos[node];
+    final int last = this.varNodes[v][--this.varNodeCount[v]];
+    this.varNodes[v][pos] = last;
+    this.varNodePos[last] = pos;
+  }
+
+  /**
+   * Removes a node from the unique table.
+   * @param node the node
+   */
+  private void unlink(final int node) {
+    final int bucket = this.bucket(this.var[node], this.low[node], this.high[node]);
+    if (this.hash[bucket] == node)
+      this.hash[bucket] = this.next[node];
+    else {
+      int n = this.hash[bucket];
+      while (this.next[n] != node)
+        n = this.next[n];
+      this.next[n] = this.next[node];
+    }
+  }
+
+  /**
+   * Frees all nodes which are not reachable from an externally referenced node or from the reference stack.
+   */
+  private void gc() {
+    final boolean[] marked = this.mark();
+    for (int i = 0; i < this.refStackTop; i++)
+      this.mark(this.refStack[i], marked);
+    Arrays.fill(this.hash, -1);
+    this.freePos = -1;
+    this.freeNum = 0;
+    for (int n = this.nodeSize - 1; n >= 2; n--)
+      if (marked[n]) {
+        final int bucket = this.bucket(this.var[n], this.low[n], this.high[n]);
+        this.next[n] = this.hash[bucket];
+        this.hash[bucket] = n;
+      } else {
+        this.low[n] = FREE;
+        this.next[n] = this.freePos;
+        this.freePos = n;
+        this.freeNum++;
+      }
+    this.clearCache();
+  }
+
+  private boolean[] mark() {
+    final boolean[] marked = new boolean[this.nodeSize];
+    for (int n = 2; n < this.nodeSize; n++)
+      if (this.low[n] != FREE && this.refs[n] > 0)
+        this.mark(n, marked);
+    return marked;
+  }
+
+  private void mark(final int node, final boolean[] marked) {
+    int n = node;
+    while (n >= 2 && !marked[n]) {
+      marked[n] = true;
+      this.mark(this.low[n], marked);
+      n = this.high[n];
+    }
+  }
+
+  /**
+   * Doubles the size of the node table and rebuilds the unique table.
+   */
+  private void resize() {
+    final int oldSize = this.nodeSize;
+    this.nodeSize = 2 * oldSize;
+    this.var = Arrays.copyOf(this.var, this.nodeSize);
+    this.low = Arrays.copyOf(this.low, this.nodeSize);
+    this.high = Arrays.copyOf(this.high, this.nodeSize);
+    this.refs = Arrays.copyOf(this.refs, this.nodeSize);
+    this.next = Arrays.copyOf(this.next, this.nodeSize);
+    if (this.internalRefs != null) {
+      this.internalRefs = Arrays.copyOf(this.internalRefs, this.nodeSize);
+      this.varNodePos = Arrays.copyOf(this.varNodePos, this.nodeSize);
+    }
+    this.hash = new int[this.nodeSize];
+    Arrays.fill(this.hash, -1);
+    for (int n = 2; n < oldSize; n++)
+      if (this.low[n] != FREE) {
+        final int bucket = this.bucket(this.var[n], this.low[n], this.high[n]);
+        this.next[n] = this.hash[bucket];
+        this.hash[bucket] = n;
+      }
+    for (int n = this.nodeSize - 1; n >= oldSize; n--) {
+      this.low[n] = FREE;
+      this.next[n] = this.freePos;
+      this.freePos = n;
+      this.freeNum++;
+    }
+  }
+
+  private int combine(final int var, final int low, final int high) {
+    final int result = this.mk(var, low, high);
+    this.pop(2);
+    return result;
+  }
+
+  private int push(final int node) {
+    if (this.refStackTop == this.refStack.length)
+      this.refStack = Arrays.copyOf(this.refStack, 2 * this.refStack.length);
+    this.refStack[this.refStackTop++] = node;
+    return node;
+  }
+
+  private void pop(final int n) {
+    this.refStackTop -= n;
+  }
+
+  private int bucket(final int var, final int low, final int high) {
+    final int h = (var * 12582917 + low * 4256249 + high * 741457) & Integer.MAX_VALUE;
+    return h % this.nodeSize;
+  }
+
+  private int cacheIndex(final int op, final int a, final int b) {
+    final int h = (op * 31 + a * 12582917 + b * 4256249) & Integer.MAX_VALUE;
+    return h % this.cacheOp.length;
+  }
+
+  private void store(final int entry, final int op, final int a, final int b, final int result) {
+    this.cacheOp[entry] = op;
+    this.cacheA[entry] = a;
+    this.cacheB[entry] = b;
+    this.cacheRes[entry] = result;
+  }
+
+  private void clearCache() {
+    Arrays.fill(this.cacheOp, -1);
+  }
+}
@@ -41,5 +41,6 @@ public enum ConfigurationType {
   MAXSAT,
   MUS,
   CC_ENCODER,
-  PB_ENCODER
+  PB_ENCODER,
+  FORMULA_CACHE
 }
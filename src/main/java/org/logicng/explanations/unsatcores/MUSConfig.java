@@ -42,10 +42,11 @@ public final class MUSConfig extends Configuration {
    * The algorithm for the MUS generation.
    */
   public enum Algorithm {
-    DELETION, PLAIN_INSERTION
+    DELETION, PLAIN_INSERTION, ASSUMPTION_BASED
   }
 
   final Algorithm algorithm;
+  final int numberOfThreads;
 
   /**
    * Constructs a new configuration with a given type.
@@ -53,12 +54,22 @@ public final class MUSConfig extends Configuration {
   public MUSConfig(final Builder builder) {
     super(ConfigurationType.MUS);
     this.algorithm = builder.algorithm;
+    this.numberOfThreads = builder.numberOfThreads;
+  }
+
+  /**
+   * Returns the number of threads for the MUS enumeration.
+   * @return the number of threads
+   */
+  public int numberOfThreads() {
+    return this.numberOfThreads;
   }
 
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("MUSConfig{\n");
     sb.append("algorithm=").append(this.algorithm).append("\n");
+    sb.append("numberOfThreads=").append(this.numberOfThreads).append("\n");
     sb.append("}\n");
     return sb.toString();
   }
@@ -69,6 +80,7 @@ public final class MUSConfig extends Configuration {
   public static class Builder {
 
     private Algorithm algorithm = Algorithm.DELETION;
+    private int numberOfThreads = 1;
 
     /**
      * Sets the algorithm for the MUS generation. The default value is {@code DELETION}.
@@ -80,6 +92,17 @@ public final class MUSConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Sets the number of threads for the MUS enumeration.  With more than one thread the seeds of the enumeration are
+     * checked in parallel.  The default value is {@code 1}.
+     * @param numberOfThreads the number of threads
+     * @return the builder
+     */
+    public Builder numberOfThreads(final int numberOfThreads) {
+      this.numberOfThreads = numberOfThreads;
+      return this;
+    }
+
     /**
      * Builds the configuration.
      * @return the configuration.
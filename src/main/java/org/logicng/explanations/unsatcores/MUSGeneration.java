@@ -28,11 +28,15 @@
 
 package org.logicng.explanations.unsatcores;
 
+import org.logicng.explanations.unsatcores.algorithms.AssumptionBasedMUS;
 import org.logicng.explanations.unsatcores.algorithms.DeletionBasedMUS;
+import org.logicng.explanations.unsatcores.algorithms.MARCO;
 import org.logicng.explanations.unsatcores.algorithms.PlainInsertionBasedMUS;
 import org.logicng.formulas.FormulaFactory;
+import org.logicng.handlers.MUSEnumerationHandler;
 import org.logicng.propositions.Proposition;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -44,6 +48,8 @@ public final class MUSGeneration {
 
   private final DeletionBasedMUS deletion;
   private final PlainInsertionBasedMUS insertion;
+  private final AssumptionBasedMUS assumption;
+  private final MARCO marco;
 
   /**
    * Constructs a new MUS generator.
@@ -51,6 +57,8 @@ public final class MUSGeneration {
   public MUSGeneration() {
     this.deletion = new DeletionBasedMUS();
     this.insertion = new PlainInsertionBasedMUS();
+    this.assumption = new AssumptionBasedMUS();
+    this.marco = new MARCO();
   }
 
   /**
@@ -76,12 +84,50 @@ public final class MUSGeneration {
     switch (config.algorithm) {
       case PLAIN_INSERTION:
         return insertion.computeMUS(propositions, f, config);
+      case ASSUMPTION_BASED:
+        return assumption.computeMUS(propositions, f, config);
       case DELETION:
       default:
         return deletion.computeMUS(propositions, f, config);
     }
   }
 
+  /**
+   * Enumerates all MUSes of the given propositions with the default configuration.
+   * @param propositions the propositions
+   * @param f            the formula factory
+   * @return the MUSes
+   */
+  public List<UNSATCore> enumerateMUSes(final List<Proposition> propositions, final FormulaFactory f) {
+    final List<UNSATCore> muses = new ArrayList<>();
+    this.enumerate(propositions, f, new MUSConfig.Builder().build(), new MUSEnumerationHandler() {
+      @Override
+      public boolean foundMUS(final UNSATCore mus) {
+        muses.add(mus);
+        return true;
+      }
+
+      @Override
+      public boolean foundMCS(final List<Proposition> mcs) {
+        return true;
+      }
+    });
+    return muses;
+  }
+
+  /**
+   * Enumerates all MUSes and MCSes of the given propositions with the MARCO algorithm.  The results are streamed to the
+   * given handler, the enumeration stops as soon as the handler returns {@code false}.
+   * @param propositions the propositions
+   * @param f            the formula factory
+   * @param config       the MUS configuration
+   * @param handler      the handler
+   */
+  public void enumerate(final List<Proposition> propositions, final FormulaFactory f, final MUSConfig config,
+                        final MUSEnumerationHandler handler) {
+    this.marco.enumerate(propositions, f, config, handler);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName();
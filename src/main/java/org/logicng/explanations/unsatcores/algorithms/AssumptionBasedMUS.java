@@ -0,0 +1,62 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.explanations.unsatcores.algorithms;
+
+import org.logicng.explanations.unsatcores.MUSConfig;
+import org.logicng.explanations.unsatcores.UNSATCore;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.propositions.Proposition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A deletion-based MUS algorithm on a single solver with selector variables.
+ * <p>
+ * In contrast to the {@link DeletionBasedMUS} the solver is never reloaded.  Each proposition is guarded by a selector
+ * variable and the subsets are checked by solving under assumptions.  After each unsatisfiable check the candidates are
+ * reduced to the final conflict of the solver (clause-set refinement) and after each satisfiable check further
+ * critical propositions are derived from the model (model rotation).
+ * @version 1.1
+ * @since 1.1
+ */
+public final class AssumptionBasedMUS extends MUSAlgorithm {
+
+  @Override
+  public UNSATCore computeMUS(final List<Proposition> propositions, final FormulaFactory f, final MUSConfig config) {
+    final SubsetSolver solver = new SubsetSolver(propositions, f);
+    final List<Integer> all = new ArrayList<>(propositions.size());
+    for (int i = 0; i < propositions.size(); i++)
+      all.add(i);
+    final List<Proposition> mus = new ArrayList<>();
+    for (final int i : solver.shrink(all))
+      mus.add(propositions.get(i));
+    return new UNSATCore(mus, true);
+  }
+}
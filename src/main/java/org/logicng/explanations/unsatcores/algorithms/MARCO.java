@@ -0,0 +1,262 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.explanations.unsatcores.algorithms;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.explanations.unsatcores.MUSConfig;
+import org.logicng.explanations.unsatcores.UNSATCore;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.handlers.MUSEnumerationHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The MARCO algorithm for the enumeration of all minimal unsatisfiable subsets (MUSes) and minimal correction subsets
+ * (MCSes) of a list of propositions.
+ * <p>
+ * A map solver with one variable per proposition keeps track of the subsets which are not yet explored.  Each model of
+ * the map solver is a seed.  An unsatisfiable seed is shrunk to a MUS and all its supersets are blocked in the map, a
+ * satisfiable seed is grown to a maximal satisfiable subset whose complement is a MCS, and all its subsets are blocked.
+ * The enumeration stops when the map solver is unsatisfiable.
+ * <p>
+ * The seeds are checked by {@link SubsetSolver subset solvers}.  With more than one thread, the map solver stays on the
+ * calling thread and the seeds are checked in parallel by one subset solver per worker thread.  Each seed is blocked
+ * right after it is handed out, so no seed is checked twice; two workers can still find the same MUS or MCS, such
+ * duplicates are reported only once.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class MARCO {
+
+  /**
+   * Enumerates the MUSes and MCSes of the given propositions.
+   * @param propositions the propositions
+   * @param f            the formula factory
+   * @param config       the MUS configuration
+   * @param handler      the handler which receives the MUSes and MCSes
+   */
+  public void enumerate(final List<Proposition> propositions, final FormulaFactory f, final MUSConfig config,
+                        final MUSEnumerationHandler handler) {
+    final MapSolver map = new MapSolver(propositions.size());
+    final int threads = config.numberOfThreads();
+    if (threads <= 1) {
+      final SubsetSolver solver = new SubsetSolver(propositions, f);
+      List<Integer> seed;
+      while ((seed = map.nextSeed()) != null) {
+        final Result result = explore(solver, seed);
+        map.block(result);
+        if (!this.report(result, propositions, handler))
+          return;
+      }
+      return;
+    }
+    final BlockingQueue<SubsetSolver> solvers = new ArrayBlockingQueue<>(threads);
+    for (int i = 0; i < threads; i++)
+      solvers.add(new SubsetSolver(propositions, f));
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+    final Set<Result> found = new HashSet<>();
+    try {
+      int pending = 0;
+      while (true) {
+        List<Integer> seed;
+        while (pending < threads && (seed = map.nextSeed()) != null) {
+          map.blockSeed(seed);
+          completion.submit(new ExplorationTask(solvers, seed));
+          pending++;
+        }
+        if (pending == 0)
+          return;
+        final Result result = completion.take().get();
+        pending--;
+        map.block(result);
+        if (found.add(result) && !this.report(result, propositions, handler))
+          return;
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("MUS enumeration failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Explores a seed: an unsatisfiable seed is shrunk to a MUS, a satisfiable seed is grown to a maximal satisfiable
+   * subset and its complement is returned as MCS.
+   * @param solver the subset solver
+   * @param seed   the seed
+   * @return the result
+   */
+  private static Result explore(final SubsetSolver solver, final List<Integer> seed) {
+    if (!solver.sat(seed))
+      return new Result(true, solver.shrink(seed));
+    final boolean[] mss = new boolean[solver.size()];
+    for (final int i : solver.grow(seed))
+      mss[i] = true;
+    final List<Integer> mcs = new ArrayList<>();
+    for (int i = 0; i < mss.length; i++)
+      if (!mss[i])
+        mcs.add(i);
+    return new Result(false, mcs);
+  }
+
+  private boolean report(final Result result, final List<Proposition> propositions, final MUSEnumerationHandler handler) {
+    if (result.indices.isEmpty())
+      return true;
+    final List<Proposition> props = new ArrayList<>(result.indices.size());
+    for (final int i : result.indices)
+      props.add(propositions.get(i));
+    return result.mus ? handler.foundMUS(new UNSATCore(props, true)) : handler.foundMCS(props);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * The result of the exploration of a seed.
+   */
+  private static final class Result {
+    private final boolean mus;
+    private final List<Integer> indices;
+
+    private Result(final boolean mus, final List<Integer> indices) {
+      this.mus = mus;
+      this.indices = indices;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.indices.hashCode() + (this.mus ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Result && this.mus == ((Result) other).mus && this.indices.equals(((Result) other).indices);
+    }
+  }
+
+  /**
+   * A task which explores a seed with a subset solver of a pool.
+   */
+  private static final class ExplorationTask implements Callable<Result> {
+    private final BlockingQueue<SubsetSolver> solvers;
+    private final List<Integer> seed;
+
+    private ExplorationTask(final BlockingQueue<SubsetSolver> solvers, final List<Integer> seed) {
+      this.solvers = solvers;
+      this.seed = seed;
+    }
+
+    @Override
+    public Result call() throws InterruptedException {
+      final SubsetSolver solver = this.solvers.take();
+      try {
+        return explore(solver, this.seed);
+      } finally {
+        this.solvers.put(solver);
+      }
+    }
+  }
+
+  /**
+   * The map solver of MARCO.  Variable {@code i} represents proposition {@code i}.  The variables prefer the value
+   * {@code true}, so the seeds tend to be large.
+   */
+  private static final class MapSolver {
+    private final MiniSatStyleSolver solver;
+    private final int size;
+
+    private MapSolver(final int size) {
+      this.solver = new MiniSat2Solver();
+      this.size = size;
+      for (int i = 0; i < size; i++)
+        this.solver.newVar(false, true);
+    }
+
+    /**
+     * Returns the next unexplored seed or {@code null} if all subsets are explored.
+     * @return the next seed
+     */
+    private List<Integer> nextSeed() {
+      if (this.solver.solve(null) != Tristate.TRUE)
+        return null;
+      final LNGBooleanVector model = this.solver.model();
+      final List<Integer> seed = new ArrayList<>();
+      for (int i = 0; i < this.size; i++)
+        if (model.get(i))
+          seed.add(i);
+      return seed;
+    }
+
+    /**
+     * Blocks exactly the given seed.
+     * @param seed the seed
+     */
+    private void blockSeed(final List<Integer> seed) {
+      final boolean[] inSeed = new boolean[this.size];
+      for (final int i : seed)
+        inSeed[i] = true;
+      final LNGIntVector clause = new LNGIntVector(this.size);
+      for (int i = 0; i < this.size; i++)
+        clause.push(MiniSatStyleSolver.mkLit(i, inSeed[i]));
+      this.solver.addClause(clause);
+    }
+
+    /**
+     * Blocks all supersets of a MUS or all subsets of the complement of a MCS.
+     * @param result the result of an exploration
+     */
+    private void block(final Result result) {
+      final LNGIntVector clause = new LNGIntVector(result.indices.size());
+      for (final int i : result.indices)
+        clause.push(MiniSatStyleSolver.mkLit(i, result.mus));
+      this.solver.addClause(clause);
+    }
+  }
+}
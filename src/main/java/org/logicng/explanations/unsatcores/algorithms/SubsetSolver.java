@@ -0,0 +1,303 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.explanations.unsatcores.algorithms;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * A SAT solver for subsets of a fixed list of propositions.
+ * <p>
+ * Each proposition is guarded by a selector variable, so a subset is checked by solving under the assumption of the
+ * selectors of the subset.  If a subset is unsatisfiable, the final conflict of the solver yields an unsatisfiable
+ * subset of it (clause-set refinement).  If it is satisfiable, the model is used to find further propositions which are
+ * satisfied as well.
+ * <p>
+ * The formula factory is only used in the constructor to compute the CNFs of the propositions.  Afterwards the solver
+ * only works on the integer level of the underlying MiniSat solver, so a subset solver can be used by another thread
+ * than the one which owns the formula factory.
+ * @version 1.1
+ * @since 1.1
+ */
+final class SubsetSolver {
+
+  private final MiniSatStyleSolver solver;
+  private final int[] selectors;
+  private final int[] selectorToProp;
+  private final int[][][] clauses;
+  private final List<List<Integer>> occurrences;
+
+  /**
+   * Constructs a new subset solver for the given propositions.
+   * @param propositions the propositions
+   * @param f            the formula factory
+   */
+  SubsetSolver(final List<Proposition> propositions, final FormulaFactory f) {
+    this.solver = new MiniSat2Solver();
+    this.selectors = new int[propositions.size()];
+    this.clauses = new int[propositions.size()][][];
+    final Map<Variable, Integer> indices = new HashMap<>();
+    for (int i = 0; i < propositions.size(); i++) {
+      this.selectors[i] = this.solver.newVar(true, true);
+      final Formula cnf = propositions.get(i).formula(f).cnf();
+      final List<Formula> propClauses = new ArrayList<>();
+      if (cnf.type() == FType.AND)
+        for (final Formula clause : cnf)
+          propClauses.add(clause);
+      else if (cnf.type() != FType.TRUE)
+        propClauses.add(cnf);
+      this.clauses[i] = new int[propClauses.size()][];
+      for (int c = 0; c < propClauses.size(); c++) {
+        final SortedSet<Literal> literals = propClauses.get(c).literals();
+        final int[] lits = new int[literals.size()];
+        final LNGIntVector guarded = new LNGIntVector(literals.size() + 1);
+        int l = 0;
+        for (final Literal lit : literals) {
+          Integer var = indices.get(lit.variable());
+          if (var == null) {
+            var = this.solver.newVar(true, true);
+            indices.put(lit.variable(), var);
+          }
+          lits[l++] = MiniSatStyleSolver.mkLit(var, !lit.phase());
+          guarded.push(MiniSatStyleSolver.mkLit(var, !lit.phase()));
+        }
+        guarded.push(MiniSatStyleSolver.mkLit(this.selectors[i], true));
+        this.solver.addClause(guarded);
+        this.clauses[i][c] = lits;
+      }
+    }
+    this.selectorToProp = new int[this.solver.nVars()];
+    Arrays.fill(this.selectorToProp, -1);
+    this.occurrences = new ArrayList<>(this.solver.nVars());
+    for (int v = 0; v < this.solver.nVars(); v++)
+      this.occurrences.add(new ArrayList<Integer>());
+    for (int i = 0; i < propositions.size(); i++) {
+      this.selectorToProp[this.selectors[i]] = i;
+      for (final int[] clause : this.clauses[i])
+        for (final int lit : clause) {
+          final List<Integer> occ = this.occurrences.get(MiniSatStyleSolver.var(lit));
+          if (occ.isEmpty() || occ.get(occ.size() - 1) != i)
+            occ.add(i);
+        }
+    }
+  }
+
+  /**
+   * Returns the number of propositions.
+   * @return the number of propositions
+   */
+  int size() {
+    return this.selectors.length;
+  }
+
+  /**
+   * Checks whether a subset of the propositions is satisfiable.
+   * @param subset the indices of the propositions
+   * @return {@code true} if the subset is satisfiable, {@code false} otherwise
+   */
+  boolean sat(final Collection<Integer> subset) {
+    final LNGIntVector assumptions = new LNGIntVector(subset.size());
+    for (final int i : subset)
+      assumptions.push(MiniSatStyleSolver.mkLit(this.selectors[i], false));
+    return this.solver.solve(null, assumptions) == Tristate.TRUE;
+  }
+
+  /**
+   * Computes a minimal unsatisfiable subset of an unsatisfiable subset by a deletion based algorithm.  Each
+   * unsatisfiable check shrinks the candidates to the final conflict of the solver and each satisfiable check marks a
+   * proposition as critical and tries to find further critical propositions by model rotation.
+   * @param subset the indices of an unsatisfiable subset
+   * @return the indices of the MUS in ascending order
+   * @throws IllegalArgumentException if the subset is satisfiable
+   */
+  List<Integer> shrink(final Collection<Integer> subset) {
+    if (this.sat(subset))
+      throw new IllegalArgumentException("Cannot compute a MUS for a satisfiable formula set.");
+    final boolean[] candidates = this.conflict();
+    final boolean[] critical = new boolean[this.size()];
+    for (int i = 0; i < this.size(); i++) {
+      if (!candidates[i] || critical[i])
+        continue;
+      candidates[i] = false;
+      if (this.sat(indices(candidates))) {
+        candidates[i] = true;
+        critical[i] = true;
+        this.rotate(i, this.modelCopy(), candidates, critical);
+      } else {
+        final boolean[] conflict = this.conflict();
+        for (int j = 0; j < this.size(); j++)
+          candidates[j] &= conflict[j];
+      }
+    }
+    return indices(candidates);
+  }
+
+  /**
+   * Extends a satisfiable subset to a maximal satisfiable subset.
+   * @param subset the indices of a satisfiable subset
+   * @return the indices of the maximal satisfiable subset in ascending order
+   * @throws IllegalArgumentException if the subset is unsatisfiable
+   */
+  List<Integer> grow(final Collection<Integer> subset) {
+    if (!this.sat(subset))
+      throw new IllegalArgumentException("Cannot grow an unsatisfiable formula set.");
+    final boolean[] mss = new boolean[this.size()];
+    for (final int i : subset)
+      mss[i] = true;
+    this.addSatisfied(mss, this.modelCopy());
+    for (int i = 0; i < this.size(); i++) {
+      if (mss[i])
+        continue;
+      mss[i] = true;
+      if (this.sat(indices(mss)))
+        this.addSatisfied(mss, this.modelCopy());
+      else
+        mss[i] = false;
+    }
+    return indices(mss);
+  }
+
+  /**
+   * Finds further critical propositions by recursive model rotation.  The given model satisfies all candidates but the
+   * critical proposition.  For each variable of the critical proposition, the value is flipped.  If the critical
+   * proposition is satisfied then and exactly one other candidate is falsified, this candidate is critical, too.
+   * @param start      the index of the critical proposition
+   * @param startModel the model
+   * @param candidates the candidates
+   * @param critical   the critical propositions, extended by this method
+   */
+  private void rotate(final int start, final boolean[] startModel, final boolean[] candidates, final boolean[] critical) {
+    final ArrayDeque<Integer> props = new ArrayDeque<>();
+    final ArrayDeque<boolean[]> models = new ArrayDeque<>();
+    props.push(start);
+    models.push(startModel);
+    while (!props.isEmpty()) {
+      final int prop = props.pop();
+      final boolean[] model = models.pop();
+      for (final int[] clause : this.clauses[prop])
+        for (final int lit : clause) {
+          final int var = MiniSatStyleSolver.var(lit);
+          model[var] = !model[var];
+          if (this.satisfied(prop, model)) {
+            int falsified = -1;
+            for (final int other : this.occurrences.get(var))
+              if (other != prop && candidates[other] && !this.satisfied(other, model)) {
+                if (falsified != -1) {
+                  falsified = -2;
+                  break;
+                }
+                falsified = other;
+              }
+            if (falsified >= 0 && !critical[falsified]) {
+              critical[falsified] = true;
+              props.push(falsified);
+              models.push(model.clone());
+            }
+          }
+          model[var] = !model[var];
+        }
+    }
+  }
+
+  /**
+   * Adds all propositions which are satisfied by a model to the given subset.
+   * @param subset the subset
+   * @param model  the model
+   */
+  private void addSatisfied(final boolean[] subset, final boolean[] model) {
+    for (int i = 0; i < this.size(); i++)
+      if (!subset[i] && this.satisfied(i, model))
+        subset[i] = true;
+  }
+
+  private boolean satisfied(final int prop, final boolean[] model) {
+    for (final int[] clause : this.clauses[prop]) {
+      boolean sat = false;
+      for (int l = 0; l < clause.length && !sat; l++)
+        sat = model[MiniSatStyleSolver.var(clause[l])] != MiniSatStyleSolver.sign(clause[l]);
+      if (!sat)
+        return false;
+    }
+    return true;
+  }
+
+  private boolean[] modelCopy() {
+    final LNGBooleanVector model = this.solver.model();
+    final boolean[] copy = new boolean[model.size()];
+    for (int i = 0; i < model.size(); i++)
+      copy[i] = model.get(i);
+    return copy;
+  }
+
+  /**
+   * Returns the propositions of the final conflict of the last unsatisfiable check.
+   * @return the propositions of the conflict
+   */
+  private boolean[] conflict() {
+    final boolean[] result = new boolean[this.size()];
+    final LNGIntVector conflict = this.solver.conflict();
+    for (int i = 0; i < conflict.size(); i++) {
+      final int prop = this.selectorToProp[MiniSatStyleSolver.var(conflict.get(i))];
+      if (prop != -1)
+        result[prop] = true;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the indices of the set entries of a boolean array in ascending order.
+   * @param set the boolean array
+   * @return the indices
+   */
+  static List<Integer> indices(final boolean[] set) {
+    final List<Integer> result = new ArrayList<>();
+    for (int i = 0; i < set.length; i++)
+      if (set[i])
+        result.add(i);
+    return result;
+  }
+}
@@ -33,7 +33,6 @@ import org.logicng.datastructures.Substitution;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * Super class for Boolean binary operators.
@@ -72,16 +71,14 @@ public abstract class BinaryOperator extends Formula {
   public long numberOfAtoms() {
     if (this.numberOfAtoms != -1)
       return this.numberOfAtoms;
-    this.numberOfAtoms = this.left.numberOfAtoms() + this.right.numberOfAtoms();
-    return this.numberOfAtoms;
+    return FormulaTraversals.numberOfAtoms(this);
   }
 
   @Override
   public long numberOfNodes() {
     if (this.numberOfNodes != -1)
       return this.numberOfNodes;
-    this.numberOfNodes = this.left.numberOfNodes() + this.right.numberOfNodes() + 1;
-    return this.numberOfNodes;
+    return FormulaTraversals.numberOfNodes(this);
   }
 
   @Override
@@ -96,21 +93,14 @@ public abstract class BinaryOperator extends Formula {
 
   @Override
   public SortedSet<Variable> variables() {
-    if (this.variables == null) {
-      final SortedSet<Variable> set = new TreeSet<>();
-      set.addAll(this.left.variables());
-      set.addAll(this.right.variables());
-      this.variables = set;
-    }
+    if (this.variables == null)
+      this.variables = FormulaTraversals.variables(this);
     return this.variables;
   }
 
   @Override
   public SortedSet<Literal> literals() {
-    final SortedSet<Literal> set = new TreeSet<>();
-    set.addAll(this.left.literals());
-    set.addAll(this.right.literals());
-    return set;
+    return FormulaTraversals.literals(this);
   }
 
   @Override
@@ -125,7 +115,7 @@ public abstract class BinaryOperator extends Formula {
 
   @Override
   public Formula substitute(final Substitution substitution) {
-    return f.binaryOperator(type, this.left.substitute(substitution), this.right.substitute(substitution));
+    return FormulaTraversals.substitute(this, substitution);
   }
 
   @Override
@@ -30,11 +30,9 @@ package org.logicng.formulas;
 
 import org.logicng.datastructures.Assignment;
 
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
-
 /**
  * Boolean equivalence.
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public final class Equivalence extends BinaryOperator {
@@ -56,17 +54,12 @@ public final class Equivalence extends BinaryOperator {
 
   @Override
   public Formula restrict(final Assignment assignment) {
-    return f.equivalence(left.restrict(assignment), right.restrict(assignment));
+    return FormulaTraversals.restrict(this, assignment);
   }
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
-    if (nnf == null) {
-      nnf = f.or(f.and(left.nnf(), right.nnf()), f.and(f.not(left).nnf(), f.not(right).nnf()));
-      this.transformationCache.put(NNF, nnf);
-    }
-    return nnf;
+    return FormulaTraversals.nnf(this);
   }
 
   @Override
@@ -32,23 +32,38 @@ import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.cache.CacheEntry;
-
-import java.util.SortedMap;
+import org.logicng.formulas.cache.FactoryFormulaCache;
+import org.logicng.formulas.cache.FormulaCache;
+import org.logicng.formulas.cache.FunctionCacheEntry;
+import org.logicng.formulas.cache.PredicateCacheEntry;
+import org.logicng.formulas.cache.TransformationCacheEntry;
+
+import java.util.HashMap;
+import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeMap;
 
 /**
  * Super class for formulas.
- * @version 1.0
+ * <p>
+ * The results of transformations, predicates and functions are cached according to the {@link FormulaCache} of the
+ * formula factory.
+ * @version 1.1
  * @since 1.0
  */
 public abstract class Formula implements Iterable<Formula> {
 
+  private static final int PREDICATE_OFFSET = TransformationCacheEntry.values().length;
+  private static final int FUNCTION_OFFSET = PREDICATE_OFFSET + PredicateCacheEntry.values().length;
+  private static final int OTHER_OFFSET = FUNCTION_OFFSET + FunctionCacheEntry.values().length;
+  private static final int NUMBER_OF_SLOTS = OTHER_OFFSET + 3;
+  private static final int TRANSFORMATION = 0;
+  private static final int PREDICATE = 1;
+  private static final int FUNCTION = 2;
+
   protected final FType type;
   protected final FormulaFactory f;
-  protected final SortedMap<CacheEntry, Formula> transformationCache;
-  protected final SortedMap<CacheEntry, Tristate> predicateCache;
-  protected final SortedMap<CacheEntry, Object> functionCache;
+  protected final int id;
+  private Object[] localCache;
   protected SortedSet<Variable> variables;
   protected long numberOfAtoms;
   protected long numberOfNodes;
@@ -61,9 +76,8 @@ public abstract class Formula implements Iterable<Formula> {
   protected Formula(final FType type, final FormulaFactory f) {
     this.type = type;
     this.f = f;
-    this.transformationCache = new TreeMap<>();
-    this.predicateCache = new TreeMap<>();
-    this.functionCache = new TreeMap<>();
+    this.id = f != null ? f.nextFormulaId() : -1;
+    this.localCache = null;
     this.variables = null;
     this.numberOfAtoms = -1;
     this.numberOfNodes = -1;
@@ -85,6 +99,15 @@ public abstract class Formula implements Iterable<Formula> {
     return this.f;
   }
 
+  /**
+   * Returns the id of this formula.  The id is unique and dense within the factory which created this formula and is
+   * used for hash-consing the operands of n-ary operators.
+   * @return the id of this formula
+   */
+  public int id() {
+    return this.id;
+  }
+
   /**
    * Returns the number of atomic formulas of this formula.  An atomic formula is a predicate (constants and literals)
    * or a pseudo-Boolean constraint.
@@ -279,7 +302,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value or {@code null} if the key is not found
    */
   public Formula transformationCacheEntry(final CacheEntry key) {
-    return this.transformationCache.get(key);
+    return (Formula) this.cacheEntry(TRANSFORMATION, key);
   }
 
   /**
@@ -288,7 +311,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setTransformationCacheEntry(final CacheEntry key, final Formula value) {
-    this.transformationCache.put(key, value);
+    this.setCacheEntry(TRANSFORMATION, key, value);
   }
 
   /**
@@ -297,7 +320,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value (which is {@code UNDEF} if nothing is present)
    */
   public Tristate predicateCacheEntry(final CacheEntry key) {
-    final Tristate tristate = this.predicateCache.get(key);
+    final Tristate tristate = (Tristate) this.cacheEntry(PREDICATE, key);
     if (tristate == null)
       return Tristate.UNDEF;
     return tristate;
@@ -309,7 +332,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setPredicateCacheEntry(final CacheEntry key, boolean value) {
-    this.predicateCache.put(key, Tristate.fromBool(value));
+    this.setCacheEntry(PREDICATE, key, Tristate.fromBool(value));
   }
 
   /**
@@ -318,7 +341,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setPredicateCacheEntry(final CacheEntry key, final Tristate value) {
-    this.predicateCache.put(key, value);
+    this.setCacheEntry(PREDICATE, key, value);
   }
 
   /**
@@ -327,7 +350,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value or {@code null} if the key is not found
    */
   public Object functionCacheEntry(final CacheEntry key) {
-    return this.functionCache.get(key);
+    return this.cacheEntry(FUNCTION, key);
   }
 
   /**
@@ -336,7 +359,122 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setFunctionCacheEntry(final CacheEntry key, final Object value) {
-    this.functionCache.put(key, value);
+    this.setCacheEntry(FUNCTION, key, value);
+  }
+
+  /**
+   * Looks up a cache entry either in the local cache of this formula or in the formula cache of the factory.
+   * @param kind the kind of the cache (transformation, predicate, or function)
+   * @param key  the cache key
+   * @return the cache value or {@code null} if the key is not found
+   */
+  private Object cacheEntry(int kind, final CacheEntry key) {
+    if (this.f == null)
+      return this.localCacheEntry(kind, key);
+    final FormulaCache cache = this.f.formulaCache();
+    return cache.storesOnFormula(key) ? this.localCacheEntry(kind, key) : ((FactoryFormulaCache) cache).get(this, key);
+  }
+
+  /**
+   * Stores a cache entry either in the local cache of this formula or in the formula cache of the factory.
+   * @param kind  the kind of the cache (transformation, predicate, or function)
+   * @param key   the cache key
+   * @param value the cache value
+   */
+  private void setCacheEntry(int kind, final CacheEntry key, final Object value) {
+    if (this.f == null || this.f.formulaCache().storesOnFormula(key))
+      this.setLocalCacheEntry(kind, key, value);
+    else
+      ((FactoryFormulaCache) this.f.formulaCache()).put(this, key, value);
+  }
+
+  /**
+   * Returns the slot of a given cache key in the local cache or -1 if the key is no predefined cache entry.
+   * @param kind the kind of the cache
+   * @param key  the cache key
+   * @return the slot of the cache key
+   */
+  private static int slot(int kind, final CacheEntry key) {
+    if (kind == TRANSFORMATION && key instanceof TransformationCacheEntry)
+      return ((TransformationCacheEntry) key).ordinal();
+    if (kind == PREDICATE && key instanceof PredicateCacheEntry)
+      return PREDICATE_OFFSET + ((PredicateCacheEntry) key).ordinal();
+    if (kind == FUNCTION && key instanceof FunctionCacheEntry)
+      return FUNCTION_OFFSET + ((FunctionCacheEntry) key).ordinal();
+    return -1;
+  }
+
+  /**
+   * Returns an entry of the local cache of this formula.
+   * <p>
+   * The local cache is a single array which is allocated on the first write.  The predefined cache entries are stored
+   * at a fixed slot, all other cache entries are stored in a map per kind at the end of the array.
+   * @param kind the kind of the cache
+   * @param key  the cache key
+   * @return the cache value or {@code null} if the key is not found
+   */
+  private Object localCacheEntry(int kind, final CacheEntry key) {
+    if (this.f != null && this.f.isConcurrent())
+      synchronized (this) {
+        return this.unsynchronizedLocalCacheEntry(kind, key);
+      }
+    return this.unsynchronizedLocalCacheEntry(kind, key);
+  }
+
+  /**
+   * Returns an entry of the local cache of this formula without synchronization.
+   * @param kind the kind of the cache
+   * @param key  the cache key
+   * @return the cache value or {@code null} if the key is not found
+   */
+  @SuppressWarnings("unchecked")
+  private Object unsynchronizedLocalCacheEntry(int kind, final CacheEntry key) {
+    final Object[] cache = this.localCache;
+    if (cache == null)
+      return null;
+    final int slot = slot(kind, key);
+    if (slot >= 0)
+      return cache[slot];
+    final Map<CacheEntry, Object> others = (Map<CacheEntry, Object>) cache[OTHER_OFFSET + kind];
+    return others == null ? null : others.get(key);
+  }
+
+  /**
+   * Stores an entry in the local cache of this formula.
+   * @param kind  the kind of the cache
+   * @param key   the cache key
+   * @param value the cache value
+   */
+  private void setLocalCacheEntry(int kind, final CacheEntry key, final Object value) {
+    if (this.f != null && this.f.isConcurrent())
+      synchronized (this) {
+        this.unsynchronizedSetLocalCacheEntry(kind, key, value);
+      }
+    else
+      this.unsynchronizedSetLocalCacheEntry(kind, key, value);
+  }
+
+  /**
+   * Stores an entry in the local cache of this formula without synchronization.
+   * @param kind  the kind of the cache
+   * @param key   the cache key
+   * @param value the cache value
+   */
+  @SuppressWarnings("unchecked")
+  private void unsynchronizedSetLocalCacheEntry(int kind, final CacheEntry key, final Object value) {
+    if (this.localCache == null)
+      this.localCache = new Object[NUMBER_OF_SLOTS];
+    final int slot = slot(kind, key);
+    if (slot >= 0) {
+      this.localCache[slot] = value;
+      return;
+    }
+    Map<CacheEntry, Object> others = (Map<CacheEntry, Object>) this.localCache[OTHER_OFFSET + kind];
+    if (others == null) {
+      others = new HashMap<>();
+      this.localCache[OTHER_OFFSET + kind] = others;
+    }
+    others.put(key, value);
   }
 
   @Override
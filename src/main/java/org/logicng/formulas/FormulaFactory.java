@@ -30,6 +30,8 @@ package org.logicng.formulas;
 
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.cache.FormulaCache;
+import org.logicng.formulas.cache.FormulaCacheConfig;
 import org.logicng.formulas.printer.DefaultStringRepresentation;
 import org.logicng.formulas.printer.FormulaStringRepresentation;
 import org.logicng.functions.SubNodeFunction;
@@ -39,6 +41,7 @@ import org.logicng.pseudobooleans.PBEncoder;
 import org.logicng.transformations.cnf.CNFEncoder;
 import org.logicng.util.Pair;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -50,6 +53,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.logicng.formulas.FType.AND;
 import static org.logicng.formulas.FType.FALSE;
@@ -64,8 +70,13 @@ import static org.logicng.formulas.FType.TRUE;
  * New formulas can only be generated by a formula factory.  It is implemented s.t. it is guaranteed that equivalent
  * formulas (in terms of associativity and commutativity) are hold exactly once in memory.
  * <p>
- * A formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to synchronize the formula factory
- * yourself or you use a formula factory for each single thread.
+ * By default a formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to
+ * synchronize the formula factory yourself, use a formula factory for each single thread, or create a concurrent formula
+ * factory via {@link #FormulaFactory(String, FormulaStringRepresentation, boolean)}.  A concurrent formula factory
+ * stores its unique tables in concurrent hash maps, s.t. many threads can create formulas in one shared DAG without a
+ * global lock.  Formula creation, the formula caches and the generation of auxiliary variables are thread-safe in this
+ * mode.  The default encoders ({@link #cnfEncoder()}, {@link #pbEncoder()}) and the parser of the factory are stateful
+ * and therefore must not be used concurrently - each thread should use its own instances.
  * @version 1.1
  * @since 1.0
  */
@@ -76,6 +87,7 @@ public final class FormulaFactory {
   public static final String CNF_PREFIX = "@RESERVED_CNF_";
 
   private final String name;
+  private final boolean concurrent;
 
   private final CFalse cFalse;
   private final CTrue cTrue;
@@ -88,38 +100,45 @@ public final class FormulaFactory {
   private final PBEncoder pbEncoder;
   private final CNFEncoder cnfEncoder;
   private final PseudoBooleanParser parser;
+  private final AtomicInteger formulaIdCounter;
+  private volatile FormulaCache formulaCache;
   private Map<String, Variable> posLiterals;
   private Map<String, Literal> negLiterals;
   private Set<Variable> generatedVariables;
   private Map<Formula, Not> nots;
   private Map<Pair<Formula, Formula>, Implication> implications;
-  private Map<LinkedHashSet<? extends Formula>, Equivalence> equivalences;
-  private Map<LinkedHashSet<? extends Formula>, And> ands2;
-  private Map<LinkedHashSet<? extends Formula>, And> ands3;
-  private Map<LinkedHashSet<? extends Formula>, And> ands4;
-  private Map<LinkedHashSet<? extends Formula>, And> andsN;
-  private Map<LinkedHashSet<? extends Formula>, Or> ors2;
-  private Map<LinkedHashSet<? extends Formula>, Or> ors3;
-  private Map<LinkedHashSet<? extends Formula>, Or> ors4;
-  private Map<LinkedHashSet<? extends Formula>, Or> orsN;
+  private Map<OperandsKey, Equivalence> equivalences;
+  private Map<OperandsKey, And> ands2;
+  private Map<OperandsKey, And> ands3;
+  private Map<OperandsKey, And> ands4;
+  private Map<OperandsKey, And> andsN;
+  private Map<OperandsKey, Or> ors2;
+  private Map<OperandsKey, Or> ors3;
+  private Map<OperandsKey, Or> ors4;
+  private Map<OperandsKey, Or> orsN;
   private Map<PBOperands, PBConstraint> pbConstraints;
-  private boolean cnfCheck;
-  private boolean[] formulaAdditionResult;
-  private int ccCounter;
-  private int pbCounter;
-  private int cnfCounter;
+  private final boolean[] formulaAdditionResult;
+  private AtomicInteger ccCounter;
+  private AtomicInteger pbCounter;
+  private AtomicInteger cnfCounter;
 
   /**
    * Constructor for a new formula factory.
    * @param name                 the name of the factory
    * @param stringRepresentation the string representation of the formulas
+   * @param concurrent           {@code true} if the formula factory should be usable from many threads concurrently,
+   *                             {@code false} otherwise
    */
-  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation) {
+  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation,
+                        final boolean concurrent) {
     this.name = name;
+    this.concurrent = concurrent;
+    this.formulaIdCounter = new AtomicInteger();
+    this.formulaCache = FormulaCache.forConfig(new FormulaCacheConfig.Builder().build());
     this.cFalse = new CFalse(this);
     this.cTrue = new CTrue(this);
     this.clear();
-    this.formulaAdditionResult = new boolean[2];
+    this.formulaAdditionResult = new boolean[3];
     this.stringRepresentation = stringRepresentation;
     this.configurations = new EnumMap<>(ConfigurationType.class);
     this.cnfEncoder = new CNFEncoder(this);
@@ -137,6 +156,15 @@ public final class FormulaFactory {
     this.parser = new PseudoBooleanParser(this);
   }
 
+  /**
+   * Constructor for a new formula factory.
+   * @param name                 the name of the factory
+   * @param stringRepresentation the string representation of the formulas
+   */
+  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation) {
+    this(name, stringRepresentation, false);
+  }
+
   /**
    * Constructor for a new formula factory with a given name. This name is included in generated variables.
    * If you intent to mix formulas from different factories, you have to choose different names for the factories
@@ -167,27 +195,69 @@ public final class FormulaFactory {
   }
 
   /**
-   * Removes all formulas from the factory cache.
+   * Removes all formulas from the factory cache.  The formula cache of the factory is cleared, too.
    */
   public void clear() {
-    this.posLiterals = new HashMap<>();
-    this.negLiterals = new HashMap<>();
-    this.generatedVariables = new HashSet<>();
-    this.nots = new HashMap<>();
-    this.implications = new HashMap<>();
-    this.equivalences = new HashMap<>();
-    this.ands2 = new HashMap<>();
-    this.ands3 = new HashMap<>();
-    this.ands4 = new HashMap<>();
-    this.andsN = new HashMap<>();
-    this.ors2 = new HashMap<>();
-    this.ors3 = new HashMap<>();
-    this.ors4 = new HashMap<>();
-    this.orsN = new HashMap<>();
-    this.pbConstraints = new HashMap<>();
-    this.ccCounter = 0;
-    this.pbCounter = 0;
-    this.cnfCounter = 0;
+    this.formulaCache.clear();
+    this.posLiterals = this.newMap();
+    this.negLiterals = this.newMap();
+    this.generatedVariables = this.concurrent
+            ? Collections.newSetFromMap(new ConcurrentHashMap<Variable, Boolean>())
+            : new HashSet<Variable>();
+    this.nots = this.newMap();
+    this.implications = this.newMap();
+    this.equivalences = this.newMap();
+    this.ands2 = this.newMap();
+    this.ands3 = this.newMap();
+    this.ands4 = this.newMap();
+    this.andsN = this.newMap();
+    this.ors2 = this.newMap();
+    this.ors3 = this.newMap();
+    this.ors4 = this.newMap();
+    this.orsN = this.newMap();
+    this.pbConstraints = this.newMap();
+    this.ccCounter = new AtomicInteger();
+    this.pbCounter = new AtomicInteger();
+    this.cnfCounter = new AtomicInteger();
+  }
+
+  /**
+   * Returns a new map for a unique table of this factory.  For a concurrent factory this is a concurrent hash map,
+   * otherwise a plain hash map.
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return the new map
+   */
+  private <K, V> Map<K, V> newMap() {
+    return this.concurrent ? new ConcurrentHashMap<K, V>() : new HashMap<K, V>();
+  }
+
+  /**
+   * Stores a given formula in a unique table if there is no formula stored for the key yet and returns the formula
+   * which is stored in the table after this operation.  For a concurrent factory this operation is atomic.
+   * @param map   the unique table
+   * @param key   the key
+   * @param value the new formula
+   * @param <K>   the key type
+   * @param <V>   the formula type
+   * @return the formula stored for the key
+   */
+  private <K, V> V putIfAbsent(final Map<K, V> map, final K key, final V value) {
+    if (this.concurrent) {
+      final V old = ((ConcurrentMap<K, V>) map).putIfAbsent(key, value);
+      return old == null ? value : old;
+    }
+    map.put(key, value);
+    return value;
+  }
+
+  /**
+   * Returns the array which is used to store the intermediate results during the condensation of operands.  For a
+   * concurrent factory a new array is returned on each call.
+   * @return the array for the intermediate results
+   */
+  private boolean[] additionResult() {
+    return this.concurrent ? new boolean[3] : this.formulaAdditionResult;
   }
 
   /**
@@ -198,6 +268,14 @@ public final class FormulaFactory {
     return this.name;
   }
 
+  /**
+   * Returns {@code true} if this formula factory can be used from many threads concurrently, {@code false} otherwise.
+   * @return {@code true} if this formula factory is concurrent
+   */
+  public boolean isConcurrent() {
+    return this.concurrent;
+  }
+
   /**
    * Returns the configuration for a given configuration type or {@code null} if there isn't any.
    * @param cType the configuration type
@@ -214,6 +292,17 @@ public final class FormulaFactory {
    */
   public void putConfiguration(final Configuration configuration) {
     this.configurations.put(configuration.type(), configuration);
+    if (configuration.type() == ConfigurationType.FORMULA_CACHE)
+      this.formulaCache = FormulaCache.forConfig((FormulaCacheConfig) configuration);
+  }
+
+  /**
+   * Returns the formula cache of this factory.  The cache can be configured by putting a {@link FormulaCacheConfig}
+   * into this factory.  Cached entries of the previous formula cache are lost when a new configuration is put.
+   * @return the formula cache of this factory
+   */
+  public FormulaCache formulaCache() {
+    return this.formulaCache;
   }
 
   /**
@@ -276,10 +365,8 @@ public final class FormulaFactory {
       return this.verum();
     final Pair<Formula, Formula> key = new Pair<>(left, right);
     Implication implication = this.implications.get(key);
-    if (implication == null) {
-      implication = new Implication(left, right, this);
-      this.implications.put(key, implication);
-    }
+    if (implication == null)
+      implication = this.putIfAbsent(this.implications, key, new Implication(left, right, this));
     return implication;
   }
 
@@ -302,12 +389,13 @@ public final class FormulaFactory {
       return this.verum();
     if (left.equals(right.negate()))
       return this.falsum();
-    final LinkedHashSet<Formula> key = new LinkedHashSet<>(Arrays.asList(left, right));
+    final Formula[] operands = this.localOperands(new Formula[]{left, right});
+    final OperandsKey key = this.operandsKey(operands);
+    if (key == null)
+      return new Equivalence(operands[0], operands[1], this);
     Equivalence equivalence = this.equivalences.get(key);
-    if (equivalence == null) {
-      equivalence = new Equivalence(left, right, this);
-      this.equivalences.put(key, equivalence);
-    }
+    if (equivalence == null)
+      equivalence = this.putIfAbsent(this.equivalences, key, new Equivalence(operands[0], operands[1], this));
     return equivalence;
   }
 
@@ -331,10 +419,8 @@ public final class FormulaFactory {
     if (operand.type() == LITERAL || operand.type() == FALSE || operand.type() == TRUE || operand.type() == NOT)
       return operand.negate();
     Not not = this.nots.get(operand);
-    if (not == null) {
-      not = new Not(operand, this);
-      this.nots.put(operand, not);
-    }
+    if (not == null)
+      not = this.putIfAbsent(this.nots, operand, new Not(operand, this));
     return not;
   }
 
@@ -381,9 +467,16 @@ public final class FormulaFactory {
    * @return a new conjunction
    */
   public Formula and(final Formula... operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands.length);
-    Collections.addAll(ops, operands);
-    return this.constructAnd(ops);
+    final Formula[] localOps = this.localOperands(operands);
+    final OperandsKey key = this.operandsKey(localOps);
+    if (key != null && key.size() > 1) {
+      final And and = this.andMap(key.size()).get(key);
+      if (and != null)
+        return and;
+    }
+    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(localOps.length);
+    Collections.addAll(ops, localOps);
+    return this.constructAnd(ops, key);
   }
 
   /**
@@ -394,68 +487,44 @@ public final class FormulaFactory {
    * @return a new conjunction
    */
   public Formula and(final Collection<? extends Formula> operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands);
-    return this.constructAnd(ops);
+    final Collection<? extends Formula> localOps = this.localOperands(operands);
+    final OperandsKey key = this.operandsKey(localOps);
+    if (key != null && key.size() > 1) {
+      final And and = this.andMap(key.size()).get(key);
+      if (and != null)
+        return and;
+    }
+    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(localOps);
+    return this.constructAnd(ops, key);
   }
 
   /**
-   * Creates a new conjunction.
+   * Creates a new conjunction.  The lookup of the given operands key was already performed by the caller.
    * @param operands the formulas
+   * @param key      the key of the operands or {@code null} if the operands cannot be represented by a key
    * @return a new conjunction
    */
-  private Formula constructAnd(final LinkedHashSet<? extends Formula> operands) {
-    And tempAnd = null;
-    Map<LinkedHashSet<? extends Formula>, And> opAndMap = this.andsN;
-    if (operands.size() > 1) {
-      switch (operands.size()) {
-        case 2:
-          opAndMap = this.ands2;
-          break;
-        case 3:
-          opAndMap = this.ands3;
-          break;
-        case 4:
-          opAndMap = this.ands4;
-          break;
-        default:
-          break;
-      }
-      tempAnd = opAndMap.get(operands);
-    }
-    if (tempAnd != null)
-      return tempAnd;
+  private Formula constructAnd(final LinkedHashSet<? extends Formula> operands, final OperandsKey key) {
+    final boolean[] additionResult = this.additionResult();
     LinkedHashSet<? extends Formula> condensedOperands = operands.size() < 2
             ? operands
-            : this.condenseOperandsAnd(operands);
+            : this.condenseOperandsAnd(operands, additionResult);
     if (condensedOperands == null)
       return this.falsum();
     if (condensedOperands.isEmpty())
       return this.verum();
     if (condensedOperands.size() == 1)
       return condensedOperands.iterator().next();
-    And and;
-    Map<LinkedHashSet<? extends Formula>, And> condAndMap = this.andsN;
-    switch (condensedOperands.size()) {
-      case 2:
-        condAndMap = this.ands2;
-        break;
-      case 3:
-        condAndMap = this.ands3;
-        break;
-      case 4:
-        condAndMap = this.ands4;
-        break;
-      default:
-        break;
-    }
-    and = condAndMap.get(condensedOperands);
+    final Map<OperandsKey, And> condAndMap = this.andMap(condensedOperands.size());
+    final OperandsKey condKey = this.operandsKey(condensedOperands);
+    And and = condKey == null ? null : condAndMap.get(condKey);
     if (and == null) {
-      tempAnd = new And(condensedOperands, this, this.cnfCheck);
-      opAndMap.put(operands, tempAnd);
-      condAndMap.put(condensedOperands, tempAnd);
-      return tempAnd;
+      and = new And(condensedOperands, this, additionResult[2]);
+      if (condKey != null)
+        and = this.putIfAbsent(condAndMap, condKey, and);
     }
-    opAndMap.put(operands, and);
+    if (key != null)
+      this.andMap(key.size()).put(key, and);
     return and;
   }
 
@@ -469,9 +538,16 @@ public final class FormulaFactory {
    * @return a new CNF
    */
   public Formula cnf(final Formula... clauses) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(clauses.length);
-    Collections.addAll(ops, clauses);
-    return this.constructCNF(ops);
+    final Formula[] localClauses = this.localOperands(clauses);
+    final OperandsKey key = this.operandsKey(localClauses);
+    if (key != null && key.size() > 1) {
+      final And and = this.andMap(key.size()).get(key);
+      if (and != null)
+        return and;
+    }
+    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(localClauses.length);
+    Collections.addAll(ops, localClauses);
+    return this.constructCNF(ops, key);
   }
 
   /**
@@ -484,40 +560,30 @@ public final class FormulaFactory {
    * @return a new CNF
    */
   public Formula cnf(final Collection<? extends Formula> clauses) {
-    final LinkedHashSet<? extends Formula> ops = new LinkedHashSet<>(clauses);
-    return this.constructCNF(ops);
+    final Collection<? extends Formula> localClauses = this.localOperands(clauses);
+    final OperandsKey key = this.operandsKey(localClauses);
+    if (key != null && key.size() > 1) {
+      final And and = this.andMap(key.size()).get(key);
+      if (and != null)
+        return and;
+    }
+    final LinkedHashSet<? extends Formula> ops = new LinkedHashSet<>(localClauses);
+    return this.constructCNF(ops, key);
   }
 
   /**
-   * Creates a new CNF.
+   * Creates a new CNF.  The lookup of the given operands key was already performed by the caller.
    * @param clauses the clauses
+   * @param key     the key of the clauses or {@code null} if the clauses cannot be represented by a key
    * @return a new CNF
    */
-  private Formula constructCNF(final LinkedHashSet<? extends Formula> clauses) {
+  private Formula constructCNF(final LinkedHashSet<? extends Formula> clauses, final OperandsKey key) {
     if (clauses.isEmpty())
       return this.verum();
     if (clauses.size() == 1)
       return clauses.iterator().next();
-    Map<LinkedHashSet<? extends Formula>, And> opAndMap = this.andsN;
-    switch (clauses.size()) {
-      case 2:
-        opAndMap = this.ands2;
-        break;
-      case 3:
-        opAndMap = this.ands3;
-        break;
-      case 4:
-        opAndMap = this.ands4;
-        break;
-      default:
-        break;
-    }
-    And tempAnd = opAndMap.get(clauses);
-    if (tempAnd != null)
-      return tempAnd;
-    tempAnd = new And(clauses, this, true);
-    opAndMap.put(clauses, tempAnd);
-    return tempAnd;
+    final And and = new And(clauses, this, true);
+    return key == null ? and : this.putIfAbsent(this.andMap(key.size()), key, and);
   }
 
   /**
@@ -526,9 +592,16 @@ public final class FormulaFactory {
    * @return a new disjunction
    */
   public Formula or(final Formula... operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands.length);
-    Collections.addAll(ops, operands);
-    return this.constructOr(ops);
+    final Formula[] localOps = this.localOperands(operands);
+    final OperandsKey key = this.operandsKey(localOps);
+    if (key != null && key.size() > 1) {
+      final Or or = this.orMap(key.size()).get(key);
+      if (or != null)
+        return or;
+    }
+    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(localOps.length);
+    Collections.addAll(ops, localOps);
+    return this.constructOr(ops, key);
   }
 
   /**
@@ -539,68 +612,44 @@ public final class FormulaFactory {
    * @return a new disjunction
    */
   public Formula or(final Collection<? extends Formula> operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands);
-    return this.constructOr(ops);
+    final Collection<? extends Formula> localOps = this.localOperands(operands);
+    final OperandsKey key = this.operandsKey(localOps);
+    if (key != null && key.size() > 1) {
+      final Or or = this.orMap(key.size()).get(key);
+      if (or != null)
+        return or;
+    }
+    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(localOps);
+    return this.constructOr(ops, key);
   }
 
   /**
-   * Creates a new disjunction.
+   * Creates a new disjunction.  The lookup of the given operands key was already performed by the caller.
    * @param operands the formulas
+   * @param key      the key of the operands or {@code null} if the operands cannot be represented by a key
    * @return a new disjunction
    */
-  private Formula constructOr(final LinkedHashSet<? extends Formula> operands) {
-    Or tempOr = null;
-    Map<LinkedHashSet<? extends Formula>, Or> opOrMap = this.orsN;
-    if (operands.size() > 1) {
-      switch (operands.size()) {
-        case 2:
-          opOrMap = this.ors2;
-          break;
-        case 3:
-          opOrMap = this.ors3;
-          break;
-        case 4:
-          opOrMap = this.ors4;
-          break;
-        default:
-          break;
-      }
-      tempOr = opOrMap.get(operands);
-    }
-    if (tempOr != null)
-      return tempOr;
+  private Formula constructOr(final LinkedHashSet<? extends Formula> operands, final OperandsKey key) {
+    final boolean[] additionResult = this.additionResult();
     LinkedHashSet<? extends Formula> condensedOperands = operands.size() < 2
             ? operands
-            : this.condenseOperandsOr(operands);
+            : this.condenseOperandsOr(operands, additionResult);
     if (condensedOperands == null)
       return this.verum();
     if (condensedOperands.isEmpty())
       return this.falsum();
     if (condensedOperands.size() == 1)
       return condensedOperands.iterator().next();
-    Or or;
-    Map<LinkedHashSet<? extends Formula>, Or> condOrMap = this.orsN;
-    switch (condensedOperands.size()) {
-      case 2:
-        condOrMap = this.ors2;
-        break;
-      case 3:
-        condOrMap = this.ors3;
-        break;
-      case 4:
-        condOrMap = this.ors4;
-        break;
-      default:
-        break;
-    }
-    or = condOrMap.get(condensedOperands);
+    final Map<OperandsKey, Or> condOrMap = this.orMap(condensedOperands.size());
+    final OperandsKey condKey = this.operandsKey(condensedOperands);
+    Or or = condKey == null ? null : condOrMap.get(condKey);
     if (or == null) {
-      tempOr = new Or(condensedOperands, this, this.cnfCheck);
-      opOrMap.put(operands, tempOr);
-      condOrMap.put(condensedOperands, tempOr);
-      return tempOr;
+      or = new Or(condensedOperands, this, additionResult[2]);
+      if (condKey != null)
+        or = this.putIfAbsent(condOrMap, condKey, or);
     }
-    opOrMap.put(operands, or);
+    if (key != null)
+      this.orMap(key.size()).put(key, or);
     return or;
   }
 
@@ -613,9 +662,16 @@ public final class FormulaFactory {
    * @return a new clause
    */
   public Formula clause(final Literal... literals) {
-    final LinkedHashSet<Literal> ops = new LinkedHashSet<>(literals.length);
-    Collections.addAll(ops, literals);
-    return this.constructClause(ops);
+    final Literal[] localLiterals = this.localOperands(literals);
+    final OperandsKey key = this.operandsKey(localLiterals);
+    if (key != null && key.size() > 1) {
+      final Or or = this.orMap(key.size()).get(key);
+      if (or != null)
+        return or;
+    }
+    final LinkedHashSet<Literal> ops = new LinkedHashSet<>(localLiterals.length);
+    Collections.addAll(ops, localLiterals);
+    return this.constructClause(ops, key);
   }
 
   /**
@@ -627,43 +683,189 @@ public final class FormulaFactory {
    * @return a new clause
    */
   public Formula clause(final Collection<? extends Literal> literals) {
-    final LinkedHashSet<Literal> ops = new LinkedHashSet<>(literals);
-    return this.constructClause(ops);
+    final Collection<? extends Literal> localLiterals = this.localOperands(literals);
+    final OperandsKey key = this.operandsKey(localLiterals);
+    if (key != null && key.size() > 1) {
+      final Or or = this.orMap(key.size()).get(key);
+      if (or != null)
+        return or;
+    }
+    final LinkedHashSet<Literal> ops = new LinkedHashSet<>(localLiterals);
+    return this.constructClause(ops, key);
   }
 
   /**
-   * Creates a new clause.
+   * Creates a new clause.  The lookup of the given operands key was already performed by the caller.
    * @param literals the literals
+   * @param key      the key of the literals or {@code null} if the literals cannot be represented by a key
    * @return a new clause
    */
-  private Formula constructClause(final LinkedHashSet<Literal> literals) {
+  private Formula constructClause(final LinkedHashSet<Literal> literals, final OperandsKey key) {
     if (literals.isEmpty())
       return this.falsum();
     if (literals.size() == 1)
       return literals.iterator().next();
-    Or tempOr = null;
-    Map<LinkedHashSet<? extends Formula>, Or> opOrMap = this.orsN;
-    if (literals.size() > 1) {
-      switch (literals.size()) {
-        case 2:
-          opOrMap = this.ors2;
-          break;
-        case 3:
-          opOrMap = this.ors3;
-          break;
-        case 4:
-          opOrMap = this.ors4;
-          break;
-        default:
-          break;
+    final Or or = new Or(literals, this, true);
+    return key == null ? or : this.putIfAbsent(this.orMap(key.size()), key, or);
+  }
+
+  /**
+   * Returns the unique table for conjunctions with a given number of operands.
+   * @param size the number of operands
+   * @return the unique table
+   */
+  private Map<OperandsKey, And> andMap(int size) {
+    switch (size) {
+      case 2:
+        return this.ands2;
+      case 3:
+        return this.ands3;
+      case 4:
+        return this.ands4;
+      default:
+        return this.andsN;
+    }
+  }
+
+  /**
+   * Returns the unique table for disjunctions with a given number of operands.
+   * @param size the number of operands
+   * @return the unique table
+   */
+  private Map<OperandsKey, Or> orMap(int size) {
+    switch (size) {
+      case 2:
+        return this.ors2;
+      case 3:
+        return this.ors3;
+      case 4:
+        return this.ors4;
+      default:
+        return this.orsN;
+    }
+  }
+
+  /**
+   * Returns the given operands if all of them were created by this factory, otherwise a copy of the operands where
+   * each formula of another factory is replaced by its equivalent formula of this factory.
+   * @param operands the operands
+   * @param <T>      the type of the operands
+   * @return the operands of this factory
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends Formula> T[] localOperands(final T[] operands) {
+    T[] result = operands;
+    for (int i = 0; i < operands.length; i++)
+      if (operands[i].f != this && operands[i].f != null) {
+        if (result == operands)
+          result = Arrays.copyOf(operands, operands.length);
+        result[i] = (T) this.importFormula(operands[i]);
       }
-      tempOr = opOrMap.get(literals);
+    return result;
+  }
+
+  /**
+   * Returns the given operands if all of them were created by this factory, otherwise a copy of the operands where
+   * each formula of another factory is replaced by its equivalent formula of this factory.
+   * @param operands the operands
+   * @param <T>      the type of the operands
+   * @return the operands of this factory
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends Formula> Collection<? extends T> localOperands(final Collection<? extends T> operands) {
+    boolean foreign = false;
+    for (final Formula op : operands)
+      if (op.f != this && op.f != null) {
+        foreign = true;
+        break;
+      }
+    if (!foreign)
+      return operands;
+    final List<T> result = new ArrayList<>(operands.size());
+    for (final T op : operands)
+      result.add(op.f != this && op.f != null ? (T) this.importFormula(op) : op);
+    return result;
+  }
+
+  /**
+   * Returns the equivalent formula of this factory for a given formula of another factory.
+   * @param formula the formula of the other factory
+   * @return the equivalent formula of this factory
+   */
+  private Formula importFormula(final Formula formula) {
+    if (formula.f == this)
+      return formula;
+    switch (formula.type) {
+      case TRUE:
+        return this.verum();
+      case FALSE:
+        return this.falsum();
+      case LITERAL:
+        final Literal lit = (Literal) formula;
+        return this.literal(lit.name(), lit.phase());
+      case NOT:
+        return this.not(this.importFormula(((Not) formula).operand()));
+      case IMPL:
+        return this.implication(this.importFormula(((Implication) formula).left()), this.importFormula(((Implication) formula).right()));
+      case EQUIV:
+        return this.equivalence(this.importFormula(((Equivalence) formula).left()), this.importFormula(((Equivalence) formula).right()));
+      case AND:
+      case OR:
+        final Formula[] ops = new Formula[formula.numberOfOperands()];
+        int count = 0;
+        for (final Formula op : formula)
+          ops[count++] = this.importFormula(op);
+        return this.naryOperator(formula.type, ops);
+      case PBC:
+        final PBConstraint pbc = (PBConstraint) formula;
+        final Literal[] literals = new Literal[pbc.operands().length];
+        for (int i = 0; i < literals.length; i++)
+          literals[i] = (Literal) this.importFormula(pbc.operands()[i]);
+        return this.pbc(pbc.comparator(), pbc.rhs(), literals, pbc.coefficients());
+      default:
+        throw new IllegalArgumentException("Unknown formula type " + formula.type);
     }
-    if (tempOr != null)
-      return tempOr;
-    tempOr = new Or(literals, this, true);
-    opOrMap.put(literals, tempOr);
-    return tempOr;
+  }
+
+  /**
+   * Returns the key for a given array of operands or {@code null} if one of the operands was not created by this
+   * factory.
+   * @param operands the operands
+   * @return the key for the operands
+   */
+  private OperandsKey operandsKey(final Formula[] operands) {
+    final int[] ids = new int[operands.length];
+    for (int i = 0; i < operands.length; i++) {
+      if (operands[i].f != this)
+        return null;
+      ids[i] = operands[i].id;
+    }
+    return new OperandsKey(ids);
+  }
+
+  /**
+   * Returns the key for a given collection of operands or {@code null} if one of the operands was not created by this
+   * factory.
+   * @param operands the operands
+   * @return the key for the operands
+   */
+  private OperandsKey operandsKey(final Collection<? extends Formula> operands) {
+    final int[] ids = new int[operands.size()];
+    int i = 0;
+    for (final Formula op : operands) {
+      if (op.f != this)
+        return null;
+      ids[i++] = op.id;
+    }
+    return new OperandsKey(ids);
+  }
+
+  /**
+   * Returns the next formula id of this factory.
+   * @return the next formula id
+   */
+  int nextFormulaId() {
+    return this.formulaIdCounter.getAndIncrement();
   }
 
   /**
@@ -679,10 +881,8 @@ public final class FormulaFactory {
       return this.variable(name);
     else {
       Literal lit = this.negLiterals.get(name);
-      if (lit == null) {
-        lit = new Literal(name, false, this);
-        this.negLiterals.put(name, lit);
-      }
+      if (lit == null)
+        lit = this.putIfAbsent(this.negLiterals, name, new Literal(name, false, this));
       return lit;
     }
   }
@@ -694,10 +894,8 @@ public final class FormulaFactory {
    */
   public Variable variable(final String name) {
     Variable var = this.posLiterals.get(name);
-    if (var == null) {
-      var = new Variable(name, this);
-      this.posLiterals.put(name, var);
-    }
+    if (var == null)
+      var = this.putIfAbsent(this.posLiterals, name, new Variable(name, this));
     return var;
   }
 
@@ -733,10 +931,8 @@ public final class FormulaFactory {
   private PBConstraint constructPBC(final CType comparator, int rhs, final Literal[] literals, final int[] coefficients) {
     final PBOperands operands = new PBOperands(literals, coefficients, comparator, rhs);
     PBConstraint constraint = this.pbConstraints.get(operands);
-    if (constraint == null) {
-      constraint = new PBConstraint(literals, coefficients, comparator, rhs, this);
-      this.pbConstraints.put(operands, constraint);
-    }
+    if (constraint == null)
+      constraint = this.putIfAbsent(this.pbConstraints, operands, new PBConstraint(literals, coefficients, comparator, rhs, this));
     return constraint;
   }
 
@@ -823,7 +1019,7 @@ public final class FormulaFactory {
    * @return the new cardinality constraint auxiliary literal
    */
   public Variable newCCVariable() {
-    final Variable var = this.variable(this.ccPrefix + this.ccCounter++);
+    final Variable var = this.variable(this.ccPrefix + this.ccCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -835,7 +1031,7 @@ public final class FormulaFactory {
    * @return the new pseudo Boolean auxiliary literal
    */
   public Variable newPBVariable() {
-    final Variable var = this.variable(this.pbPrefix + this.pbCounter++);
+    final Variable var = this.variable(this.pbPrefix + this.pbCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -847,61 +1043,69 @@ public final class FormulaFactory {
    * @return the new CNF auxiliary literal
    */
   public Variable newCNFVariable() {
-    final Variable var = this.variable(this.cnfPrefix + this.cnfCounter++);
+    final Variable var = this.variable(this.cnfPrefix + this.cnfCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
 
   /**
    * Returns a condensed array of operands for a given n-ary disjunction.
+   * <p>
+   * The third element of the given result array is {@code true} after this operation if the condensed operands form
+   * a CNF (a clause for disjunctions), {@code false} otherwise.
    * @param operands the formulas
+   * @param result   the array for the intermediate results
    * @return a condensed array of operands
    */
-  private LinkedHashSet<Formula> condenseOperandsOr(Collection<? extends Formula> operands) {
+  private LinkedHashSet<Formula> condenseOperandsOr(Collection<? extends Formula> operands, final boolean[] result) {
     final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-    this.cnfCheck = true;
+    result[2] = true;
     for (Formula form : operands)
       if (form.type() == OR) {
         for (Formula f : ((NAryOperator) form).operands) {
-          this.addFormulaOr(ops, f);
-          if (!formulaAdditionResult[0])
+          this.addFormulaOr(ops, f, result);
+          if (!result[0])
             return null;
-          if (!formulaAdditionResult[1])
-            this.cnfCheck = false;
+          if (!result[1])
+            result[2] = false;
         }
       } else {
-        this.addFormulaOr(ops, form);
-        if (!formulaAdditionResult[0])
+        this.addFormulaOr(ops, form, result);
+        if (!result[0])
           return null;
-        if (!formulaAdditionResult[1])
-          this.cnfCheck = false;
+        if (!result[1])
+          result[2] = false;
       }
     return ops;
   }
 
   /**
    * Returns a condensed array of operands for a given n-ary conjunction.
+   * <p>
+   * The third element of the given result array is {@code true} after this operation if the condensed operands form
+   * a CNF (a clause for disjunctions), {@code false} otherwise.
    * @param operands the formulas
+   * @param result   the array for the intermediate results
    * @return a condensed array of operands
    */
-  private LinkedHashSet<Formula> condenseOperandsAnd(Collection<? extends Formula> operands) {
+  private LinkedHashSet<Formula> condenseOperandsAnd(Collection<? extends Formula> operands, final boolean[] result) {
     final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-    this.cnfCheck = true;
+    result[2] = true;
     for (Formula form : operands)
       if (form.type() == AND) {
         for (Formula f : ((NAryOperator) form).operands) {
-          this.addFormulaAnd(ops, f);
-          if (!formulaAdditionResult[0])
+          this.addFormulaAnd(ops, f, result);
+          if (!result[0])
             return null;
-          if (!formulaAdditionResult[1])
-            this.cnfCheck = false;
+          if (!result[1])
+            result[2] = false;
         }
       } else {
-        this.addFormulaAnd(ops, form);
-        if (!formulaAdditionResult[0])
+        this.addFormulaAnd(ops, form, result);
+        if (!result[0])
           return null;
-        if (!formulaAdditionResult[1])
-          this.cnfCheck = false;
+        if (!result[1])
+          result[2] = false;
       }
     return ops;
   }
@@ -940,20 +1144,21 @@ public final class FormulaFactory {
    * formula is the dual element, {@code false} is stored as first element of the result array,
    * otherwise {@code true} is the first element of the result array.  If the added formula was a literal, the second
    * element in the result array is {@code true}, {@code false} otherwise.
-   * @param ops the list of operands
-   * @param f   the formula
+   * @param ops    the list of operands
+   * @param f      the formula
+   * @param result the result array
    */
-  private void addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
+  private void addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f, final boolean[] result) {
     if (f.type == FALSE) {
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = true;
+      result[0] = true;
+      result[1] = true;
     } else if (f.type == TRUE || containsComplement(ops, f)) {
-      formulaAdditionResult[0] = false;
-      formulaAdditionResult[1] = false;
+      result[0] = false;
+      result[1] = false;
     } else {
       ops.add(f);
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = f.type == LITERAL;
+      result[0] = true;
+      result[1] = f.type == LITERAL;
     }
   }
 
@@ -963,20 +1168,21 @@ public final class FormulaFactory {
    * formula is the dual element, {@code false} is stored as first element of the result array,
    * otherwise {@code true} is the first element of the result array.  If the added formula was a clause, the second
    * element in the result array is {@code true}, {@code false} otherwise.
-   * @param ops the list of operands
-   * @param f   the formula
+   * @param ops    the list of operands
+   * @param f      the formula
+   * @param result the result array
    */
-  private void addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
+  private void addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f, final boolean[] result) {
     if (f.type() == TRUE) {
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = true;
+      result[0] = true;
+      result[1] = true;
     } else if (f.type == FALSE || containsComplement(ops, f)) {
-      formulaAdditionResult[0] = false;
-      formulaAdditionResult[1] = false;
+      result[0] = false;
+      result[1] = false;
     } else {
       ops.add(f);
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = f.type == LITERAL || f.type == OR && ((Or) f).isCNFClause();
+      result[0] = true;
+      result[1] = f.type == LITERAL || f.type == OR && ((Or) f).isCNFClause();
     }
   }
 
@@ -997,7 +1203,9 @@ public final class FormulaFactory {
    */
   public String string(final Formula formula, final FormulaStringRepresentation stringRepresentation) {
     return stringRepresentation.toString(formula);
-  }  @Override
+  }
+
+  @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
     sb.append("Name:              ").append(this.name).append("\n");
@@ -1017,6 +1225,48 @@ public final class FormulaFactory {
     return sb.toString();
   }
 
+  /**
+   * Helper class for the key of the operands of an n-ary operator.  The key consists of the sorted and duplicate-free
+   * ids of the operands.  Therefore it respects the commutativity of the operands and can be hashed and compared without
+   * touching the operands themselves.
+   */
+  private static final class OperandsKey {
+    private final int[] ids;
+    private final int hashCode;
+
+    /**
+     * Constructs a new instance.
+     * @param ids the ids of the operands (the array is sorted in place)
+     */
+    public OperandsKey(final int[] ids) {
+      Arrays.sort(ids);
+      int size = ids.length == 0 ? 0 : 1;
+      for (int i = 1; i < ids.length; i++)
+        if (ids[i] != ids[size - 1])
+          ids[size++] = ids[i];
+      this.ids = size == ids.length ? ids : Arrays.copyOf(ids, size);
+      this.hashCode = Arrays.hashCode(this.ids);
+    }
+
+    /**
+     * Returns the number of distinct operands of this key.
+     * @return the number of distinct operands
+     */
+    public int size() {
+      return this.ids.length;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return this == other || other instanceof OperandsKey && Arrays.equals(this.ids, ((OperandsKey) other).ids);
+    }
+  }
+
   /**
    * Helper class for the operands of a pseudo-Boolean constraint.
    */
@@ -1058,8 +1308,4 @@ public final class FormulaFactory {
       return false;
     }
   }
-
-
-
-
 }
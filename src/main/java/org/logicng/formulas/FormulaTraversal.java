@@ -0,0 +1,135 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A post-order traversal of a formula which does not use the call stack.
+ * <p>
+ * The traversal uses an explicit stack, so its depth is only limited by the heap and not by the stack size of the
+ * thread.  Each node of the formula DAG is visited exactly once: the result for a node is computed after the results of
+ * all its children are known and is then reused for all other occurrences of the node.
+ * <p>
+ * A traversal is defined by three methods: {@link #children(Formula)} defines the nodes which have to be processed
+ * before a node (by default its operands), {@link #lookup(Formula)} can return an already known result for a node
+ * (e.g. from a cache) which prevents the traversal from descending into the node, and
+ * {@link #combine(Formula, List)} computes the result for a node from the results of its children.
+ * <p>
+ * Since nodes are identified by reference, the traversal relies on the fact that formulas are unique within a formula
+ * factory.
+ * @param <T> the result type of the traversal
+ * @version 1.1
+ * @since 1.1
+ */
+public abstract class FormulaTraversal<T> {
+
+  /**
+   * Returns the children of a node, i.e. the nodes whose results are required for the computation of the result of
+   * the node.  The default implementation returns the operands of the node.
+   * @param formula the node
+   * @return the children of the node
+   */
+  protected List<Formula> children(final Formula formula) {
+    if (formula.numberOfOperands() == 0)
+      return Collections.emptyList();
+    final List<Formula> children = new ArrayList<>(formula.numberOfOperands());
+    for (final Formula op : formula)
+      children.add(op);
+    return children;
+  }
+
+  /**
+   * Returns an already known result for a node or {@code null} if the result has to be computed.  The default
+   * implementation always returns {@code null}.
+   * @param formula the node
+   * @return the known result or {@code null}
+   */
+  protected T lookup(final Formula formula) {
+    return null;
+  }
+
+  /**
+   * Computes the result for a node.
+   * @param formula  the node
+   * @param children the results of the children of the node in the order of {@link #children(Formula)}
+   * @return the result for the node (must not be {@code null})
+   */
+  protected abstract T combine(final Formula formula, final List<T> children);
+
+  /**
+   * Traverses a given formula and returns the result for its root.
+   * @param formula the formula
+   * @return the result for the formula
+   */
+  public T apply(final Formula formula) {
+    final Map<Formula, T> results = new IdentityHashMap<>();
+    final Map<Formula, List<Formula>> expanded = new IdentityHashMap<>();
+    final ArrayDeque<Formula> stack = new ArrayDeque<>();
+    stack.push(formula);
+    while (!stack.isEmpty()) {
+      final Formula current = stack.peek();
+      if (results.containsKey(current)) {
+        stack.pop();
+        continue;
+      }
+      final List<Formula> children = expanded.get(current);
+      if (children == null) {
+        final T known = this.lookup(current);
+        if (known != null) {
+          results.put(current, known);
+          stack.pop();
+          continue;
+        }
+        final List<Formula> newChildren = this.children(current);
+        expanded.put(current, newChildren);
+        for (int i = newChildren.size() - 1; i >= 0; i--)
+          if (!results.containsKey(newChildren.get(i)))
+            stack.push(newChildren.get(i));
+      } else {
+        stack.pop();
+        expanded.remove(current);
+        final List<T> childResults = new ArrayList<>(children.size());
+        for (final Formula child : children) {
+          final T childResult = results.get(child);
+          if (childResult == null)
+            throw new IllegalStateException("Cyclic dependency in formula traversal");
+          childResults.add(childResult);
+        }
+        results.put(current, this.combine(current, childResults));
+      }
+    }
+    return results.get(formula);
+  }
+}
@@ -0,0 +1,424 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
+
+/**
+ * The stack-safe implementations of the basic transformations on formulas.
+ * @version 1.1
+ * @since 1.1
+ */
+final class FormulaTraversals {
+
+  /**
+   * Private constructor.
+   */
+  private FormulaTraversals() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Returns the negation normal form of a formula.  The result is cached for every visited node.
+   * @param formula the formula
+   * @return the negation normal form
+   */
+  static Formula nnf(final Formula formula) {
+    return new NNFTraversal().apply(formula);
+  }
+
+  /**
+   * Restricts a formula with a given assignment.
+   * @param formula    the formula
+   * @param assignment the assignment
+   * @return the restricted formula
+   */
+  static Formula restrict(final Formula formula, final Assignment assignment) {
+    final RestrictTraversal traversal = new RestrictTraversal(assignment);
+    return isShallow(formula) ? applyShallow(traversal, formula) : traversal.apply(formula);
+  }
+
+  /**
+   * Performs a substitution on a formula.
+   * @param formula      the formula
+   * @param substitution the substitution
+   * @return the substituted formula
+   */
+  static Formula substitute(final Formula formula, final Substitution substitution) {
+    final SubstitutionTraversal traversal = new SubstitutionTraversal(substitution);
+    return isShallow(formula) ? applyShallow(traversal, formula) : traversal.apply(formula);
+  }
+
+  /**
+   * Returns the number of atoms of a formula.  The result is cached for every visited node.
+   * @param formula the formula
+   * @return the number of atoms
+   */
+  static long numberOfAtoms(final Formula formula) {
+    return new CountTraversal(true).apply(formula);
+  }
+
+  /**
+   * Returns the number of nodes of a formula.  The result is cached for every visited node.
+   * @param formula the formula
+   * @return the number of nodes
+   */
+  static long numberOfNodes(final Formula formula) {
+    return new CountTraversal(false).apply(formula);
+  }
+
+  /**
+   * Returns all variables of a formula.  Sub-formulas which already know their variables are not traversed.
+   * @param formula the formula
+   * @return the variables
+   */
+  static SortedSet<Variable> variables(final Formula formula) {
+    final SortedSet<Variable> variables = new TreeSet<>();
+    new FormulaTraversal<Boolean>() {
+      @Override
+      protected Boolean lookup(final Formula node) {
+        if (node.variables != null || node.isAtomicFormula()) {
+          variables.addAll(node.variables());
+          return true;
+        }
+        return null;
+      }
+
+      @Override
+      protected Boolean combine(final Formula node, final List<Boolean> children) {
+        return true;
+      }
+    }.apply(formula);
+    return variables;
+  }
+
+  /**
+   * Returns all literals of a formula.
+   * @param formula the formula
+   * @return the literals
+   */
+  static SortedSet<Literal> literals(final Formula formula) {
+    final SortedSet<Literal> literals = new TreeSet<>();
+    new FormulaTraversal<Boolean>() {
+      @Override
+      protected Boolean lookup(final Formula node) {
+        if (node.isAtomicFormula()) {
+          literals.addAll(node.literals());
+          return true;
+        }
+        return null;
+      }
+
+      @Override
+      protected Boolean combine(final Formula node, final List<Boolean> children) {
+        return true;
+      }
+    }.apply(formula);
+    return literals;
+  }
+
+  /**
+   * Returns {@code true} if all operands of a formula are atomic, e.g. for a clause or a negated literal.  Such a
+   * formula is transformed by {@link #applyShallow} instead of a full traversal.
+   * @param formula the formula
+   * @return {@code true} if all operands of the formula are atomic
+   */
+  private static boolean isShallow(final Formula formula) {
+    for (final Formula op : formula)
+      if (!op.isAtomicFormula())
+        return false;
+    return true;
+  }
+
+  /**
+   * Applies a traversal to a shallow formula.  The results for its operands are looked up directly and combined, so
+   * no memo and no explicit stack are allocated as in {@link FormulaTraversal#apply}.  The lookup of the traversal must
+   * return a result for every atomic formula.
+   * @param traversal the traversal
+   * @param formula   the shallow formula
+   * @return the result for the formula
+   */
+  private static Formula applyShallow(final FormulaTraversal<Formula> traversal, final Formula formula) {
+    final Formula known = traversal.lookup(formula);
+    if (known != null)
+      return known;
+    final List<Formula> children = traversal.children(formula);
+    final List<Formula> results = new ArrayList<>(children.size());
+    for (final Formula child : children)
+      results.add(traversal.lookup(child));
+    return traversal.combine(formula, results);
+  }
+
+  /**
+   * Returns a new n-ary operator of the given type for a list of operands.
+   * @param f        the formula factory
+   * @param type     the type
+   * @param operands the operands
+   * @return the n-ary operator
+   */
+  private static Formula naryOperator(final FormulaFactory f, final FType type, final List<Formula> operands) {
+    return f.naryOperator(type, new LinkedHashSet<>(operands));
+  }
+
+  /**
+   * The traversal for the negation normal form.
+   */
+  private static final class NNFTraversal extends FormulaTraversal<Formula> {
+
+    @Override
+    protected List<Formula> children(final Formula formula) {
+      final FormulaFactory f = formula.f;
+      switch (formula.type) {
+        case NOT:
+          final Formula operand = ((Not) formula).operand();
+          switch (operand.type) {
+            case AND:
+            case OR:
+              final List<Formula> children = new ArrayList<>(operand.numberOfOperands());
+              for (final Formula op : operand)
+                children.add(op.negate());
+              return children;
+            case IMPL:
+              return Collections.singletonList(f.and(((BinaryOperator) operand).left, ((BinaryOperator) operand).right.negate()));
+            case EQUIV:
+              final BinaryOperator equiv = (BinaryOperator) operand;
+              return Arrays.asList(equiv.left.negate(), equiv.right.negate(), equiv.left, equiv.right);
+            case PBC:
+              return Collections.singletonList(operand.negate());
+            default:
+              return Collections.emptyList();
+          }
+        case IMPL:
+          return Arrays.asList(f.not(((BinaryOperator) formula).left), ((BinaryOperator) formula).right);
+        case EQUIV:
+          final BinaryOperator equiv = (BinaryOperator) formula;
+          return Arrays.asList(equiv.left, equiv.right, f.not(equiv.left), f.not(equiv.right));
+        default:
+          return super.children(formula);
+      }
+    }
+
+    @Override
+    protected Formula lookup(final Formula formula) {
+      switch (formula.type) {
+        case TRUE:
+        case FALSE:
+        case LITERAL:
+          return formula;
+        case PBC:
+          return formula.nnf();
+        default:
+          return formula.transformationCacheEntry(NNF);
+      }
+    }
+
+    @Override
+    protected Formula combine(final Formula formula, final List<Formula> children) {
+      final FormulaFactory f = formula.f;
+      final Formula nnf;
+      switch (formula.type) {
+        case NOT:
+          final Formula operand = ((Not) formula).operand();
+          switch (operand.type) {
+            case AND:
+            case OR:
+              nnf = naryOperator(f, operand.type == FType.AND ? FType.OR : FType.AND, children);
+              break;
+            case IMPL:
+            case PBC:
+              nnf = children.get(0);
+              break;
+            case EQUIV:
+              nnf = f.and(f.or(children.get(0), children.get(1)), f.or(children.get(2), children.get(3)));
+              break;
+            default:
+              nnf = formula;
+          }
+          break;
+        case IMPL:
+          nnf = f.or(children.get(0), children.get(1));
+          break;
+        case EQUIV:
+          nnf = f.or(f.and(children.get(0), children.get(1)), f.and(children.get(2), children.get(3)));
+          break;
+        case AND:
+        case OR:
+          nnf = naryOperator(f, formula.type, children);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type);
+      }
+      formula.setTransformationCacheEntry(NNF, nnf);
+      return nnf;
+    }
+  }
+
+  /**
+   * The traversal for the restriction with an assignment.
+   */
+  private static final class RestrictTraversal extends FormulaTraversal<Formula> {
+    private final Assignment assignment;
+
+    /**
+     * Constructs a new restriction traversal.
+     * @param assignment the assignment
+     */
+    private RestrictTraversal(final Assignment assignment) {
+      this.assignment = assignment;
+    }
+
+    @Override
+    protected Formula lookup(final Formula formula) {
+      switch (formula.type) {
+        case TRUE:
+        case FALSE:
+        case LITERAL:
+        case PBC:
+          return formula.restrict(this.assignment);
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    protected Formula combine(final Formula formula, final List<Formula> children) {
+      final FormulaFactory f = formula.f;
+      switch (formula.type) {
+        case NOT:
+          return f.not(children.get(0));
+        case IMPL:
+          return children.get(0).type == FType.FALSE ? f.verum() : f.implication(children.get(0), children.get(1));
+        case EQUIV:
+          return f.equivalence(children.get(0), children.get(1));
+        case AND:
+        case OR:
+          return naryOperator(f, formula.type, children);
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type);
+      }
+    }
+  }
+
+  /**
+   * The traversal for a substitution.
+   */
+  private static final class SubstitutionTraversal extends FormulaTraversal<Formula> {
+    private final Substitution substitution;
+
+    /**
+     * Constructs a new substitution traversal.
+     * @param substitution the substitution
+     */
+    private SubstitutionTraversal(final Substitution substitution) {
+      this.substitution = substitution;
+    }
+
+    @Override
+    protected Formula lookup(final Formula formula) {
+      switch (formula.type) {
+        case TRUE:
+        case FALSE:
+        case LITERAL:
+        case PBC:
+          return formula.substitute(this.substitution);
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    protected Formula combine(final Formula formula, final List<Formula> children) {
+      final FormulaFactory f = formula.f;
+      switch (formula.type) {
+        case NOT:
+          return f.not(children.get(0));
+        case IMPL:
+        case EQUIV:
+          return f.binaryOperator(formula.type, children.get(0), children.get(1));
+        case AND:
+        case OR:
+          return naryOperator(f, formula.type, children);
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type);
+      }
+    }
+  }
+
+  /**
+   * The traversal for the number of atoms or the number of nodes.
+   */
+  private static final class CountTraversal extends FormulaTraversal<Long> {
+    private final boolean atoms;
+
+    /**
+     * Constructs a new count traversal.
+     * @param atoms {@code true} if the atoms should be counted, {@code false} if the nodes should be counted
+     */
+    private CountTraversal(final boolean atoms) {
+      this.atoms = atoms;
+    }
+
+    @Override
+    protected Long lookup(final Formula formula) {
+      switch (formula.type) {
+        case TRUE:
+        case FALSE:
+        case LITERAL:
+        case PBC:
+          return this.atoms ? formula.numberOfAtoms() : formula.numberOfNodes();
+        default:
+          final long cached = this.atoms ? formula.numberOfAtoms : formula.numberOfNodes;
+          return cached != -1 ? cached : null;
+      }
+    }
+
+    @Override
+    protected Long combine(final Formula formula, final List<Long> children) {
+      long count = this.atoms ? 0 : 1;
+      for (final long child : children)
+        count += child;
+      if (this.atoms)
+        formula.numberOfAtoms = count;
+      else
+        formula.numberOfNodes = count;
+      return count;
+    }
+  }
+}
@@ -30,11 +30,9 @@ package org.logicng.formulas;
 
 import org.logicng.datastructures.Assignment;
 
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
-
 /**
  * Boolean implication.
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public final class Implication extends BinaryOperator {
@@ -56,20 +54,12 @@ public final class Implication extends BinaryOperator {
 
   @Override
   public Formula restrict(final Assignment assignment) {
-    Formula leftRestricted = left.restrict(assignment);
-    if (leftRestricted.type == FType.FALSE)
-      return f.verum();
-    return f.implication(leftRestricted, right.restrict(assignment));
+    return FormulaTraversals.restrict(this, assignment);
   }
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
-    if (nnf == null) {
-      nnf = f.or(f.not(left).nnf(), right.nnf());
-      this.transformationCache.put(NNF, nnf);
-    }
-    return nnf;
+    return FormulaTraversals.nnf(this);
   }
 
   @Override
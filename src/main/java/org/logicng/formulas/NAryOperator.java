@@ -34,13 +34,9 @@ import org.logicng.datastructures.Substitution;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.SortedSet;
-import java.util.TreeSet;
-
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
 
 /**
  * Super class for Boolean n-ary operators.
@@ -68,20 +64,14 @@ public abstract class NAryOperator extends Formula {
   public long numberOfAtoms() {
     if (this.numberOfAtoms != -1)
       return this.numberOfAtoms;
-    this.numberOfAtoms = 0;
-    for (final Formula f : this.operands)
-      this.numberOfAtoms += f.numberOfAtoms();
-    return this.numberOfAtoms;
+    return FormulaTraversals.numberOfAtoms(this);
   }
 
   @Override
   public long numberOfNodes() {
     if (this.numberOfNodes != -1)
       return this.numberOfNodes;
-    this.numberOfNodes = 1;
-    for (final Formula f : this.operands)
-      this.numberOfNodes += f.numberOfNodes();
-    return this.numberOfNodes;
+    return FormulaTraversals.numberOfNodes(this);
   }
 
   @Override
@@ -96,21 +86,14 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public SortedSet<Variable> variables() {
-    if (this.variables == null) {
-      final SortedSet<Variable> set = new TreeSet<>();
-      for (final Formula op : this.operands)
-        set.addAll(op.variables());
-      this.variables = set;
-    }
+    if (this.variables == null)
+      this.variables = FormulaTraversals.variables(this);
     return this.variables;
   }
 
   @Override
   public SortedSet<Literal> literals() {
-    final SortedSet<Literal> set = new TreeSet<>();
-    for (final Formula op : this.operands)
-      set.addAll(op.literals());
-    return set;
+    return FormulaTraversals.literals(this);
   }
 
   @Override
@@ -123,10 +106,7 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public Formula restrict(final Assignment assignment) {
-    final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-    for (final Formula op : this.operands)
-      nops.add(op.restrict(assignment));
-    return f.naryOperator(type, nops);
+    return FormulaTraversals.restrict(this, assignment);
   }
 
   @Override
@@ -152,10 +132,7 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public Formula substitute(final Substitution substitution) {
-    final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-    for (final Formula op : this.operands)
-      nops.add(op.substitute(substitution));
-    return f.naryOperator(type, nops);
+    return FormulaTraversals.substitute(this, substitution);
   }
 
   @Override
@@ -165,15 +142,7 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
-    if (nnf == null) {
-      final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-      for (final Formula op : this.operands)
-        nops.add(op.nnf());
-      nnf = f.naryOperator(type, nops);
-      this.transformationCache.put(NNF, nnf);
-    }
-    return nnf;
+    return FormulaTraversals.nnf(this);
   }
 
   /**
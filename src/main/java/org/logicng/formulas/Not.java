@@ -32,12 +32,9 @@ import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
 import java.util.SortedSet;
 
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
-
 /**
  * Boolean negation.
  * @version 1.1
@@ -71,16 +68,14 @@ public final class Not extends Formula {
   public long numberOfAtoms() {
     if (this.numberOfAtoms != -1)
       return this.numberOfAtoms;
-    this.numberOfAtoms = this.operand.numberOfAtoms();
-    return this.numberOfAtoms;
+    return FormulaTraversals.numberOfAtoms(this);
   }
 
   @Override
   public long numberOfNodes() {
     if (this.numberOfNodes != -1)
       return this.numberOfNodes;
-    this.numberOfNodes = this.operand.numberOfNodes() + 1;
-    return this.numberOfNodes;
+    return FormulaTraversals.numberOfNodes(this);
   }
 
   @Override
@@ -96,13 +91,13 @@ public final class Not extends Formula {
   @Override
   public SortedSet<Variable> variables() {
     if (this.variables == null)
-      this.variables = this.operand.variables();
+      this.variables = FormulaTraversals.variables(this);
     return this.variables;
   }
 
   @Override
   public SortedSet<Literal> literals() {
-    return this.operand.literals();
+    return FormulaTraversals.literals(this);
   }
 
   @Override
@@ -117,7 +112,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula restrict(final Assignment assignment) {
-    return f.not(this.operand.restrict(assignment));
+    return FormulaTraversals.restrict(this, assignment);
   }
 
   @Override
@@ -127,7 +122,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula substitute(final Substitution substitution) {
-    return f.not(this.operand.substitute(substitution));
+    return FormulaTraversals.substitute(this, substitution);
   }
 
   @Override
@@ -137,32 +132,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
-    if (nnf == null) {
-      switch (this.operand.type) {
-        case AND:
-        case OR:
-          final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-          for (final Formula op : this.operand)
-            nops.add(op.negate().nnf());
-          nnf = f.naryOperator(this.operand.type == FType.AND ? FType.OR : FType.AND, nops);
-          break;
-        case IMPL:
-          nnf = f.and(((BinaryOperator) this.operand).left, ((BinaryOperator) this.operand).right.negate()).nnf();
-          break;
-        case EQUIV:
-          nnf = f.and(f.or(((BinaryOperator) this.operand).left.negate().nnf(), ((BinaryOperator) this.operand).right.negate().nnf()),
-                  f.or(((BinaryOperator) this.operand).left.nnf(), ((BinaryOperator) this.operand).right.nnf()));
-          break;
-        case PBC:
-          nnf = this.operand.negate().nnf();
-          break;
-        default:
-          nnf = this;
-      }
-      this.transformationCache.put(NNF, nnf);
-    }
-    return nnf;
+    return FormulaTraversals.nnf(this);
   }
 
   @Override
@@ -445,7 +445,7 @@ public final class PBConstraint extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       if (this.encoding == null)
         this.encode();
@@ -0,0 +1,54 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+/**
+ * The policies for caching the results of transformations, predicates and functions on formulas.
+ * @version 1.1
+ * @since 1.1
+ */
+public enum CachePolicy {
+
+  /**
+   * No results are cached.  Only entries which are required by the CNF transformations (the auxiliary variables
+   * of Tseitin and Plaisted &amp; Greenbaum) are stored on the formulas.
+   */
+  NONE,
+
+  /**
+   * All results are cached on the formula itself and are never evicted.  This is the default policy.
+   */
+  PER_FORMULA,
+
+  /**
+   * The results are cached in a size-bounded cache of the formula factory which evicts the least recently used
+   * entries.  Only entries which are required by the CNF transformations are stored on the formulas.
+   */
+  FACTORY_LRU
+}
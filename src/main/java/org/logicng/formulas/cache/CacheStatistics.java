@@ -0,0 +1,120 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the hits, misses and evictions of a formula cache.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class CacheStatistics {
+
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+  private final AtomicLong evictions;
+
+  /**
+   * Constructs a new empty statistics object.
+   */
+  public CacheStatistics() {
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+    this.evictions = new AtomicLong();
+  }
+
+  /**
+   * Records a cache hit.
+   */
+  public void hit() {
+    this.hits.incrementAndGet();
+  }
+
+  /**
+   * Records a cache miss.
+   */
+  public void miss() {
+    this.misses.incrementAndGet();
+  }
+
+  /**
+   * Records the eviction of a cache entry.
+   */
+  public void eviction() {
+    this.evictions.incrementAndGet();
+  }
+
+  /**
+   * Returns the number of cache hits.
+   * @return the number of cache hits
+   */
+  public long hits() {
+    return this.hits.get();
+  }
+
+  /**
+   * Returns the number of cache misses.
+   * @return the number of cache misses
+   */
+  public long misses() {
+    return this.misses.get();
+  }
+
+  /**
+   * Returns the number of evicted cache entries.
+   * @return the number of evicted cache entries
+   */
+  public long evictions() {
+    return this.evictions.get();
+  }
+
+  /**
+   * Returns the ratio of cache hits to all cache lookups or 0 if there was no lookup yet.
+   * @return the hit ratio
+   */
+  public double hitRatio() {
+    final long lookups = this.hits() + this.misses();
+    return lookups == 0 ? 0.0 : (double) this.hits() / lookups;
+  }
+
+  /**
+   * Resets all counters to zero.
+   */
+  public void reset() {
+    this.hits.set(0);
+    this.misses.set(0);
+    this.evictions.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CacheStatistics{hits=%d, misses=%d, evictions=%d}", this.hits(), this.misses(), this.evictions());
+  }
+}
@@ -0,0 +1,58 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import org.logicng.formulas.Formula;
+
+/**
+ * A formula cache which stores the values of the cache entries which are not stored on the formulas themselves.
+ * <p>
+ * A formula accesses the cache via {@link #get} and {@link #put} for each cache entry for which
+ * {@link #storesOnFormula(CacheEntry)} returns {@code false}.
+ * @version 1.1
+ * @since 1.1
+ */
+public abstract class FactoryFormulaCache extends FormulaCache {
+
+  /**
+   * Returns the cached value for a given formula and cache entry or {@code null} if there is none.
+   * @param formula the formula
+   * @param key     the cache entry
+   * @return the cached value or {@code null}
+   */
+  public abstract Object get(final Formula formula, final CacheEntry key);
+
+  /**
+   * Stores a value for a given formula and cache entry.
+   * @param formula the formula
+   * @param key     the cache entry
+   * @param value   the value
+   */
+  public abstract void put(final Formula formula, final CacheEntry key, final Object value);
+}
@@ -0,0 +1,187 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import org.logicng.formulas.Formula;
+
+import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
+import static org.logicng.formulas.cache.TransformationCacheEntry.PLAISTED_GREENBAUM_VARIABLE;
+import static org.logicng.formulas.cache.TransformationCacheEntry.TSEITIN;
+import static org.logicng.formulas.cache.TransformationCacheEntry.TSEITIN_VARIABLE;
+
+/**
+ * The cache for the results of transformations, predicates and functions on the formulas of a formula factory.
+ * <p>
+ * The cache decides for each cache entry whether it is stored on the formula itself or in the cache.  Some entries are
+ * always stored on the formula, since they cannot be recomputed: the CNF predicate which is set when a conjunction or
+ * disjunction is constructed and the auxiliary variables of the Tseitin and Plaisted &amp; Greenbaum transformations.
+ * @version 1.1
+ * @since 1.1
+ */
+public abstract class FormulaCache {
+
+  protected final CacheStatistics statistics;
+
+  /**
+   * Constructs a new formula cache.
+   */
+  protected FormulaCache() {
+    this.statistics = new CacheStatistics();
+  }
+
+  /**
+   * Returns a new formula cache for a given configuration.
+   * @param config the configuration
+   * @return the formula cache
+   * @throws IllegalArgumentException if the policy of the configuration is unknown
+   */
+  public static FormulaCache forConfig(final FormulaCacheConfig config) {
+    switch (config.policy) {
+      case NONE:
+        return new NoFormulaCache();
+      case PER_FORMULA:
+        return new PerFormulaCache();
+      case FACTORY_LRU:
+        return new LRUFormulaCache(config.maxEntries, config.weakReferences);
+      default:
+        throw new IllegalArgumentException("Unknown cache policy: " + config.policy);
+    }
+  }
+
+  /**
+   * Returns {@code true} if a given cache entry is required for the correctness of a transformation and therefore must
+   * always be stored on the formula, {@code false} otherwise.
+   * @param key the cache entry
+   * @return {@code true} if the cache entry is required
+   */
+  public static boolean isRequiredEntry(final CacheEntry key) {
+    return key == IS_CNF || key == TSEITIN || key == TSEITIN_VARIABLE || key == PLAISTED_GREENBAUM_VARIABLE;
+  }
+
+  /**
+   * Returns the policy of this cache.
+   * @return the policy of this cache
+   */
+  public abstract CachePolicy policy();
+
+  /**
+   * Returns {@code true} if the value for a given cache entry is stored on the formula itself, {@code false} if it is
+   * handled by this cache.  A cache which handles any cache entry itself is a {@link FactoryFormulaCache}.
+   * @param key the cache entry
+   * @return {@code true} if the value is stored on the formula itself
+   */
+  public abstract boolean storesOnFormula(final CacheEntry key);
+
+  /**
+   * Returns the number of entries which are currently stored in this cache (excluding the entries on the formulas).
+   * @return the number of entries
+   */
+  public abstract int size();
+
+  /**
+   * Removes all entries from this cache.  Entries stored on the formulas are not affected.
+   */
+  public abstract void clear();
+
+  /**
+   * Returns the hit/miss statistics of this cache.  Hits and misses are only recorded for the lookups which are
+   * handled by the factory LRU cache, lookups of entries stored on the formulas are not counted.
+   * @return the statistics of this cache
+   */
+  public CacheStatistics statistics() {
+    return this.statistics;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s{policy=%s, size=%d, %s}", this.getClass().getSimpleName(), this.policy(), this.size(), this.statistics);
+  }
+
+  /**
+   * A cache which stores no results at all.
+   */
+  private static final class NoFormulaCache extends FactoryFormulaCache {
+
+    @Override
+    public CachePolicy policy() {
+      return CachePolicy.NONE;
+    }
+
+    @Override
+    public boolean storesOnFormula(final CacheEntry key) {
+      return isRequiredEntry(key);
+    }
+
+    @Override
+    public Object get(final Formula formula, final CacheEntry key) {
+      return null;
+    }
+
+    @Override
+    public void put(final Formula formula, final CacheEntry key, final Object value) {
+      // do nothing
+    }
+
+    @Override
+    public int size() {
+      return 0;
+    }
+
+    @Override
+    public void clear() {
+      // do nothing
+    }
+  }
+
+  /**
+   * A cache which stores all results on the formulas themselves.
+   */
+  private static final class PerFormulaCache extends FormulaCache {
+
+    @Override
+    public CachePolicy policy() {
+      return CachePolicy.PER_FORMULA;
+    }
+
+    @Override
+    public boolean storesOnFormula(final CacheEntry key) {
+      return true;
+    }
+
+    @Override
+    public int size() {
+      return 0;
+    }
+
+    @Override
+    public void clear() {
+      // do nothing
+    }
+  }
+}
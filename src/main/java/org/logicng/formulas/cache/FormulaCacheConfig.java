@@ -0,0 +1,131 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for the caches of a formula factory.
+ * <p>
+ * A new configuration becomes active as soon as it is put into the formula factory.  Results which were cached
+ * before are not migrated, therefore the configuration should be put into the factory before any formulas are
+ * generated.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class FormulaCacheConfig extends Configuration {
+
+  final CachePolicy policy;
+  final int maxEntries;
+  final boolean weakReferences;
+
+  /**
+   * Constructs a new configuration with a given type.
+   * @param builder the builder
+   */
+  public FormulaCacheConfig(final Builder builder) {
+    super(ConfigurationType.FORMULA_CACHE);
+    this.policy = builder.policy;
+    this.maxEntries = builder.maxEntries;
+    this.weakReferences = builder.weakReferences;
+  }
+
+  /**
+   * Returns the cache policy.
+   * @return the cache policy
+   */
+  public CachePolicy policy() {
+    return this.policy;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("FormulaCacheConfig{\n");
+    sb.append("policy=").append(this.policy).append("\n");
+    sb.append("maxEntries=").append(this.maxEntries).append("\n");
+    sb.append("weakReferences=").append(this.weakReferences).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * The builder for a formula cache configuration.
+   */
+  public static class Builder {
+
+    private CachePolicy policy = CachePolicy.PER_FORMULA;
+    private int maxEntries = 100000;
+    private boolean weakReferences = false;
+
+    /**
+     * Sets the cache policy.  The default value is {@code PER_FORMULA}.
+     * @param policy the cache policy
+     * @return the builder
+     */
+    public Builder policy(final CachePolicy policy) {
+      this.policy = policy;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of entries of the factory-wide cache.  This value is only used for the policy
+     * {@code FACTORY_LRU}.  The default value is 100,000.
+     * @param maxEntries the maximum number of entries
+     * @return the builder
+     * @throws IllegalArgumentException if the number of entries is not positive
+     */
+    public Builder maxEntries(int maxEntries) {
+      if (maxEntries <= 0)
+        throw new IllegalArgumentException("The maximum number of cache entries must be positive");
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * Sets whether the factory-wide cache holds its values only via weak references, s.t. the garbage collector
+     * can reclaim cached results which are not referenced elsewhere.  This value is only used for the policy
+     * {@code FACTORY_LRU}.  The default value is {@code false}.
+     * @param weakReferences {@code true} if weak references should be used, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder weakReferences(boolean weakReferences) {
+      this.weakReferences = weakReferences;
+      return this;
+    }
+
+    /**
+     * Builds the configuration.
+     * @return the configuration.
+     */
+    public FormulaCacheConfig build() {
+      return new FormulaCacheConfig(this);
+    }
+  }
+}
@@ -0,0 +1,165 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import org.logicng.formulas.Formula;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded formula cache which evicts the least recently used entries.  Optionally the values are only held via
+ * weak references, s.t. the garbage collector can reclaim them.
+ * <p>
+ * All operations of this cache are synchronized.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class LRUFormulaCache extends FactoryFormulaCache {
+
+  private final int maxEntries;
+  private final boolean weakReferences;
+  private final LinkedHashMap<Key, Object> entries;
+
+  /**
+   * Constructs a new LRU cache.
+   * @param maxEntries     the maximum number of entries
+   * @param weakReferences {@code true} if the values should be held via weak references, {@code false} otherwise
+   */
+  LRUFormulaCache(int maxEntries, boolean weakReferences) {
+    this.maxEntries = maxEntries;
+    this.weakReferences = weakReferences;
+    this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+        if (this.size() > LRUFormulaCache.this.maxEntries) {
+          LRUFormulaCache.this.statistics.eviction();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public CachePolicy policy() {
+    return CachePolicy.FACTORY_LRU;
+  }
+
+  @Override
+  public boolean storesOnFormula(final CacheEntry key) {
+    return isRequiredEntry(key);
+  }
+
+  @Override
+  public synchronized Object get(final Formula formula, final CacheEntry key) {
+    final Key k = new Key(formula, key);
+    final Object value = this.entries.get(k);
+    if (!this.weakReferences || value == null)
+      return this.count(value);
+    final Object referent = ((WeakReference<?>) value).get();
+    if (referent == null) {
+      this.entries.remove(k);
+      this.statistics.eviction();
+    }
+    return this.count(referent);
+  }
+
+  /**
+   * Records a hit or a miss for a looked up value.
+   * @param value the value or {@code null} if there is none
+   * @return the value
+   */
+  private Object count(final Object value) {
+    if (value == null)
+      this.statistics.miss();
+    else
+      this.statistics.hit();
+    return value;
+  }
+
+  @Override
+  public synchronized void put(final Formula formula, final CacheEntry key, final Object value) {
+    this.entries.put(new Key(formula, key), this.weakReferences ? new WeakReference<>(value) : value);
+  }
+
+  @Override
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  @Override
+  public synchronized void clear() {
+    this.entries.clear();
+  }
+
+  /**
+   * Returns the maximum number of entries of this cache.
+   * @return the maximum number of entries
+   */
+  public int maxEntries() {
+    return this.maxEntries;
+  }
+
+  /**
+   * The key of a cache entry.  Since all formulas in the cache stem from the same factory, the formula id and the
+   * identity of the formula can be used.
+   */
+  private static final class Key {
+    private final Formula formula;
+    private final CacheEntry entry;
+
+    /**
+     * Constructs a new key.
+     * @param formula the formula
+     * @param entry   the cache entry
+     */
+    private Key(final Formula formula, final CacheEntry entry) {
+      this.formula = formula;
+      this.entry = entry;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.formula.id() + this.entry.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other)
+        return true;
+      if (other instanceof Key) {
+        final Key o = (Key) other;
+        return this.formula == o.formula && this.entry.equals(o.entry);
+      }
+      return false;
+    }
+  }
+}
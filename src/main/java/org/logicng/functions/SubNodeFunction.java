@@ -30,15 +30,20 @@ package org.logicng.functions;
 
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFunction;
+import org.logicng.formulas.FormulaTraversal;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import static org.logicng.formulas.cache.FunctionCacheEntry.SUBFORMULAS;
 
 /**
  * A function that computes the all sub-nodes of a given formula.  The order of the sub-nodes is bottom-up, i.e. a
  * sub-node only appears in the result when all of its sub-nodes are already listed.
- * @version 1.0
+ * <p>
+ * The sub-nodes are computed with a {@link FormulaTraversal}, so this function also works for very deep formulas.  Only
+ * the result for the given formula is cached, not the results for its sub-nodes.
+ * @version 1.1
  * @since 1.0
  */
 public final class SubNodeFunction implements FormulaFunction<LinkedHashSet<Formula>> {
@@ -49,11 +54,14 @@ public final class SubNodeFunction implements FormulaFunction<LinkedHashSet<Form
     final Object cached = formula.functionCacheEntry(SUBFORMULAS);
     if (cached != null)
       return (LinkedHashSet<Formula>) cached;
-    LinkedHashSet<Formula> result = new LinkedHashSet<>();
-    for (final Formula op : formula)
-      if (!result.contains(op))
-        result.addAll(apply(op, cache));
-    result.add(formula);
+    final LinkedHashSet<Formula> result = new LinkedHashSet<>();
+    new FormulaTraversal<Formula>() {
+      @Override
+      protected Formula combine(final Formula node, final List<Formula> children) {
+        result.add(node);
+        return node;
+      }
+    }.apply(formula);
     if (cache)
       formula.setFunctionCacheEntry(SUBFORMULAS, result);
     return result;
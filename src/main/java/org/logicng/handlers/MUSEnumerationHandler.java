@@ -0,0 +1,58 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.handlers;
+
+import org.logicng.explanations.unsatcores.UNSATCore;
+import org.logicng.propositions.Proposition;
+
+import java.util.List;
+
+/**
+ * Interface for a handler for the enumeration of minimal unsatisfiable subsets (MUSes) and minimal correction subsets
+ * (MCSes).
+ * @version 1.1
+ * @since 1.1
+ */
+public interface MUSEnumerationHandler {
+
+  /**
+   * This method is called every time a MUS is found.
+   * @param mus the MUS
+   * @return whether the enumeration should be continued or not
+   */
+  boolean foundMUS(UNSATCore mus);
+
+  /**
+   * This method is called every time a MCS is found, i.e. a minimal set of propositions whose removal makes the
+   * remaining propositions satisfiable.
+   * @param mcs the MCS
+   * @return whether the enumeration should be continued or not
+   */
+  boolean foundMCS(List<Proposition> mcs);
+}
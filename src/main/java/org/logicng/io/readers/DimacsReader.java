@@ -0,0 +1,434 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.readers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A streaming reader for files in the DIMACS CNF and WCNF format.
+ * <p>
+ * The file is memory-mapped in windows and parsed byte by byte with a small state machine.  Literals are parsed directly
+ * into an integer vector without creating strings or formulas, and each clause is handed to a {@link ClauseConsumer}
+ * as soon as its terminating {@code 0} is read.  Therefore only the current clause is held in memory and loading large
+ * files is bound by I/O and not by the garbage collector.
+ * <p>
+ * Comment lines ({@code c ...}) are skipped, clauses may span multiple lines, and a line starting with {@code %} ends
+ * the input (as in the SATLIB benchmarks).  In WCNF files the first number of each clause is its weight.  A WCNF file
+ * without a top weight in its header has only soft clauses, a CNF file read as MaxSAT instance has only soft clauses
+ * with weight 1.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class DimacsReader {
+
+  private static final String DEFAULT_PREFIX = "v";
+  private static final long WINDOW_SIZE = 1L << 26;
+  private static final int BLOCK_SIZE = 1 << 16;
+
+  /**
+   * Private constructor.
+   */
+  private DimacsReader() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Reads a given DIMACS CNF file into a given solver.  The variable {@code i} of the file is called {@code v<i>} in
+   * the solver.
+   * @param file   the file
+   * @param solver the solver
+   * @throws IOException if there was a problem reading the file or if the file is no valid DIMACS file
+   */
+  public static void readCNF(final File file, final MiniSatStyleSolver solver) throws IOException {
+    readCNF(file, solver, DEFAULT_PREFIX);
+  }
+
+  /**
+   * Reads a given DIMACS CNF file into a given solver.  If the solver already knows a variable with the same name, the
+   * existing variable is used, otherwise a new variable with a negative initial phase is created.  The solver must be
+   * at decision level 0.  If the solver is wrapped by a {@link org.logicng.solvers.MiniSat} solver, the wrapper's
+   * {@code reset} must not be called afterwards, since it would remove the clauses again.
+   * @param file   the file
+   * @param solver the solver
+   * @param prefix the prefix for the variable names, the variable {@code i} of the file is called {@code <prefix><i>}
+   * @throws IOException if there was a problem reading the file or if the file is no valid DIMACS file
+   */
+  public static void readCNF(final File file, final MiniSatStyleSolver solver, final String prefix) throws IOException {
+    read(file, new SolverConsumer(solver, prefix));
+  }
+
+  /**
+   * Reads a given DIMACS WCNF (or CNF) file into a given MaxSAT solver.  The variable {@code i} of the file is called
+   * {@code v<i>}.
+   * @param file   the file
+   * @param solver the MaxSAT solver
+   * @param f      the formula factory which is used to create the variables
+   * @throws IOException if there was a problem reading the file or if the file is no valid DIMACS file
+   */
+  public static void readWCNF(final File file, final MaxSATSolver solver, final FormulaFactory f) throws IOException {
+    readWCNF(file, solver, f, DEFAULT_PREFIX);
+  }
+
+  /**
+   * Reads a given DIMACS WCNF (or CNF) file into a given MaxSAT solver.  Clauses with the top weight of the header are
+   * added as hard clauses, all other clauses as soft clauses.
+   * @param file   the file
+   * @param solver the MaxSAT solver
+   * @param f      the formula factory which is used to create the variables
+   * @param prefix the prefix for the variable names, the variable {@code i} of the file is called {@code <prefix><i>}
+   * @throws IOException if there was a problem reading the file or if the file is no valid DIMACS file
+   */
+  public static void readWCNF(final File file, final MaxSATSolver solver, final FormulaFactory f, final String prefix)
+          throws IOException {
+    read(file, new MaxSATConsumer(solver, f, prefix));
+  }
+
+  /**
+   * Reads a given DIMACS CNF or WCNF file and hands its header and clauses to a given consumer.
+   * @param file     the file
+   * @param consumer the consumer
+   * @throws IOException if there was a problem reading the file or if the file is no valid DIMACS file
+   */
+  public static void read(final File file, final ClauseConsumer consumer) throws IOException {
+    try (final RandomAccessFile raf = new RandomAccessFile(file, "r"); final FileChannel channel = raf.getChannel()) {
+      final Parser parser = new Parser(consumer);
+      final byte[] block = new byte[BLOCK_SIZE];
+      final long size = channel.size();
+      for (long position = 0; position < size && !parser.finished; position += WINDOW_SIZE) {
+        final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                Math.min(WINDOW_SIZE, size - position));
+        while (window.hasRemaining() && !parser.finished) {
+          final int length = Math.min(block.length, window.remaining());
+          window.get(block, 0, length);
+          parser.parse(block, length);
+        }
+      }
+      parser.finish();
+    }
+  }
+
+  /**
+   * A consumer for the header and the clauses of a DIMACS file.
+   */
+  public interface ClauseConsumer {
+
+    /**
+     * Is called when the header line {@code p cnf <variables> <clauses>} or
+     * {@code p wcnf <variables> <clauses> [<top>]} was read.
+     * @param weighted  {@code true} if the file is a WCNF file, {@code false} if it is a CNF file
+     * @param variables the number of variables of the header
+     * @param clauses   the number of clauses of the header
+     * @param top       the top weight of a WCNF file or -1 if there is none
+     * @throws IOException if the consumer cannot process the file
+     */
+    void header(boolean weighted, int variables, int clauses, long top) throws IOException;
+
+    /**
+     * Is called for each clause of the file.
+     * @param weight   the weight of the clause or -1 for a clause of a CNF file
+     * @param literals the literals of the clause in DIMACS notation (i.e. {@code -3} for the negation of variable 3).
+     *                 The vector is reused by the reader and must not be stored by the consumer.
+     * @throws IOException if the consumer cannot process the clause
+     */
+    void clause(long weight, final LNGIntVector literals) throws IOException;
+  }
+
+  /**
+   * The byte-level state machine which parses the file.
+   */
+  private static final class Parser {
+    private final ClauseConsumer consumer;
+    private final LNGIntVector literals;
+    private final StringBuilder header;
+    private boolean weighted;
+    private boolean finished;
+    private boolean lineStart;
+    private boolean inComment;
+    private boolean inHeader;
+    private boolean inNumber;
+    private boolean negative;
+    private long number;
+    private long weight;
+    private boolean expectWeight;
+    private int line;
+
+    /**
+     * Constructs a new parser.
+     * @param consumer the consumer
+     */
+    private Parser(final ClauseConsumer consumer) {
+      this.consumer = consumer;
+      this.literals = new LNGIntVector();
+      this.header = new StringBuilder();
+      this.lineStart = true;
+      this.weight = -1;
+      this.line = 1;
+    }
+
+    /**
+     * Parses a block of bytes.
+     * @param block  the block
+     * @param length the number of valid bytes in the block
+     * @throws IOException if the file is no valid DIMACS file
+     */
+    private void parse(final byte[] block, int length) throws IOException {
+      for (int i = 0; i < length && !this.finished; i++) {
+        final byte b = block[i];
+        if (b == '\n')
+          this.line++;
+        if (this.inComment) {
+          if (b == '\n') {
+            this.inComment = false;
+            this.lineStart = true;
+          }
+        } else if (this.inHeader) {
+          if (b == '\n') {
+            this.inHeader = false;
+            this.lineStart = true;
+            this.parseHeader();
+          } else
+            this.header.append((char) b);
+        } else if (b >= '0' && b <= '9') {
+          this.number = this.number * 10 + (b - '0');
+          if (this.number > Integer.MAX_VALUE && !(this.weighted && this.expectWeight))
+            throw new IOException("Number too large in line " + this.line);
+          this.inNumber = true;
+          this.lineStart = false;
+        } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+          this.endNumber();
+          if (b == '\n')
+            this.lineStart = true;
+        } else if (b == '-' && !this.inNumber && !this.negative) {
+          this.negative = true;
+          this.lineStart = false;
+        } else if (this.lineStart && b == 'c')
+          this.inComment = true;
+        else if (this.lineStart && b == 'p') {
+          this.inHeader = true;
+          this.header.append((char) b);
+        } else if (this.lineStart && b == '%')
+          this.finished = true;
+        else
+          throw new IOException(String.format("Illegal character '%c' in line %d", (char) b, this.line));
+      }
+    }
+
+    /**
+     * Finishes the parsing at the end of the file.  A last clause without a terminating {@code 0} is added as well.
+     * @throws IOException if the consumer cannot process the clause
+     */
+    private void finish() throws IOException {
+      if (this.inHeader)
+        this.parseHeader();
+      this.endNumber();
+      if (!this.literals.empty())
+        this.consumer.clause(this.weight, this.literals);
+    }
+
+    /**
+     * Processes the number which was read so far.
+     * @throws IOException if the consumer cannot process a clause
+     */
+    private void endNumber() throws IOException {
+      if (!this.inNumber) {
+        if (this.negative)
+          throw new IOException("Missing number after '-' in line " + this.line);
+        return;
+      }
+      final long value = this.negative ? -this.number : this.number;
+      this.inNumber = false;
+      this.negative = false;
+      this.number = 0;
+      if (this.weighted && this.expectWeight) {
+        this.weight = value;
+        this.expectWeight = false;
+      } else if (value == 0) {
+        this.consumer.clause(this.weight, this.literals);
+        this.literals.clear();
+        this.expectWeight = true;
+      } else
+        this.literals.push((int) value);
+    }
+
+    /**
+     * Parses the header line.
+     * @throws IOException if the header is no valid DIMACS header
+     */
+    private void parseHeader() throws IOException {
+      final String[] tokens = this.header.toString().trim().split("\\s+");
+      this.header.setLength(0);
+      try {
+        if (tokens.length >= 4 && "cnf".equals(tokens[1]))
+          this.consumer.header(false, Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]), -1);
+        else if (tokens.length >= 4 && "wcnf".equals(tokens[1])) {
+          this.weighted = true;
+          this.expectWeight = true;
+          this.consumer.header(true, Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]),
+                  tokens.length >= 5 ? Long.parseLong(tokens[4]) : -1);
+        } else
+          throw new IOException("Illegal DIMACS header: " + Arrays.toString(tokens));
+      } catch (final NumberFormatException e) {
+        throw new IOException("Illegal DIMACS header: " + Arrays.toString(tokens), e);
+      }
+    }
+  }
+
+  /**
+   * A consumer which adds the clauses to a MiniSAT-style solver.
+   */
+  private static final class SolverConsumer implements ClauseConsumer {
+    private final MiniSatStyleSolver solver;
+    private final String prefix;
+    private final LNGIntVector clause;
+    private int[] indices;
+
+    /**
+     * Constructs a new consumer.
+     * @param solver the solver
+     * @param prefix the prefix for the variable names
+     */
+    private SolverConsumer(final MiniSatStyleSolver solver, final String prefix) {
+      this.solver = solver;
+      this.prefix = prefix;
+      this.clause = new LNGIntVector();
+      this.indices = new int[16];
+      Arrays.fill(this.indices, -1);
+    }
+
+    @Override
+    public void header(boolean weighted, int variables, int clauses, long top) {
+      this.ensureCapacity(variables);
+    }
+
+    @Override
+    public void clause(long weight, final LNGIntVector literals) {
+      this.clause.clear();
+      for (int i = 0; i < literals.size(); i++) {
+        final int lit = literals.get(i);
+        final int var = Math.abs(lit);
+        this.ensureCapacity(var);
+        int index = this.indices[var];
+        if (index == -1) {
+          final String name = this.prefix + var;
+          index = this.solver.idxForName(name);
+          if (index == -1) {
+            index = this.solver.newVar(true, true);
+            this.solver.addName(name, index);
+          }
+          this.indices[var] = index;
+        }
+        this.clause.push(MiniSatStyleSolver.mkLit(index, lit < 0));
+      }
+      this.solver.addClause(this.clause);
+    }
+
+    /**
+     * Ensures that the index mapping can hold a given DIMACS variable.
+     * @param var the DIMACS variable
+     */
+    private void ensureCapacity(int var) {
+      if (var >= this.indices.length) {
+        final int oldLength = this.indices.length;
+        this.indices = Arrays.copyOf(this.indices, Math.max(var + 1, oldLength * 2));
+        Arrays.fill(this.indices, oldLength, this.indices.length, -1);
+      }
+    }
+  }
+
+  /**
+   * A consumer which adds the clauses to a MaxSAT solver.
+   */
+  private static final class MaxSATConsumer implements ClauseConsumer {
+    private final MaxSATSolver solver;
+    private final FormulaFactory f;
+    private final String prefix;
+    private final LNGIntVector clause;
+    private int[] indices;
+    private long top;
+
+    /**
+     * Constructs a new consumer.
+     * @param solver the MaxSAT solver
+     * @param f      the formula factory
+     * @param prefix the prefix for the variable names
+     */
+    private MaxSATConsumer(final MaxSATSolver solver, final FormulaFactory f, final String prefix) {
+      this.solver = solver;
+      this.f = f;
+      this.prefix = prefix;
+      this.clause = new LNGIntVector();
+      this.indices = new int[16];
+      Arrays.fill(this.indices, -1);
+      this.top = -1;
+    }
+
+    @Override
+    public void header(boolean weighted, int variables, int clauses, long top) {
+      this.top = top;
+    }
+
+    @Override
+    public void clause(long weight, final LNGIntVector literals) throws IOException {
+      this.clause.clear();
+      for (int i = 0; i < literals.size(); i++) {
+        final int lit = literals.get(i);
+        final int var = Math.abs(lit);
+        if (var >= this.indices.length) {
+          final int oldLength = this.indices.length;
+          this.indices = Arrays.copyOf(this.indices, Math.max(var + 1, oldLength * 2));
+          Arrays.fill(this.indices, oldLength, this.indices.length, -1);
+        }
+        if (this.indices[var] == -1) {
+          final Variable variable = this.f.variable(this.prefix + var);
+          this.indices[var] = this.solver.variableIndex(variable);
+        }
+        this.clause.push(MiniSatStyleSolver.mkLit(this.indices[var], lit < 0));
+      }
+      if (weight == -1)
+        this.solver.addSoftClause(this.clause, 1);
+      else if (weight == this.top)
+        this.solver.addHardClause(this.clause);
+      else if (weight < 1 || weight > Integer.MAX_VALUE)
+        throw new IOException("Illegal weight of a soft clause: " + weight);
+      else
+        this.solver.addSoftClause(this.clause, (int) weight);
+    }
+  }
+}
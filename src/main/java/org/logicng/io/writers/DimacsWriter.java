@@ -0,0 +1,398 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.writers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.datastructures.CLClause;
+import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.datastructures.MSHardClause;
+import org.logicng.solvers.datastructures.MSSoftClause;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A writer for formulas in CNF, the clause databases of SAT solvers, and MaxSAT instances in the DIMACS CNF and WCNF
+ * format.
+ * <p>
+ * The files are written through a file channel with a fixed-size buffer.  Numbers are encoded directly into the buffer
+ * without creating strings, so the memory used for writing does not depend on the size of the instance.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class DimacsWriter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Private constructor.
+   */
+  private DimacsWriter() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Writes a given formula in CNF to a DIMACS CNF file.  The variables are numbered in the order of
+   * {@link Formula#variables()} starting with 1.
+   * @param file    the file
+   * @param formula the formula in CNF
+   * @throws IOException              if there was a problem writing the file
+   * @throws IllegalArgumentException if the formula is not in CNF
+   */
+  public static void writeCNF(final File file, final Formula formula) throws IOException {
+    writeCNF(file, formula, false);
+  }
+
+  /**
+   * Writes a given formula in CNF to a DIMACS CNF file.  The variables are numbered in the order of
+   * {@link Formula#variables()} starting with 1.
+   * @param file         the file
+   * @param formula      the formula in CNF
+   * @param writeMapping {@code true} if the mapping of the variables to their numbers should be written as comment lines
+   *                     {@code c <number> <name>} at the beginning of the file
+   * @throws IOException              if there was a problem writing the file
+   * @throws IllegalArgumentException if the formula is not in CNF
+   */
+  public static void writeCNF(final File file, final Formula formula, boolean writeMapping) throws IOException {
+    final int numberOfClauses = numberOfClauses(formula);
+    final Map<Variable, Integer> numbers = new HashMap<>();
+    for (final Variable var : formula.variables())
+      numbers.put(var, numbers.size() + 1);
+    try (final ChannelWriter writer = new ChannelWriter(file)) {
+      if (writeMapping)
+        for (final Variable var : formula.variables())
+          writer.string("c ").number(numbers.get(var)).string(" ").string(var.name()).newLine();
+      writer.string("p cnf ").number(numbers.size()).string(" ").number(numberOfClauses).newLine();
+      switch (formula.type()) {
+        case TRUE:
+          break;
+        case AND:
+          for (final Formula op : formula)
+            writeClause(writer, op, numbers);
+          break;
+        default:
+          writeClause(writer, formula, numbers);
+      }
+    }
+  }
+
+  /**
+   * Writes the current clause database of a given MiniSat, Glucose, or MiniCard solver to a DIMACS CNF file.  The
+   * written clauses are equivalent to the clauses added to the solver.  The variable with index {@code i} in the
+   * solver is written as variable {@code i + 1}.
+   * @param file   the file
+   * @param solver the solver
+   * @throws IOException              if there was a problem writing the file
+   * @throws IllegalArgumentException if the solver contains at-most constraints of MiniCard
+   */
+  public static void writeCNF(final File file, final MiniSat solver) throws IOException {
+    final MiniSatStyleSolver s = solver.underlyingSolver();
+    final LNGVector<MSClause> clauses = s.clauses();
+    for (final MSClause c : clauses)
+      if (c.isAtMost())
+        throw new IllegalArgumentException("Cannot write the at-most constraints of MiniCard to a DIMACS file");
+    final LNGIntVector units = s.units();
+    try (final ChannelWriter writer = new ChannelWriter(file)) {
+      if (!s.ok()) {
+        writer.string("p cnf ").number(s.nVars()).string(" 1").newLine().number(0).newLine();
+        return;
+      }
+      writer.string("p cnf ").number(s.nVars()).string(" ").number(units.size() + clauses.size()).newLine();
+      for (int i = 0; i < units.size(); i++)
+        writer.literal(units.get(i)).string(" 0").newLine();
+      for (final MSClause c : clauses) {
+        for (int i = 0; i < c.size(); i++)
+          writer.literal(c.get(i)).string(" ");
+        writer.number(0).newLine();
+      }
+    }
+  }
+
+  /**
+   * Writes the current clause database of a given CleaneLing solver to a DIMACS CNF file.  Since CleaneLing may
+   * eliminate variables and clauses, the written clauses are only satisfiable if and only if the clauses added to the
+   * solver are satisfiable, but they are not necessarily equivalent.  The variable numbers are the ones of the solver.
+   * @param file   the file
+   * @param solver the solver
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void writeCNF(final File file, final CleaneLing solver) throws IOException {
+    final CleaneLingStyleSolver s = solver.underlyingSolver();
+    try (final ChannelWriter writer = new ChannelWriter(file)) {
+      if (!s.ok()) {
+        writer.string("p cnf ").number(s.maxvar()).string(" 1").newLine().number(0).newLine();
+        return;
+      }
+      final LNGIntVector units = s.units();
+      final LNGVector<CLClause> clauses = s.clauses();
+      writer.string("p cnf ").number(s.maxvar()).string(" ").number(units.size() + clauses.size()).newLine();
+      for (int i = 0; i < units.size(); i++)
+        writer.number(units.get(i)).string(" 0").newLine();
+      for (final CLClause c : clauses) {
+        for (int i = 0; i < c.lits().size(); i++)
+          writer.number(c.lits().get(i)).string(" ");
+        writer.number(0).newLine();
+      }
+    }
+  }
+
+  /**
+   * Writes the hard and soft clauses of a given MaxSAT solver to a DIMACS WCNF file.  The top weight (the weight of the
+   * hard clauses) is the sum of the weights of all soft clauses plus one.  The variable with index {@code i} in the
+   * solver (see {@link MaxSATSolver#variableIndex(Variable)}) is written as variable {@code i + 1}.
+   * @param file   the file
+   * @param solver the MaxSAT solver
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void writeWCNF(final File file, final MaxSATSolver solver) throws IOException {
+    final MaxSAT s = solver.underlyingSolver();
+    long top = 1;
+    for (final MSSoftClause c : s.softClauses())
+      top += c.weight();
+    try (final ChannelWriter writer = new ChannelWriter(file)) {
+      writer.string("p wcnf ").number(s.nVars()).string(" ").number(s.hardClauses().size() + s.softClauses().size())
+              .string(" ").number(top).newLine();
+      for (final MSHardClause c : s.hardClauses()) {
+        writer.number(top).string(" ");
+        writeClause(writer, c.clause());
+      }
+      for (final MSSoftClause c : s.softClauses()) {
+        writer.number(c.weight()).string(" ");
+        writeClause(writer, c.clause());
+      }
+    }
+  }
+
+  /**
+   * Returns the number of clauses of a formula in CNF.
+   * @param formula the formula
+   * @return the number of clauses
+   * @throws IllegalArgumentException if the formula is not in CNF
+   */
+  private static int numberOfClauses(final Formula formula) {
+    switch (formula.type()) {
+      case TRUE:
+        return 0;
+      case FALSE:
+      case LITERAL:
+        return 1;
+      case OR:
+        checkClause(formula);
+        return 1;
+      case AND:
+        for (final Formula op : formula)
+          checkClause(op);
+        return formula.numberOfOperands();
+      default:
+        throw new IllegalArgumentException("Input formula ist not a valid CNF: " + formula);
+    }
+  }
+
+  /**
+   * Checks that a given formula is a clause.
+   * @param clause the formula
+   * @throws IllegalArgumentException if the formula is not a clause
+   */
+  private static void checkClause(final Formula clause) {
+    if (clause.type() == FType.OR) {
+      for (final Formula op : clause)
+        if (op.type() != FType.LITERAL)
+          throw new IllegalArgumentException("Input formula ist not a valid CNF: " + clause);
+    } else if (clause.type() != FType.LITERAL)
+      throw new IllegalArgumentException("Input formula ist not a valid CNF: " + clause);
+  }
+
+  /**
+   * Writes a clause given as formula.
+   * @param writer  the writer
+   * @param clause  the clause
+   * @param numbers the mapping from variables to their numbers
+   * @throws IOException if there was a problem writing the file
+   */
+  private static void writeClause(final ChannelWriter writer, final Formula clause, final Map<Variable, Integer> numbers)
+          throws IOException {
+    if (clause.type() == FType.LITERAL)
+      writeLiteral(writer, (Literal) clause, numbers);
+    else
+      for (final Formula op : clause)
+        writeLiteral(writer, (Literal) op, numbers);
+    writer.number(0).newLine();
+  }
+
+  /**
+   * Writes a literal given as formula followed by a space.
+   * @param writer  the writer
+   * @param literal the literal
+   * @param numbers the mapping from variables to their numbers
+   * @throws IOException if there was a problem writing the file
+   */
+  private static void writeLiteral(final ChannelWriter writer, final Literal literal, final Map<Variable, Integer> numbers)
+          throws IOException {
+    final int number = numbers.get(literal.variable());
+    writer.number(literal.phase() ? number : -number).string(" ");
+  }
+
+  /**
+   * Writes a clause given as vector of solver literals.
+   * @param writer the writer
+   * @param clause the clause
+   * @throws IOException if there was a problem writing the file
+   */
+  private static void writeClause(final ChannelWriter writer, final LNGIntVector clause) throws IOException {
+    for (int i = 0; i < clause.size(); i++)
+      writer.literal(clause.get(i)).string(" ");
+    writer.number(0).newLine();
+  }
+
+  /**
+   * A writer which encodes strings and numbers into a fixed-size buffer and writes the buffer to a file channel.
+   */
+  private static final class ChannelWriter implements Closeable {
+    private final FileOutputStream stream;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits;
+
+    /**
+     * Constructs a new writer.
+     * @param file the file
+     * @throws IOException if the file cannot be opened
+     */
+    private ChannelWriter(final File file) throws IOException {
+      this.stream = new FileOutputStream(file);
+      this.channel = this.stream.getChannel();
+      this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      this.digits = new byte[20];
+    }
+
+    /**
+     * Writes a solver literal in DIMACS notation, i.e. the variable with index {@code i} as {@code i + 1}.
+     * @param lit the solver literal
+     * @return this writer
+     * @throws IOException if there was a problem writing the file
+     */
+    private ChannelWriter literal(int lit) throws IOException {
+      final int number = MiniSatStyleSolver.var(lit) + 1;
+      return this.number(MiniSatStyleSolver.sign(lit) ? -number : number);
+    }
+
+    /**
+     * Writes a number.
+     * @param number the number
+     * @return this writer
+     * @throws IOException if there was a problem writing the file
+     */
+    private ChannelWriter number(long number) throws IOException {
+      this.ensureRemaining(this.digits.length + 1);
+      if (number < 0)
+        this.buffer.put((byte) '-');
+      long rest = Math.abs(number);
+      int pos = this.digits.length;
+      do {
+        this.digits[--pos] = (byte) ('0' + rest % 10);
+        rest /= 10;
+      } while (rest != 0);
+      this.buffer.put(this.digits, pos, this.digits.length - pos);
+      return this;
+    }
+
+    /**
+     * Writes an ASCII string.
+     * @param string the string
+     * @return this writer
+     * @throws IOException if there was a problem writing the file
+     */
+    private ChannelWriter string(final String string) throws IOException {
+      for (int i = 0; i < string.length(); i++) {
+        this.ensureRemaining(1);
+        this.buffer.put((byte) string.charAt(i));
+      }
+      return this;
+    }
+
+    /**
+     * Writes a line break.
+     * @return this writer
+     * @throws IOException if there was a problem writing the file
+     */
+    private ChannelWriter newLine() throws IOException {
+      this.ensureRemaining(1);
+      this.buffer.put((byte) '\n');
+      return this;
+    }
+
+    /**
+     * Flushes the buffer if it has less than a given number of bytes remaining.
+     * @param bytes the number of bytes
+     * @throws IOException if there was a problem writing the file
+     */
+    private void ensureRemaining(int bytes) throws IOException {
+      if (this.buffer.remaining() < bytes)
+        this.flush();
+    }
+
+    /**
+     * Writes the content of the buffer to the channel.
+     * @throws IOException if there was a problem writing the file
+     */
+    private void flush() throws IOException {
+      this.buffer.flip();
+      while (this.buffer.hasRemaining())
+        this.channel.write(this.buffer);
+      this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        this.flush();
+      } finally {
+        this.channel.close();
+        this.stream.close();
+      }
+    }
+  }
+}
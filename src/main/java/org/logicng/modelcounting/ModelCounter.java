@@ -0,0 +1,406 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.modelcounting;
+
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.transformations.cnf.CNFEncoder;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An exact model counter for propositional formulas.
+ * <p>
+ * The formulas are transformed to CNF by a {@link CNFEncoder} and the models of the CNF are counted by a DPLL style
+ * search with unit propagation.  After each decision the remaining clauses are split into connected components which
+ * are counted independently, and the count of each component is cached with its clause set as key.  So independent
+ * parts of a formula are never multiplied out and counts far beyond {@code long} are computed without enumerating a
+ * single model.
+ * <p>
+ * The models are counted wrt. a set of projection variables: the result is the number of assignments to these
+ * variables which can be extended to a model of the formulas.  Auxiliary variables introduced by the CNF encoding are
+ * never projection variables, so the count is the same for all CNF algorithms.  The search always decides projection
+ * variables first and a component without projection variables is only checked for satisfiability.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class ModelCounter {
+
+  private final FormulaFactory f;
+  private final CNFEncoder encoder;
+
+  /**
+   * Constructs a new model counter which uses the CNF encoder of the formula factory.
+   * @param f the formula factory
+   */
+  public ModelCounter(final FormulaFactory f) {
+    this(f, f.cnfEncoder());
+  }
+
+  /**
+   * Constructs a new model counter with a given CNF encoder.
+   * @param f       the formula factory
+   * @param encoder the CNF encoder
+   */
+  public ModelCounter(final FormulaFactory f, final CNFEncoder encoder) {
+    this.f = f;
+    this.encoder = encoder;
+  }
+
+  /**
+   * Returns the number of models of the conjunction of the given formulas wrt. their variables.
+   * @param formulas the formulas
+   * @return the number of models
+   */
+  public BigInteger count(final Collection<? extends Formula> formulas) {
+    final Set<Variable> variables = new LinkedHashSet<>();
+    for (final Formula formula : formulas)
+      variables.addAll(formula.variables());
+    return this.count(formulas, variables);
+  }
+
+  /**
+   * Returns the number of models of the conjunction of the given formulas projected to the given variables, i.e. the
+   * number of assignments to the variables which can be extended to a model of the formulas.  Projection variables
+   * which do not occur in the formulas double the count.
+   * @param formulas  the formulas
+   * @param variables the projection variables
+   * @return the number of models
+   */
+  public BigInteger count(final Collection<? extends Formula> formulas, final Collection<Variable> variables) {
+    final Map<Variable, Integer> indices = new HashMap<>();
+    final List<int[]> clauses = new ArrayList<>();
+    for (final Formula formula : formulas) {
+      final Formula cnf = this.encoder.encode(formula);
+      if (cnf.type() == FType.AND)
+        for (final Formula clause : cnf) {
+          if (!this.addClause(clause, indices, clauses))
+            return BigInteger.ZERO;
+        }
+      else if (!this.addClause(cnf, indices, clauses))
+        return BigInteger.ZERO;
+    }
+    final boolean[] projected = new boolean[indices.size() + 1];
+    int scope = 0;
+    int free = 0;
+    for (final Variable var : new HashSet<>(variables)) {
+      final Integer index = indices.get(var);
+      if (index == null)
+        free++;
+      else {
+        projected[index] = true;
+        scope++;
+      }
+    }
+    return new Counter(projected).count(clauses, scope).shiftLeft(free);
+  }
+
+  /**
+   * Adds a clause of a CNF to the given clause list.
+   * @param clause  the clause
+   * @param indices the mapping from variables to indices
+   * @param clauses the clause list
+   * @return {@code false} if the clause is falsum, {@code true} otherwise
+   */
+  private boolean addClause(final Formula clause, final Map<Variable, Integer> indices, final List<int[]> clauses) {
+    switch (clause.type()) {
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case LITERAL:
+      case OR:
+        final Set<Integer> lits = new HashSet<>();
+        for (final Literal lit : clause.literals()) {
+          Integer index = indices.get(lit.variable());
+          if (index == null) {
+            index = indices.size() + 1;
+            indices.put(lit.variable(), index);
+          }
+          lits.add(lit.phase() ? index : -index);
+        }
+        final int[] result = new int[lits.size()];
+        int i = 0;
+        for (final int lit : lits) {
+          if (lits.contains(-lit))
+            return true;
+          result[i++] = lit;
+        }
+        clauses.add(result);
+        return true;
+      default:
+        throw new IllegalArgumentException("Cannot count models of a non-CNF clause: " + clause);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * The counting procedure for a single call.  Literals are non-zero integers, a positive integer {@code v} represents
+   * the variable with index {@code v}, a negative integer {@code -v} its negation.
+   */
+  private static final class Counter {
+    private final boolean[] projected;
+    private final Map<Component, BigInteger> cache;
+
+    private Counter(final boolean[] projected) {
+      this.projected = projected;
+      this.cache = new HashMap<>();
+    }
+
+    /**
+     * Counts the models of a clause set wrt. a scope of projection variables.  The scope is given by its size and
+     * consists of all projection variables of the clauses and maybe some more which are free.
+     * @param clauses the clauses
+     * @param scope   the number of projection variables in the scope
+     * @return the number of models
+     */
+    private BigInteger count(final List<int[]> clauses, final int scope) {
+      final Set<Integer> units = new HashSet<>();
+      final List<int[]> simplified = this.propagate(clauses, units);
+      if (simplified == null)
+        return BigInteger.ZERO;
+      final Map<Integer, List<int[]>> components = this.components(simplified);
+      int free = scope;
+      for (final int unit : units)
+        if (this.projected[Math.abs(unit)])
+          free--;
+      BigInteger result = BigInteger.ONE;
+      for (final List<int[]> component : components.values()) {
+        final Component key = new Component(component);
+        BigInteger count = this.cache.get(key);
+        if (count == null) {
+          count = this.countComponent(key);
+          this.cache.put(key, count);
+        }
+        if (count.signum() == 0)
+          return BigInteger.ZERO;
+        result = result.multiply(count);
+        free -= key.projectedVariables;
+      }
+      return result.shiftLeft(free);
+    }
+
+    /**
+     * Counts the models of a connected component by branching on its most frequent variable.
+     * @param component the component
+     * @return the number of models
+     */
+    private BigInteger countComponent(final Component component) {
+      final Map<Integer, Integer> occurrences = new HashMap<>();
+      for (final int[] clause : component.clauses)
+        for (final int lit : clause) {
+          final Integer occ = occurrences.get(Math.abs(lit));
+          occurrences.put(Math.abs(lit), occ == null ? 1 : occ + 1);
+        }
+      int best = 0;
+      int bestOcc = -1;
+      boolean bestProjected = false;
+      for (final Map.Entry<Integer, Integer> entry : occurrences.entrySet()) {
+        final boolean proj = this.projected[entry.getKey()];
+        if (proj && !bestProjected || proj == bestProjected && entry.getValue() > bestOcc) {
+          best = entry.getKey();
+          bestOcc = entry.getValue();
+          bestProjected = proj;
+        }
+      }
+      final int scope = component.projectedVariables;
+      final BigInteger positive = this.count(this.branch(component.clauses, best), scope);
+      if (!bestProjected && positive.signum() != 0)
+        return positive;
+      final BigInteger negative = this.count(this.branch(component.clauses, -best), scope);
+      return positive.add(negative);
+    }
+
+    /**
+     * Returns the clauses extended by a unit clause for the given literal.
+     * @param clauses the clauses
+     * @param lit     the literal
+     * @return the extended clauses
+     */
+    private List<int[]> branch(final int[][] clauses, final int lit) {
+      final List<int[]> result = new ArrayList<>(clauses.length + 1);
+      result.addAll(Arrays.asList(clauses));
+      result.add(new int[]{lit});
+      return result;
+    }
+
+    /**
+     * Performs unit propagation on the given clauses.
+     * @param clauses the clauses
+     * @param units   the set of propagated literals, filled by this method
+     * @return the simplified clauses without satisfied clauses and false literals or {@code null} if a conflict occurred
+     */
+    private List<int[]> propagate(final List<int[]> clauses, final Set<Integer> units) {
+      List<int[]> current = clauses;
+      boolean changed = true;
+      while (changed) {
+        changed = false;
+        final List<int[]> next = new ArrayList<>(current.size());
+        for (final int[] clause : current) {
+          int size = 0;
+          boolean satisfied = false;
+          for (final int lit : clause) {
+            if (units.contains(lit)) {
+              satisfied = true;
+              break;
+            }
+            if (!units.contains(-lit))
+              size++;
+          }
+          if (satisfied)
+            continue;
+          if (size == 0)
+            return null;
+          final int[] reduced = size == clause.length ? clause : new int[size];
+          if (reduced != clause) {
+            int i = 0;
+            for (final int lit : clause)
+              if (!units.contains(-lit))
+                reduced[i++] = lit;
+          }
+          if (size == 1) {
+            units.add(reduced[0]);
+            changed = true;
+          } else
+            next.add(reduced);
+        }
+        current = next;
+      }
+      return current;
+    }
+
+    /**
+     * Splits the given clauses into connected components.
+     * @param clauses the clauses
+     * @return the components by their representative variable
+     */
+    private Map<Integer, List<int[]>> components(final List<int[]> clauses) {
+      final Map<Integer, Integer> parent = new HashMap<>();
+      for (final int[] clause : clauses) {
+        final int root = this.find(parent, Math.abs(clause[0]));
+        for (int i = 1; i < clause.length; i++) {
+          final int other = this.find(parent, Math.abs(clause[i]));
+          if (other != root)
+            parent.put(other, root);
+        }
+      }
+      final Map<Integer, List<int[]>> components = new HashMap<>();
+      for (final int[] clause : clauses) {
+        final int root = this.find(parent, Math.abs(clause[0]));
+        List<int[]> component = components.get(root);
+        if (component == null) {
+          component = new ArrayList<>();
+          components.put(root, component);
+        }
+        component.add(clause);
+      }
+      return components;
+    }
+
+    private int find(final Map<Integer, Integer> parent, final int var) {
+      int root = var;
+      Integer p;
+      while ((p = parent.get(root)) != null && p != root)
+        root = p;
+      int current = var;
+      while (current != root) {
+        final int next = parent.get(current);
+        parent.put(current, root);
+        current = next;
+      }
+      return root;
+    }
+
+    /**
+     * A connected component in a normalized form which serves as cache key.
+     */
+    private final class Component {
+      private final int[][] clauses;
+      private final int projectedVariables;
+      private final int hashCode;
+
+      private Component(final List<int[]> clauses) {
+        this.clauses = new int[clauses.size()][];
+        final Set<Integer> projectedVars = new HashSet<>();
+        for (int i = 0; i < clauses.size(); i++) {
+          final int[] clause = Arrays.copyOf(clauses.get(i), clauses.get(i).length);
+          Arrays.sort(clause);
+          for (final int lit : clause)
+            if (projected[Math.abs(lit)])
+              projectedVars.add(Math.abs(lit));
+          this.clauses[i] = clause;
+        }
+        Arrays.sort(this.clauses, new ClauseComparator());
+        this.projectedVariables = projectedVars.size();
+        this.hashCode = Arrays.deepHashCode(this.clauses);
+      }
+
+      @Override
+      public int hashCode() {
+        return this.hashCode;
+      }
+
+      @Override
+      public boolean equals(final Object other) {
+        return other instanceof Component && this.hashCode == other.hashCode()
+                && Arrays.deepEquals(this.clauses, ((Component) other).clauses);
+      }
+    }
+  }
+
+  /**
+   * A lexicographic comparator for sorted clauses.
+   */
+  private static final class ClauseComparator implements Comparator<int[]> {
+    @Override
+    public int compare(final int[] c1, final int[] c2) {
+      for (int i = 0; i < Math.min(c1.length, c2.length); i++)
+        if (c1[i] != c2[i])
+          return c1[i] < c2[i] ? -1 : 1;
+      return c1.length - c2.length;
+    }
+  }
+}
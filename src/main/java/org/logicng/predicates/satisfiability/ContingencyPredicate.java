@@ -36,7 +36,7 @@ import org.logicng.solvers.SATSolver;
 /**
  * Contingency predicate.  Indicates whether a formula is contingent
  * (neither a tautology nor a contradiction) or not.
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public final class ContingencyPredicate implements FormulaPredicate {
@@ -53,6 +53,18 @@ public final class ContingencyPredicate implements FormulaPredicate {
     this.tautologyPredicate = new TautologyPredicate(f);
   }
 
+  /**
+   * Constructs a new contingency predicate with a given formula factory.  In the incremental mode the satisfiability
+   * and the tautology test share one warm solver.
+   * @param f           the formula factory
+   * @param incremental {@code true} if the predicate should keep a warm solver for all tests, {@code false} if the
+   *                    formula should be encoded from scratch for each test
+   */
+  public ContingencyPredicate(final FormulaFactory f, final boolean incremental) {
+    this.satPredicate = new SATPredicate(f, incremental);
+    this.tautologyPredicate = new TautologyPredicate(this.satPredicate);
+  }
+
   /**
    * Constructs a new contingency predicate with a given SAT solver.
    * @param solver the SAT solver
@@ -35,7 +35,7 @@ import org.logicng.solvers.SATSolver;
 
 /**
  * Contradiction predicate.  Indicates whether a formula is contradictory or not.
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public final class ContradictionPredicate implements FormulaPredicate {
@@ -50,6 +50,16 @@ public final class ContradictionPredicate implements FormulaPredicate {
     this.satPredicate = new SATPredicate(f);
   }
 
+  /**
+   * Constructs a new contradiction predicate with a given formula factory.
+   * @param f           the formula factory
+   * @param incremental {@code true} if the predicate should keep a warm solver for all tests, {@code false} if the
+   *                    formula should be encoded from scratch for each test
+   */
+  public ContradictionPredicate(final FormulaFactory f, final boolean incremental) {
+    this.satPredicate = new SATPredicate(f, incremental);
+  }
+
   /**
    * Constructs a new contradiction predicate with a given SAT solver.
    * @param solver the SAT solver
@@ -0,0 +1,172 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.predicates.satisfiability;
+
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTraversal;
+import org.logicng.formulas.Literal;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A warm SAT solver for the incremental mode of the satisfiability predicates.
+ * <p>
+ * Each sub-formula is defined once by a fresh variable which is equivalent to the sub-formula (Tseitin encoding).  The
+ * definition clauses stay in the solver, so sub-formulas which are shared by several tested formulas are only encoded
+ * once and the solver keeps its learnt clauses.  A formula is tested by solving under the assumption of its
+ * definition literal, which never has to be retracted since the definitions themselves are always satisfiable.
+ * <p>
+ * The definitions are never removed, so the solver grows with the number of distinct tested sub-formulas.
+ * @version 1.1
+ * @since 1.1
+ */
+final class IncrementalSATEncoding {
+
+  private final FormulaFactory f;
+  private final SATSolver solver;
+  private final Map<Formula, Literal> definitions;
+  private final DefinitionTraversal traversal;
+  private Literal trueLiteral;
+
+  /**
+   * Constructs a new incremental encoding with a MiniSat solver.
+   * @param f the formula factory
+   */
+  IncrementalSATEncoding(final FormulaFactory f) {
+    this.f = f;
+    this.solver = MiniSat.miniSat(f);
+    this.definitions = new HashMap<>();
+    this.traversal = new DefinitionTraversal();
+  }
+
+  /**
+   * Returns whether a formula is satisfiable.
+   * @param formula the formula
+   * @return {@code true} if the formula is satisfiable, {@code false} otherwise
+   */
+  boolean sat(final Formula formula) {
+    return this.solver.sat(this.traversal.apply(formula)) == Tristate.TRUE;
+  }
+
+  /**
+   * Returns the number of defined sub-formulas.
+   * @return the number of definitions
+   */
+  int numberOfDefinitions() {
+    return this.definitions.size();
+  }
+
+  private Literal trueLiteral() {
+    if (this.trueLiteral == null) {
+      this.trueLiteral = this.f.newCNFVariable();
+      this.solver.add(this.trueLiteral);
+    }
+    return this.trueLiteral;
+  }
+
+  private void addClause(final Literal... literals) {
+    this.solver.add(this.f.or(literals));
+  }
+
+  /**
+   * The traversal which computes the definition literal of a formula and adds the definitions of all new sub-formulas
+   * to the solver.
+   */
+  private final class DefinitionTraversal extends FormulaTraversal<Literal> {
+
+    @Override
+    protected List<Formula> children(final Formula formula) {
+      return formula.type() == FType.PBC ? Collections.<Formula>emptyList() : super.children(formula);
+    }
+
+    @Override
+    protected Literal lookup(final Formula formula) {
+      return formula.type() == FType.LITERAL ? (Literal) formula : definitions.get(formula);
+    }
+
+    @Override
+    protected Literal combine(final Formula formula, final List<Literal> children) {
+      final Literal result;
+      switch (formula.type()) {
+        case TRUE:
+          return trueLiteral();
+        case FALSE:
+          return trueLiteral().negate();
+        case NOT:
+          result = children.get(0).negate();
+          break;
+        case IMPL:
+          result = f.newCNFVariable();
+          addClause(result.negate(), children.get(0).negate(), children.get(1));
+          addClause(result, children.get(0));
+          addClause(result, children.get(1).negate());
+          break;
+        case EQUIV:
+          result = f.newCNFVariable();
+          addClause(result.negate(), children.get(0).negate(), children.get(1));
+          addClause(result.negate(), children.get(0), children.get(1).negate());
+          addClause(result, children.get(0), children.get(1));
+          addClause(result, children.get(0).negate(), children.get(1).negate());
+          break;
+        case AND:
+        case OR:
+          final boolean and = formula.type() == FType.AND;
+          result = f.newCNFVariable();
+          final List<Literal> clause = new ArrayList<>(children.size() + 1);
+          clause.add(and ? result : result.negate());
+          for (final Literal child : children) {
+            clause.add(and ? child.negate() : child);
+            if (and)
+              addClause(result.negate(), child);
+            else
+              addClause(result, child.negate());
+          }
+          solver.add(f.or(clause));
+          break;
+        case PBC:
+          result = f.newCNFVariable();
+          solver.add(f.equivalence(result, formula));
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+      }
+      definitions.put(formula, result);
+      return result;
+    }
+  }
+}
@@ -41,6 +41,10 @@ import static org.logicng.formulas.cache.PredicateCacheEntry.IS_SAT;
 
 /**
  * A SAT solver based SAT predicate.  Indicates whether a formula is satisfiable or not.
+ * <p>
+ * By default the solver is reset and the whole formula is encoded again for each test.  In the incremental mode the
+ * predicate keeps a warm solver in which each distinct sub-formula is encoded only once.  This mode pays off if many
+ * related formulas of the same factory are tested.
  * @version 1.1
  * @since 1.0
  */
@@ -48,13 +52,25 @@ public final class SATPredicate implements FormulaPredicate {
 
   private final DNFPredicate dnfPredicate = new DNFPredicate();
   private final SATSolver solver;
+  private final IncrementalSATEncoding incrementalEncoding;
 
   /**
    * Constructs a new SAT predicate with a given formula factory.
    * @param f the formula factory
    */
   public SATPredicate(final FormulaFactory f) {
-    this.solver = MiniSat.miniSat(f);
+    this(f, false);
+  }
+
+  /**
+   * Constructs a new SAT predicate with a given formula factory.
+   * @param f           the formula factory
+   * @param incremental {@code true} if the predicate should keep a warm solver for all tests, {@code false} if the
+   *                    formula should be encoded from scratch for each test
+   */
+  public SATPredicate(final FormulaFactory f, final boolean incremental) {
+    this.solver = incremental ? null : MiniSat.miniSat(f);
+    this.incrementalEncoding = incremental ? new IncrementalSATEncoding(f) : null;
   }
 
   /**
@@ -63,6 +79,7 @@ public final class SATPredicate implements FormulaPredicate {
    */
   public SATPredicate(final SATSolver solver) {
     this.solver = solver;
+    this.incrementalEncoding = null;
   }
 
   @Override
@@ -75,6 +92,8 @@ public final class SATPredicate implements FormulaPredicate {
       result = false;
     else if (formula.type() == FType.TRUE || formula.type() == FType.LITERAL || formula.holds(dnfPredicate))
       result = true;
+    else if (this.incrementalEncoding != null)
+      result = this.incrementalEncoding.sat(formula);
     else {
       this.solver.add(formula);
       result = solver.sat() == Tristate.TRUE;
@@ -39,7 +39,7 @@ import static org.logicng.formulas.cache.PredicateCacheEntry.IS_TAUTOLOGY;
 
 /**
  * Tautology predicate.  Indicates whether a formula is a tautology or not.
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public final class TautologyPredicate implements FormulaPredicate {
@@ -55,6 +55,24 @@ public final class TautologyPredicate implements FormulaPredicate {
     this.satPredicate = new SATPredicate(f);
   }
 
+  /**
+   * Constructs a new tautology predicate with a given formula factory.
+   * @param f           the formula factory
+   * @param incremental {@code true} if the predicate should keep a warm solver for all tests, {@code false} if the
+   *                    formula should be encoded from scratch for each test
+   */
+  public TautologyPredicate(final FormulaFactory f, final boolean incremental) {
+    this(new SATPredicate(f, incremental));
+  }
+
+  /**
+   * Constructs a new tautology predicate with a given SAT predicate.
+   * @param satPredicate the SAT predicate
+   */
+  TautologyPredicate(final SATPredicate satPredicate) {
+    this.satPredicate = satPredicate;
+  }
+
   /**
    * Constructs a new tautology predicate with a given SAT solver.
    * @param solver the SAT solver
@@ -31,6 +31,7 @@ package org.logicng.solvers;
 import org.logicng.cardinalityconstraints.CCEncoder;
 import org.logicng.cardinalityconstraints.CCIncrementalData;
 import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.EncodingResult;
 import org.logicng.datastructures.Tristate;
@@ -48,11 +49,11 @@ import org.logicng.solvers.sat.CleaneLingSolver;
 import org.logicng.solvers.sat.CleaneLingStyleSolver;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 import static org.logicng.datastructures.Tristate.TRUE;
@@ -72,8 +73,8 @@ public final class CleaneLing extends SATSolver {
   private final CleaneLingStyleSolver solver;
   private SolverStyle solverStyle;
   private boolean plain;
-  private SortedMap<String, Integer> name2idx;
-  private SortedMap<Integer, String> idx2name;
+  private Map<String, Integer> name2idx;
+  private LNGVector<String> idx2name;
 
   /**
    * Constructs a new SAT solver instance.
@@ -98,8 +99,9 @@ public final class CleaneLing extends SATSolver {
     this.result = UNDEF;
     this.solverStyle = solverStyle;
     this.plain = config.plain();
-    this.name2idx = new TreeMap<>();
-    this.idx2name = new TreeMap<>();
+    this.name2idx = new HashMap<>();
+    this.idx2name = new LNGVector<>();
+    this.idx2name.push(null);
     this.ccEncoder = new CCEncoder(f);
   }
 
@@ -141,6 +143,15 @@ public final class CleaneLing extends SATSolver {
     return new CleaneLing(f, SolverStyle.FULL, config);
   }
 
+  /**
+   * Returns whether this solver simplifies its clauses, e.g. by variable elimination.  Clauses which are added to such a
+   * solver after it was solved can lead to wrong results.
+   * @return {@code true} if this solver simplifies its clauses, {@code false} otherwise
+   */
+  boolean simplifies() {
+    return this.solverStyle == SolverStyle.FULL && !this.plain;
+  }
+
   @Override
   public void add(final Formula formula) {
     if (formula.type() == FType.PBC) {
@@ -254,12 +265,7 @@ public final class CleaneLing extends SATSolver {
    */
   private void addClause(final Collection<Literal> literals) {
     for (Literal lit : literals) {
-      Integer index = this.name2idx.get(lit.variable().name());
-      if (index == null) {
-        index = this.name2idx.size() + 1;
-        this.name2idx.put(lit.variable().name(), index);
-        this.idx2name.put(index, lit.variable().name());
-      }
+      final int index = this.getOrCreateVarIndex(lit.variable());
       this.solver.addlit(lit.phase() ? index : -index);
     }
     this.solver.addlit(CLAUSE_TERMINATOR);
@@ -304,13 +310,13 @@ public final class CleaneLing extends SATSolver {
    * @return the (old or new) internal variable index
    */
   public int getOrCreateVarIndex(final Variable var) {
-    Integer index = this.name2idx.get(var.name());
-    if (index == null) {
-      index = this.name2idx.size() + 1;
-      this.name2idx.put(var.name(), index);
-      this.idx2name.put(index, var.name());
-    }
-    return index;
+    final Integer index = this.name2idx.get(var.name());
+    if (index != null)
+      return index;
+    final int newIndex = this.idx2name.size();
+    this.name2idx.put(var.name(), newIndex);
+    this.idx2name.push(var.name());
+    return newIndex;
   }
 
   /**
@@ -319,15 +325,22 @@ public final class CleaneLing extends SATSolver {
    * @return the name of the new variable
    */
   public String createNewVariableOnSolver(final String prefix) {
-    int index = this.name2idx.size() + 1;
+    final int index = this.idx2name.size();
     final String varName = prefix + "_" + index;
     this.name2idx.put(varName, index);
-    this.idx2name.put(index, varName);
+    this.idx2name.push(varName);
     return varName;
   }
 
   @Override
   public String toString() {
-    return String.format("CleaneLing{result=%s, idx2name=%s}", this.result, this.idx2name);
+    final StringBuilder sb = new StringBuilder("{");
+    for (int i = 1; i < this.idx2name.size(); i++) {
+      sb.append(i).append("=").append(this.idx2name.get(i));
+      if (i < this.idx2name.size() - 1)
+        sb.append(", ");
+    }
+    sb.append("}");
+    return String.format("CleaneLing{result=%s, idx2name=%s}", this.result, sb);
   }
 }
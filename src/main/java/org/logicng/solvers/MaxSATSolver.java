@@ -41,9 +41,11 @@ import org.logicng.solvers.maxsat.algorithms.LinearUS;
 import org.logicng.solvers.maxsat.algorithms.MSU3;
 import org.logicng.solvers.maxsat.algorithms.MaxSAT;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+import org.logicng.solvers.maxsat.algorithms.OLL;
 import org.logicng.solvers.maxsat.algorithms.WBO;
 import org.logicng.solvers.maxsat.algorithms.WMSU3;
 
+import java.util.Collection;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -58,7 +60,7 @@ import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNSATISF
  */
 public final class MaxSATSolver {
 
-  private enum Algorithm {WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3}
+  private enum Algorithm {WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3, OLL}
 
   private MaxSAT.MaxSATResult result;
   private MaxSAT solver;
@@ -66,6 +68,7 @@ public final class MaxSATSolver {
   private SortedMap<Integer, Variable> index2var;
   private MaxSATConfig configuration;
   private Algorithm algorithm;
+  private boolean solvedWithAssumptions;
 
   /**
    * Constructs a new MaxSAT solver with a given configuration.
@@ -181,12 +184,32 @@ public final class MaxSATSolver {
     return new MaxSATSolver(config, Algorithm.WMSU3);
   }
 
+  /**
+   * Returns a new MaxSAT solver using the core-guided OLL algorithm with stratification as algorithm with the default
+   * configuration.
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver oll() {
+    return new MaxSATSolver(new MaxSATConfig.Builder().build(), Algorithm.OLL);
+  }
+
+  /**
+   * Returns a new MaxSAT solver using the core-guided OLL algorithm with stratification as algorithm with the given
+   * configuration.
+   * @param config the configuration
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver oll(final MaxSATConfig config) {
+    return new MaxSATSolver(config, Algorithm.OLL);
+  }
+
   /**
    * Resets the solver.
    * @throws IllegalArgumentException if the algorithm was unknown
    */
   public void reset() {
     this.result = UNDEF;
+    this.solvedWithAssumptions = false;
     this.var2index = new TreeMap<>();
     this.index2var = new TreeMap<>();
     switch (this.algorithm) {
@@ -208,6 +231,9 @@ public final class MaxSATSolver {
       case WMSU3:
         this.solver = new WMSU3(this.configuration);
         break;
+      case OLL:
+        this.solver = new OLL(this.configuration);
+        break;
       default:
         throw new IllegalArgumentException("Unknown MaxSAT algorithm: " + this.algorithm);
     }
@@ -216,11 +242,10 @@ public final class MaxSATSolver {
   /**
    * Adds a new hard formula to the solver.  Hard formulas must always be true.
    * @param formula the formula
-   * @throws IllegalStateException if a formula is added to a solver which is already solved.
+   * @throws IllegalStateException if a formula is added to a solver which is already solved and not incremental
    */
   public void addHardFormula(final Formula formula) {
-    if (this.result != UNDEF)
-      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
+    this.checkIncremental();
     this.addCNF(formula.cnf(), -1);
   }
 
@@ -228,17 +253,35 @@ public final class MaxSATSolver {
    * Adds a new soft formula to the solver.
    * @param formula the formula
    * @param weight  the weight
-   * @throws IllegalStateException    if a formula is added to a solver which is already solved.
+   * @throws IllegalStateException    if a formula is added to a solver which is already solved and not incremental
    * @throws IllegalArgumentException if the weight is &lt;1
    */
   public void addSoftFormula(final Formula formula, int weight) {
-    if (this.result != UNDEF)
-      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
+    this.checkIncremental();
     if (weight < 1)
       throw new IllegalArgumentException("The weight of a formula must be > 0");
     this.addCNF(formula.cnf(), weight);
   }
 
+  /**
+   * Checks whether new clauses can be added to the solver.
+   * @throws IllegalStateException if the solver is already solved and not incremental
+   */
+  private void checkIncremental() {
+    if (this.result != UNDEF && !this.solver.isIncremental())
+      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
+  }
+
+  /**
+   * Returns whether the underlying algorithm is incremental.  An incremental solver keeps its SAT solver, learnt
+   * clauses, cardinality encodings and cores between two calls of {@link #solve()} and accepts new hard and soft
+   * formulas and assumptions in between.  Currently this is the case for MSU3 with the iterative totalizer encoding.
+   * @return {@code true} if the underlying algorithm is incremental, {@code false} otherwise
+   */
+  public boolean isIncremental() {
+    return this.solver.isIncremental();
+  }
+
   /**
    * Adds a formula which is already in CNF to the solver.
    * @param formula the formula in CNF
@@ -271,12 +314,7 @@ public final class MaxSATSolver {
     this.result = UNDEF;
     final LNGIntVector clauseVec = new LNGIntVector((int) formula.numberOfAtoms());
     for (Literal lit : formula.literals()) {
-      Integer index = this.var2index.get(lit.variable());
-      if (index == null) {
-        index = this.solver.newLiteral(false) >> 1;
-        this.var2index.put(lit.variable(), index);
-        this.index2var.put(index, lit.variable());
-      }
+      final int index = this.variableIndex(lit.variable());
       int litNum = lit.phase() ? index * 2 : (index * 2) ^ 1;
       clauseVec.push(litNum);
     }
@@ -289,6 +327,56 @@ public final class MaxSATSolver {
     }
   }
 
+  /**
+   * Returns the index of a given variable in the underlying MaxSAT solver.  If the variable is not yet known to the
+   * solver, a new index is created.  Together with {@link #addHardClause(LNGIntVector)} and
+   * {@link #addSoftClause(LNGIntVector, int)} this allows to add clauses without creating formulas, e.g. when reading
+   * large benchmark files.
+   * @param variable the variable
+   * @return the index of the variable
+   */
+  public int variableIndex(final Variable variable) {
+    Integer index = this.var2index.get(variable);
+    if (index == null) {
+      index = this.solver.newLiteral(false) >> 1;
+      this.var2index.put(variable, index);
+      this.index2var.put(index, variable);
+    }
+    return index;
+  }
+
+  /**
+   * Adds a new hard clause to the solver.  The literals of the clause are given as solver literals, i.e. as
+   * {@code 2 * index} for a positive and {@code 2 * index + 1} for a negative literal of a variable index obtained by
+   * {@link #variableIndex(Variable)}.
+   * @param clause the literals of the clause
+   * @throws IllegalStateException if a clause is added to a solver which is already solved and not incremental
+   */
+  public void addHardClause(final LNGIntVector clause) {
+    this.checkIncremental();
+    this.result = UNDEF;
+    this.solver.addHardClause(new LNGIntVector(clause));
+  }
+
+  /**
+   * Adds a new soft clause to the solver.  The literals of the clause are given as solver literals, i.e. as
+   * {@code 2 * index} for a positive and {@code 2 * index + 1} for a negative literal of a variable index obtained by
+   * {@link #variableIndex(Variable)}.
+   * @param clause the literals of the clause
+   * @param weight the weight
+   * @throws IllegalStateException    if a clause is added to a solver which is already solved and not incremental
+   * @throws IllegalArgumentException if the weight is &lt;1
+   */
+  public void addSoftClause(final LNGIntVector clause, int weight) {
+    this.checkIncremental();
+    if (weight < 1)
+      throw new IllegalArgumentException("The weight of a clause must be > 0");
+    this.result = UNDEF;
+    this.solver.setCurrentWeight(weight);
+    this.solver.updateSumWeights(weight);
+    this.solver.addSoftClause(weight, new LNGIntVector(clause));
+  }
+
   /**
    * Solves the formula on the solver and returns the result.
    * @return the result (SAT, UNSAT, Optimum found)
@@ -303,13 +391,43 @@ public final class MaxSATSolver {
    * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
    */
   public MaxSAT.MaxSATResult solve(final MaxSATHandler handler) {
-    if (this.result != UNDEF)
+    if (this.result != UNDEF && !this.solvedWithAssumptions)
       return this.result;
+    return this.solve(handler, new LNGIntVector());
+  }
+
+  /**
+   * Solves the formula on the solver under a given set of assumptions and returns the result.  The assumptions are
+   * only valid for this call.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumptions
+   * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
+   * @throws IllegalStateException if the underlying algorithm is not incremental
+   */
+  public MaxSAT.MaxSATResult solve(final MaxSATHandler handler, final Collection<? extends Literal> assumptions) {
+    if (!this.solver.isIncremental())
+      throw new IllegalStateException("Assumptions are only supported by incremental MaxSAT solvers.");
+    final LNGIntVector assumptionVec = new LNGIntVector(assumptions.size());
+    for (final Literal lit : assumptions) {
+      final int index = this.variableIndex(lit.variable());
+      assumptionVec.push(lit.phase() ? index * 2 : (index * 2) ^ 1);
+    }
+    return this.solve(handler, assumptionVec);
+  }
+
+  /**
+   * Solves the formula on the solver under a given set of solver literals as assumptions.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumptions
+   * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
+   */
+  private MaxSAT.MaxSATResult solve(final MaxSATHandler handler, final LNGIntVector assumptions) {
     if (this.solver.currentWeight() == 1)
       this.solver.setProblemType(MaxSAT.ProblemType.UNWEIGHTED);
     else
       this.solver.setProblemType(MaxSAT.ProblemType.WEIGHTED);
-    this.result = this.solver.search(handler);
+    this.result = this.solver.search(handler, assumptions);
+    this.solvedWithAssumptions = !assumptions.empty();
     return this.result;
   }
 
@@ -355,6 +473,17 @@ public final class MaxSATSolver {
     return model;
   }
 
+  /**
+   * Returns the underlying MaxSAT algorithm.
+   * <p>
+   * ATTENTION: by influencing the underlying solver directly, you can mess things up completely!  You should really
+   * know, what you are doing.
+   * @return the underlying MaxSAT algorithm
+   */
+  public MaxSAT underlyingSolver() {
+    return this.solver;
+  }
+
   /**
    * Returns the stats of the underlying solver.
    * @return the stats of the underlying solver
@@ -32,9 +32,11 @@ import org.logicng.cardinalityconstraints.CCEncoder;
 import org.logicng.cardinalityconstraints.CCIncrementalData;
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.EncodingResult;
 import org.logicng.datastructures.Tristate;
+import org.logicng.explanations.unsatcores.UNSATCore;
 import org.logicng.formulas.CType;
 import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
@@ -44,15 +46,23 @@ import org.logicng.formulas.PBConstraint;
 import org.logicng.formulas.Variable;
 import org.logicng.handlers.ModelEnumerationHandler;
 import org.logicng.handlers.SATHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.sat.CubeAndConquerSolver;
+import org.logicng.solvers.sat.DRATCoreTrimmer;
 import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.GlucoseSyrup;
 import org.logicng.solvers.sat.MiniCard;
 import org.logicng.solvers.sat.MiniSat2Solver;
 import org.logicng.solvers.sat.MiniSatConfig;
 import org.logicng.solvers.sat.MiniSatStyleSolver;
+import org.logicng.transformations.cnf.PlaistedGreenbaumEncoder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -60,6 +70,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
 import static org.logicng.datastructures.Tristate.UNDEF;
 
@@ -74,8 +85,13 @@ public final class MiniSat extends SATSolver {
 
   private final MiniSatStyleSolver solver;
   private final CCEncoder ccEncoder;
+  private final PlaistedGreenbaumEncoder pgEncoder;
   private final SolverStyle style;
   private final LNGIntVector validStates;
+  private final boolean unsatCores;
+  private final LNGIntVector selectors;
+  private final List<Proposition> selectedPropositions;
+  private List<Literal> lastAssumptions;
   private boolean incremental;
   private boolean initialPhase;
   private int nextStateId;
@@ -91,6 +107,8 @@ public final class MiniSat extends SATSolver {
     super(f);
     this.style = solverStyle;
     this.initialPhase = miniSatConfig.initialPhase();
+    this.pgEncoder = miniSatConfig.cnfMethod() == MiniSatConfig.CNFMethod.PG_ON_SOLVER
+            ? new PlaistedGreenbaumEncoder() : null;
     switch (solverStyle) {
       case MINISAT:
         this.solver = new MiniSat2Solver(miniSatConfig);
@@ -109,6 +127,10 @@ public final class MiniSat extends SATSolver {
     this.validStates = new LNGIntVector();
     this.nextStateId = 0;
     this.ccEncoder = new CCEncoder(f);
+    this.unsatCores = miniSatConfig.unsatCores();
+    this.selectors = new LNGIntVector();
+    this.selectedPropositions = new ArrayList<>();
+    this.lastAssumptions = Collections.emptyList();
   }
 
   /**
@@ -192,10 +214,33 @@ public final class MiniSat extends SATSolver {
         }
       } else
         this.addClauseSet(constraint.cnf());
+    } else if (this.pgEncoder != null) {
+      this.result = UNDEF;
+      this.pgEncoder.encode(formula, EncodingResult.resultForMiniSat(this.f, this));
     } else
       this.addClauseSet(formula.cnf());
   }
 
+  /**
+   * Adds a proposition to the solver.  If unsatisfiable cores are tracked, the clauses of the proposition are relaxed
+   * with a fresh selector variable which is assumed to be false on every call of {@code sat}.
+   * @param proposition the proposition
+   */
+  @Override
+  public void add(final Proposition proposition) {
+    if (!this.unsatCores) {
+      super.add(proposition);
+      return;
+    }
+    final Variable selector = this.f.newCNFVariable();
+    final int index = this.solver.newVar(!initialPhase, true);
+    this.solver.addName(selector.name(), index);
+    this.selectors.push(index);
+    this.selectedPropositions.add(proposition);
+    this.addWithRelaxation(selector, proposition);
+    this.result = UNDEF;
+  }
+
   @Override
   public CCIncrementalData addIncrementalCC(PBConstraint cc) {
     if (!cc.isCC())
@@ -222,10 +267,32 @@ public final class MiniSat extends SATSolver {
   public Tristate sat(final SATHandler handler) {
     if (this.result != UNDEF)
       return this.result;
-    this.result = this.solver.solve(handler);
+    this.lastAssumptions = Collections.emptyList();
+    this.result = this.selectors.empty()
+            ? this.solver.solve(handler)
+            : this.solver.solve(handler, this.withSelectors(new LNGIntVector()));
     return result;
   }
 
+  /**
+   * Solves the formula on the solver with cube-and-conquer.  The search space is split into cubes which are solved in
+   * parallel on copies of the underlying solver.  This is only supported for MiniSat and Glucose.
+   * @param handler        the SAT handler
+   * @param cubeAndConquer the cube-and-conquer solver
+   * @return the satisfiability of the formula on the solver
+   * @throws IllegalArgumentException if the underlying solver is MiniCard
+   * @throws IllegalStateException    if propositions with selector variables were added to the solver
+   */
+  public Tristate satCubeAndConquer(final SATHandler handler, final CubeAndConquerSolver cubeAndConquer) {
+    if (this.result != UNDEF)
+      return this.result;
+    if (!this.selectors.empty())
+      throw new IllegalStateException("Cube-and-conquer does not support the tracking of unsatisfiable cores");
+    this.lastAssumptions = Collections.emptyList();
+    this.result = cubeAndConquer.solve(this.solver, handler);
+    return this.result;
+  }
+
   @Override
   public Tristate sat(final SATHandler handler, final Literal literal) {
     final LNGIntVector clauseVec = new LNGIntVector(1);
@@ -236,7 +303,8 @@ public final class MiniSat extends SATSolver {
     }
     int litNum = literal.phase() ? index * 2 : (index * 2) ^ 1;
     clauseVec.push(litNum);
-    this.result = this.solver.solve(handler, clauseVec);
+    this.lastAssumptions = Collections.singletonList(literal);
+    this.result = this.solver.solve(handler, this.withSelectors(clauseVec));
     return this.result;
   }
 
@@ -253,16 +321,79 @@ public final class MiniSat extends SATSolver {
       int litNum = literal.phase() ? index * 2 : (index * 2) ^ 1;
       assumptionVec.push(litNum);
     }
-    this.result = this.solver.solve(handler, assumptionVec);
+    this.lastAssumptions = new ArrayList<>(assumptionSet);
+    this.result = this.solver.solve(handler, this.withSelectors(assumptionVec));
     return this.result;
   }
 
+  /**
+   * Appends the assumptions for the selector variables of the tracked propositions to a given assumption vector.
+   * @param assumptions the assumption vector
+   * @return the assumption vector
+   */
+  private LNGIntVector withSelectors(final LNGIntVector assumptions) {
+    for (int i = 0; i < this.selectors.size(); i++)
+      assumptions.push(MiniSatStyleSolver.mkLit(this.selectors.get(i), true));
+    return assumptions;
+  }
+
   @Override
   public void reset() {
     this.solver.reset();
+    this.selectors.clear();
+    this.selectedPropositions.clear();
+    this.lastAssumptions = Collections.emptyList();
     this.result = UNDEF;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The core is only available if unsatisfiable cores were turned on in the configuration of the solver.  The failed
+   * assumptions are taken from the final conflict analysis of the underlying solver, so no further solver calls are
+   * required unless the core is trimmed.  A trimmed core is computed by {@link DRATCoreTrimmer#trimConflict} from the
+   * DRAT proof of a fresh MiniSat solver for the clauses of this solver.
+   * @throws UnsupportedOperationException if the core should be trimmed and the solver contains cardinality constraints
+   *                                       of MiniCard
+   */
+  @Override
+  public UNSATCore unsatCore(final boolean trim) {
+    if (!this.unsatCores)
+      throw new IllegalStateException("Cannot get an unsat core if unsat cores are not tracked by the solver.");
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get an unsat core as long as the formula is not solved.  Call 'sat' first.");
+    if (this.result != FALSE)
+      return null;
+    final Set<Integer> failedVars = new HashSet<>();
+    final LNGIntVector conflict = trim ? DRATCoreTrimmer.trimConflict(this.solver) : this.solver.conflict();
+    for (int i = 0; i < conflict.size(); i++)
+      failedVars.add(MiniSatStyleSolver.var(conflict.get(i)));
+    final List<Proposition> core = new ArrayList<>();
+    for (int i = 0; i < this.selectors.size(); i++)
+      if (failedVars.contains(this.selectors.get(i)))
+        core.add(this.selectedPropositions.get(i));
+    return new UNSATCore(core, false);
+  }
+
+  @Override
+  public List<Literal> failedAssumptions() {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get the failed assumptions as long as the formula is not solved.  Call 'sat' first.");
+    if (this.result != FALSE)
+      return null;
+    final Set<Integer> conflictLits = new HashSet<>();
+    final LNGIntVector conflict = this.solver.conflict();
+    for (int i = 0; i < conflict.size(); i++)
+      conflictLits.add(conflict.get(i));
+    final List<Literal> failed = new ArrayList<>();
+    for (final Literal literal : this.lastAssumptions) {
+      final int index = this.solver.idxForName(literal.name());
+      if (index != -1 && conflictLits.contains(MiniSatStyleSolver.mkLit(index, literal.phase())))
+        failed.add(literal);
+    }
+    return failed;
+  }
+
   @Override
   public Assignment model(final Collection<Variable> variables) {
     if (this.result == UNDEF)
@@ -272,38 +403,157 @@ public final class MiniSat extends SATSolver {
 
   @Override
   public List<Assignment> enumerateAllModels(final Collection<Variable> variables) {
-    List<Assignment> models = new LinkedList<>();
-    SolverState stateBeforeEnumeration = null;
-    if (this.style == SolverStyle.MINISAT && incremental)
-      stateBeforeEnumeration = this.saveState();
-    while (this.sat((SATHandler) null) == TRUE) {
-      final Assignment model = this.model(variables);
-      assert model != null;
-      models.add(model);
-      this.add(model.blockingClause(this.f, variables));
-    }
-    if (this.style == SolverStyle.MINISAT && incremental)
-      this.loadState(stateBeforeEnumeration);
+    final List<Assignment> models = new LinkedList<>();
+    this.enumerateModels(variables, new ModelEnumerationHandler() {
+      @Override
+      public boolean foundModel(final Assignment assignment) {
+        models.add(assignment);
+        return true;
+      }
+    }, false);
     return models;
   }
 
   @Override
   public List<Assignment> enumerateAllModels(final Collection<Variable> literals, final ModelEnumerationHandler handler) {
-    List<Assignment> models = new LinkedList<>();
+    final List<Assignment> models = new LinkedList<>();
+    this.enumerateModels(literals, new ModelEnumerationHandler() {
+      @Override
+      public boolean foundModel(final Assignment assignment) {
+        models.add(assignment);
+        return handler.foundModel(assignment);
+      }
+    }, false);
+    return models;
+  }
+
+  /**
+   * Enumerates the models of the current formula wrt. a given set of variables and streams them to a model
+   * enumeration handler.  If the set is {@code null}, all variables are considered relevant.
+   * <p>
+   * In contrast to {@link #enumerateAllModels(Collection, ModelEnumerationHandler)} the models are not collected and
+   * the blocking clauses are added directly to the underlying solver without generating formulas.  If {@code cubes} is
+   * turned on, each model is shrunk to a cube before it is reported and blocked: a relevant variable is dropped from
+   * the model if the original clauses of the solver are still satisfied for all of its values.  So every extension of a
+   * reported assignment to the relevant variables is a model and the reported assignments are pairwise disjoint.  For
+   * MiniCard the models are never shrunk since its at-most constraints are no clauses.
+   * @param variables the set of variables
+   * @param handler   the model enumeration handler, the enumeration stops if it returns {@code false}
+   * @param cubes     {@code true} if the models should be shrunk to cubes, {@code false} otherwise
+   * @return the number of reported models
+   */
+  public int enumerateModels(final Collection<Variable> variables, final ModelEnumerationHandler handler,
+                             final boolean cubes) {
     SolverState stateBeforeEnumeration = null;
     if (this.style == SolverStyle.MINISAT && incremental)
       stateBeforeEnumeration = this.saveState();
+    final LNGIntVector relevant = this.relevantIndices(variables);
+    final boolean shrink = cubes && this.style != SolverStyle.MINICARD;
+    int count = 0;
     boolean proceed = true;
     while (proceed && this.sat((SATHandler) null) == TRUE) {
-      final Assignment model = this.model(literals);
-      assert model != null;
-      models.add(model);
-      proceed = handler.foundModel(model);
-      this.add(model.blockingClause(this.f, literals));
+      final LNGBooleanVector model = this.solver.model();
+      final LNGIntVector cube = shrink ? this.shrinkToCube(model, relevant) : relevant;
+      final Assignment assignment = new Assignment();
+      final LNGIntVector blockingClause = new LNGIntVector(cube.size());
+      for (int i = 0; i < cube.size(); i++) {
+        final int var = cube.get(i);
+        final Variable variable = this.f.variable(this.solver.nameForIdx(var));
+        assignment.addLiteral(model.get(var) ? variable : variable.negate());
+        blockingClause.push(MiniSatStyleSolver.mkLit(var, model.get(var)));
+      }
+      count++;
+      proceed = handler.foundModel(assignment);
+      this.solver.addClause(blockingClause);
+      this.result = UNDEF;
     }
     if (this.style == SolverStyle.MINISAT && incremental)
       this.loadState(stateBeforeEnumeration);
-    return models;
+    return count;
+  }
+
+  /**
+   * Returns the solver indices of the given variables.  Variables which are unknown to the solver are ignored.
+   * @param variables the variables or {@code null} for all variables of the solver
+   * @return the solver indices
+   */
+  private LNGIntVector relevantIndices(final Collection<Variable> variables) {
+    if (variables == null) {
+      final LNGIntVector relevant = new LNGIntVector(this.solver.nVars());
+      for (int i = 0; i < this.solver.nVars(); i++)
+        relevant.push(i);
+      return relevant;
+    }
+    final LNGIntVector relevant = new LNGIntVector(variables.size());
+    for (final Variable var : new LinkedHashSet<>(variables)) {
+      final int index = this.solver.idxForName(var.name());
+      if (index != -1)
+        relevant.push(index);
+    }
+    return relevant;
+  }
+
+  /**
+   * Shrinks a model to a cube over the relevant variables such that all original clauses of the solver are satisfied
+   * by the cube together with the irrelevant variables of the model.  A clause with a single true literal of a relevant
+   * variable forces this variable into the cube, all other clauses prefer variables which are already in the cube.
+   * @param model    the model
+   * @param relevant the relevant variables
+   * @return the variables of the cube
+   */
+  private LNGIntVector shrinkToCube(final LNGBooleanVector model, final LNGIntVector relevant) {
+    final int nVars = this.solver.nVars();
+    final boolean[] isRelevant = new boolean[nVars];
+    final boolean[] inCube = new boolean[nVars];
+    for (int i = 0; i < relevant.size(); i++)
+      isRelevant[relevant.get(i)] = true;
+    final LNGIntVector units = this.solver.units();
+    for (int i = 0; i < units.size(); i++)
+      inCube[MiniSatStyleSolver.var(units.get(i))] = true;
+    final LNGVector<MSClause> clauses = this.solver.clauses();
+    final LNGVector<MSClause> open = new LNGVector<>();
+    for (final MSClause clause : clauses) {
+      boolean satisfied = false;
+      int candidates = 0;
+      for (int i = 0; i < clause.size() && !satisfied; i++) {
+        final int lit = clause.get(i);
+        final int var = MiniSatStyleSolver.var(lit);
+        if (model.get(var) != MiniSatStyleSolver.sign(lit)) {
+          satisfied = !isRelevant[var] || inCube[var];
+          candidates++;
+        }
+      }
+      if (satisfied)
+        continue;
+      if (candidates == 1) {
+        for (int i = 0; i < clause.size(); i++) {
+          final int lit = clause.get(i);
+          if (model.get(MiniSatStyleSolver.var(lit)) != MiniSatStyleSolver.sign(lit))
+            inCube[MiniSatStyleSolver.var(lit)] = true;
+        }
+      } else
+        open.push(clause);
+    }
+    for (final MSClause clause : open) {
+      int candidate = -1;
+      boolean satisfied = false;
+      for (int i = 0; i < clause.size() && !satisfied; i++) {
+        final int lit = clause.get(i);
+        final int var = MiniSatStyleSolver.var(lit);
+        if (model.get(var) != MiniSatStyleSolver.sign(lit)) {
+          satisfied = inCube[var];
+          if (candidate == -1)
+            candidate = var;
+        }
+      }
+      if (!satisfied)
+        inCube[candidate] = true;
+    }
+    final LNGIntVector cube = new LNGIntVector();
+    for (int i = 0; i < relevant.size(); i++)
+      if (inCube[relevant.get(i)])
+        cube.push(relevant.get(i));
+    return cube;
   }
 
   @Override
@@ -323,6 +573,11 @@ public final class MiniSat extends SATSolver {
       throw new IllegalArgumentException("The given solver state is not valid anymore.");
     this.validStates.shrinkTo(index + 1);
     this.solver.loadState(state.state());
+    int selectorsSize = this.selectors.size();
+    while (selectorsSize > 0 && this.selectors.get(selectorsSize - 1) >= this.solver.nVars())
+      selectorsSize--;
+    this.selectors.shrinkTo(selectorsSize);
+    this.selectedPropositions.subList(selectorsSize, this.selectedPropositions.size()).clear();
     this.result = UNDEF;
   }
 
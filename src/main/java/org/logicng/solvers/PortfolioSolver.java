@@ -0,0 +1,522 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import org.logicng.cardinalityconstraints.CCIncrementalData;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.ModelEnumerationHandler;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.sat.CleaneLingConfig;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.LearntClauseExchange;
+import org.logicng.solvers.sat.MiniSatConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * A portfolio SAT solver which runs a number of differently configured SAT solvers in parallel threads.
+ * <p>
+ * All formulas are added to each solver of the portfolio.  When solving, each solver runs in its own thread and the
+ * first solver which finds an answer wins.  All other solvers are then canceled via their SAT handler.  The model is
+ * taken from the winning solver, therefore models of satisfiable formulas are not deterministic.
+ * <p>
+ * Solvers which do not support an operation (e.g. solving with assumptions for CleaneLing) are left out when solving.
+ * A CleaneLing solver which simplifies its clauses is retired from the portfolio as soon as clauses are added after
+ * the first solver call, since its simplifications are not sound for clauses which are added later.  This is the case
+ * e.g. for the blocking clauses of the model enumeration.  Saving and loading the solver state is only supported if all
+ * solvers of the portfolio support it.  Incremental
+ * cardinality constraints are not supported, since their incremental data is bound to a single solver.
+ * <p>
+ * Note that the formula factory is only used from the calling thread, the solvers only run their internal search in
+ * parallel.  The threads of a portfolio are created on the first solver call and reused by later calls.  They are
+ * daemon threads which terminate after one minute without a solver call.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class PortfolioSolver extends SATSolver {
+
+  private static final ThreadFactory DAEMON_THREADS = new ThreadFactory() {
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, "LogicNG-portfolio");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  private final List<SATSolver> solvers;
+  private final boolean[] retired;
+  private final SortedMap<Integer, List<SolverState>> states;
+  private ThreadPoolExecutor executor;
+  private SATSolver winner;
+  private boolean solved;
+  private int nextStateId;
+
+  /**
+   * Constructs a new portfolio solver.
+   * @param f       the formula factory
+   * @param solvers the solvers of the portfolio
+   * @throws IllegalArgumentException if the portfolio is empty
+   */
+  private PortfolioSolver(final FormulaFactory f, final List<SATSolver> solvers) {
+    super(f);
+    if (solvers.isEmpty())
+      throw new IllegalArgumentException("A portfolio solver requires at least one solver");
+    this.solvers = Collections.unmodifiableList(new ArrayList<>(solvers));
+    this.retired = new boolean[solvers.size()];
+    this.states = new TreeMap<>();
+    this.result = UNDEF;
+    this.winner = null;
+    this.nextStateId = 0;
+  }
+
+  /**
+   * Returns a new portfolio solver with a default portfolio: MiniSat with two different restart and phase settings,
+   * Glucose, and the minimalistic CleaneLing.  CleaneLing with simplifications is not part of the default portfolio
+   * since it cannot be used for model enumeration.
+   * @param f the formula factory
+   * @return the portfolio solver
+   */
+  public static PortfolioSolver defaultPortfolio(final FormulaFactory f) {
+    final MiniSatConfig nonIncremental = new MiniSatConfig.Builder().incremental(false).build();
+    final MiniSatConfig positivePhase = new MiniSatConfig.Builder().incremental(false).initialPhase(true)
+            .restartFirst(50).restartInc(1.5).varDecay(0.9).build();
+    return new PortfolioSolver(f, Arrays.<SATSolver>asList(
+            MiniSat.miniSat(f, nonIncremental),
+            MiniSat.miniSat(f, positivePhase),
+            MiniSat.glucose(f, nonIncremental, new GlucoseConfig.Builder().build()),
+            CleaneLing.minimalistic(f, new CleaneLingConfig.Builder().build())));
+  }
+
+  /**
+   * Returns a new portfolio solver with a given number of Glucose solvers which share their learnt clauses via a
+   * common {@link LearntClauseExchange}.  The solvers differ in their restart, phase, and variable decay settings.
+   * @param f               the formula factory
+   * @param numberOfSolvers the number of solvers
+   * @return the portfolio solver
+   * @throws IllegalArgumentException if the number of solvers is not positive
+   */
+  public static PortfolioSolver glucosePortfolio(final FormulaFactory f, int numberOfSolvers) {
+    final LearntClauseExchange exchange = new LearntClauseExchange();
+    final GlucoseConfig glucoseConfig = new GlucoseConfig.Builder().clauseExchange(exchange).build();
+    final List<SATSolver> solvers = new ArrayList<>(numberOfSolvers);
+    for (int i = 0; i < numberOfSolvers; i++) {
+      final MiniSatConfig config = new MiniSatConfig.Builder()
+              .incremental(false)
+              .initialPhase(i % 2 == 1)
+              .restartFirst(100 + 50 * (i / 2))
+              .varDecay(0.95 - 0.01 * (i / 2 % 5))
+              .build();
+      solvers.add(MiniSat.glucose(f, config, glucoseConfig));
+    }
+    return new PortfolioSolver(f, solvers);
+  }
+
+  /**
+   * Returns a new portfolio solver with the given solvers.  The solvers must be empty and must not be used outside of
+   * the portfolio.
+   * @param f       the formula factory
+   * @param solvers the solvers of the portfolio
+   * @return the portfolio solver
+   * @throws IllegalArgumentException if no solver is given
+   */
+  public static PortfolioSolver portfolio(final FormulaFactory f, final SATSolver... solvers) {
+    return new PortfolioSolver(f, Arrays.asList(solvers));
+  }
+
+  /**
+   * Returns a new portfolio solver with the given solvers.  The solvers must be empty and must not be used outside of
+   * the portfolio.
+   * @param f       the formula factory
+   * @param solvers the solvers of the portfolio
+   * @return the portfolio solver
+   * @throws IllegalArgumentException if no solver is given
+   */
+  public static PortfolioSolver portfolio(final FormulaFactory f, final List<SATSolver> solvers) {
+    return new PortfolioSolver(f, solvers);
+  }
+
+  /**
+   * Returns the solvers of this portfolio.
+   * @return the solvers of this portfolio
+   */
+  public List<SATSolver> solvers() {
+    return this.solvers;
+  }
+
+  /**
+   * Returns the solver which found the answer of the last solver call or {@code null} if there is none.
+   * @return the solver which found the last answer
+   */
+  public SATSolver winner() {
+    return this.winner;
+  }
+
+  @Override
+  public void add(final Formula formula) {
+    this.result = UNDEF;
+    for (int i = 0; i < this.solvers.size(); i++)
+      if (this.acceptsClauses(i))
+        this.solvers.get(i).add(formula);
+  }
+
+  @Override
+  public CCIncrementalData addIncrementalCC(final PBConstraint cc) {
+    throw new UnsupportedOperationException("The portfolio solver does not support incremental cardinality constraints");
+  }
+
+  @Override
+  protected void addClause(final Formula formula) {
+    this.result = UNDEF;
+    for (int i = 0; i < this.solvers.size(); i++)
+      if (this.acceptsClauses(i))
+        this.solvers.get(i).addClause(formula);
+  }
+
+  @Override
+  protected void addClauseWithRelaxation(final Variable relaxationVar, final Formula formula) {
+    this.result = UNDEF;
+    for (int i = 0; i < this.solvers.size(); i++)
+      if (this.acceptsClauses(i))
+        this.solvers.get(i).addClauseWithRelaxation(relaxationVar, formula);
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler) {
+    if (this.result != UNDEF)
+      return this.result;
+    return this.solve(handler, null);
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler, final Literal literal) {
+    return this.solve(handler, Collections.singletonList(literal));
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+    return this.solve(handler, assumptions);
+  }
+
+  @Override
+  public void reset() {
+    for (final SATSolver solver : this.solvers)
+      solver.reset();
+    Arrays.fill(this.retired, false);
+    this.states.clear();
+    this.result = UNDEF;
+    this.winner = null;
+    this.solved = false;
+  }
+
+  @Override
+  public Assignment model(final Collection<Variable> variables) {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get a model as long as the formula is not solved.  Call 'sat' first.");
+    return this.result == TRUE ? this.winner.model(variables) : null;
+  }
+
+  @Override
+  public List<Assignment> enumerateAllModels(final Collection<Variable> variables) {
+    final List<Assignment> models = new LinkedList<>();
+    final SolverState stateBeforeEnumeration = this.saveStateIfSupported();
+    while (this.sat((SATHandler) null) == TRUE) {
+      final Assignment model = this.model(variables);
+      assert model != null;
+      models.add(model);
+      this.add(model.blockingClause(this.f, variables));
+    }
+    if (stateBeforeEnumeration != null)
+      this.loadState(stateBeforeEnumeration);
+    return models;
+  }
+
+  @Override
+  public List<Assignment> enumerateAllModels(final Collection<Variable> variables, final ModelEnumerationHandler handler) {
+    final List<Assignment> models = new LinkedList<>();
+    final SolverState stateBeforeEnumeration = this.saveStateIfSupported();
+    boolean proceed = true;
+    while (proceed && this.sat((SATHandler) null) == TRUE) {
+      final Assignment model = this.model(variables);
+      assert model != null;
+      models.add(model);
+      proceed = handler.foundModel(model);
+      this.add(model.blockingClause(this.f, variables));
+    }
+    if (stateBeforeEnumeration != null)
+      this.loadState(stateBeforeEnumeration);
+    return models;
+  }
+
+  @Override
+  public SolverState saveState() {
+    final List<SolverState> solverStates = new ArrayList<>(this.solvers.size());
+    for (final SATSolver solver : this.solvers)
+      solverStates.add(solver.saveState());
+    final int id = this.nextStateId++;
+    this.states.put(id, solverStates);
+    return new SolverState(id, new int[0]);
+  }
+
+  @Override
+  public void loadState(final SolverState state) {
+    final List<SolverState> solverStates = this.states.get(state.id());
+    if (solverStates == null)
+      throw new IllegalArgumentException("The given solver state is not valid anymore.");
+    for (int i = 0; i < this.solvers.size(); i++)
+      this.solvers.get(i).loadState(solverStates.get(i));
+    this.states.tailMap(state.id() + 1).clear();
+    this.result = UNDEF;
+    this.winner = null;
+  }
+
+  @Override
+  public void setSolverToUndef() {
+    super.setSolverToUndef();
+    for (final SATSolver solver : this.solvers)
+      solver.setSolverToUndef();
+  }
+
+  /**
+   * Returns whether new clauses are added to the solver with a given index.  A CleaneLing solver which simplifies its
+   * clauses is retired if clauses are added after the first solver call.
+   * @param index the index of the solver
+   * @return {@code true} if the solver gets new clauses, {@code false} if it is retired
+   */
+  private boolean acceptsClauses(int index) {
+    if (!this.retired[index] && this.solved && this.solvers.get(index) instanceof CleaneLing &&
+            ((CleaneLing) this.solvers.get(index)).simplifies())
+      this.retired[index] = true;
+    return !this.retired[index];
+  }
+
+  /**
+   * Returns the executor of this portfolio and creates it on the first call.
+   * @return the executor
+   */
+  private ExecutorService executor() {
+    if (this.executor == null) {
+      this.executor = new ThreadPoolExecutor(this.solvers.size(), this.solvers.size(), 1, TimeUnit.MINUTES,
+              new LinkedBlockingQueue<Runnable>(), DAEMON_THREADS);
+      this.executor.allowCoreThreadTimeOut(true);
+    }
+    return this.executor;
+  }
+
+  /**
+   * Saves the current state if all solvers of the portfolio support it.
+   * @return the current state or {@code null} if the state cannot be saved
+   */
+  private SolverState saveStateIfSupported() {
+    try {
+      return this.saveState();
+    } catch (final UnsupportedOperationException | IllegalStateException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Runs all solvers of the portfolio in parallel and returns the answer of the first solver which finishes.
+   * @param handler     the SAT handler or {@code null}
+   * @param assumptions the assumptions or {@code null} if there are none
+   * @return the result of the first solver
+   * @throws UnsupportedOperationException if no solver of the portfolio supports the call or all solvers are retired
+   */
+  private Tristate solve(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+    int active = 0;
+    for (final boolean r : this.retired)
+      if (!r)
+        active++;
+    if (active == 0)
+      throw new UnsupportedOperationException("All solvers of the portfolio were retired after adding clauses");
+    if (handler != null)
+      handler.startedSolving();
+    this.result = UNDEF;
+    this.winner = null;
+    this.solved = true;
+    final AtomicBoolean stop = new AtomicBoolean(false);
+    final Tristate[] results = new Tristate[this.solvers.size()];
+    final CompletionService<Integer> completionService = new ExecutorCompletionService<>(this.executor());
+    final List<Future<Integer>> futures = new ArrayList<>(active);
+    for (int i = 0; i < this.solvers.size(); i++) {
+      if (this.retired[i])
+        continue;
+      final int index = i;
+      final SATSolver solver = this.solvers.get(i);
+      final SATHandler solverHandler = new PortfolioHandler(stop, handler);
+      futures.add(completionService.submit(new Callable<Integer>() {
+        @Override
+        public Integer call() {
+          results[index] = assumptions == null ? solver.sat(solverHandler) : solver.sat(solverHandler, assumptions);
+          return index;
+        }
+      }));
+    }
+    RuntimeException exception = null;
+    int unsupported = 0;
+    try {
+      for (int i = 0; i < active; i++) {
+        try {
+          final int index = completionService.take().get();
+          if (this.winner == null && results[index] != UNDEF) {
+            this.winner = this.solvers.get(index);
+            this.result = results[index];
+            stop.set(true);
+          }
+        } catch (final ExecutionException e) {
+          if (e.getCause() instanceof UnsupportedOperationException) {
+            unsupported++;
+            if (exception == null)
+              exception = (UnsupportedOperationException) e.getCause();
+          } else {
+            stop.set(true);
+            exception = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new IllegalStateException("A solver of the portfolio failed", e.getCause());
+          }
+        }
+      }
+    } catch (final InterruptedException e) {
+      stop.set(true);
+      Thread.currentThread().interrupt();
+    } finally {
+      awaitCompletion(futures);
+    }
+    if (handler != null)
+      handler.finishedSolving();
+    if (exception != null && (!(exception instanceof UnsupportedOperationException) || unsupported == active)) {
+      this.result = UNDEF;
+      this.winner = null;
+      throw exception;
+    }
+    return this.result;
+  }
+
+  /**
+   * Waits until all given tasks have finished.  The solvers must not be touched by the calling thread as long as one of
+   * them is still running.
+   * @param futures the futures of the tasks
+   */
+  private static void awaitCompletion(final List<Future<Integer>> futures) {
+    boolean interrupted = false;
+    for (final Future<Integer> future : futures) {
+      boolean done = false;
+      while (!done) {
+        try {
+          future.get();
+          done = true;
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        } catch (final ExecutionException e) {
+          done = true;
+        }
+      }
+    }
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PortfolioSolver{result=%s, solvers=%d}", this.result, this.solvers.size());
+  }
+
+  /**
+   * The SAT handler for a single solver of the portfolio.  It cancels the solver as soon as another solver has found
+   * an answer or the handler of the user cancels the solving process.
+   */
+  private static final class PortfolioHandler implements SATHandler {
+    private final AtomicBoolean stop;
+    private final SATHandler handler;
+
+    /**
+     * Constructs a new handler.
+     * @param stop    the flag which indicates that all solvers should stop
+     * @param handler the handler of the user or {@code null}
+     */
+    private PortfolioHandler(final AtomicBoolean stop, final SATHandler handler) {
+      this.stop = stop;
+      this.handler = handler;
+    }
+
+    @Override
+    public boolean detectedConflict() {
+      if (this.stop.get())
+        return false;
+      if (this.handler != null) {
+        final boolean proceed;
+        synchronized (this.handler) {
+          proceed = this.handler.detectedConflict();
+        }
+        if (!proceed) {
+          this.stop.set(true);
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // the handler of the user is started by the portfolio solver
+    }
+
+    @Override
+    public void finishedSolving() {
+      // the handler of the user is finished by the portfolio solver
+    }
+  }
+}
@@ -32,6 +32,7 @@ import org.logicng.cardinalityconstraints.CCIncrementalData;
 import org.logicng.collections.ImmutableFormulaList;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Tristate;
+import org.logicng.explanations.unsatcores.UNSATCore;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
@@ -354,6 +355,41 @@ public abstract class SATSolver {
    */
   public abstract List<Assignment> enumerateAllModels(final Collection<Variable> variables, final ModelEnumerationHandler handler);
 
+  /**
+   * Returns an unsatisfiable core of the last call of {@code sat}.  The core consists of the propositions whose
+   * selector variables were failed assumptions of the solver.  The propositions which are not part of the core
+   * together with the propositions of the core are unsatisfiable, so the core is not necessarily minimal.
+   * @return the unsatisfiable core or {@code null} if the formula was satisfiable
+   * @throws UnsupportedOperationException if the solver does not support unsatisfiable cores
+   * @throws IllegalStateException         if the solver does not track unsatisfiable cores or was not called yet
+   */
+  public UNSATCore unsatCore() {
+    return this.unsatCore(false);
+  }
+
+  /**
+   * Returns an unsatisfiable core of the last call of {@code sat}.  If {@code trim} is turned on, the core is trimmed
+   * with a DRAT proof: the clauses of the solver are solved again by a proof tracing solver and the core is reduced to
+   * the propositions whose clauses are needed by the proof.  The trimmed core is not necessarily minimal either.
+   * @param trim {@code true} if the core should be trimmed, {@code false} otherwise
+   * @return the unsatisfiable core or {@code null} if the formula was satisfiable
+   * @throws UnsupportedOperationException if the solver does not support unsatisfiable cores
+   * @throws IllegalStateException         if the solver does not track unsatisfiable cores or was not called yet
+   */
+  public UNSATCore unsatCore(final boolean trim) {
+    throw new UnsupportedOperationException("Unsatisfiable cores are not supported by this solver");
+  }
+
+  /**
+   * Returns the assumptions of the last call of {@code sat} which were used to prove the unsatisfiability.
+   * @return the failed assumptions or {@code null} if the formula was satisfiable
+   * @throws UnsupportedOperationException if the solver does not support failed assumptions
+   * @throws IllegalStateException         if the solver was not called yet
+   */
+  public List<Literal> failedAssumptions() {
+    throw new UnsupportedOperationException("Failed assumptions are not supported by this solver");
+  }
+
   /**
    * Saves the current solver state.
    * @return the current solver state
@@ -50,7 +50,12 @@ import java.util.Comparator;
 
 /**
  * A clause of the SAT solver for MiniSAT-style solvers.
- * @version 1.0.1
+ * <p>
+ * The literals are stored directly in a primitive array of the clause in order to avoid an additional indirection
+ * during unit propagation.  Each clause is still a separate object on the heap: the clauses are not stored in a common
+ * arena addressed by offsets and the clause database is not compacted on the reduction of the learnt clauses, since
+ * the solvers, their watchers and their saved states reference the clauses as objects.
+ * @version 1.1
  * @since 1.0
  */
 public class MSClause {
@@ -85,7 +90,8 @@ public class MSClause {
     }
   };
 
-  private LNGIntVector data;
+  private final int[] lits;
+  private int size;
   private double activity;
   private boolean learnt;
   private int szWithoutSelectors;
@@ -112,9 +118,10 @@ public class MSClause {
    * @param isAtMost {@code true} if it is an at-most clause, {@code false} otherwise
    */
   public MSClause(final LNGIntVector ps, boolean learnt, boolean isAtMost) {
-    this.data = new LNGIntVector(ps.size());
-    for (int i = 0; i < ps.size(); i++)
-      this.data.unsafePush(ps.get(i));
+    this.size = ps.size();
+    this.lits = new int[this.size];
+    for (int i = 0; i < this.size; i++)
+      this.lits[i] = ps.get(i);
     this.learnt = learnt;
     this.szWithoutSelectors = 0;
     this.seen = false;
@@ -130,7 +137,7 @@ public class MSClause {
    * @return the size
    */
   public int size() {
-    return this.data.size();
+    return this.size;
   }
 
   /**
@@ -139,7 +146,7 @@ public class MSClause {
    * @return the literal at index {@code i}
    */
   public int get(int i) {
-    return this.data.get(i);
+    return this.lits[i];
   }
 
   /**
@@ -148,7 +155,7 @@ public class MSClause {
    * @param lit the literal
    */
   public void set(int i, int lit) {
-    this.data.set(i, lit);
+    this.lits[i] = lit;
   }
 
   /**
@@ -292,12 +299,12 @@ public class MSClause {
    * Pops (removes) the last literal of this clause.
    */
   public void pop() {
-    this.data.pop();
+    this.size--;
   }
 
   @Override
   public int hashCode() {
-    return this.data.hashCode();
+    return super.hashCode();
   }
 
   @Override
@@ -318,10 +325,10 @@ public class MSClause {
     sb.append("isAtMost=").append(this.isAtMost).append(", ");
     sb.append("atMostWatchers=").append(this.atMostWatchers).append(", ");
     sb.append("lits=[");
-    for (int i = 0; i < this.data.size(); i++) {
-      int lit = this.data.get(i);
+    for (int i = 0; i < this.size; i++) {
+      int lit = this.lits[i];
       sb.append((lit & 1) == 1 ? "-" : "").append(lit >> 1);
-      if (i != this.data.size() - 1)
+      if (i != this.size - 1)
         sb.append(", ");
     }
     sb.append("]}");
@@ -65,8 +65,9 @@ import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
 import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 
 /**
- * Non-incremental MSU3 solver.
- * @version 1.0
+ * MSU3 solver.  With the iterative totalizer encoding the solver is incremental, i.e. it can be searched repeatedly
+ * and accepts new hard and soft clauses and assumptions between the searches.
+ * @version 1.1
  * @since 1.0
  */
 public final class MSU3 extends MaxSAT {
@@ -78,6 +79,9 @@ public final class MSU3 extends MaxSAT {
   private SortedMap<Integer, Integer> coreMapping;
   private LNGBooleanVector activeSoft;
   private PrintStream output;
+  private int nbHardInSolver;
+  private int nbSoftInSolver;
+  private int provenLbCost;
 
   /**
    * Constructs a new solver with default values.
@@ -100,6 +104,21 @@ public final class MSU3 extends MaxSAT {
     this.coreMapping = new TreeMap<>();
     this.activeSoft = new LNGBooleanVector();
     this.output = config.output;
+    this.nbHardInSolver = 0;
+    this.nbSoftInSolver = 0;
+    this.provenLbCost = 0;
+  }
+
+  /**
+   * Returns {@code true} if this solver uses the iterative totalizer encoding.  In this case the SAT solver, its learnt
+   * clauses, the totalizer and the relaxed soft clauses are kept between two searches.  New hard and soft clauses are
+   * added to the existing SAT solver and the lower bound of the last search without assumptions is reused.
+   * @return {@code true} if this solver uses the iterative totalizer encoding
+   */
+  @Override
+  public boolean isIncremental() {
+    return this.incrementalStrategy == IncrementalStrategy.ITERATIVE
+            && this.encoder.cardEncoding() == CardinalityEncoding.TOTALIZER;
   }
 
   @Override
@@ -112,7 +131,10 @@ public final class MSU3 extends MaxSAT {
       case ITERATIVE:
         if (this.encoder.cardEncoding() != CardinalityEncoding.TOTALIZER)
           throw new IllegalStateException("Error: Currently iterative encoding in MSU3 only supports the totalizer encoding.");
-        return this.iterative();
+        final MaxSATResult result = this.iterative();
+        if (this.solver != null && this.solver.nVars() > nVars())
+          nbVars = this.solver.nVars();
+        return result;
       default:
         throw new IllegalArgumentException("Unknown incremental strategy: " + this.incrementalStrategy);
     }
@@ -185,18 +207,26 @@ public final class MSU3 extends MaxSAT {
   private MaxSATResult iterative() {
     if (this.encoder.cardEncoding() != CardinalityEncoding.TOTALIZER)
       throw new IllegalStateException("Error: Currently algorithm MSU3 with iterative encoding only  supports the totalizer encoding.");
-    nbInitialVariables = nVars();
     Tristate res;
-    this.initRelaxation();
-    this.solver = this.rebuildSolver();
-    final LNGIntVector assumptions = new LNGIntVector();
+    if (this.solver == null) {
+      nbInitialVariables = nVars();
+      this.initRelaxation();
+      this.solver = this.rebuildSolver();
+      this.encoder.setIncremental(IncrementalStrategy.ITERATIVE);
+      this.activeSoft.growTo(nSoft(), false);
+      for (int i = 0; i < nSoft(); i++)
+        this.coreMapping.put(softClauses.get(i).assumptionVar(), i);
+    } else {
+      this.updateSolver();
+      nbInitialVariables = nVars();
+    }
+    lbCost = this.provenLbCost;
+    boolean foundModel = false;
+    boolean dependsOnAssumptions = false;
+    final LNGIntVector assumptions = new LNGIntVector(this.userAssumptions);
     final LNGIntVector joinObjFunction = new LNGIntVector();
     final LNGIntVector currentObjFunction = new LNGIntVector();
     final LNGIntVector encodingAssumptions = new LNGIntVector();
-    this.encoder.setIncremental(IncrementalStrategy.ITERATIVE);
-    this.activeSoft.growTo(nSoft(), false);
-    for (int i = 0; i < nSoft(); i++)
-      this.coreMapping.put(softClauses.get(i).assumptionVar(), i);
     while (true) {
       res = searchSATSolver(this.solver, satHandler(), assumptions);
       if (res == Tristate.UNDEF)
@@ -208,11 +238,13 @@ public final class MSU3 extends MaxSAT {
         if (verbosity != Verbosity.NONE)
           this.output.println("o " + newCost);
         ubCost = newCost;
-        if (nbSatisfiable == 1) {
+        if (!foundModel) {
+          foundModel = true;
           if (!foundUpperBound(ubCost, null))
             return MaxSATResult.UNDEF;
-          for (int i = 0; i < this.objFunction.size(); i++)
-            assumptions.push(not(this.objFunction.get(i)));
+          if (lbCost == ubCost)
+            return MaxSATResult.OPTIMUM;
+          this.relaxedAssumptions(assumptions, currentObjFunction, encodingAssumptions);
         } else {
           assert lbCost == newCost;
           return MaxSATResult.OPTIMUM;
@@ -222,52 +254,159 @@ public final class MSU3 extends MaxSAT {
         nbCores++;
         if (verbosity != Verbosity.NONE)
           this.output.println("c LB : " + lbCost);
-        if (nbSatisfiable == 0)
+        if (!foundModel)
           return MaxSATResult.UNSATISFIABLE;
-        if (lbCost == ubCost) {
-          assert nbSatisfiable > 0;
-          if (verbosity != Verbosity.NONE)
-            this.output.println("c LB = UB");
-          return MaxSATResult.OPTIMUM;
-        }
         sumSizeCores += this.solver.conflict().size();
-        if (this.solver.conflict().size() == 0)
+        if (this.solver.conflict().size() == 0 || this.containsOnlyUserAssumptions(this.solver.conflict()))
           return MaxSATResult.UNSATISFIABLE;
-        if (!foundLowerBound(lbCost, null))
-          return MaxSATResult.UNDEF;
+        dependsOnAssumptions |= this.containsUserAssumption(this.solver.conflict());
+        this.updateProvenLbCost(dependsOnAssumptions);
         joinObjFunction.clear();
         for (int i = 0; i < this.solver.conflict().size(); i++) {
-          if (this.coreMapping.containsKey(this.solver.conflict().get(i))) {
-            assert !this.activeSoft.get(this.coreMapping.get(this.solver.conflict().get(i)));
-            this.activeSoft.set(this.coreMapping.get(this.solver.conflict().get(i)), true);
-            joinObjFunction.push(softClauses.get(this.coreMapping.get(this.solver.conflict().get(i))).relaxationVars().get(0));
+          final Integer index = this.coreMapping.get(this.solver.conflict().get(i));
+          if (index != null && !this.activeSoft.get(index)) {
+            this.activeSoft.set(index, true);
+            joinObjFunction.push(softClauses.get(index).relaxationVars().get(0));
           }
         }
         currentObjFunction.clear();
-        assumptions.clear();
         for (int i = 0; i < nSoft(); i++)
           if (this.activeSoft.get(i))
             currentObjFunction.push(softClauses.get(i).relaxationVars().get(0));
-          else
-            assumptions.push(not(softClauses.get(i).assumptionVar()));
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c Relaxed soft clauses %d / %d", currentObjFunction.size(), this.objFunction.size()));
+        encodingAssumptions.clear();
         if (!this.encoder.hasCardEncoding()) {
-          if (lbCost != currentObjFunction.size()) {
+          if (lbCost < currentObjFunction.size()) {
             this.encoder.buildCardinality(this.solver, currentObjFunction, lbCost);
             joinObjFunction.clear();
             this.encoder.incUpdateCardinality(this.solver, joinObjFunction, currentObjFunction, lbCost, encodingAssumptions);
           }
         } else
           this.encoder.incUpdateCardinality(this.solver, joinObjFunction, currentObjFunction, lbCost, encodingAssumptions);
-        for (int i = 0; i < encodingAssumptions.size(); i++)
-          assumptions.push(encodingAssumptions.get(i));
+        if (lbCost == ubCost) {
+          if (verbosity != Verbosity.NONE)
+            this.output.println("c LB = UB");
+          return MaxSATResult.OPTIMUM;
+        }
+        if (!foundLowerBound(lbCost, null))
+          return MaxSATResult.UNDEF;
+        this.fillAssumptions(assumptions, encodingAssumptions);
       }
     }
   }
 
+  /**
+   * Computes the assumptions for the first call after a model was found: all soft clauses which are not yet relaxed
+   * must be satisfied and the relaxed soft clauses are bounded by the current lower bound.
+   * @param assumptions         the assumptions which are filled by this method
+   * @param currentObjFunction  the relaxation variables of the relaxed soft clauses which are filled by this method
+   * @param encodingAssumptions the assumptions of the cardinality encoding which are filled by this method
+   */
+  private void relaxedAssumptions(final LNGIntVector assumptions, final LNGIntVector currentObjFunction,
+                                  final LNGIntVector encodingAssumptions) {
+    currentObjFunction.clear();
+    encodingAssumptions.clear();
+    for (int i = 0; i < nSoft(); i++)
+      if (this.activeSoft.get(i))
+        currentObjFunction.push(softClauses.get(i).relaxationVars().get(0));
+    if (this.encoder.hasCardEncoding())
+      this.encoder.incUpdateCardinality(this.solver, new LNGIntVector(), currentObjFunction, lbCost, encodingAssumptions);
+    else if (lbCost == 0)
+      for (int i = 0; i < currentObjFunction.size(); i++)
+        encodingAssumptions.push(not(currentObjFunction.get(i)));
+    else if (lbCost < currentObjFunction.size()) {
+      this.encoder.buildCardinality(this.solver, currentObjFunction, lbCost);
+      this.encoder.incUpdateCardinality(this.solver, new LNGIntVector(), currentObjFunction, lbCost, encodingAssumptions);
+    }
+    this.fillAssumptions(assumptions, encodingAssumptions);
+  }
+
+  /**
+   * Fills the assumptions with the user assumptions, the negated assumption variables of the soft clauses which are
+   * not relaxed yet and the assumptions of the cardinality encoding.
+   * @param assumptions         the assumptions
+   * @param encodingAssumptions the assumptions of the cardinality encoding
+   */
+  private void fillAssumptions(final LNGIntVector assumptions, final LNGIntVector encodingAssumptions) {
+    assumptions.clear();
+    for (int i = 0; i < this.userAssumptions.size(); i++)
+      assumptions.push(this.userAssumptions.get(i));
+    for (int i = 0; i < nSoft(); i++)
+      if (!this.activeSoft.get(i))
+        assumptions.push(not(softClauses.get(i).assumptionVar()));
+    for (int i = 0; i < encodingAssumptions.size(); i++)
+      assumptions.push(encodingAssumptions.get(i));
+  }
+
+  /**
+   * Stores the current lower bound for the following searches if it does not depend on the user assumptions.
+   * @param dependsOnAssumptions {@code true} if a core of the current search contained a user assumption
+   */
+  private void updateProvenLbCost(boolean dependsOnAssumptions) {
+    if (!dependsOnAssumptions)
+      this.provenLbCost = lbCost;
+  }
+
+  /**
+   * Returns {@code true} if a given conflict contains a negated user assumption.
+   * @param conflict the conflict
+   * @return {@code true} if the conflict contains a negated user assumption
+   */
+  private boolean containsUserAssumption(final LNGIntVector conflict) {
+    for (int i = 0; i < conflict.size(); i++)
+      if (this.isUserAssumption(not(conflict.get(i))))
+        return true;
+    return false;
+  }
+
+  /**
+   * Returns {@code true} if a given conflict contains only negated user assumptions.
+   * @param conflict the conflict
+   * @return {@code true} if the conflict contains only negated user assumptions
+   */
+  private boolean containsOnlyUserAssumptions(final LNGIntVector conflict) {
+    for (int i = 0; i < conflict.size(); i++)
+      if (!this.isUserAssumption(not(conflict.get(i))))
+        return false;
+    return true;
+  }
+
+  private boolean isUserAssumption(int lit) {
+    for (int i = 0; i < this.userAssumptions.size(); i++)
+      if (this.userAssumptions.get(i) == lit)
+        return true;
+    return false;
+  }
+
+  /**
+   * Adds the variables, hard clauses and soft clauses which were added since the last search to the SAT solver.
+   */
+  private void updateSolver() {
+    while (this.solver.nVars() < nVars())
+      newSATVariable(this.solver);
+    for (int i = this.nbHardInSolver; i < nHard(); i++)
+      this.solver.addClause(hardClauses.get(i).clause());
+    for (int i = this.nbSoftInSolver; i < nSoft(); i++) {
+      final int l = newLiteral(false);
+      newSATVariable(this.solver);
+      softClauses.get(i).relaxationVars().push(l);
+      softClauses.get(i).setAssumptionVar(l);
+      this.objFunction.push(l);
+      this.coreMapping.put(l, i);
+      this.activeSoft.push(false);
+      final LNGIntVector clause = new LNGIntVector(softClauses.get(i).clause());
+      clause.push(l);
+      this.solver.addClause(clause);
+    }
+    this.nbHardInSolver = nHard();
+    this.nbSoftInSolver = nSoft();
+  }
+
   private MiniSatStyleSolver rebuildSolver() {
     final MiniSatStyleSolver s = newSATSolver();
+    this.nbHardInSolver = nHard();
+    this.nbSoftInSolver = nSoft();
     for (int i = 0; i < nVars(); i++)
       newSATVariable(s);
     for (int i = 0; i < nHard(); i++)
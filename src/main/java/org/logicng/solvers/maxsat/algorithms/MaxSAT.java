@@ -119,6 +119,7 @@ public abstract class MaxSAT {
   protected SolverType solverType;
 
   protected MaxSATHandler handler;
+  protected LNGIntVector userAssumptions;
 
   protected MaxSAT(final MaxSATConfig config) {
     this.hardWeight = 0;
@@ -141,6 +142,7 @@ public abstract class MaxSAT {
     this.orderWeights = new LNGIntVector();
     this.solverType = config.solverType;
     this.handler = null;
+    this.userAssumptions = new LNGIntVector();
   }
 
   /**
@@ -179,13 +181,30 @@ public abstract class MaxSAT {
    * @throws IllegalArgumentException if the configuration was not valid
    */
   public final MaxSATResult search(final MaxSATHandler handler) {
+    return this.search(handler, new LNGIntVector());
+  }
+
+  /**
+   * The main MaxSAT solving method with a set of assumptions.  The assumptions are hard unit clauses which are only
+   * valid for this call.  Assumptions are only supported by algorithms which are {@link #isIncremental() incremental}.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumptions
+   * @return the result of the solving process
+   * @throws IllegalArgumentException if the configuration was not valid
+   * @throws IllegalStateException    if assumptions are given to an algorithm which is not incremental
+   */
+  public final MaxSATResult search(final MaxSATHandler handler, final LNGIntVector assumptions) {
+    if (!assumptions.empty() && !this.isIncremental())
+      throw new IllegalStateException("Assumptions are only supported by incremental MaxSAT algorithms: " + this);
     this.handler = handler;
+    this.userAssumptions = assumptions;
     if (handler != null)
       handler.startedSolving();
     final MaxSATResult result = search();
     if (handler != null)
       handler.finishedSolving();
     this.handler = null;
+    this.userAssumptions = new LNGIntVector();
     return result;
   }
 
@@ -196,6 +215,16 @@ public abstract class MaxSAT {
    */
   public abstract MaxSATResult search();
 
+  /**
+   * Returns whether this algorithm can be searched repeatedly.  An incremental algorithm keeps its SAT solver, the
+   * learnt clauses, the cardinality encodings and the cores between two calls of {@link #search(MaxSATHandler)} and
+   * accepts new hard and soft clauses and assumptions in between.
+   * @return {@code true} if this algorithm is incremental, {@code false} otherwise
+   */
+  public boolean isIncremental() {
+    return false;
+  }
+
   /**
    * Returns the number of variables in the working MaxSAT formula.
    * @return the number of variables in the working MaxSAT formula
@@ -220,6 +249,22 @@ public abstract class MaxSAT {
     return this.nbHard;
   }
 
+  /**
+   * Returns the hard clauses of the working MaxSAT formula.
+   * @return the hard clauses of the working MaxSAT formula
+   */
+  public LNGVector<MSHardClause> hardClauses() {
+    return this.hardClauses;
+  }
+
+  /**
+   * Returns the soft clauses of the working MaxSAT formula.
+   * @return the soft clauses of the working MaxSAT formula
+   */
+  public LNGVector<MSSoftClause> softClauses() {
+    return this.softClauses;
+  }
+
   /**
    * Increases the number of variables in the working MaxSAT formula.
    */
@@ -0,0 +1,268 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.maxsat.encodings.Totalizer;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.PrintStream;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.IncrementalStrategy;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+
+/**
+ * Core-guided OLL solver in the style of RC2.
+ * <p>
+ * Each soft clause is relaxed by a new variable whose negation is assumed with the weight of the clause.  For each core
+ * the minimum weight of its assumptions is added to the lower bound and subtracted from the weights of its
+ * assumptions.  The violated assumptions of a core are then counted by a new incremental {@link Totalizer} whose
+ * output 'at most one violated' is assumed with the minimum weight.  If such an output is part of a later core, the
+ * bound of its totalizer is increased by one.  The assumptions are stratified by their weights: only assumptions with
+ * a weight of at least the current level are passed to the SAT solver, and the level is decreased whenever the solver
+ * finds a model.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class OLL extends MaxSAT {
+
+  private MiniSatStyleSolver solver;
+  private PrintStream output;
+  private LNGIntVector assumptionLits;
+  private LNGIntVector weights;
+  private SortedMap<Integer, Sum> sums;
+
+  /**
+   * Constructs a new solver with default values.
+   */
+  public OLL() {
+    this(new MaxSATConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new solver with a given configuration.
+   * @param config the configuration
+   */
+  public OLL(final MaxSATConfig config) {
+    super(config);
+    this.solver = null;
+    this.verbosity = config.verbosity;
+    this.output = config.output;
+    this.assumptionLits = new LNGIntVector();
+    this.weights = new LNGIntVector();
+    this.sums = new TreeMap<>();
+  }
+
+  @Override
+  public MaxSATResult search() {
+    nbInitialVariables = nVars();
+    this.initAssumptions();
+    this.solver = this.rebuildSolver();
+    ubCost = Integer.MAX_VALUE;
+    lbCost = 0;
+    int level = this.maxWeight(Integer.MAX_VALUE);
+    final LNGIntVector assumptions = new LNGIntVector();
+    while (true) {
+      this.stratifiedAssumptions(assumptions, level);
+      final Tristate res = searchSATSolver(this.solver, satHandler(), assumptions);
+      if (res == Tristate.UNDEF)
+        return MaxSATResult.UNDEF;
+      else if (res == Tristate.TRUE) {
+        nbSatisfiable++;
+        final int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        if (newCost < ubCost) {
+          saveModel(this.solver.model());
+          ubCost = newCost;
+          if (verbosity != Verbosity.NONE)
+            this.output.println("o " + newCost);
+          if (!foundUpperBound(ubCost, null))
+            return MaxSATResult.UNDEF;
+        }
+        level = this.maxWeight(level);
+        if (level == 0 || lbCost == ubCost) {
+          assert lbCost == ubCost;
+          return MaxSATResult.OPTIMUM;
+        }
+      } else {
+        nbCores++;
+        final LNGIntVector core = this.solver.conflict();
+        if (core.size() == 0)
+          return MaxSATResult.UNSATISFIABLE;
+        sumSizeCores += core.size();
+        this.processCore(new LNGIntVector(core));
+        if (verbosity != Verbosity.NONE)
+          this.output.println("c LB : " + lbCost);
+        if (lbCost == ubCost) {
+          if (verbosity != Verbosity.NONE)
+            this.output.println("c LB = UB");
+          return MaxSATResult.OPTIMUM;
+        }
+        if (!foundLowerBound(lbCost, null))
+          return MaxSATResult.UNDEF;
+      }
+    }
+  }
+
+  /**
+   * Relaxes a core.  The core contains the negations of the failed assumptions, i.e. the literals which indicate that
+   * the respective soft clause or cardinality bound is violated.
+   * @param core the core
+   */
+  private void processCore(final LNGIntVector core) {
+    int minWeight = Integer.MAX_VALUE;
+    for (int i = 0; i < core.size(); i++)
+      minWeight = Math.min(minWeight, this.weight(not(core.get(i))));
+    lbCost += minWeight;
+    for (int i = 0; i < core.size(); i++) {
+      final int assumption = not(core.get(i));
+      this.setWeight(assumption, this.weight(assumption) - minWeight);
+      final Sum sum = this.sums.get(assumption);
+      if (sum != null && sum.bound + 1 < sum.size)
+        this.addSumAssumption(sum.totalizer, sum.size, sum.bound + 1, minWeight);
+    }
+    if (core.size() == 1)
+      this.solver.addClause(core);
+    else {
+      final Totalizer totalizer = new Totalizer(IncrementalStrategy.ITERATIVE);
+      totalizer.build(this.solver, core, 1);
+      this.addSumAssumption(totalizer, core.size(), 1, minWeight);
+    }
+  }
+
+  /**
+   * Adds the assumption that at most {@code bound} inputs of a totalizer are true.
+   * @param totalizer the totalizer
+   * @param size      the number of inputs of the totalizer
+   * @param bound     the bound
+   * @param weight    the weight of the assumption
+   */
+  private void addSumAssumption(final Totalizer totalizer, int size, int bound, int weight) {
+    final LNGIntVector outputAssumptions = new LNGIntVector();
+    totalizer.update(this.solver, bound, outputAssumptions);
+    final int assumption = outputAssumptions.get(0);
+    if (this.weight(assumption) == 0)
+      this.assumptionLits.push(assumption);
+    this.setWeight(assumption, this.weight(assumption) + weight);
+    this.sums.put(assumption, new Sum(totalizer, size, bound));
+  }
+
+  /**
+   * Computes the assumptions with a weight of at least the given level.  Assumptions with a weight of 0 are removed.
+   * @param assumptions the assumptions which are filled by this method
+   * @param level       the level
+   */
+  private void stratifiedAssumptions(final LNGIntVector assumptions, int level) {
+    assumptions.clear();
+    int j = 0;
+    for (int i = 0; i < this.assumptionLits.size(); i++) {
+      final int lit = this.assumptionLits.get(i);
+      final int weight = this.weight(lit);
+      if (weight > 0) {
+        this.assumptionLits.set(j++, lit);
+        if (weight >= level)
+          assumptions.push(lit);
+      }
+    }
+    this.assumptionLits.removeElements(this.assumptionLits.size() - j);
+  }
+
+  /**
+   * Returns the maximal weight of an assumption which is smaller than a given bound.
+   * @param bound the bound
+   * @return the maximal weight smaller than the bound or 0 if there is none
+   */
+  private int maxWeight(int bound) {
+    int max = 0;
+    for (int i = 0; i < this.assumptionLits.size(); i++) {
+      final int weight = this.weight(this.assumptionLits.get(i));
+      if (weight < bound && weight > max)
+        max = weight;
+    }
+    return max;
+  }
+
+  private int weight(int lit) {
+    return lit < this.weights.size() ? this.weights.get(lit) : 0;
+  }
+
+  private void setWeight(int lit, int weight) {
+    if (lit >= this.weights.size())
+      this.weights.growTo(lit + 1, 0);
+    this.weights.set(lit, weight);
+  }
+
+  private MiniSatStyleSolver rebuildSolver() {
+    final MiniSatStyleSolver s = newSATSolver();
+    for (int i = 0; i < nVars(); i++)
+      newSATVariable(s);
+    for (int i = 0; i < nHard(); i++)
+      s.addClause(hardClauses.get(i).clause());
+    LNGIntVector clause;
+    for (int i = 0; i < nSoft(); i++) {
+      clause = new LNGIntVector(softClauses.get(i).clause());
+      for (int j = 0; j < softClauses.get(i).relaxationVars().size(); j++)
+        clause.push(softClauses.get(i).relaxationVars().get(j));
+      s.addClause(clause);
+    }
+    return s;
+  }
+
+  private void initAssumptions() {
+    for (int i = 0; i < nbSoft; i++) {
+      final int l = newLiteral(false);
+      softClauses.get(i).relaxationVars().push(l);
+      softClauses.get(i).setAssumptionVar(l);
+      this.assumptionLits.push(not(l));
+      this.setWeight(not(l), softClauses.get(i).weight());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * A totalizer together with the bound of one of its output assumptions.
+   */
+  private static final class Sum {
+    private final Totalizer totalizer;
+    private final int size;
+    private final int bound;
+
+    private Sum(final Totalizer totalizer, int size, int bound) {
+      this.totalizer = totalizer;
+      this.size = size;
+      this.bound = bound;
+    }
+  }
+}
@@ -62,10 +62,14 @@ import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 /**
  * Encodes that at most 'rhs' literals can be assigned value true.  Uses the totalizer encoding for
  * translating the cardinality constraint into CNF.
+ * <p>
+ * With the iterative strategy, the right hand side can be increased after the constraint was built and the bound is
+ * enforced by assumptions on the output literals.  Therefore a totalizer can also be used directly by MaxSAT
+ * algorithms which maintain several cardinality constraints at once.
  * @version 1.1
  * @since 1.0
  */
-final class Totalizer extends Encoding {
+public final class Totalizer extends Encoding {
 
   private LNGVector<LNGIntVector> totalizerIterativeLeft;
   private LNGVector<LNGIntVector> totalizerIterativeRight;
@@ -82,7 +86,7 @@ final class Totalizer extends Encoding {
    * Constructs a new totalizer with a given incremental strategy.
    * @param strategy the incremental strategy
    */
-  Totalizer(final MaxSATConfig.IncrementalStrategy strategy) {
+  public Totalizer(final MaxSATConfig.IncrementalStrategy strategy) {
     this.blocking = LIT_UNDEF;
     this.joinMode = false;
     this.currentCardinalityRhs = -1;
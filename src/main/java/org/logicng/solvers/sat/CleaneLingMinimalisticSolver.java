@@ -80,6 +80,19 @@ public final class CleaneLingMinimalisticSolver extends CleaneLingStyleSolver {
     super(config);
   }
 
+  @Override
+  public LNGVector<CLClause> clauses() {
+    final LNGVector<CLClause> result = new LNGVector<>();
+    for (int idx = 1; idx <= this.maxvar(); idx++)
+      for (final int lit : new int[]{idx, -idx})
+        for (final CLWatch w : this.watches(lit)) {
+          final CLClause c = w.clause();
+          if (!c.redundant() && c.lits().get(0) == lit)
+            result.push(c);
+        }
+    return result;
+  }
+
   @Override
   public Tristate solve(final SATHandler handler) {
     this.handler = handler;
@@ -87,6 +87,7 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
   private int distilled;
   private LNGIntVector extension;
   private Simplifier simplifier;
+  private DRATProofTracer proofTracer;
 
   /**
    * Constructs a new CleaneLing solver with a given configuration.
@@ -128,6 +129,32 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     }
   }
 
+  @Override
+  public LNGVector<CLClause> clauses() {
+    final LNGVector<CLClause> result = new LNGVector<>();
+    for (final CLClause c : this.clauses)
+      if (!c.redundant() && !c.dumped())
+        result.push(c);
+    return result;
+  }
+
+  /**
+   * Sets a tracer which records the clause additions and deletions of this solver as DRAT proof.  This includes the
+   * clauses which are strengthened, resolved or eliminated during the simplification.
+   * @param proofTracer the proof tracer or {@code null} if no proof should be recorded
+   */
+  public void setProofTracer(final DRATProofTracer proofTracer) {
+    this.proofTracer = proofTracer;
+  }
+
+  /**
+   * Returns the proof tracer of this solver.
+   * @return the proof tracer or {@code null} if no proof is recorded
+   */
+  public DRATProofTracer proofTracer() {
+    return this.proofTracer;
+  }
+
   @Override
   public Tristate solve(final SATHandler handler) {
     this.handler = handler;
@@ -155,6 +182,11 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     if (res == TRUE)
       for (int i = 0; i < this.vals.size(); i++)
         model.push(this.vals.get(i) == VALUE_TRUE);
+    if (this.proofTracer != null) {
+      if (res == FALSE)
+        this.proofTracer.addCleaneLingClause(new LNGIntVector());
+      this.proofTracer.flush();
+    }
     if (this.handler != null)
       this.handler.finishedSolving();
     this.handler = null;
@@ -510,6 +542,8 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     stats.gluesCount++;
     stats.gluesSum += glue;
     stats.sizes += addedlits.size();
+    if (proofTracer != null)
+      proofTracer.addCleaneLingClause(addedlits);
     newPushConnectClause(true, glue);
     addedlits.clear();
     scoreIncrement *= config.scincfact / 1000.0;
@@ -739,6 +773,8 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
   private void dumpClause(final CLClause c) {
     if (c.dumped())
       return;
+    if (proofTracer != null)
+      proofTracer.deleteCleaneLingClause(c);
     if (c.redundant()) {
       assert stats.clausesRedundant > 0;
       stats.clausesRedundant--;
@@ -865,6 +901,8 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
       if (lit != remove && val(lit) == 0)
         addedlits.push(lit);
     }
+    if (proofTracer != null)
+      proofTracer.addCleaneLingClause(addedlits);
     newPushConnectClause();
     addedlits.clear();
     dumpClause(c);
@@ -1146,8 +1184,11 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
       if (lit != -pivot)
         addedlits.push(lit);
     }
-    if (!trivialClause())
+    if (!trivialClause()) {
+      if (proofTracer != null)
+        proofTracer.addCleaneLingClause(addedlits);
       newPushConnectClause();
+    }
     addedlits.clear();
   }
 
@@ -1455,6 +1496,8 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     }
     boolean redundant = c.redundant();
     int glue = c.glue();
+    if (proofTracer != null)
+      proofTracer.addCleaneLingClause(addedlits);
     deleteClause(c);
     CLClause res = newClause(redundant, glue);
     addedlits.clear();
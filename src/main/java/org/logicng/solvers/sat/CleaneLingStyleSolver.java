@@ -193,6 +193,34 @@ public abstract class CleaneLingStyleSolver {
     return this.model;
   }
 
+  /**
+   * Returns the irredundant clauses which are currently stored in the solver.  Together with the literals assigned at
+   * decision level 0 ({@link #units()}) they are satisfiable if and only if the clauses added to the solver are
+   * satisfiable.  They are not necessarily equivalent, since the solver may have eliminated variables and clauses.
+   * @return the irredundant clauses of the solver
+   */
+  public abstract LNGVector<CLClause> clauses();
+
+  /**
+   * Returns the literals which are assigned at decision level 0, i.e. the unit clauses and their consequences.
+   * @return the literals assigned at decision level 0
+   */
+  public LNGIntVector units() {
+    final LNGIntVector units = new LNGIntVector();
+    for (int i = 0; i < this.trail.size(); i++)
+      if (this.var(this.trail.get(i)).level() == 0)
+        units.push(this.trail.get(i));
+    return units;
+  }
+
+  /**
+   * Returns {@code false} if the solver already derived the empty clause, {@code true} otherwise.
+   * @return {@code false} if the clauses of the solver are known to be unsatisfiable
+   */
+  public boolean ok() {
+    return this.empty == null;
+  }
+
   /**
    * Resets the solver.
    */
@@ -262,7 +290,7 @@ public abstract class CleaneLingStyleSolver {
    * Returns the maximum variable index.
    * @return the maximum variable index
    */
-  protected int maxvar() {
+  public int maxvar() {
     int res = vars.size();
     if (res != 0) {
       assert res > 1;
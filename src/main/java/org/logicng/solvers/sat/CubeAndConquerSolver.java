@@ -0,0 +1,312 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A cube-and-conquer SAT solver for MiniSAT-style solvers.
+ * <p>
+ * The search space of a solver is first split into cubes by a {@link LookaheadCubeGenerator}.  The cubes are then
+ * solved as assumptions on a fork/join pool.  Each worker thread of the pool solves its cubes on its own copy of the
+ * solver, the copy keeps its learnt clauses from cube to cube.  Idle workers steal cubes from the other workers.  The
+ * formula is satisfiable as soon as one cube is satisfiable and unsatisfiable if all cubes are unsatisfiable.
+ * <p>
+ * Currently only {@link MiniSat2Solver} and {@link GlucoseSyrup} can be copied, since the at-most clauses of
+ * {@link MiniCard} cannot be reconstructed from the solver.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class CubeAndConquerSolver {
+
+  private final LookaheadCubeGenerator generator;
+  private final int parallelism;
+  private int numberOfCubes;
+
+  /**
+   * Constructs a new cube-and-conquer solver with the default cube generator and one worker thread per available
+   * processor.
+   */
+  public CubeAndConquerSolver() {
+    this(new LookaheadCubeGenerator(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a new cube-and-conquer solver.
+   * @param generator   the cube generator
+   * @param parallelism the number of worker threads
+   * @throws IllegalArgumentException if the number of worker threads is not positive
+   */
+  public CubeAndConquerSolver(final LookaheadCubeGenerator generator, int parallelism) {
+    if (parallelism <= 0)
+      throw new IllegalArgumentException("The number of worker threads must be positive");
+    this.generator = generator;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Creates a copy of a given solver at decision level 0 with the same variables (including their names) and clauses.
+   * The learnt clauses are not copied.
+   * @param solver the solver
+   * @return the copy
+   * @throws IllegalArgumentException if the solver cannot be copied
+   */
+  static MiniSatStyleSolver copy(final MiniSatStyleSolver solver) {
+    final MiniSatStyleSolver copy;
+    if (solver instanceof MiniSat2Solver)
+      copy = new MiniSat2Solver(solver.config);
+    else if (solver instanceof GlucoseSyrup)
+      copy = new GlucoseSyrup(solver.config, ((GlucoseSyrup) solver).glucoseConfig());
+    else
+      throw new IllegalArgumentException("Cannot copy a solver of type " + solver.getClass().getSimpleName());
+    for (int v = 0; v < solver.nVars(); v++) {
+      copy.newVar(solver.vars.get(v).polarity(), solver.vars.get(v).decision());
+      final String name = solver.nameForIdx(v);
+      if (name != null)
+        copy.addName(name, v);
+    }
+    final int units = solver.trailLim.empty() ? solver.trail.size() : solver.trailLim.get(0);
+    for (int i = 0; i < units; i++)
+      copy.addClause(solver.trail.get(i));
+    for (final MSClause c : solver.clauses) {
+      final LNGIntVector ps = new LNGIntVector(c.size());
+      for (int i = 0; i < c.size(); i++)
+        ps.push(c.get(i));
+      copy.addClause(ps);
+    }
+    return copy;
+  }
+
+  /**
+   * Solves the formula of a given solver.  If the formula is satisfiable, the model is stored in the given solver and
+   * can be obtained by {@link MiniSatStyleSolver#model()}.  The given solver must be at decision level 0, its clauses
+   * are not changed.
+   * @param solver  the solver
+   * @param handler a sat handler or {@code null}
+   * @return {@link Tristate#TRUE} if the formula is satisfiable, {@link Tristate#FALSE} if the formula is not
+   * satisfiable, or {@link Tristate#UNDEF} if the computation was canceled.
+   * @throws IllegalArgumentException if the solver cannot be copied
+   */
+  public Tristate solve(final MiniSatStyleSolver solver, final SATHandler handler) {
+    if (!(solver instanceof MiniSat2Solver) && !(solver instanceof GlucoseSyrup))
+      throw new IllegalArgumentException("Cannot copy a solver of type " + solver.getClass().getSimpleName());
+    if (handler != null)
+      handler.startedSolving();
+    solver.model.clear();
+    solver.conflict.clear();
+    final List<LNGIntVector> cubes = this.generator.generate(solver);
+    this.numberOfCubes = cubes.size();
+    final Tristate result = cubes.isEmpty() ? Tristate.FALSE : this.conquer(solver, cubes, handler);
+    if (handler != null)
+      handler.finishedSolving();
+    return result;
+  }
+
+  /**
+   * Solves the cubes in parallel.
+   * @param solver  the solver
+   * @param cubes   the cubes
+   * @param handler a sat handler or {@code null}
+   * @return the result
+   */
+  private Tristate conquer(final MiniSatStyleSolver solver, final List<LNGIntVector> cubes, final SATHandler handler) {
+    final Conquest conquest = new Conquest(solver, cubes, handler);
+    final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+    try {
+      pool.invoke(new CubeTask(conquest, 0, cubes.size()));
+    } finally {
+      pool.shutdownNow();
+    }
+    final LNGBooleanVector model = conquest.model.get();
+    if (model != null) {
+      for (int i = 0; i < model.size(); i++)
+        solver.model.push(model.get(i));
+      return Tristate.TRUE;
+    }
+    return conquest.unsatisfiable.get() || conquest.unsatisfiableCubes.get() == cubes.size()
+            ? Tristate.FALSE : Tristate.UNDEF;
+  }
+
+  /**
+   * Returns the number of cubes which were generated in the last call of {@link #solve(MiniSatStyleSolver, SATHandler)}.
+   * @return the number of cubes
+   */
+  public int numberOfCubes() {
+    return this.numberOfCubes;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CubeAndConquerSolver{generator=%s, parallelism=%d}", this.generator, this.parallelism);
+  }
+
+  /**
+   * The shared state of the solving of the cubes.
+   */
+  private static final class Conquest {
+    private final List<LNGIntVector> cubes;
+    private final ThreadLocal<MiniSatStyleSolver> solvers;
+    private final AtomicBoolean stop;
+    private final AtomicBoolean unsatisfiable;
+    private final AtomicInteger unsatisfiableCubes;
+    private final AtomicReference<LNGBooleanVector> model;
+    private final CubeHandler handler;
+
+    /**
+     * Constructs a new state.
+     * @param solver  the original solver
+     * @param cubes   the cubes
+     * @param handler the handler of the user or {@code null}
+     */
+    private Conquest(final MiniSatStyleSolver solver, final List<LNGIntVector> cubes, final SATHandler handler) {
+      this.cubes = cubes;
+      this.solvers = new ThreadLocal<MiniSatStyleSolver>() {
+        @Override
+        protected MiniSatStyleSolver initialValue() {
+          return copy(solver);
+        }
+      };
+      this.stop = new AtomicBoolean();
+      this.unsatisfiable = new AtomicBoolean();
+      this.unsatisfiableCubes = new AtomicInteger();
+      this.model = new AtomicReference<>();
+      this.handler = new CubeHandler(this.stop, handler);
+    }
+
+    /**
+     * Solves a single cube on the solver of the current thread.
+     * @param index the index of the cube
+     */
+    private void solve(int index) {
+      if (this.stop.get())
+        return;
+      final MiniSatStyleSolver solver = this.solvers.get();
+      final Tristate result = solver.solve(this.handler, this.cubes.get(index));
+      if (result == Tristate.TRUE) {
+        if (this.model.compareAndSet(null, new LNGBooleanVector(solver.model())))
+          this.stop.set(true);
+      } else if (result == Tristate.FALSE) {
+        this.unsatisfiableCubes.incrementAndGet();
+        if (solver.conflict().empty()) {
+          this.unsatisfiable.set(true);
+          this.stop.set(true);
+        }
+      }
+    }
+  }
+
+  /**
+   * A fork/join task which solves a range of cubes.
+   */
+  private static final class CubeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient Conquest conquest;
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs a new task.
+     * @param conquest the shared state
+     * @param from     the index of the first cube (inclusive)
+     * @param to       the index of the last cube (exclusive)
+     */
+    private CubeTask(final Conquest conquest, int from, int to) {
+      this.conquest = conquest;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from == 1)
+        this.conquest.solve(this.from);
+      else if (!this.conquest.stop.get()) {
+        final int middle = (this.from + this.to) >>> 1;
+        invokeAll(new CubeTask(this.conquest, this.from, middle), new CubeTask(this.conquest, middle, this.to));
+      }
+    }
+  }
+
+  /**
+   * A SAT handler for the solvers of the worker threads which cancels the solvers when a model was found or the handler
+   * of the user canceled the computation.
+   */
+  private static final class CubeHandler implements SATHandler {
+    private final AtomicBoolean stop;
+    private final SATHandler handler;
+
+    /**
+     * Constructs a new handler.
+     * @param stop    the flag which indicates that all solvers should stop
+     * @param handler the handler of the user or {@code null}
+     */
+    private CubeHandler(final AtomicBoolean stop, final SATHandler handler) {
+      this.stop = stop;
+      this.handler = handler;
+    }
+
+    @Override
+    public boolean detectedConflict() {
+      if (this.stop.get())
+        return false;
+      if (this.handler != null) {
+        final boolean proceed;
+        synchronized (this.handler) {
+          proceed = this.handler.detectedConflict();
+        }
+        if (!proceed) {
+          this.stop.set(true);
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // the handler of the user is started by the cube-and-conquer solver
+    }
+
+    @Override
+    public void finishedSolving() {
+      // the handler of the user is finished by the cube-and-conquer solver
+    }
+  }
+}
@@ -0,0 +1,445 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes an unsatisfiable core of a formula from a binary DRAT proof written by a {@link DRATProofTracer}.
+ * <p>
+ * The proof is checked backwards like {@code drat-trim} does: starting with the goal clause of the proof, the reverse
+ * unit propagation (RUP) check of each needed clause marks the clauses which were used in the propagation.  Only the
+ * marked lemmas are checked themselves, so lemmas which do not contribute to the goal are skipped.  The marked original
+ * clauses form the core: the goal clause follows from them alone.  The goal of the proof is its first empty clause or,
+ * if there is none, its last added clause, i.e. the clause of the negated failed assumptions if the formula was solved
+ * under assumptions.
+ * <p>
+ * The original clauses are given in the DIMACS encoding, i.e. the variable with index {@code i} of a MiniSAT-style
+ * solver is the DIMACS variable {@code i + 1} and the variables of CleaneLing keep their index.  Only RUP lemmas are
+ * supported, which covers all proofs of MiniSat, Glucose and CleaneLing.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class DRATCoreTrimmer {
+
+  private static final byte ADDITION = 'a';
+  private static final byte DELETION = 'd';
+
+  private final int[][] clauses;
+  private final boolean[] active;
+  private final boolean[] marked;
+  private final LNGIntVector shortClauses;
+  private final LNGIntVector[] watches;
+  private final boolean[] trueLits;
+  private final int[] reasons;
+  private final boolean[] seen;
+  private final LNGIntVector trail;
+
+  /**
+   * Private constructor.
+   * @param clauses the original clauses followed by the lemmas, each literal encoded as {@code 2 * var + sign}
+   * @param numVars the number of variables
+   */
+  private DRATCoreTrimmer(final int[][] clauses, int numVars) {
+    this.clauses = clauses;
+    this.active = new boolean[clauses.length];
+    this.marked = new boolean[clauses.length];
+    this.shortClauses = new LNGIntVector();
+    this.watches = new LNGIntVector[2 * numVars + 2];
+    for (int i = 0; i < this.watches.length; i++)
+      this.watches[i] = new LNGIntVector();
+    this.trueLits = new boolean[2 * numVars + 2];
+    this.reasons = new int[numVars + 1];
+    this.seen = new boolean[numVars + 1];
+    this.trail = new LNGIntVector();
+    for (int id = 0; id < clauses.length; id++) {
+      final int[] c = clauses[id];
+      if (c.length < 2)
+        this.shortClauses.push(id);
+      else {
+        this.watches[c[0]].push(id);
+        this.watches[c[1]].push(id);
+      }
+    }
+  }
+
+  /**
+   * Computes an unsatisfiable core of a formula from a binary DRAT proof for it.
+   * @param formula the original clauses in the DIMACS encoding
+   * @param proof   the binary DRAT proof
+   * @return the indices of the clauses of the core in the list of original clauses in ascending order
+   * @throws IllegalArgumentException if the proof is malformed, contains no clause addition or if a needed lemma is
+   *                                  not a RUP lemma
+   */
+  public static LNGIntVector trim(final List<LNGIntVector> formula, final byte[] proof) {
+    final int numOriginals = formula.size();
+    final LNGIntVector stepClauses = new LNGIntVector();
+    final LNGIntVector deletionSteps = new LNGIntVector();
+    final List<int[]> clauses = new ArrayList<>(numOriginals);
+    int maxVar = 0;
+    for (final LNGIntVector clause : formula) {
+      final int[] c = normalize(clause, true);
+      clauses.add(c);
+      maxVar = Math.max(maxVar, maxVar(c));
+    }
+    final Map<Key, LNGIntVector> present = new HashMap<>();
+    for (int id = 0; id < numOriginals; id++)
+      push(present, clauses.get(id), id);
+    int goal = -1;
+    int lastAddition = -1;
+    int pos = 0;
+    final LNGIntVector lits = new LNGIntVector();
+    while (pos < proof.length && goal == -1) {
+      final byte type = proof[pos++];
+      if (type != ADDITION && type != DELETION)
+        throw new IllegalArgumentException("Invalid step type in binary DRAT proof at position " + (pos - 1));
+      lits.clear();
+      while (true) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+          if (pos == proof.length || shift > 28)
+            throw new IllegalArgumentException("Unterminated clause in binary DRAT proof");
+          b = proof[pos++];
+          value |= (b & 0x7f) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        if (value == 0)
+          break;
+        if (value < 2)
+          throw new IllegalArgumentException("Invalid literal in binary DRAT proof");
+        lits.push(value);
+      }
+      final int[] c = normalize(lits, false);
+      if (type == ADDITION) {
+        final int id = clauses.size();
+        clauses.add(c);
+        maxVar = Math.max(maxVar, maxVar(c));
+        push(present, c, id);
+        stepClauses.push(id);
+        deletionSteps.push(0);
+        lastAddition = stepClauses.size() - 1;
+        if (c.length == 0)
+          goal = lastAddition;
+      } else {
+        final LNGIntVector ids = present.get(new Key(c));
+        if (ids != null && !ids.empty()) {
+          stepClauses.push(ids.back());
+          deletionSteps.push(1);
+          ids.pop();
+        }
+      }
+    }
+    if (goal == -1)
+      goal = lastAddition;
+    if (goal == -1)
+      throw new IllegalArgumentException("The DRAT proof contains no clause addition");
+    final DRATCoreTrimmer trimmer = new DRATCoreTrimmer(clauses.toArray(new int[clauses.size()][]), maxVar);
+    Arrays.fill(trimmer.active, 0, numOriginals, true);
+    for (int step = 0; step < goal; step++)
+      trimmer.active[stepClauses.get(step)] = deletionSteps.get(step) == 0;
+    trimmer.marked[stepClauses.get(goal)] = true;
+    for (int step = goal; step >= 0; step--) {
+      final int id = stepClauses.get(step);
+      if (deletionSteps.get(step) == 1)
+        trimmer.active[id] = true;
+      else {
+        trimmer.active[id] = false;
+        if (trimmer.marked[id] && !trimmer.checkRUP(id))
+          throw new IllegalArgumentException("The lemma " + Arrays.toString(decode(clauses.get(id))) +
+                  " of the DRAT proof is not a RUP lemma");
+      }
+    }
+    final LNGIntVector core = new LNGIntVector();
+    for (int id = 0; id < numOriginals; id++)
+      if (trimmer.marked[id])
+        core.push(id);
+    return core;
+  }
+
+  /**
+   * Trims the conflict of the last call of a MiniSAT-style solver which was unsatisfiable under assumptions.
+   * <p>
+   * The original clauses and the units of the solver are solved again by a fresh MiniSat solver which writes a DRAT
+   * proof.  Each failed assumption of the conflict is added as a unit clause, so the core of the proof tells which of
+   * the failed assumptions are needed to prove the unsatisfiability.  The solver itself is not changed.
+   * @param solver the solver
+   * @return the literals of the conflict of the solver whose negations are needed to prove the unsatisfiability
+   * @throws UnsupportedOperationException if the solver contains cardinality constraints of MiniCard
+   */
+  public static LNGIntVector trimConflict(final MiniSatStyleSolver solver) {
+    final LNGIntVector conflict = solver.conflict();
+    if (conflict.size() < 2)
+      return new LNGIntVector(conflict);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final MiniSat2Solver checker = new MiniSat2Solver(new MiniSatConfig.Builder().incremental(false).build());
+    checker.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+    for (int i = 0; i < solver.nVars(); i++)
+      checker.newVar(true, true);
+    final List<LNGIntVector> formula = new ArrayList<>();
+    for (final MSClause c : solver.clauses()) {
+      if (c.isAtMost())
+        throw new UnsupportedOperationException("Cannot trim a conflict of a solver with cardinality constraints");
+      final LNGIntVector lits = new LNGIntVector(c.size());
+      for (int i = 0; i < c.size(); i++)
+        lits.push(c.get(i));
+      addToChecker(checker, formula, lits);
+    }
+    final LNGIntVector units = solver.units();
+    for (int i = 0; i < units.size(); i++)
+      addToChecker(checker, formula, new LNGIntVector(new int[]{units.get(i)}));
+    final int firstAssumption = formula.size();
+    for (int i = 0; i < conflict.size(); i++)
+      addToChecker(checker, formula, new LNGIntVector(new int[]{MiniSatStyleSolver.not(conflict.get(i))}));
+    if (checker.solve(null) != Tristate.FALSE)
+      throw new IllegalStateException("The conflict of the solver is not implied by its clauses");
+    final LNGIntVector core = trim(formula, out.toByteArray());
+    final LNGIntVector trimmed = new LNGIntVector();
+    for (int i = 0; i < core.size(); i++)
+      if (core.get(i) >= firstAssumption)
+        trimmed.push(conflict.get(core.get(i) - firstAssumption));
+    return trimmed;
+  }
+
+  /**
+   * Adds a clause of a MiniSAT-style solver to the checker of {@link #trimConflict(MiniSatStyleSolver)} and its
+   * DIMACS encoding to the formula.
+   * @param checker the checker
+   * @param formula the formula
+   * @param lits    the literals of the clause
+   */
+  private static void addToChecker(final MiniSat2Solver checker, final List<LNGIntVector> formula,
+                                   final LNGIntVector lits) {
+    final LNGIntVector dimacs = new LNGIntVector(lits.size());
+    for (int i = 0; i < lits.size(); i++)
+      dimacs.push((MiniSatStyleSolver.var(lits.get(i)) + 1) * (MiniSatStyleSolver.sign(lits.get(i)) ? -1 : 1));
+    formula.add(dimacs);
+    checker.addClause(lits);
+  }
+
+  /**
+   * Checks whether a clause is a reverse unit propagation consequence of the active clauses and marks the clauses
+   * which were used to derive the conflict.
+   * @param id the clause
+   * @return {@code true} if the clause is a RUP consequence, {@code false} otherwise
+   */
+  private boolean checkRUP(int id) {
+    int conflict = -1;
+    for (final int lit : this.clauses[id]) {
+      if (this.trueLits[lit ^ 1])
+        continue;
+      if (this.trueLits[lit]) {
+        this.undo();
+        return true;
+      }
+      this.assign(lit ^ 1, -1);
+    }
+    for (int i = 0; i < this.shortClauses.size() && conflict == -1; i++) {
+      final int unit = this.shortClauses.get(i);
+      if (!this.active[unit])
+        continue;
+      if (this.clauses[unit].length == 0 || this.trueLits[this.clauses[unit][0] ^ 1])
+        conflict = unit;
+      else if (!this.trueLits[this.clauses[unit][0]])
+        this.assign(this.clauses[unit][0], unit);
+    }
+    if (conflict == -1)
+      conflict = this.propagate();
+    if (conflict == -1) {
+      this.undo();
+      return false;
+    }
+    this.analyze(conflict);
+    this.undo();
+    return true;
+  }
+
+  /**
+   * Propagates the assigned literals over the active clauses.
+   * @return the conflicting clause or -1 if there is no conflict
+   */
+  private int propagate() {
+    for (int head = 0; head < this.trail.size(); head++) {
+      final int falseLit = this.trail.get(head) ^ 1;
+      final LNGIntVector ws = this.watches[falseLit];
+      int i = 0;
+      int j = 0;
+      while (i < ws.size()) {
+        final int id = ws.get(i++);
+        if (!this.active[id]) {
+          ws.set(j++, id);
+          continue;
+        }
+        final int[] c = this.clauses[id];
+        if (c[0] == falseLit) {
+          c[0] = c[1];
+          c[1] = falseLit;
+        }
+        if (this.trueLits[c[0]]) {
+          ws.set(j++, id);
+          continue;
+        }
+        boolean moved = false;
+        for (int k = 2; k < c.length && !moved; k++)
+          if (!this.trueLits[c[k] ^ 1]) {
+            c[1] = c[k];
+            c[k] = falseLit;
+            this.watches[c[1]].push(id);
+            moved = true;
+          }
+        if (moved)
+          continue;
+        ws.set(j++, id);
+        if (this.trueLits[c[0] ^ 1]) {
+          while (i < ws.size())
+            ws.set(j++, ws.get(i++));
+          ws.shrinkTo(j);
+          return id;
+        }
+        this.assign(c[0], id);
+      }
+      ws.shrinkTo(j);
+    }
+    return -1;
+  }
+
+  /**
+   * Marks the conflicting clause and all reasons of the literals which were involved in the conflict.
+   * @param conflict the conflicting clause
+   */
+  private void analyze(int conflict) {
+    this.marked[conflict] = true;
+    for (final int lit : this.clauses[conflict])
+      this.seen[lit >> 1] = true;
+    for (int i = this.trail.size() - 1; i >= 0; i--) {
+      final int var = this.trail.get(i) >> 1;
+      if (!this.seen[var])
+        continue;
+      this.seen[var] = false;
+      final int reason = this.reasons[var];
+      if (reason != -1) {
+        this.marked[reason] = true;
+        for (final int lit : this.clauses[reason])
+          this.seen[lit >> 1] = true;
+      }
+    }
+  }
+
+  private void assign(int lit, int reason) {
+    this.trueLits[lit] = true;
+    this.reasons[lit >> 1] = reason;
+    this.trail.push(lit);
+  }
+
+  private void undo() {
+    for (int i = 0; i < this.trail.size(); i++) {
+      this.trueLits[this.trail.get(i)] = false;
+      this.seen[this.trail.get(i) >> 1] = false;
+    }
+    this.trail.clear();
+  }
+
+  /**
+   * Returns the sorted literals of a clause without duplicates in the encoding {@code 2 * var + sign}.
+   * @param clause the clause
+   * @param dimacs {@code true} if the literals are given in the DIMACS encoding, {@code false} if they are already
+   *               encoded
+   * @return the normalized clause
+   */
+  private static int[] normalize(final LNGIntVector clause, boolean dimacs) {
+    final int[] lits = new int[clause.size()];
+    for (int i = 0; i < lits.length; i++) {
+      final int lit = clause.get(i);
+      if (dimacs && lit == 0)
+        throw new IllegalArgumentException("The literal 0 is not a DIMACS literal");
+      lits[i] = dimacs ? 2 * Math.abs(lit) + (lit < 0 ? 1 : 0) : lit;
+    }
+    Arrays.sort(lits);
+    int size = 0;
+    for (int i = 0; i < lits.length; i++)
+      if (i == 0 || lits[i] != lits[i - 1])
+        lits[size++] = lits[i];
+    return Arrays.copyOf(lits, size);
+  }
+
+  private static int maxVar(final int[] clause) {
+    return clause.length == 0 ? 0 : clause[clause.length - 1] >> 1;
+  }
+
+  private static int[] decode(final int[] clause) {
+    final int[] lits = new int[clause.length];
+    for (int i = 0; i < lits.length; i++)
+      lits[i] = (clause[i] & 1) == 1 ? -(clause[i] >> 1) : clause[i] >> 1;
+    return lits;
+  }
+
+  private static void push(final Map<Key, LNGIntVector> present, final int[] clause, int id) {
+    final Key key = new Key(clause.clone());
+    LNGIntVector ids = present.get(key);
+    if (ids == null) {
+      ids = new LNGIntVector();
+      present.put(key, ids);
+    }
+    ids.push(id);
+  }
+
+  /**
+   * A hash key for the sorted literals of a clause.
+   */
+  private static final class Key {
+    private final int[] lits;
+    private final int hash;
+
+    private Key(final int[] lits) {
+      this.lits = lits;
+      this.hash = Arrays.hashCode(lits);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Key && Arrays.equals(this.lits, ((Key) other).lits);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.solvers.datastructures.CLClause;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A tracer which writes the clause additions and deletions of a SAT solver as a binary DRAT proof.
+ * <p>
+ * If a tracer is set on a solver, the solver reports each learnt, strengthened or resolved clause as an addition and
+ * each removed clause as a deletion.  If the solver finds the formula unsatisfiable, the empty clause is added to the
+ * proof, or the clause of the negated failed assumptions if the formula was solved under assumptions.  Together with
+ * all clauses which were added to the solver, the proof can be checked by a DRAT checker like {@code drat-trim}.  The
+ * variable with index {@code i} in a MiniSAT-style solver is written as DIMACS variable {@code i + 1}, the variables of
+ * CleaneLing are written with their own index.  Clauses which were imported from a {@link LearntClauseExchange} are
+ * logged as additions as well, but they are not necessarily derivable in the importing solver.  An unsatisfiable core
+ * of the original clauses can be computed from a proof by a {@link DRATCoreTrimmer}.
+ * <p>
+ * The proof is collected in a byte buffer which is only written to the channel if it is full, on {@link #flush()} and
+ * on {@link #close()}.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class DRATProofTracer implements Closeable {
+
+  private static final byte ADDITION = 'a';
+  private static final byte DELETION = 'd';
+  private static final int MAX_ENCODED_LITERAL_SIZE = 5;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+  private long additions;
+  private long deletions;
+
+  /**
+   * Constructs a new tracer for a given channel with a buffer of 64 KiB.
+   * @param channel the channel
+   */
+  public DRATProofTracer(final WritableByteChannel channel) {
+    this(channel, 1 << 16);
+  }
+
+  /**
+   * Constructs a new tracer for a given channel with a given buffer size.
+   * @param channel    the channel
+   * @param bufferSize the size of the buffer in bytes
+   * @throws IllegalArgumentException if the buffer size is smaller than 16 bytes
+   */
+  public DRATProofTracer(final WritableByteChannel channel, int bufferSize) {
+    if (bufferSize < 16)
+      throw new IllegalArgumentException("The buffer of a proof tracer must have at least 16 bytes");
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(bufferSize);
+  }
+
+  /**
+   * Constructs a new tracer which writes the proof to a given file.
+   * @param file the file
+   * @return the tracer
+   * @throws IOException if the file could not be opened
+   */
+  public static DRATProofTracer forFile(final File file) throws IOException {
+    return new DRATProofTracer(new FileOutputStream(file).getChannel());
+  }
+
+  /**
+   * Logs the addition of a clause of a MiniSAT-style solver.
+   * @param lits the literals of the clause
+   */
+  public void addMiniSatClause(final LNGIntVector lits) {
+    this.start(ADDITION);
+    for (int i = 0; i < lits.size(); i++)
+      this.writeLiteral(lits.get(i) + 2);
+    this.finish();
+    this.additions++;
+  }
+
+  /**
+   * Logs the addition of a unit clause of a MiniSAT-style solver.
+   * @param lit the literal of the unit clause
+   */
+  public void addMiniSatUnit(int lit) {
+    this.start(ADDITION);
+    this.writeLiteral(lit + 2);
+    this.finish();
+    this.additions++;
+  }
+
+  /**
+   * Logs the deletion of a clause of a MiniSAT-style solver.
+   * @param clause the clause
+   */
+  public void deleteMiniSatClause(final MSClause clause) {
+    this.start(DELETION);
+    for (int i = 0; i < clause.size(); i++)
+      this.writeLiteral(clause.get(i) + 2);
+    this.finish();
+    this.deletions++;
+  }
+
+  /**
+   * Logs the deletion of a clause of a MiniSAT-style solver.
+   * @param lits the literals of the clause
+   */
+  public void deleteMiniSatClause(final LNGIntVector lits) {
+    this.start(DELETION);
+    for (int i = 0; i < lits.size(); i++)
+      this.writeLiteral(lits.get(i) + 2);
+    this.finish();
+    this.deletions++;
+  }
+
+  /**
+   * Logs the addition of a clause of CleaneLing.
+   * @param lits the literals of the clause
+   */
+  public void addCleaneLingClause(final LNGIntVector lits) {
+    this.start(ADDITION);
+    for (int i = 0; i < lits.size(); i++)
+      this.writeCleaneLingLiteral(lits.get(i));
+    this.finish();
+    this.additions++;
+  }
+
+  /**
+   * Logs the deletion of a clause of CleaneLing.
+   * @param clause the clause
+   */
+  public void deleteCleaneLingClause(final CLClause clause) {
+    this.start(DELETION);
+    for (int i = 0; i < clause.lits().size(); i++)
+      this.writeCleaneLingLiteral(clause.lits().get(i));
+    this.finish();
+    this.deletions++;
+  }
+
+  /**
+   * Returns the number of logged clause additions.
+   * @return the number of logged clause additions
+   */
+  public long numberOfAdditions() {
+    return this.additions;
+  }
+
+  /**
+   * Returns the number of logged clause deletions.
+   * @return the number of logged clause deletions
+   */
+  public long numberOfDeletions() {
+    return this.deletions;
+  }
+
+  /**
+   * Writes the buffered proof to the channel.
+   * @throws IllegalStateException if the proof could not be written
+   */
+  public void flush() {
+    this.buffer.flip();
+    try {
+      while (this.buffer.hasRemaining())
+        this.channel.write(this.buffer);
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not write the DRAT proof", e);
+    } finally {
+      this.buffer.clear();
+    }
+  }
+
+  /**
+   * Writes the buffered proof to the channel and closes the channel.
+   * @throws IOException if the channel could not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    this.flush();
+    this.channel.close();
+  }
+
+  /**
+   * Starts a new line of the proof.
+   * @param type the type of the line
+   */
+  private void start(final byte type) {
+    if (this.buffer.remaining() < 1 + MAX_ENCODED_LITERAL_SIZE)
+      this.flush();
+    this.buffer.put(type);
+  }
+
+  /**
+   * Finishes the current line of the proof.
+   */
+  private void finish() {
+    if (!this.buffer.hasRemaining())
+      this.flush();
+    this.buffer.put((byte) 0);
+  }
+
+  /**
+   * Writes a literal in the DIMACS encoding of CleaneLing.
+   * @param lit the literal
+   */
+  private void writeCleaneLingLiteral(int lit) {
+    this.writeLiteral(lit > 0 ? 2 * lit : -2 * lit + 1);
+  }
+
+  /**
+   * Writes an encoded literal {@code 2 * var + sign} as variable-length quantity with seven bits per byte.
+   * @param encoded the encoded literal
+   */
+  private void writeLiteral(int encoded) {
+    if (this.buffer.remaining() < MAX_ENCODED_LITERAL_SIZE)
+      this.flush();
+    int value = encoded;
+    while ((value & ~0x7f) != 0) {
+      this.buffer.put((byte) ((value & 0x7f) | 0x80));
+      value >>>= 7;
+    }
+    this.buffer.put((byte) value);
+  }
+}
@@ -51,6 +51,8 @@ public final class GlucoseConfig extends Configuration {
   final boolean reduceOnSize;
   final int reduceOnSizeSize;
   final double maxVarDecay;
+  final LearntClauseExchange clauseExchange;
+  final int shareLBD;
 
   /**
    * Constructs a new Glucose configuration from a given builder.
@@ -71,6 +73,8 @@ public final class GlucoseConfig extends Configuration {
     this.reduceOnSize = builder.reduceOnSize;
     this.reduceOnSizeSize = builder.reduceOnSizeSize;
     this.maxVarDecay = builder.maxVarDecay;
+    this.clauseExchange = builder.clauseExchange;
+    this.shareLBD = builder.shareLBD;
   }
 
   @Override
@@ -89,6 +93,8 @@ public final class GlucoseConfig extends Configuration {
     sb.append("reduceOnSize=").append(this.reduceOnSize).append("\n");
     sb.append("reduceOnSizeSize=").append(this.reduceOnSizeSize).append("\n");
     sb.append("maxVarDecay=").append(this.maxVarDecay).append("\n");
+    sb.append("clauseSharing=").append(this.clauseExchange != null).append("\n");
+    sb.append("shareLBD=").append(this.shareLBD).append("\n");
     sb.append("}\n");
     return sb.toString();
   }
@@ -110,6 +116,8 @@ public final class GlucoseConfig extends Configuration {
     private boolean reduceOnSize = false;
     private int reduceOnSizeSize = 12;
     private double maxVarDecay = 0.95;
+    private LearntClauseExchange clauseExchange = null;
+    private int shareLBD = 2;
 
     /**
      * Sets the minimal LBD required to minimize a clause to a given value.  The default value is 6.
@@ -244,6 +252,28 @@ public final class GlucoseConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Sets the exchange for sharing learnt clauses with other Glucose solvers running in parallel on the same formula.
+     * Learnt unit and binary clauses and clauses with an LBD of at most {@code shareLBD} are exported to the exchange,
+     * clauses of the other solvers are imported at restarts.  The default value is {@code null}, i.e. no clause sharing.
+     * @param clauseExchange the clause exchange
+     * @return the builder
+     */
+    public Builder clauseExchange(final LearntClauseExchange clauseExchange) {
+      this.clauseExchange = clauseExchange;
+      return this;
+    }
+
+    /**
+     * Sets the maximal LBD of learnt clauses which are exported to the clause exchange.  The default value is 2.
+     * @param shareLBD the value
+     * @return the builder
+     */
+    public Builder shareLBD(int shareLBD) {
+      this.shareLBD = shareLBD;
+      return this;
+    }
+
     /**
      * Builds the Glucose configuration.
      * @return the configuration
@@ -88,8 +88,14 @@ import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Glucose 4.0 solver.
+ * <p>
+ * In the style of Glucose-Syrup, several instances of this solver can share their learnt clauses via a
+ * {@link LearntClauseExchange} which is set in the {@link GlucoseConfig}.
  * @version 1.1
  * @since 1.0
  */
@@ -108,6 +114,12 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   // external solver configuration
   private final GlucoseConfig glucoseConfig;
 
+  // clause sharing
+  private final LearntClauseExchange clauseExchange;
+  private final int exchangeId;
+  private final List<LearntClauseExchange.SharedClause> importedClauses;
+  private long importPosition;
+
   // internal solver state
   private LNGVector<LNGVector<MSWatcher>> watchesBin;
   private LNGIntVector permDiff;
@@ -138,6 +150,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   private boolean reduceOnSize;
   private int reduceOnSizeSize;
   private double maxVarDecay;
+  private int shareLBD;
 
   /**
    * Constructs a new Glucose 2 solver with the default values for solver configuration.  By default, incremental mode
@@ -155,9 +168,21 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   public GlucoseSyrup(final MiniSatConfig config, final GlucoseConfig glucoseConfig) {
     super(config);
     this.glucoseConfig = glucoseConfig;
+    this.clauseExchange = glucoseConfig.clauseExchange;
+    this.exchangeId = this.clauseExchange != null ? this.clauseExchange.register() : -1;
+    this.importedClauses = new ArrayList<>();
+    this.importPosition = 0;
     this.initializeGlucose();
   }
 
+  /**
+   * Returns the Glucose configuration of this solver.
+   * @return the Glucose configuration
+   */
+  GlucoseConfig glucoseConfig() {
+    return this.glucoseConfig;
+  }
+
   /**
    * Initializes the additional parameters.
    */
@@ -199,6 +224,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     this.reduceOnSize = glucoseConfig.reduceOnSize;
     this.reduceOnSizeSize = glucoseConfig.reduceOnSizeSize;
     this.maxVarDecay = glucoseConfig.maxVarDecay;
+    this.shareLBD = glucoseConfig.shareLBD;
   }
 
   @Override
@@ -227,20 +253,26 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     int p;
     int i;
     int j;
+    boolean strengthened = false;
     for (i = 0, j = 0, p = LIT_UNDEF; i < ps.size(); i++)
       if (value(ps.get(i)) == Tristate.TRUE || ps.get(i) == not(p))
         return true;
       else if (value(ps.get(i)) != Tristate.FALSE && ps.get(i) != p) {
         p = ps.get(i);
         ps.set(j++, p);
-      }
+      } else if (value(ps.get(i)) == Tristate.FALSE)
+        strengthened = true;
     ps.removeElements(i - j);
+    if (strengthened && proofTracer != null)
+      proofTracer.addMiniSatClause(ps);
     if (ps.size() == 0) {
       ok = false;
       return false;
     } else if (ps.size() == 1) {
       uncheckedEnqueue(ps.get(0), null);
       ok = propagate() == null;
+      if (!ok && proofTracer != null)
+        proofTracer.addMiniSatClause(new LNGIntVector());
       return ok;
     } else {
       final MSClause c = new MSClause(ps, false);
@@ -257,20 +289,32 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       this.handler.startedSolving();
     model.clear();
     conflict.clear();
-    if (!ok)
+    if (!ok) {
+      if (proofTracer != null)
+        proofTracer.flush();
       return Tristate.FALSE;
+    }
     for (int i = 0; i < assumptions.size(); i++)
       assump.set(var(assumptions.get(i)), true);
 
     Tristate status = Tristate.UNDEF;
-    while (status == Tristate.UNDEF && !canceledByHandler)
-      status = search();
+    while (status == Tristate.UNDEF && !canceledByHandler) {
+      if (clauseExchange != null && decisionLevel() == 0 && !importClauses())
+        status = Tristate.FALSE;
+      else
+        status = search();
+    }
     if (status == Tristate.TRUE) {
       model = new LNGBooleanVector(vars.size());
       for (final MSVariable v : this.vars)
         model.push(v.assignment() == Tristate.TRUE);
     } else if (status == Tristate.FALSE && conflict.size() == 0)
       ok = false;
+    if (proofTracer != null) {
+      if (status == Tristate.FALSE)
+        proofTracer.addMiniSatClause(conflict);
+      proofTracer.flush();
+    }
     if (this.handler != null)
       this.handler.finishedSolving();
     cancelUntil(0);
@@ -285,6 +329,10 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   public void reset() {
     super.initialize();
     this.initializeGlucose();
+    if (this.clauseExchange != null) {
+      this.clauseExchange.clear();
+      this.importPosition = this.clauseExchange.numberOfExportedClauses();
+    }
   }
 
   @Override
@@ -342,6 +390,12 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   @Override
   protected void removeClause(final MSClause c) {
     detachClause(c);
+    if (proofTracer != null) {
+      for (int i = 0; i < c.size(); i++)
+        if (value(c.get(i)) == Tristate.TRUE && v(c.get(i)).reason() == c)
+          proofTracer.addMiniSatUnit(c.get(i));
+      proofTracer.deleteMiniSatClause(c);
+    }
     if (locked(c))
       v(c.get(0)).setReason(null);
   }
@@ -664,6 +718,83 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     return c.size() + nblevels;
   }
 
+  /**
+   * Exports a learnt clause to the clause exchange.  Clauses with variables without a name are not exported.
+   * @param learntClause the learnt clause
+   * @param lbd          the LBD of the clause
+   */
+  private void exportClause(final LNGIntVector learntClause, long lbd) {
+    final String[] names = new String[learntClause.size()];
+    final boolean[] phases = new boolean[learntClause.size()];
+    for (int i = 0; i < learntClause.size(); i++) {
+      names[i] = nameForIdx(var(learntClause.get(i)));
+      if (names[i] == null)
+        return;
+      phases[i] = !sign(learntClause.get(i));
+    }
+    clauseExchange.export(exchangeId, names, phases, lbd);
+  }
+
+  /**
+   * Imports the clauses of the other solvers from the clause exchange.  This method must only be called on decision
+   * level 0.  Clauses with variables which are unknown to this solver are skipped.
+   * @return {@code false} if the formula was found to be unsatisfiable, {@code true} otherwise
+   */
+  private boolean importClauses() {
+    assert decisionLevel() == 0;
+    importedClauses.clear();
+    importPosition = clauseExchange.importClauses(exchangeId, importPosition, importedClauses);
+    final LNGIntVector lits = new LNGIntVector();
+    for (final LearntClauseExchange.SharedClause shared : importedClauses) {
+      lits.clear();
+      boolean skip = false;
+      int szWithoutSelectors = 0;
+      for (int i = 0; i < shared.names.length && !skip; i++) {
+        final int index = idxForName(shared.names[i]);
+        if (index == -1)
+          skip = true;
+        else {
+          final int lit = mkLit(index, !shared.phases[i]);
+          final Tristate value = value(lit);
+          if (value == Tristate.TRUE)
+            skip = true;
+          else if (value == Tristate.UNDEF) {
+            lits.push(lit);
+            if (!isSelector(index))
+              szWithoutSelectors++;
+          }
+        }
+      }
+      if (skip)
+        continue;
+      if (proofTracer != null)
+        proofTracer.addMiniSatClause(lits);
+      if (lits.empty()) {
+        ok = false;
+        return false;
+      } else if (lits.size() == 1) {
+        uncheckedEnqueue(lits.get(0), null);
+        if (propagate() != null) {
+          ok = false;
+          return false;
+        }
+      } else {
+        final MSClause c = new MSClause(lits, true);
+        c.setLBD(Math.min(shared.lbd, lits.size()));
+        c.setOneWatched(false);
+        c.setSizeWithoutSelectors(szWithoutSelectors);
+        learnts.push(c);
+        attachClause(c);
+      }
+    }
+    importedClauses.clear();
+    if (propagate() != null) {
+      ok = false;
+      return false;
+    }
+    return true;
+  }
+
   /**
    * Returns {@code true} if a given variable is a selector variable, {@code false} otherwise.
    * @param v the variable
@@ -740,6 +871,8 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         learntClause.clear();
         selectors.clear();
         analyze(confl, learntClause, selectors);
+        if (proofTracer != null)
+          proofTracer.addMiniSatClause(learntClause);
         lbdQueue.push(analyzeLBD);
         sumLBD += analyzeLBD;
         cancelUntil(analyzeBtLevel);
@@ -755,6 +888,8 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
           claBumpActivity(cr);
           uncheckedEnqueue(learntClause.get(0), cr);
         }
+        if (clauseExchange != null && (learntClause.size() <= 2 || analyzeLBD <= shareLBD))
+          exportClause(learntClause, analyzeLBD);
         varDecayActivity();
         claDecayActivity();
       } else {
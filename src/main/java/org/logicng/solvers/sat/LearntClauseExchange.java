@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free exchange of learnt clauses between Glucose solvers which run in parallel on the same formula.
+ * <p>
+ * The exchange is a ring buffer of fixed capacity.  Each solver exports its learnt clauses with a small LBD and imports
+ * the clauses of the other solvers at its restarts.  Since the variable indices of the solvers may differ, the clauses
+ * are exchanged with variable names.  The exchange is best-effort: if a solver does not import for a long time, the
+ * oldest clauses are overwritten and are lost for this solver.
+ * <p>
+ * All solvers which share an exchange must have exactly the same clauses, otherwise the exchanged clauses may be
+ * unsound for a solver.  Therefore the exchange is cleared when one of its solvers is reset: each clear starts a new
+ * generation and clauses of older generations are never imported.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class LearntClauseExchange {
+
+  private final int capacity;
+  private final AtomicReferenceArray<SharedClause> buffer;
+  private final AtomicLong writePosition;
+  private final AtomicInteger numberOfSolvers;
+  private final AtomicInteger generation;
+
+  /**
+   * Constructs a new exchange with a capacity of 10,000 clauses.
+   */
+  public LearntClauseExchange() {
+    this(10000);
+  }
+
+  /**
+   * Constructs a new exchange with a given capacity.
+   * @param capacity the maximum number of clauses in the exchange
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public LearntClauseExchange(int capacity) {
+    if (capacity <= 0)
+      throw new IllegalArgumentException("The capacity of a clause exchange must be positive");
+    this.capacity = capacity;
+    this.buffer = new AtomicReferenceArray<>(capacity);
+    this.writePosition = new AtomicLong();
+    this.numberOfSolvers = new AtomicInteger();
+    this.generation = new AtomicInteger();
+  }
+
+  /**
+   * Registers a new solver at this exchange and returns its id.
+   * @return the id of the solver
+   */
+  int register() {
+    return this.numberOfSolvers.getAndIncrement();
+  }
+
+  /**
+   * Exports a clause.
+   * @param solver the id of the exporting solver
+   * @param names  the variable names of the literals
+   * @param phases the phases of the literals
+   * @param lbd    the LBD of the clause
+   */
+  void export(int solver, final String[] names, final boolean[] phases, long lbd) {
+    final int gen = this.generation.get();
+    final long position = this.writePosition.getAndIncrement();
+    this.buffer.set((int) (position % this.capacity), new SharedClause(position, gen, solver, names, phases, lbd));
+  }
+
+  /**
+   * Clears this exchange and starts a new generation.  Clauses which were exported before are not imported anymore.
+   * This method must only be called if none of the solvers of this exchange is currently solving.
+   */
+  void clear() {
+    this.generation.incrementAndGet();
+    for (int i = 0; i < this.capacity; i++)
+      this.buffer.set(i, null);
+  }
+
+  /**
+   * Collects all clauses of other solvers which were exported since a given position.
+   * @param solver   the id of the importing solver
+   * @param position the position from which on clauses should be imported
+   * @param result   the list for the imported clauses
+   * @return the position from which on the next import should start
+   */
+  long importClauses(int solver, long position, final List<SharedClause> result) {
+    final long end = this.writePosition.get();
+    final int gen = this.generation.get();
+    for (long pos = Math.max(position, end - this.capacity); pos < end; pos++) {
+      final SharedClause clause = this.buffer.get((int) (pos % this.capacity));
+      if (clause != null && clause.position == pos && clause.generation == gen && clause.solver != solver)
+        result.add(clause);
+    }
+    return end;
+  }
+
+  /**
+   * Returns the number of clauses which were exported to this exchange so far.
+   * @return the number of exported clauses
+   */
+  public long numberOfExportedClauses() {
+    return this.writePosition.get();
+  }
+
+  /**
+   * Returns the capacity of this exchange.
+   * @return the capacity of this exchange
+   */
+  public int capacity() {
+    return this.capacity;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("LearntClauseExchange{capacity=%d, solvers=%d, exported=%d}", this.capacity,
+            this.numberOfSolvers.get(), this.writePosition.get());
+  }
+
+  /**
+   * A clause in the exchange.
+   */
+  static final class SharedClause {
+    final long position;
+    final int generation;
+    final int solver;
+    final String[] names;
+    final boolean[] phases;
+    final long lbd;
+
+    /**
+     * Constructs a new shared clause.
+     * @param position   the position of the clause in the exchange
+     * @param generation the generation of the exchange in which the clause was exported
+     * @param solver     the id of the exporting solver
+     * @param names      the variable names of the literals
+     * @param phases     the phases of the literals
+     * @param lbd        the LBD of the clause
+     */
+    private SharedClause(long position, int generation, int solver, final String[] names, final boolean[] phases,
+                         long lbd) {
+      this.position = position;
+      this.generation = generation;
+      this.solver = solver;
+      this.names = names;
+      this.phases = phases;
+      this.lbd = lbd;
+    }
+  }
+}
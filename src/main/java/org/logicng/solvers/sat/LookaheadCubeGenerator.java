@@ -0,0 +1,253 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * A lookahead cube generator for MiniSAT-style solvers.
+ * <p>
+ * The generator splits the search space of a solver into cubes, i.e. into conjunctions of literals.  The formula of the
+ * solver is satisfiable if and only if it is satisfiable together with at least one of the cubes.  The cubes can then be
+ * solved independently, e.g. in parallel as assumptions of a solver (cube-and-conquer).
+ * <p>
+ * The splitting tree is built with a lookahead on the variables: at each node both polarities of a number of candidate
+ * variables are propagated and the variable which implies the most assignments on both sides is chosen as branching
+ * variable.  If one polarity of a candidate leads to a conflict (a failed literal), the other polarity is added to the
+ * current cube without branching.  If both polarities lead to a conflict, the current branch is unsatisfiable and no
+ * cube is generated for it.
+ * <p>
+ * The generator uses the propagation of the given solver and leaves it at decision level 0 after the generation.  The
+ * clauses of the solver are not changed.  If no cube is generated, the formula of the solver is unsatisfiable and the
+ * solver is marked as unsatisfiable, i.e. its {@code ok} flag is set to {@code false}.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class LookaheadCubeGenerator {
+
+  private final int depth;
+  private final int candidates;
+
+  private MiniSatStyleSolver solver;
+  private int[] order;
+  private List<LNGIntVector> cubes;
+
+  /**
+   * Constructs a new cube generator with a depth of 8 and 50 lookahead candidates per node.
+   */
+  public LookaheadCubeGenerator() {
+    this(8, 50);
+  }
+
+  /**
+   * Constructs a new cube generator.
+   * @param depth      the maximal number of branching variables of a cube, i.e. at most {@code 2^depth} cubes are
+   *                   generated
+   * @param candidates the maximal number of variables which are considered for branching at each node of the
+   *                   splitting tree
+   * @throws IllegalArgumentException if the depth is negative or the number of candidates is not positive
+   */
+  public LookaheadCubeGenerator(int depth, int candidates) {
+    if (depth < 0)
+      throw new IllegalArgumentException("The depth of a cube generator must not be negative");
+    if (candidates <= 0)
+      throw new IllegalArgumentException("The number of lookahead candidates must be positive");
+    this.depth = depth;
+    this.candidates = candidates;
+  }
+
+  /**
+   * Generates the cubes for the current formula of a given solver.  The solver must be at decision level 0, i.e. it
+   * must not be in the middle of a solving process.  An empty list is returned if the formula of the solver is
+   * unsatisfiable by unit propagation and lookahead alone.  In this case the solver is marked as unsatisfiable, so
+   * subsequent calls of its {@code solve} method return {@link Tristate#FALSE} immediately.
+   * @param solver the solver
+   * @return the list of cubes, each cube as a vector of solver literals, or an empty list if the formula is
+   * unsatisfiable
+   */
+  public List<LNGIntVector> generate(final MiniSatStyleSolver solver) {
+    assert solver.decisionLevel() == 0;
+    this.solver = solver;
+    this.cubes = new ArrayList<>();
+    try {
+      if (!solver.ok || solver.propagate() != null) {
+        solver.ok = false;
+        return this.cubes;
+      }
+      this.order = this.occurrenceOrder();
+      this.split(new LNGIntVector(), this.depth);
+      if (this.cubes.isEmpty())
+        solver.ok = false;
+      return this.cubes;
+    } finally {
+      solver.cancelUntil(0);
+      this.solver = null;
+      this.order = null;
+    }
+  }
+
+  /**
+   * Recursively splits the search space below the current node.
+   * @param cube  the literals of the current node
+   * @param depth the remaining number of branching variables
+   */
+  private void split(final LNGIntVector cube, int depth) {
+    final int level = this.solver.decisionLevel();
+    final int size = cube.size();
+    int branch = -1;
+    while (depth > 0 && branch == -1) {
+      long bestScore = -1;
+      boolean failed = false;
+      int considered = 0;
+      for (int i = 0; i < this.order.length && considered < this.candidates && !failed; i++) {
+        final int v = this.order[i];
+        if (this.solver.vars.get(v).assignment() != Tristate.UNDEF || !this.solver.vars.get(v).decision())
+          continue;
+        considered++;
+        final int pos = this.lookahead(mkLit(v, false));
+        final int neg = this.lookahead(mkLit(v, true));
+        if (pos < 0 && neg < 0) {
+          this.backtrack(cube, size, level);
+          return;
+        } else if (pos < 0 || neg < 0) {
+          failed = true;
+          if (!this.assign(cube, mkLit(v, pos < 0))) {
+            this.backtrack(cube, size, level);
+            return;
+          }
+        } else {
+          final long score = ((long) pos + 1) * ((long) neg + 1);
+          if (score > bestScore) {
+            bestScore = score;
+            branch = v;
+          }
+        }
+      }
+      if (failed)
+        branch = -1;
+      else if (considered == 0)
+        break;
+    }
+    if (branch == -1)
+      this.cubes.add(new LNGIntVector(cube));
+    else {
+      for (final int lit : new int[]{mkLit(branch, this.solver.vars.get(branch).polarity()),
+              not(mkLit(branch, this.solver.vars.get(branch).polarity()))}) {
+        final int branchLevel = this.solver.decisionLevel();
+        if (this.assign(cube, lit))
+          this.split(cube, depth - 1);
+        cube.pop();
+        this.solver.cancelUntil(branchLevel);
+      }
+    }
+    this.backtrack(cube, size, level);
+  }
+
+  /**
+   * Assigns a literal on a new decision level, adds it to the cube and propagates it.
+   * @param cube the current cube
+   * @param lit  the literal
+   * @return {@code true} if the propagation did not lead to a conflict, {@code false} otherwise
+   */
+  private boolean assign(final LNGIntVector cube, int lit) {
+    cube.push(lit);
+    this.solver.trailLim.push(this.solver.trail.size());
+    this.solver.uncheckedEnqueue(lit, null);
+    return this.solver.propagate() == null;
+  }
+
+  /**
+   * Restores the cube and the solver to the state of a given node.
+   * @param cube  the current cube
+   * @param size  the size of the cube at the node
+   * @param level the decision level of the solver at the node
+   */
+  private void backtrack(final LNGIntVector cube, int size, int level) {
+    cube.shrinkTo(size);
+    this.solver.cancelUntil(level);
+  }
+
+  /**
+   * Propagates a literal on a new decision level and undoes the propagation afterwards.
+   * @param lit the literal
+   * @return the number of assignments implied by the literal or -1 if it led to a conflict
+   */
+  private int lookahead(int lit) {
+    final int level = this.solver.decisionLevel();
+    final int before = this.solver.trail.size();
+    this.solver.trailLim.push(before);
+    this.solver.uncheckedEnqueue(lit, null);
+    final MSClause conflict = this.solver.propagate();
+    final int implied = this.solver.trail.size() - before;
+    this.solver.cancelUntil(level);
+    return conflict != null ? -1 : implied;
+  }
+
+  /**
+   * Returns the variables of the solver ordered descending by their number of occurrences in the clauses.  The
+   * lookahead candidates are picked in this order.
+   * @return the ordered variables
+   */
+  private int[] occurrenceOrder() {
+    final int[] occurrences = new int[this.solver.nVars()];
+    for (final MSClause c : this.solver.clauses)
+      for (int i = 0; i < c.size(); i++)
+        occurrences[var(c.get(i))]++;
+    final Integer[] vars = new Integer[occurrences.length];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = i;
+    Arrays.sort(vars, Collections.reverseOrder(new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer v1, final Integer v2) {
+        return Integer.compare(occurrences[v1], occurrences[v2]);
+      }
+    }));
+    final int[] result = new int[vars.length];
+    for (int i = 0; i < vars.length; i++)
+      result[i] = vars[i];
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("LookaheadCubeGenerator{depth=%d, candidates=%d}", this.depth, this.candidates);
+  }
+}
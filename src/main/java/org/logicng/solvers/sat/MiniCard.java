@@ -60,7 +60,8 @@ import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
 /**
- * A cardinality solver based on MiniCard.
+ * A cardinality solver based on MiniCard.  Binary clauses are watched in separate watch lists and are propagated
+ * before all other clauses and cardinality constraints.
  * @version 1.1
  * @since 1.0
  */
@@ -69,6 +70,7 @@ public final class MiniCard extends MiniSatStyleSolver {
   private static final int LIT_ERROR = -2;
 
   private LNGIntVector unitClauses;
+  private LNGVector<LNGVector<MSWatcher>> watchesBin;
   private double learntsizeAdjustConfl;
   private int learntsizeAdjustCnt;
   private int learntsizeAdjustStartConfl;
@@ -97,6 +99,7 @@ public final class MiniCard extends MiniSatStyleSolver {
    */
   private void initializeMiniSAT() {
     unitClauses = new LNGIntVector();
+    this.watchesBin = new LNGVector<>();
     this.learntsizeAdjustConfl = 0;
     this.learntsizeAdjustCnt = 0;
     this.learntsizeAdjustStartConfl = 100;
@@ -111,6 +114,8 @@ public final class MiniCard extends MiniSatStyleSolver {
     vars.push(newVar);
     watches.push(new LNGVector<MSWatcher>());
     watches.push(new LNGVector<MSWatcher>());
+    watchesBin.push(new LNGVector<MSWatcher>());
+    watchesBin.push(new LNGVector<MSWatcher>());
     seen.push(false);
     newVar.setDecision(dvar);
     insertVarOrder(v);
@@ -190,6 +195,17 @@ public final class MiniCard extends MiniSatStyleSolver {
     this.initializeMiniSAT();
   }
 
+  /**
+   * MiniCard does not support proof tracing, since the clauses which it learns from its at-most constraints cannot be
+   * checked by a DRAT checker.
+   * @param proofTracer the proof tracer
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void setProofTracer(final DRATProofTracer proofTracer) {
+    throw new UnsupportedOperationException("The MiniCard solver does not support proof tracing");
+  }
+
   /**
    * Saves and returns the solver state expressed as an integer array which stores the length of the internal data
    * structures.  The array has length 5 and has the following layout:
@@ -220,7 +236,8 @@ public final class MiniCard extends MiniSatStyleSolver {
     this.ok = state[0] == 1;
     int newVarsSize = Math.min(state[1], vars.size());
     for (i = this.vars.size() - 1; i >= newVarsSize; i--)
-      this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
+      this.orderHeap.remove(this.name2idx.remove(this.idx2name.get(i)));
+    this.idx2name.shrinkTo(newVarsSize);
     vars.shrinkTo(newVarsSize);
     int newClausesSize = Math.min(state[2], this.clauses.size());
     for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
@@ -231,6 +248,7 @@ public final class MiniCard extends MiniSatStyleSolver {
       simpleRemoveClause(this.learnts.get(i));
     this.learnts.shrinkTo(newLearntsSize);
     this.watches.shrinkTo(newVarsSize * 2);
+    this.watchesBin.shrinkTo(newVarsSize * 2);
     this.unitClauses.shrinkTo(state[4]);
     for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
       uncheckedEnqueue(this.unitClauses.get(i), null);
@@ -258,8 +276,9 @@ public final class MiniCard extends MiniSatStyleSolver {
       clausesLiterals += c.size();
     } else {
       assert c.size() > 1;
-      watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+      final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? watchesBin : watches;
+      ws.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
+      ws.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
       if (c.learnt())
         learntsLiterals += c.size();
       else
@@ -271,8 +290,9 @@ public final class MiniCard extends MiniSatStyleSolver {
   protected void detachClause(final MSClause c) {
     assert !c.isAtMost();
     assert c.size() > 1;
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+    final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? watchesBin : watches;
+    ws.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
+    ws.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
     if (c.learnt())
       learntsLiterals -= c.size();
     else
@@ -299,10 +319,28 @@ public final class MiniCard extends MiniSatStyleSolver {
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
+      numProps++;
+      final LNGVector<MSWatcher> wbin = watchesBin.get(p);
+      for (int k = 0; k < wbin.size() && confl == null; k++) {
+        final int imp = wbin.get(k).blocker();
+        if (value(imp) == Tristate.FALSE)
+          confl = wbin.get(k).clause();
+        else if (value(imp) == Tristate.UNDEF) {
+          final MSClause c = wbin.get(k).clause();
+          if (c.get(0) != imp) {
+            c.set(1, c.get(0));
+            c.set(0, imp);
+          }
+          uncheckedEnqueue(imp, c);
+        }
+      }
+      if (confl != null) {
+        qhead = trail.size();
+        break;
+      }
       LNGVector<MSWatcher> ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
-      numProps++;
       while (iInd < ws.size()) {
         MSWatcher i = ws.get(iInd);
         int blocker = i.blocker();
@@ -841,8 +879,9 @@ public final class MiniCard extends MiniSatStyleSolver {
       for (int i = 0; i < c.atMostWatchers(); i++)
         watches.get(c.get(i)).remove(new MSWatcher(c, c.get(i)));
     else {
-      watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+      final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? watchesBin : watches;
+      ws.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
+      ws.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
     }
   }
 }
@@ -54,8 +54,9 @@ import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
 /**
- * A solver based on MiniSAT 2.2.0.  If the incremental mode is deactivated, this version should behave exactly
- * like the C++ version.
+ * A solver based on MiniSAT 2.2.0.  If the incremental mode is deactivated, this version should behave like the C++
+ * version.  In contrast to the C++ version, binary clauses are watched in separate watch lists and are propagated
+ * before all other clauses (as in Glucose).
  * <p>
  * If the incremental mode is activated, this solver allows to save and load the solver state in an efficient manner.
  * Therefore clause deletion and simplifications are deactivated in this mode.  This mode is most efficient on small
@@ -67,6 +68,7 @@ import org.logicng.solvers.datastructures.MSWatcher;
 public final class MiniSat2Solver extends MiniSatStyleSolver {
 
   private LNGIntVector unitClauses;
+  private LNGVector<LNGVector<MSWatcher>> watchesBin;
   private double learntsizeAdjustConfl;
   private int learntsizeAdjustCnt;
   private int learntsizeAdjustStartConfl;
@@ -95,6 +97,7 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
    */
   private void initializeMiniSAT() {
     unitClauses = new LNGIntVector();
+    this.watchesBin = new LNGVector<>();
     this.learntsizeAdjustConfl = 0;
     this.learntsizeAdjustCnt = 0;
     this.learntsizeAdjustStartConfl = 100;
@@ -109,6 +112,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     vars.push(newVar);
     watches.push(new LNGVector<MSWatcher>());
     watches.push(new LNGVector<MSWatcher>());
+    watchesBin.push(new LNGVector<MSWatcher>());
+    watchesBin.push(new LNGVector<MSWatcher>());
     seen.push(false);
     newVar.setDecision(dvar);
     insertVarOrder(v);
@@ -124,20 +129,26 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     int p;
     int i;
     int j;
+    boolean strengthened = false;
     for (i = 0, j = 0, p = LIT_UNDEF; i < ps.size(); i++)
       if (value(ps.get(i)) == Tristate.TRUE || ps.get(i) == not(p))
         return true;
       else if (value(ps.get(i)) != Tristate.FALSE && ps.get(i) != p) {
         p = ps.get(i);
         ps.set(j++, p);
-      }
+      } else if (value(ps.get(i)) == Tristate.FALSE)
+        strengthened = true;
     ps.removeElements(i - j);
+    if (strengthened && proofTracer != null)
+      proofTracer.addMiniSatClause(ps);
     if (ps.empty()) {
       ok = false;
       return false;
     } else if (ps.size() == 1) {
       uncheckedEnqueue(ps.get(0), null);
       ok = propagate() == null;
+      if (!ok && proofTracer != null)
+        proofTracer.addMiniSatClause(new LNGIntVector());
       if (incremental)
         unitClauses.push(ps.get(0));
       return ok;
@@ -156,8 +167,11 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
       this.handler.startedSolving();
     model.clear();
     conflict.clear();
-    if (!ok)
+    if (!ok) {
+      if (proofTracer != null)
+        proofTracer.flush();
       return Tristate.FALSE;
+    }
     learntsizeAdjustConfl = learntsizeAdjustStartConfl;
     learntsizeAdjustCnt = (int) learntsizeAdjustConfl;
     maxLearnts = clauses.size() * learntsizeFactor;
@@ -174,6 +188,11 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
         model.push(v.assignment() == Tristate.TRUE);
     } else if (status == Tristate.FALSE && conflict.empty())
       ok = false;
+    if (proofTracer != null) {
+      if (status == Tristate.FALSE)
+        proofTracer.addMiniSatClause(conflict);
+      proofTracer.flush();
+    }
     if (this.handler != null)
       this.handler.finishedSolving();
     cancelUntil(0);
@@ -218,17 +237,28 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     this.ok = state[0] == 1;
     int newVarsSize = Math.min(state[1], vars.size());
     for (i = this.vars.size() - 1; i >= newVarsSize; i--)
-      this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
+      this.orderHeap.remove(this.name2idx.remove(this.idx2name.get(i)));
+    this.idx2name.shrinkTo(newVarsSize);
     vars.shrinkTo(newVarsSize);
     int newClausesSize = Math.min(state[2], this.clauses.size());
-    for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
+    for (i = this.clauses.size() - 1; i >= newClausesSize; i--) {
+      if (proofTracer != null)
+        proofTracer.deleteMiniSatClause(this.clauses.get(i));
       simpleRemoveClause(this.clauses.get(i));
+    }
     this.clauses.shrinkTo(newClausesSize);
     int newLearntsSize = Math.min(state[3], this.learnts.size());
-    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--)
+    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--) {
+      if (proofTracer != null)
+        proofTracer.deleteMiniSatClause(this.learnts.get(i));
       simpleRemoveClause(this.learnts.get(i));
+    }
     this.learnts.shrinkTo(newLearntsSize);
     this.watches.shrinkTo(newVarsSize * 2);
+    this.watchesBin.shrinkTo(newVarsSize * 2);
+    if (proofTracer != null)
+      for (i = this.unitClauses.size() - 1; i >= state[4]; i--)
+        proofTracer.deleteMiniSatClause(new LNGIntVector(new int[]{this.unitClauses.get(i)}));
     this.unitClauses.shrinkTo(state[4]);
     for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
       uncheckedEnqueue(this.unitClauses.get(i), null);
@@ -249,8 +279,9 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected void attachClause(final MSClause c) {
     assert c.size() > 1;
-    watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+    final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? watchesBin : watches;
+    ws.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
+    ws.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
     if (c.learnt())
       learntsLiterals += c.size();
     else
@@ -260,8 +291,9 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected void detachClause(final MSClause c) {
     assert c.size() > 1;
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+    final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? watchesBin : watches;
+    ws.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
+    ws.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
     if (c.learnt())
       learntsLiterals -= c.size();
     else
@@ -271,6 +303,12 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected void removeClause(final MSClause c) {
     detachClause(c);
+    if (proofTracer != null) {
+      for (int i = 0; i < c.size(); i++)
+        if (value(c.get(i)) == Tristate.TRUE && v(c.get(i)).reason() == c)
+          proofTracer.addMiniSatUnit(c.get(i));
+      proofTracer.deleteMiniSatClause(c);
+    }
     if (locked(c))
       v(c.get(0)).setReason(null);
   }
@@ -281,10 +319,28 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
+      numProps++;
+      final LNGVector<MSWatcher> wbin = watchesBin.get(p);
+      for (int k = 0; k < wbin.size() && confl == null; k++) {
+        final int imp = wbin.get(k).blocker();
+        if (value(imp) == Tristate.FALSE)
+          confl = wbin.get(k).clause();
+        else if (value(imp) == Tristate.UNDEF) {
+          final MSClause c = wbin.get(k).clause();
+          if (c.get(0) != imp) {
+            c.set(1, c.get(0));
+            c.set(0, imp);
+          }
+          uncheckedEnqueue(imp, c);
+        }
+      }
+      if (confl != null) {
+        qhead = trail.size();
+        break;
+      }
       LNGVector<MSWatcher> ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
-      numProps++;
       while (iInd < ws.size()) {
         MSWatcher i = ws.get(iInd);
         int blocker = i.blocker();
@@ -430,17 +486,45 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
         removeClause(cs.get(i));
       else {
         assert value(c.get(0)) == Tristate.UNDEF && value(c.get(1)) == Tristate.UNDEF;
+        final boolean binary = c.size() == 2;
+        final LNGIntVector removed = proofTracer != null ? new LNGIntVector() : null;
         for (int k = 2; k < c.size(); k++)
           if (value(c.get(k)) == Tristate.FALSE) {
+            if (removed != null)
+              removed.push(c.get(k));
             c.set(k--, c.get(c.size() - 1));
             c.pop();
           }
+        if (removed != null && !removed.empty())
+          this.traceStrengthening(c, removed);
+        if (!binary && c.size() == 2) {
+          watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
+          watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+          watchesBin.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
+          watchesBin.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+        }
         cs.set(j++, cs.get(i));
       }
     }
     cs.removeElements(i - j);
   }
 
+  /**
+   * Logs the strengthening of a clause to the proof tracer: the strengthened clause is added and the original clause
+   * with the removed literals is deleted.
+   * @param c       the strengthened clause
+   * @param removed the removed literals
+   */
+  private void traceStrengthening(final MSClause c, final LNGIntVector removed) {
+    final LNGIntVector lits = new LNGIntVector(c.size() + removed.size());
+    for (int k = 0; k < c.size(); k++)
+      lits.push(c.get(k));
+    proofTracer.addMiniSatClause(lits);
+    for (int k = 0; k < removed.size(); k++)
+      lits.push(removed.get(k));
+    proofTracer.deleteMiniSatClause(lits);
+  }
+
   @Override
   protected boolean satisfied(final MSClause c) {
     for (int i = 0; i < c.size(); i++)
@@ -489,6 +573,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
           return Tristate.FALSE;
         LNGIntVector learntClause = new LNGIntVector();
         analyze(confl, learntClause);
+        if (proofTracer != null)
+          proofTracer.addMiniSatClause(learntClause);
         cancelUntil(analyzeBtLevel);
         if (learntClause.size() == 1) {
           uncheckedEnqueue(learntClause.get(0), null);
@@ -648,7 +734,8 @@ public final class MiniSat2Solver extends MiniSatStyleSolver {
    * @param c the clause to remove
    */
   private void simpleRemoveClause(final MSClause c) {
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+    final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? watchesBin : watches;
+    ws.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
+    ws.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
   }
 }
@@ -50,6 +50,16 @@ public final class MiniSatConfig extends Configuration {
     NONE, BASIC, DEEP
   }
 
+  /**
+   * The different methods for generating a CNF for a formula which is added to the solver.
+   * {@code FACTORY_CNF} - the CNF of the formula factory is computed and its clauses are added to the solver
+   * {@code PG_ON_SOLVER} - a Plaisted &amp; Greenbaum CNF is generated directly on the solver without generating any
+   * intermediate formulas on the factory
+   */
+  public enum CNFMethod {
+    FACTORY_CNF, PG_ON_SOLVER
+  }
+
   final double varDecay;
   final double varInc;
   final ClauseMinimization clauseMin;
@@ -61,6 +71,8 @@ public final class MiniSatConfig extends Configuration {
   final double learntsizeInc;
   final boolean incremental;
   final boolean initialPhase;
+  final CNFMethod cnfMethod;
+  final boolean unsatCores;
 
   /**
    * Constructs a new MiniSAT configuration from a given builder.
@@ -79,6 +91,8 @@ public final class MiniSatConfig extends Configuration {
     this.learntsizeInc = builder.learntsizeInc;
     this.incremental = builder.incremental;
     this.initialPhase = builder.initialPhase;
+    this.cnfMethod = builder.cnfMethod;
+    this.unsatCores = builder.unsatCores;
   }
 
   /**
@@ -97,6 +111,22 @@ public final class MiniSatConfig extends Configuration {
     return this.initialPhase;
   }
 
+  /**
+   * Returns the CNF method which is used when a formula is added to the solver.
+   * @return the CNF method
+   */
+  public CNFMethod cnfMethod() {
+    return this.cnfMethod;
+  }
+
+  /**
+   * Returns whether propositions are tracked by selector variables in order to extract unsatisfiable cores.
+   * @return {@code true} if unsatisfiable cores are tracked, {@code false} otherwise
+   */
+  public boolean unsatCores() {
+    return this.unsatCores;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("MiniSatConfig{\n");
@@ -111,6 +141,8 @@ public final class MiniSatConfig extends Configuration {
     sb.append("learntsizeInc=").append(this.learntsizeInc).append("\n");
     sb.append("incremental=").append(this.incremental).append("\n");
     sb.append("initialPhase=").append(this.initialPhase).append("\n");
+    sb.append("cnfMethod=").append(this.cnfMethod).append("\n");
+    sb.append("unsatCores=").append(this.unsatCores).append("\n");
     sb.append("}\n");
     return sb.toString();
   }
@@ -130,6 +162,8 @@ public final class MiniSatConfig extends Configuration {
     private double learntsizeInc = 1.1;
     private boolean incremental = true;
     private boolean initialPhase = false;
+    private CNFMethod cnfMethod = CNFMethod.FACTORY_CNF;
+    private boolean unsatCores = false;
 
     /**
      * Sets the variable activity decay factor to a given value. The default value is 0.95.
@@ -245,6 +279,31 @@ public final class MiniSatConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Sets the CNF method which is used when a formula is added to the solver.  With {@code PG_ON_SOLVER} the clauses
+     * are streamed directly into the solver which saves the time and memory for the intermediate formulas on the
+     * formula factory, but the auxiliary variables are not shared between formulas and solvers.  The default value is
+     * {@code FACTORY_CNF}.
+     * @param cnfMethod the CNF method
+     * @return the builder
+     */
+    public Builder cnfMethod(final CNFMethod cnfMethod) {
+      this.cnfMethod = cnfMethod;
+      return this;
+    }
+
+    /**
+     * Turns the tracking of unsatisfiable cores on and off.  If turned on, each proposition which is added to the
+     * solver gets its own selector variable which is assumed on every call of {@code sat}, so the propositions of an
+     * unsatisfiable core can be read from the failed assumptions.  The default value is {@code false}.
+     * @param unsatCores {@code true} if unsatisfiable cores should be tracked, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder unsatCores(boolean unsatCores) {
+      this.unsatCores = unsatCores;
+      return this;
+    }
+
     /**
      * Builds the MiniSAT configuration.
      * @return the configuration
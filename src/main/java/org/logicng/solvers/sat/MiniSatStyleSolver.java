@@ -54,8 +54,8 @@ import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * The super class for all MiniSAT-style solvers.
@@ -107,14 +107,17 @@ public abstract class MiniSatStyleSolver {
   protected double learntsizeInc;
   protected boolean incremental;
 
-  // mapping of variable names to variable indices
+  // mapping of variable names to variable indices and vice versa
   protected Map<String, Integer> name2idx;
-  protected Map<Integer, String> idx2name;
+  protected LNGVector<String> idx2name;
 
   // SAT handler
   protected SATHandler handler;
   protected boolean canceledByHandler;
 
+  // DRAT proof tracer
+  protected DRATProofTracer proofTracer;
+
   /**
    * Constructs a new MiniSAT-style solver with a given configuration.
    * @param config the configuration
@@ -209,8 +212,8 @@ public abstract class MiniSatStyleSolver {
     this.simpDBProps = 0;
     this.clausesLiterals = 0;
     this.learntsLiterals = 0;
-    this.name2idx = new TreeMap<>();
-    this.idx2name = new TreeMap<>();
+    this.name2idx = new HashMap<>();
+    this.idx2name = new LNGVector<>();
     this.canceledByHandler = false;
   }
 
@@ -274,7 +277,7 @@ public abstract class MiniSatStyleSolver {
    * @return the name for the index
    */
   public String nameForIdx(int var) {
-    return this.idx2name.get(var);
+    return var < this.idx2name.size() ? this.idx2name.get(var) : null;
   }
 
   /**
@@ -284,7 +287,8 @@ public abstract class MiniSatStyleSolver {
    */
   public void addName(final String name, int id) {
     this.name2idx.put(name, id);
-    this.idx2name.put(id, name);
+    this.idx2name.growTo(id + 1);
+    this.idx2name.set(id, name);
   }
 
   /**
@@ -384,6 +388,53 @@ public abstract class MiniSatStyleSolver {
    */
   public abstract void loadState(int[] state);
 
+  /**
+   * Returns the original clauses of the solver.  Together with the literals assigned at decision level 0
+   * ({@link #units()}) they are equivalent to the clauses added to the solver.  The returned vector is the internal
+   * data structure of the solver and must not be modified.
+   * @return the original clauses of the solver
+   */
+  public LNGVector<MSClause> clauses() {
+    return this.clauses;
+  }
+
+  /**
+   * Returns the literals which are assigned at decision level 0, i.e. the unit clauses and their consequences.
+   * @return the literals assigned at decision level 0
+   */
+  public LNGIntVector units() {
+    final LNGIntVector units = new LNGIntVector();
+    for (int i = 0; i < this.trail.size(); i++)
+      if (this.v(this.trail.get(i)).level() == 0)
+        units.push(this.trail.get(i));
+    return units;
+  }
+
+  /**
+   * Returns {@code false} if the solver already detected that its clauses are unsatisfiable, {@code true} otherwise.
+   * @return {@code false} if the clauses of the solver are known to be unsatisfiable
+   */
+  public boolean ok() {
+    return this.ok;
+  }
+
+  /**
+   * Sets a tracer which records the clause additions and deletions of this solver as DRAT proof.
+   * @param proofTracer the proof tracer or {@code null} if no proof should be recorded
+   * @throws UnsupportedOperationException if the solver does not support proof tracing
+   */
+  public void setProofTracer(final DRATProofTracer proofTracer) {
+    this.proofTracer = proofTracer;
+  }
+
+  /**
+   * Returns the proof tracer of this solver.
+   * @return the proof tracer or {@code null} if no proof is recorded
+   */
+  public DRATProofTracer proofTracer() {
+    return this.proofTracer;
+  }
+
   /**
    * Returns the number of variables of the solver.
    * @return the number of variables of the solver
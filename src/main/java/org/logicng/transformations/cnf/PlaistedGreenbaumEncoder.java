@@ -0,0 +1,339 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations.cnf;
+
+import org.logicng.datastructures.EncodingResult;
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Not;
+import org.logicng.formulas.PBConstraint;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An encoder which generates a CNF due to Plaisted &amp; Greenbaum and adds its clauses directly to an encoding result.
+ * <p>
+ * In contrast to the {@link PlaistedGreenbaumTransformation} no intermediate formulas are generated on the formula
+ * factory: neither the NNF, nor the auxiliary variables, nor the clauses.  When used with an encoding result for a SAT
+ * solver, the auxiliary variables are only introduced on the solver and the clauses are streamed directly into it.
+ * Negations, implications and equivalences are handled by the polarity of the sub-formula, so the formula does not
+ * have to be in NNF.
+ * <p>
+ * The resulting CNF is only equisatisfiable to the original formula.  The auxiliary variables are shared between equal
+ * sub-formulas of one formula, but not between different calls of {@link #encode(Formula, EncodingResult)}.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class PlaistedGreenbaumEncoder {
+
+  private static final int POS = 1;
+  private static final int NEG = 2;
+  private static final int BOTH = POS | NEG;
+
+  /**
+   * Encodes a given formula and adds the resulting clauses to the given result.
+   * @param formula the formula
+   * @param result  the result of the encoding
+   */
+  public void encode(final Formula formula, final EncodingResult result) {
+    new Encoding(result).encodeTopLevel(formula, true);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * The state of a single encoding.
+   */
+  private static final class Encoding {
+    private final EncodingResult result;
+    private final Map<Formula, AuxiliaryLiteral> auxiliaryLiterals;
+    private Literal trueLiteral;
+
+    /**
+     * Constructs a new encoding.
+     * @param result the result of the encoding
+     */
+    private Encoding(final EncodingResult result) {
+      this.result = result;
+      this.auxiliaryLiterals = new HashMap<>();
+    }
+
+    /**
+     * Encodes a formula on the top level, i.e. without an auxiliary variable for the formula itself.
+     * @param formula the formula
+     * @param phase   {@code true} if the formula should hold, {@code false} if its negation should hold
+     */
+    private void encodeTopLevel(final Formula formula, boolean phase) {
+      switch (formula.type()) {
+        case TRUE:
+          if (!phase)
+            this.result.addClause();
+          break;
+        case FALSE:
+          if (phase)
+            this.result.addClause();
+          break;
+        case LITERAL:
+          this.result.addClause(phase ? (Literal) formula : ((Literal) formula).negate());
+          break;
+        case NOT:
+          this.encodeTopLevel(((Not) formula).operand(), !phase);
+          break;
+        case AND:
+          if (phase)
+            for (final Formula op : formula)
+              this.encodeTopLevel(op, true);
+          else
+            this.result.addClause(this.operandLiterals(formula, false));
+          break;
+        case OR:
+          if (phase)
+            this.result.addClause(this.operandLiterals(formula, true));
+          else
+            for (final Formula op : formula)
+              this.encodeTopLevel(op, false);
+          break;
+        case IMPL:
+          final BinaryOperator impl = (BinaryOperator) formula;
+          if (phase)
+            this.result.addClause(this.literal(impl.left(), false), this.literal(impl.right(), true));
+          else {
+            this.encodeTopLevel(impl.left(), true);
+            this.encodeTopLevel(impl.right(), false);
+          }
+          break;
+        case EQUIV:
+          this.result.addClause(this.literal(formula, phase));
+          break;
+        case PBC:
+          this.encodeTopLevel(phase ? formula.nnf() : formula.negate(), true);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+      }
+    }
+
+    /**
+     * Returns a literal which implies the formula (for phase {@code true}) or its negation (for phase {@code false}).
+     * @param formula the formula
+     * @param phase   the phase
+     * @return the literal
+     */
+    private Literal literal(final Formula formula, boolean phase) {
+      return phase ? this.literal(formula, POS) : this.literal(formula, NEG).negate();
+    }
+
+    /**
+     * Returns the literals for all operands of an n-ary operator in a given phase.
+     * @param formula the n-ary operator
+     * @param phase   the phase
+     * @return the literals
+     */
+    private Literal[] operandLiterals(final Formula formula, boolean phase) {
+      final Literal[] literals = new Literal[formula.numberOfOperands()];
+      int i = 0;
+      for (final Formula op : formula)
+        literals[i++] = this.literal(op, phase);
+      return literals;
+    }
+
+    /**
+     * Returns the literal for a formula in a given polarity.  For the positive polarity the literal implies the
+     * formula, for the negative polarity the formula implies the literal, and for both polarities they are equivalent.
+     * @param formula  the formula
+     * @param polarity the polarity
+     * @return the literal
+     */
+    private Literal literal(final Formula formula, int polarity) {
+      switch (formula.type()) {
+        case TRUE:
+          return this.trueLiteral();
+        case FALSE:
+          return this.trueLiteral().negate();
+        case LITERAL:
+          return (Literal) formula;
+        case NOT:
+          return this.literal(((Not) formula).operand(), flip(polarity)).negate();
+        case PBC:
+          return this.pbcLiteral((PBConstraint) formula, polarity);
+        default:
+          AuxiliaryLiteral aux = this.auxiliaryLiterals.get(formula);
+          if (aux == null) {
+            aux = new AuxiliaryLiteral(this.result.newVariable());
+            this.auxiliaryLiterals.put(formula, aux);
+          }
+          final int missing = polarity & ~aux.polarities;
+          aux.polarities |= polarity;
+          if ((missing & POS) != 0)
+            this.encodePositive(formula, aux.literal);
+          if ((missing & NEG) != 0)
+            this.encodeNegative(formula, aux.literal);
+          return aux.literal;
+      }
+    }
+
+    /**
+     * Returns the literal for a pseudo-Boolean constraint in a given polarity.  Since the encoding of the constraint is
+     * only equisatisfiable, its negation is not the negation of the constraint.  Therefore the negative polarity is
+     * derived from the encoding of the negated constraint and both polarities require an auxiliary literal.
+     * @param pbc      the pseudo-Boolean constraint
+     * @param polarity the polarity
+     * @return the literal
+     */
+    private Literal pbcLiteral(final PBConstraint pbc, int polarity) {
+      if (polarity == POS)
+        return this.literal(pbc.nnf(), POS);
+      if (polarity == NEG)
+        return this.literal(pbc.negate().nnf(), POS).negate();
+      AuxiliaryLiteral aux = this.auxiliaryLiterals.get(pbc);
+      if (aux == null) {
+        aux = new AuxiliaryLiteral(this.result.newVariable());
+        aux.polarities = BOTH;
+        this.auxiliaryLiterals.put(pbc, aux);
+        this.result.addClause(aux.literal.negate(), this.literal(pbc.nnf(), POS));
+        this.result.addClause(aux.literal, this.literal(pbc.negate().nnf(), POS));
+      }
+      return aux.literal;
+    }
+
+    /**
+     * Adds the clauses for "literal implies formula".
+     * @param formula the formula
+     * @param lit     the auxiliary literal
+     */
+    private void encodePositive(final Formula formula, final Literal lit) {
+      switch (formula.type()) {
+        case AND:
+          for (final Formula op : formula)
+            this.result.addClause(lit.negate(), this.literal(op, POS));
+          break;
+        case OR:
+          final Literal[] clause = new Literal[formula.numberOfOperands() + 1];
+          clause[0] = lit.negate();
+          int i = 1;
+          for (final Formula op : formula)
+            clause[i++] = this.literal(op, POS);
+          this.result.addClause(clause);
+          break;
+        case IMPL:
+          final BinaryOperator impl = (BinaryOperator) formula;
+          this.result.addClause(lit.negate(), this.literal(impl.left(), NEG).negate(), this.literal(impl.right(), POS));
+          break;
+        case EQUIV:
+          final BinaryOperator equiv = (BinaryOperator) formula;
+          final Literal left = this.literal(equiv.left(), BOTH);
+          final Literal right = this.literal(equiv.right(), BOTH);
+          this.result.addClause(lit.negate(), left.negate(), right);
+          this.result.addClause(lit.negate(), left, right.negate());
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+      }
+    }
+
+    /**
+     * Adds the clauses for "formula implies literal".
+     * @param formula the formula
+     * @param lit     the auxiliary literal
+     */
+    private void encodeNegative(final Formula formula, final Literal lit) {
+      switch (formula.type()) {
+        case AND:
+          final Literal[] clause = new Literal[formula.numberOfOperands() + 1];
+          clause[0] = lit;
+          int i = 1;
+          for (final Formula op : formula)
+            clause[i++] = this.literal(op, NEG).negate();
+          this.result.addClause(clause);
+          break;
+        case OR:
+          for (final Formula op : formula)
+            this.result.addClause(lit, this.literal(op, NEG).negate());
+          break;
+        case IMPL:
+          final BinaryOperator impl = (BinaryOperator) formula;
+          this.result.addClause(lit, this.literal(impl.left(), POS));
+          this.result.addClause(lit, this.literal(impl.right(), NEG).negate());
+          break;
+        case EQUIV:
+          final BinaryOperator equiv = (BinaryOperator) formula;
+          final Literal left = this.literal(equiv.left(), BOTH);
+          final Literal right = this.literal(equiv.right(), BOTH);
+          this.result.addClause(lit, left, right);
+          this.result.addClause(lit, left.negate(), right.negate());
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+      }
+    }
+
+    /**
+     * Returns a literal which is fixed to {@code true}.  The literal is only generated if a constant occurs below the
+     * top level of the formula.
+     * @return the literal
+     */
+    private Literal trueLiteral() {
+      if (this.trueLiteral == null) {
+        this.trueLiteral = this.result.newVariable();
+        this.result.addClause(this.trueLiteral);
+      }
+      return this.trueLiteral;
+    }
+
+    /**
+     * Returns the opposite polarity.
+     * @param polarity the polarity
+     * @return the opposite polarity
+     */
+    private static int flip(int polarity) {
+      return polarity == BOTH ? BOTH : polarity ^ BOTH;
+    }
+  }
+
+  /**
+   * An auxiliary literal together with the polarities for which its defining clauses were already generated.
+   */
+  private static final class AuxiliaryLiteral {
+    private final Literal literal;
+    private int polarities;
+
+    /**
+     * Constructs a new auxiliary literal.
+     * @param literal the literal
+     */
+    private AuxiliaryLiteral(final Literal literal) {
+      this.literal = literal;
+    }
+  }
+}
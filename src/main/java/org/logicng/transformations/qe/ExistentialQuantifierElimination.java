@@ -42,6 +42,9 @@ import java.util.Collection;
  * expansion.  If {@code x} is eliminated from a formula {@code f}, the resulting formula is
  * {@code f[true/x] | f[false/x]}.
  * <p>
+ * Since the formula doubles with each eliminated variable, this transformation is only suitable for a small number of
+ * variables.  For larger eliminations use the {@link ResolutionQuantifierElimination}.
+ * <p>
  * This transformation cannot be cached since it is dependent on the set of literals to eliminate.
  * @version 1.0
  * @since 1.0
@@ -0,0 +1,374 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations.qe;
+
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTransformation;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * This transformation eliminates a number of existentially quantified variables by Davis-Putnam resolution on the CNF
+ * of the formula.
+ * <p>
+ * In contrast to the {@link ExistentialQuantifierElimination} which doubles the formula for each eliminated variable,
+ * a variable {@code x} is eliminated by replacing all clauses containing {@code x} or {@code ~x} by their resolvents on
+ * {@code x}.  Tautological and subsumed resolvents are dropped and clauses subsumed by a new resolvent are removed.  The
+ * variables are eliminated in a greedy order which always picks the variable producing the fewest resolvents.  The
+ * result is always a CNF.
+ * <p>
+ * Auxiliary variables which are introduced by the CNF transformation of the formula factory are eliminated as well, so
+ * the result only contains variables of the original formula.
+ * <p>
+ * This transformation cannot be cached since it is dependent on the set of literals to eliminate.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class ResolutionQuantifierElimination implements FormulaTransformation {
+
+  private final Set<Variable> elimination;
+
+  /**
+   * Constructs a new resolution based quantifier elimination for the given variables.
+   * @param variables the variables
+   */
+  public ResolutionQuantifierElimination(final Variable... variables) {
+    this(Arrays.asList(variables));
+  }
+
+  /**
+   * Constructs a new resolution based quantifier elimination for a given collection of variables.
+   * @param variables the collection of variables
+   */
+  public ResolutionQuantifierElimination(final Collection<Variable> variables) {
+    this.elimination = new LinkedHashSet<>(variables);
+  }
+
+  @Override
+  public Formula apply(final Formula formula, boolean cache) {
+    final FormulaFactory f = formula.factory();
+    final Formula cnf = formula.cnf();
+    if (cnf.type() == FType.TRUE || cnf.type() == FType.FALSE)
+      return cnf;
+    final SortedSet<Variable> keep = new TreeSet<>(formula.variables());
+    keep.removeAll(this.elimination);
+    final ClauseDatabase db = new ClauseDatabase(f);
+    if (cnf.type() == FType.AND)
+      for (final Formula clause : cnf)
+        db.addOriginal(clause);
+    else
+      db.addOriginal(cnf);
+    final Set<Integer> eliminate = new LinkedHashSet<>();
+    for (final Variable var : cnf.variables())
+      if (!keep.contains(var))
+        eliminate.add(db.index(var));
+    while (!eliminate.isEmpty() && !db.unsat) {
+      final int var = db.cheapestVariable(eliminate);
+      eliminate.remove(var);
+      db.eliminate(var);
+    }
+    return db.toFormula();
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * A clause database with occurrence lists.  Literals are encoded as {@code 2 * var + (negative ? 1 : 0)} and clauses
+   * are sorted arrays of literals.
+   */
+  private static final class ClauseDatabase {
+    private final FormulaFactory f;
+    private final Map<Variable, Integer> indices;
+    private final List<Variable> variables;
+    private final Set<Clause> clauses;
+    private final List<Set<Clause>> occurrences;
+    private boolean unsat;
+
+    /**
+     * Constructs a new clause database.
+     * @param f the formula factory
+     */
+    private ClauseDatabase(final FormulaFactory f) {
+      this.f = f;
+      this.indices = new HashMap<>();
+      this.variables = new ArrayList<>();
+      this.clauses = new LinkedHashSet<>();
+      this.occurrences = new ArrayList<>();
+    }
+
+    /**
+     * Returns the index of a variable and creates a new index if necessary.
+     * @param var the variable
+     * @return the index
+     */
+    private int index(final Variable var) {
+      Integer index = this.indices.get(var);
+      if (index == null) {
+        index = this.variables.size();
+        this.indices.put(var, index);
+        this.variables.add(var);
+        this.occurrences.add(new LinkedHashSet<Clause>());
+        this.occurrences.add(new LinkedHashSet<Clause>());
+      }
+      return index;
+    }
+
+    /**
+     * Adds a clause of the original CNF.
+     * @param clause the clause
+     */
+    private void addOriginal(final Formula clause) {
+      final SortedSet<Literal> literals = clause.literals();
+      final int[] lits = new int[literals.size()];
+      int i = 0;
+      for (final Literal lit : literals)
+        lits[i++] = 2 * this.index(lit.variable()) + (lit.phase() ? 0 : 1);
+      Arrays.sort(lits);
+      for (int j = 1; j < lits.length; j++)
+        if (lits[j] == (lits[j - 1] ^ 1))
+          return;
+      this.add(new Clause(lits));
+    }
+
+    /**
+     * Adds a clause if it is not subsumed and removes all clauses which are subsumed by it.
+     * @param clause the clause
+     */
+    private void add(final Clause clause) {
+      if (clause.lits.length == 0) {
+        this.unsat = true;
+        return;
+      }
+      if (this.clauses.contains(clause) || this.subsumed(clause))
+        return;
+      final Set<Clause> candidates = this.occurrences.get(this.rarestLiteral(clause));
+      final List<Clause> subsumed = new ArrayList<>();
+      for (final Clause other : candidates)
+        if (other.lits.length > clause.lits.length && subset(clause.lits, other.lits))
+          subsumed.add(other);
+      for (final Clause other : subsumed)
+        this.remove(other);
+      this.clauses.add(clause);
+      for (final int lit : clause.lits)
+        this.occurrences.get(lit).add(clause);
+    }
+
+    /**
+     * Removes a clause.
+     * @param clause the clause
+     */
+    private void remove(final Clause clause) {
+      this.clauses.remove(clause);
+      for (final int lit : clause.lits)
+        this.occurrences.get(lit).remove(clause);
+    }
+
+    /**
+     * Returns whether a clause is subsumed by a clause of the database.
+     * @param clause the clause
+     * @return {@code true} if the clause is subsumed
+     */
+    private boolean subsumed(final Clause clause) {
+      for (final int lit : clause.lits)
+        for (final Clause other : this.occurrences.get(lit))
+          if (other.lits.length <= clause.lits.length && subset(other.lits, clause.lits))
+            return true;
+      return false;
+    }
+
+    /**
+     * Returns the literal of a clause with the fewest occurrences.
+     * @param clause the clause
+     * @return the literal
+     */
+    private int rarestLiteral(final Clause clause) {
+      int best = clause.lits[0];
+      for (final int lit : clause.lits)
+        if (this.occurrences.get(lit).size() < this.occurrences.get(best).size())
+          best = lit;
+      return best;
+    }
+
+    /**
+     * Returns the variable of a given set whose elimination produces the fewest resolvents.
+     * @param candidates the candidates
+     * @return the variable
+     */
+    private int cheapestVariable(final Set<Integer> candidates) {
+      int best = -1;
+      long bestCost = Long.MAX_VALUE;
+      for (final int var : candidates) {
+        final long pos = this.occurrences.get(2 * var).size();
+        final long neg = this.occurrences.get(2 * var + 1).size();
+        final long cost = pos * neg - pos - neg;
+        if (cost < bestCost) {
+          best = var;
+          bestCost = cost;
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Eliminates a variable by replacing all its clauses with their non-tautological resolvents.
+     * @param var the variable
+     */
+    private void eliminate(int var) {
+      final List<Clause> pos = new ArrayList<>(this.occurrences.get(2 * var));
+      final List<Clause> neg = new ArrayList<>(this.occurrences.get(2 * var + 1));
+      for (final Clause clause : pos)
+        this.remove(clause);
+      for (final Clause clause : neg)
+        this.remove(clause);
+      for (final Clause p : pos)
+        for (final Clause n : neg) {
+          final Clause resolvent = resolve(p, n, var);
+          if (resolvent != null) {
+            this.add(resolvent);
+            if (this.unsat)
+              return;
+          }
+        }
+    }
+
+    /**
+     * Returns the formula for this database.
+     * @return the formula
+     */
+    private Formula toFormula() {
+      if (this.unsat)
+        return this.f.falsum();
+      final List<Formula> result = new ArrayList<>(this.clauses.size());
+      for (final Clause clause : this.clauses) {
+        final List<Literal> literals = new ArrayList<>(clause.lits.length);
+        for (final int lit : clause.lits) {
+          final Variable var = this.variables.get(lit >> 1);
+          literals.add((lit & 1) == 0 ? var : var.negate());
+        }
+        result.add(this.f.clause(literals));
+      }
+      return this.f.and(result);
+    }
+
+    /**
+     * Returns the resolvent of two clauses on a variable or {@code null} if the resolvent is a tautology.
+     * @param p   the clause with the positive literal
+     * @param n   the clause with the negative literal
+     * @param var the variable
+     * @return the resolvent or {@code null}
+     */
+    private static Clause resolve(final Clause p, final Clause n, int var) {
+      final int[] lits = new int[p.lits.length + n.lits.length - 2];
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      while (i < p.lits.length || j < n.lits.length) {
+        final int a = i < p.lits.length ? p.lits[i] : Integer.MAX_VALUE;
+        final int b = j < n.lits.length ? n.lits[j] : Integer.MAX_VALUE;
+        final int lit;
+        if (a <= b) {
+          lit = a;
+          i++;
+          if (a == b)
+            j++;
+        } else {
+          lit = b;
+          j++;
+        }
+        if (lit >> 1 == var)
+          continue;
+        if (k > 0 && lits[k - 1] == (lit ^ 1))
+          return null;
+        lits[k++] = lit;
+      }
+      return new Clause(Arrays.copyOf(lits, k));
+    }
+
+    /**
+     * Returns whether a sorted array is a subset of another sorted array.
+     * @param small the smaller array
+     * @param large the larger array
+     * @return {@code true} if the first array is a subset of the second one
+     */
+    private static boolean subset(final int[] small, final int[] large) {
+      int j = 0;
+      for (final int lit : small) {
+        while (j < large.length && large[j] < lit)
+          j++;
+        if (j == large.length || large[j] != lit)
+          return false;
+        j++;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * A clause as a sorted array of literals.
+   */
+  private static final class Clause {
+    private final int[] lits;
+    private final int hashCode;
+
+    /**
+     * Constructs a new clause.
+     * @param lits the sorted literals
+     */
+    private Clause(final int[] lits) {
+      this.lits = lits;
+      this.hashCode = Arrays.hashCode(lits);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Clause && Arrays.equals(this.lits, ((Clause) other).lits);
+    }
+  }
+}
@@ -0,0 +1,228 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.bdds;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTestHelper;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.modelcounting.ModelCounter;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the BDD package.
+ * @version 1.1
+ * @since 1.1
+ */
+public class BDDTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(this.f);
+
+  @Test
+  public void testConstants() {
+    final BDDFactory factory = new BDDFactory(this.f);
+    Assert.assertTrue(factory.verum().isTautology());
+    Assert.assertTrue(factory.falsum().isContradiction());
+    Assert.assertEquals(factory.verum(), factory.build(this.f.verum()));
+    Assert.assertEquals(factory.falsum(), factory.build(this.f.falsum()));
+    Assert.assertEquals(this.f.verum(), factory.verum().cnf());
+    Assert.assertEquals(this.f.falsum(), factory.falsum().cnf());
+    Assert.assertEquals(this.f.verum(), factory.verum().dnf());
+    Assert.assertEquals(this.f.falsum(), factory.falsum().dnf());
+    Assert.assertEquals(0, factory.verum().nodeCount());
+  }
+
+  @Test
+  public void testOperations() throws ParserException {
+    final BDDFactory factory = new BDDFactory(this.f);
+    final BDD a = factory.literal(this.f.variable("a"));
+    final BDD b = factory.literal(this.f.variable("b"));
+    final BDD c = factory.literal(this.f.variable("c"));
+    Assert.assertEquals(factory.build(this.p.parse("a & b")), a.and(b));
+    Assert.assertEquals(factory.build(this.p.parse("a | b")), a.or(b));
+    Assert.assertEquals(factory.build(this.p.parse("a => b")), a.implies(b));
+    Assert.assertEquals(factory.build(this.p.parse("a <=> b")), a.equivalence(b));
+    Assert.assertEquals(factory.build(this.p.parse("~a")), a.negate());
+    Assert.assertEquals(factory.literal(this.f.literal("a", false)), a.negate());
+    Assert.assertTrue(a.or(a.negate()).isTautology());
+    Assert.assertTrue(a.and(a.negate()).isContradiction());
+    final BDD formula = factory.build(this.p.parse("(a | b) & (~a | c)"));
+    Assert.assertEquals(b.or(c), formula.exists(this.f.variable("a")));
+    Assert.assertEquals(b.and(c), formula.forall(Collections.singletonList(this.f.variable("a"))));
+    Assert.assertEquals(c, formula.restrict(this.f.variable("a")));
+    Assert.assertEquals(b, formula.restrict(this.f.literal("a", false)));
+    Assert.assertEquals(formula, formula.exists(this.f.variable("x")));
+    Assert.assertEquals(BigInteger.valueOf(4), formula.modelCount());
+    Assert.assertEquals(factory.build(this.p.parse("(a => c) & (~a => b)")), formula);
+  }
+
+  @Test
+  public void testPseudoBooleanConstraints() {
+    final BDDFactory factory = new BDDFactory(this.f);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      vars.add(this.f.variable("v" + i));
+    Assert.assertEquals(BigInteger.TEN, factory.build(this.f.exo(vars)).modelCount());
+    Assert.assertEquals(BigInteger.valueOf(11), factory.build(this.f.amo(vars)).modelCount());
+    Assert.assertEquals(BigInteger.valueOf(252), factory.build(this.f.cc(CType.EQ, 5, vars)).modelCount());
+    final Literal[] lits = {this.f.variable("v0"), this.f.literal("v1", false), this.f.variable("v2")};
+    final Formula pbc = this.f.pbc(CType.GE, 2, lits, new int[]{3, -2, 1});
+    final BDD bdd = factory.build(pbc);
+    for (final Formula term : bdd.dnf())
+      Assert.assertTrue(pbc.evaluate(new Assignment(term.literals())));
+    Assert.assertEquals(factory.build(pbc.cnf()).exists(this.auxiliaryVariables(pbc.cnf())), bdd);
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[8];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    final BDDFactory factory = new BDDFactory(this.f, 16, 16);
+    factory.addVariables(Arrays.asList(vars));
+    final ModelCounter counter = new ModelCounter(this.f);
+    for (int i = 0; i < 300; i++) {
+      final Formula formula = FormulaTestHelper.randomFormula(this.f, random, vars, 5);
+      final BDD bdd = factory.build(formula);
+      Assert.assertEquals(counter.count(Collections.singletonList(formula), Arrays.asList(vars)), bdd.modelCount());
+      Assert.assertEquals(bdd, factory.build(bdd.cnf()));
+      Assert.assertEquals(bdd, factory.build(bdd.dnf()));
+      Assert.assertEquals(bdd.negate(), factory.build(this.f.not(formula)));
+      final Assignment assignment = new Assignment(Arrays.<Literal>asList(vars[0], vars[1].negate(), vars[2]));
+      Assert.assertEquals(factory.build(formula.restrict(assignment)), bdd.restrict(assignment.literals()));
+      final BDD exists = bdd.exists(vars[0], vars[3]);
+      Assert.assertEquals(exists, factory.build(formula.restrict(new Assignment(vars[0]))).or(
+              factory.build(formula.restrict(new Assignment(vars[0].negate())))).exists(vars[3]));
+      if (i % 50 == 0) {
+        factory.reorder();
+        Assert.assertEquals(bdd, factory.build(formula));
+        Assert.assertEquals(exists, bdd.exists(vars[0], vars[3]));
+      }
+    }
+  }
+
+  @Test
+  public void testReordering() {
+    final int n = 8;
+    final List<Variable> order = new ArrayList<>();
+    final List<Formula> equivalences = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      order.add(this.f.variable("a" + i));
+      equivalences.add(this.f.equivalence(this.f.variable("a" + i), this.f.variable("b" + i)));
+    }
+    for (int i = 0; i < n; i++)
+      order.add(this.f.variable("b" + i));
+    final BDDFactory factory = new BDDFactory(this.f, 16, 64);
+    factory.addVariables(order);
+    final Formula formula = this.f.and(equivalences);
+    final BDD bdd = factory.build(formula);
+    final int before = bdd.nodeCount();
+    Assert.assertEquals(BigInteger.ONE.shiftLeft(n), bdd.modelCount());
+    factory.reorder();
+    Assert.assertTrue(bdd.nodeCount() < before);
+    Assert.assertEquals(3 * n, bdd.nodeCount());
+    Assert.assertEquals(BigInteger.ONE.shiftLeft(n), bdd.modelCount());
+    Assert.assertEquals(bdd, factory.build(formula));
+    Assert.assertEquals(2 * n, factory.variableOrder().size());
+    for (final Formula term : bdd.dnf())
+      Assert.assertTrue(formula.evaluate(new Assignment(term.literals())));
+  }
+
+  @Test
+  public void testFree() {
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[8];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    final BDDFactory factory = new BDDFactory(this.f, 16, 16);
+    final List<BDD> bdds = new ArrayList<>();
+    final List<Formula> formulas = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      final Formula formula = FormulaTestHelper.randomFormula(this.f, random, vars, 5);
+      final BDD bdd = factory.build(formula);
+      formulas.add(formula);
+      bdds.add(bdd);
+      if (i % 2 == 0) {
+        final BDD cc = factory.build(this.f.cc(CType.LE, 3, vars));
+        bdd.and(cc).free();
+        cc.free();
+        bdd.free();
+      }
+    }
+    Assert.assertTrue(factory.nodeCount() > 0);
+    factory.reorder();
+    for (int i = 1; i < bdds.size(); i += 2) {
+      final BDD bdd = factory.build(formulas.get(i));
+      Assert.assertEquals(bdds.get(i), bdd);
+      bdd.free();
+      bdds.get(i).free();
+    }
+    Assert.assertEquals(0, factory.nodeCount());
+  }
+
+  @Test
+  public void testLargeCount() {
+    final BDDFactory factory = new BDDFactory(this.f);
+    final List<Formula> clauses = new ArrayList<>();
+    for (int i = 0; i < 100; i++)
+      clauses.add(this.f.or(this.f.variable("a" + i), this.f.variable("b" + i)));
+    Assert.assertEquals(BigInteger.valueOf(3).pow(100), factory.build(this.f.and(clauses)).modelCount());
+  }
+
+  @Test
+  public void testToString() throws ParserException {
+    final BDDFactory factory = new BDDFactory(this.f);
+    final BDD bdd = factory.build(this.p.parse("a & b"));
+    Assert.assertEquals("BDD{index=4, nodes=2}", bdd.toString());
+    Assert.assertEquals("BDDFactory{variables=2, nodes=2}", factory.toString());
+  }
+
+  private List<Variable> auxiliaryVariables(final Formula formula) {
+    final List<Variable> aux = new ArrayList<>();
+    for (final Variable var : formula.variables())
+      if (!var.name().startsWith("v"))
+        aux.add(var);
+    return aux;
+  }
+}
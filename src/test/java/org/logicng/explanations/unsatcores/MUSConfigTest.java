@@ -44,7 +44,7 @@ public class MUSConfigTest {
   @Test
   public void testMUSConfiguration() {
     final MUSConfig config = new MUSConfig.Builder().algorithm(MUSConfig.Algorithm.valueOf("DELETION")).build();
-    Assert.assertEquals("MUSConfig{\nalgorithm=DELETION\n}\n", config.toString());
+    Assert.assertEquals("MUSConfig{\nalgorithm=DELETION\nnumberOfThreads=1\n}\n", config.toString());
     Assert.assertTrue(Arrays.asList(CNFConfig.Algorithm.values()).contains(CNFConfig.Algorithm.valueOf("TSEITIN")));
   }
 }
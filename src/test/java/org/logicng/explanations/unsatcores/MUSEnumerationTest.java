@@ -0,0 +1,210 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.explanations.unsatcores;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTestHelper;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.MUSEnumerationHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.propositions.Proposition;
+import org.logicng.propositions.StandardProposition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for the MUS and MCS enumeration of {@link MUSGeneration}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class MUSEnumerationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  @Test
+  public void testSimple() throws ParserException {
+    final List<Proposition> props = this.propositions("a", "~a", "b", "~b", "a | b");
+    final List<UNSATCore> muses = new MUSGeneration().enumerateMUSes(props, this.f);
+    final Set<Set<Proposition>> expected = new HashSet<>();
+    expected.add(set(props.get(0), props.get(1)));
+    expected.add(set(props.get(2), props.get(3)));
+    expected.add(set(props.get(1), props.get(3), props.get(4)));
+    Assert.assertEquals(3, muses.size());
+    final Set<Set<Proposition>> actual = new HashSet<>();
+    for (final UNSATCore mus : muses) {
+      Assert.assertTrue(mus.isMUS());
+      actual.add(new HashSet<>(mus.propositions()));
+    }
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testSatisfiable() throws ParserException {
+    final Collector collector = new Collector();
+    new MUSGeneration().enumerate(this.propositions("a", "a | b", "~b"), this.f, new MUSConfig.Builder().build(),
+            collector);
+    Assert.assertTrue(collector.muses.isEmpty());
+    Assert.assertTrue(collector.mcses.isEmpty());
+  }
+
+  @Test
+  public void testStop() throws ParserException {
+    final List<Proposition> props = this.propositions("a", "~a", "b", "~b", "c", "~c");
+    final int[] calls = new int[1];
+    new MUSGeneration().enumerate(props, this.f, new MUSConfig.Builder().build(), new MUSEnumerationHandler() {
+      @Override
+      public boolean foundMUS(final UNSATCore mus) {
+        return ++calls[0] < 2;
+      }
+
+      @Override
+      public boolean foundMCS(final List<Proposition> mcs) {
+        return ++calls[0] < 2;
+      }
+    });
+    Assert.assertEquals(2, calls[0]);
+  }
+
+  @Test
+  public void testRandomInstances() {
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[4];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    for (int i = 0; i < 30; i++) {
+      final List<Proposition> props = this.randomClauses(random, 12, vars);
+      final Set<Set<Proposition>> expectedMUSes = new HashSet<>();
+      final Set<Set<Proposition>> expectedMCSes = new HashSet<>();
+      this.bruteForce(props, vars, expectedMUSes, expectedMCSes);
+      for (final int threads : new int[]{1, 4}) {
+        final Collector collector = new Collector();
+        new MUSGeneration().enumerate(props, this.f, new MUSConfig.Builder().numberOfThreads(threads).build(), collector);
+        Assert.assertEquals(expectedMUSes, collector.muses);
+        Assert.assertEquals(expectedMCSes, collector.mcses);
+        Assert.assertEquals(expectedMUSes.size(), collector.numberOfMUSes);
+      }
+    }
+  }
+
+  private void bruteForce(final List<Proposition> props, final Variable[] vars, final Set<Set<Proposition>> muses,
+                          final Set<Set<Proposition>> mcses) {
+    final int n = props.size();
+    final boolean[] sat = new boolean[1 << n];
+    for (final Assignment assignment : FormulaTestHelper.assignments(vars)) {
+      int satisfied = 0;
+      for (int j = 0; j < n; j++)
+        if (props.get(j).formulas().formula(this.f).evaluate(assignment))
+          satisfied |= 1 << j;
+      sat[satisfied] = true;
+    }
+    for (int bits = (1 << n) - 1; bits > 0; bits--)
+      if (sat[bits])
+        for (int j = 0; j < n; j++)
+          sat[bits & ~(1 << j)] = true;
+    for (int bits = 0; bits < 1 << n; bits++) {
+      boolean minimalUnsat = !sat[bits];
+      boolean maximalSat = sat[bits];
+      for (int j = 0; j < n; j++) {
+        if ((bits & (1 << j)) != 0 && !sat[bits & ~(1 << j)])
+          minimalUnsat = false;
+        if ((bits & (1 << j)) == 0 && sat[bits | (1 << j)])
+          maximalSat = false;
+      }
+      if (minimalUnsat)
+        muses.add(subset(props, bits));
+      if (maximalSat && bits != (1 << n) - 1)
+        mcses.add(subset(props, ~bits & ((1 << n) - 1)));
+    }
+  }
+
+  private List<Proposition> randomClauses(final Random random, final int numClauses, final Variable[] vars) {
+    final List<Proposition> props = new ArrayList<>();
+    for (int i = 0; i < numClauses; i++) {
+      final List<Literal> lits = new ArrayList<>();
+      final int size = 1 + random.nextInt(3);
+      for (int j = 0; j < size; j++)
+        lits.add(this.f.literal(vars[random.nextInt(vars.length)].name(), random.nextBoolean()));
+      final Formula clause = this.f.or(lits);
+      props.add(new StandardProposition("p" + i, clause));
+    }
+    return props;
+  }
+
+  private List<Proposition> propositions(final String... formulas) throws ParserException {
+    final PropositionalParser parser = new PropositionalParser(this.f);
+    final List<Proposition> props = new ArrayList<>();
+    for (final String formula : formulas)
+      props.add(new StandardProposition(parser.parse(formula)));
+    return props;
+  }
+
+  private static Set<Proposition> subset(final List<Proposition> props, final int bits) {
+    final Set<Proposition> result = new HashSet<>();
+    for (int j = 0; j < props.size(); j++)
+      if ((bits & (1 << j)) != 0)
+        result.add(props.get(j));
+    return result;
+  }
+
+  private static Set<Proposition> set(final Proposition... props) {
+    final Set<Proposition> result = new HashSet<>();
+    for (final Proposition p : props)
+      result.add(p);
+    return result;
+  }
+
+  private static final class Collector implements MUSEnumerationHandler {
+    private final Set<Set<Proposition>> muses = new HashSet<>();
+    private final Set<Set<Proposition>> mcses = new HashSet<>();
+    private int numberOfMUSes;
+
+    @Override
+    public boolean foundMUS(final UNSATCore mus) {
+      this.muses.add(new HashSet<>(mus.propositions()));
+      this.numberOfMUSes++;
+      return true;
+    }
+
+    @Override
+    public boolean foundMCS(final List<Proposition> mcs) {
+      this.mcses.add(new HashSet<>(mcs));
+      return true;
+    }
+  }
+}
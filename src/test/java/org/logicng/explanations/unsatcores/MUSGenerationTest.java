@@ -43,6 +43,7 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -116,6 +117,24 @@ public class MUSGenerationTest {
     testMUS(file2, mus7);
   }
 
+  @Test
+  public void testAssumptionBasedMUS() throws IOException {
+    final MUSGeneration mus = new MUSGeneration();
+    final MUSConfig config = new MUSConfig.Builder().algorithm(MUSConfig.Algorithm.ASSUMPTION_BASED).build();
+    final List<List<Proposition>> instances = Arrays.asList(pg3, pg4, pg5, pg6, pg7, file1, file2, file3, file4);
+    for (final List<Proposition> instance : instances) {
+      final UNSATCore core = mus.computeMUS(instance, this.f, config);
+      testMUS(instance, core);
+      testMinimal(core);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAssumptionBasedMUSSatisfiable() {
+    final MUSConfig config = new MUSConfig.Builder().algorithm(MUSConfig.Algorithm.ASSUMPTION_BASED).build();
+    new MUSGeneration().computeMUS(Arrays.<Proposition>asList(new StandardProposition(f.variable("a"))), this.f, config);
+  }
+
   @Test
   public void testToString() {
     final MUSGeneration mus = new MUSGeneration();
@@ -159,4 +178,14 @@ public class MUSGenerationTest {
     }
     Assert.assertEquals(Tristate.FALSE, miniSat.sat());
   }
+
+  private void testMinimal(final UNSATCore mus) {
+    for (final Proposition removed : mus.propositions()) {
+      final MiniSat miniSat = MiniSat.miniSat(this.f);
+      for (final Proposition p : mus.propositions())
+        if (p != removed)
+          miniSat.add(p);
+      Assert.assertEquals(Tristate.TRUE, miniSat.sat());
+    }
+  }
 }
@@ -30,9 +30,17 @@ package org.logicng.formulas;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.cache.CachePolicy;
+import org.logicng.formulas.cache.FormulaCacheConfig;
 import org.logicng.formulas.cache.FunctionCacheEntry;
 import org.logicng.formulas.cache.PredicateCacheEntry;
 import org.logicng.formulas.cache.TransformationCacheEntry;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.predicates.CNFPredicate;
+import org.logicng.transformations.cnf.PlaistedGreenbaumTransformation;
+import org.logicng.transformations.cnf.TseitinTransformation;
 
 import java.util.Arrays;
 import java.util.List;
@@ -79,4 +87,75 @@ public class CacheTest {
     Assert.assertTrue(valuesFunc.contains(FunctionCacheEntry.valueOf("SUBFORMULAS")));
   }
 
+  @Test
+  public void testDefaultPolicy() {
+    final FormulaFactory f = new FormulaFactory();
+    Assert.assertEquals(CachePolicy.PER_FORMULA, f.formulaCache().policy());
+    final Formula and = f.and(f.variable("a"), f.variable("b"));
+    and.nnf();
+    Assert.assertEquals(and, and.transformationCacheEntry(TransformationCacheEntry.NNF));
+    Assert.assertEquals(0, f.formulaCache().size());
+  }
+
+  @Test
+  public void testNoCache() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder().policy(CachePolicy.NONE).build());
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula formula = p.parse("(a => b) & (c <=> ~d)");
+    formula.nnf();
+    Assert.assertNull(formula.transformationCacheEntry(TransformationCacheEntry.NNF));
+    formula.setPredicateCacheEntry(PredicateCacheEntry.IS_TAUTOLOGY, false);
+    Assert.assertEquals(Tristate.UNDEF, formula.predicateCacheEntry(PredicateCacheEntry.IS_TAUTOLOGY));
+    Assert.assertEquals(Tristate.FALSE, formula.predicateCacheEntry(PredicateCacheEntry.IS_CNF));
+    final Formula tseitin = formula.transform(new TseitinTransformation(0));
+    Assert.assertNotNull(formula.transformationCacheEntry(TransformationCacheEntry.TSEITIN_VARIABLE));
+    Assert.assertEquals(tseitin, formula.transform(new TseitinTransformation(0)));
+    final Formula pg = formula.transform(new PlaistedGreenbaumTransformation(0));
+    Assert.assertTrue(pg.holds(new CNFPredicate()));
+    Assert.assertEquals(0, f.formulaCache().statistics().misses());
+  }
+
+  @Test
+  public void testLRUCache() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder().policy(CachePolicy.FACTORY_LRU).maxEntries(2).build());
+    Assert.assertEquals(CachePolicy.FACTORY_LRU, f.formulaCache().policy());
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    final Variable c = f.variable("c");
+    a.setFunctionCacheEntry(FunctionCacheEntry.VARPROFILE, 1);
+    b.setFunctionCacheEntry(FunctionCacheEntry.VARPROFILE, 2);
+    Assert.assertEquals(1, a.functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    c.setFunctionCacheEntry(FunctionCacheEntry.VARPROFILE, 3);
+    Assert.assertEquals(2, f.formulaCache().size());
+    Assert.assertEquals(1, f.formulaCache().statistics().evictions());
+    Assert.assertNull(b.functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    Assert.assertEquals(1, a.functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    Assert.assertEquals(3, c.functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    Assert.assertEquals(3, f.formulaCache().statistics().hits());
+    Assert.assertEquals(1, f.formulaCache().statistics().misses());
+    final Formula formula = new PropositionalParser(f).parse("(a => b) & (c <=> ~d) | e");
+    final Formula tseitin = formula.transform(new TseitinTransformation(0));
+    Assert.assertTrue(tseitin.holds(new CNFPredicate()));
+    Assert.assertEquals(tseitin, formula.transform(new TseitinTransformation(0)));
+    f.clear();
+    Assert.assertEquals(0, f.formulaCache().size());
+  }
+
+  @Test
+  public void testLRUCacheWeakReferences() {
+    final FormulaFactory f = new FormulaFactory();
+    f.putConfiguration(new FormulaCacheConfig.Builder().policy(CachePolicy.FACTORY_LRU).weakReferences(true).build());
+    final Formula and = f.and(f.variable("a"), f.literal("b", false));
+    and.setFunctionCacheEntry(FunctionCacheEntry.LITPROFILE, "profile");
+    Assert.assertEquals("profile", and.functionCacheEntry(FunctionCacheEntry.LITPROFILE));
+    Assert.assertEquals(and, and.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF));
+    Assert.assertEquals(2, f.formulaCache().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalMaxEntries() {
+    new FormulaCacheConfig.Builder().maxEntries(0);
+  }
 }
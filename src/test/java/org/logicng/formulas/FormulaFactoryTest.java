@@ -32,12 +32,18 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.printer.DefaultStringRepresentation;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
 import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.MiniSatConfig;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Test some basic formula factory functionality.
@@ -145,4 +151,56 @@ public class FormulaFactoryTest {
     Assert.assertEquals(cnf, cnf.cnf());
     Assert.assertNotEquals(nCnf, nCnf.cnf());
   }
+
+  @Test
+  public void testConcurrentFactory() throws Exception {
+    final FormulaFactory f = new FormulaFactory("concurrent", new DefaultStringRepresentation(), true);
+    Assert.assertTrue(f.isConcurrent());
+    Assert.assertFalse(new FormulaFactory().isConcurrent());
+    final int numThreads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    final List<Future<List<Formula>>> futures = new ArrayList<>();
+    for (int t = 0; t < numThreads; t++)
+      futures.add(executor.submit(new Callable<List<Formula>>() {
+        @Override
+        public List<Formula> call() throws Exception {
+          final List<Formula> result = new ArrayList<>();
+          for (int i = 0; i < 500; i++) {
+            final Variable a = f.variable("a" + i);
+            final Literal b = f.literal("b" + i, false);
+            final Formula or = f.or(a, b, f.variable("c"));
+            result.add(f.and(or, f.not(f.equivalence(a, b)), f.implication(b, a)));
+            f.newCNFVariable();
+          }
+          return result;
+        }
+      }));
+    executor.shutdown();
+    final List<Formula> first = futures.get(0).get();
+    for (final Future<List<Formula>> future : futures) {
+      final List<Formula> formulas = future.get();
+      for (int i = 0; i < first.size(); i++)
+        Assert.assertSame(first.get(i), formulas.get(i));
+    }
+    Assert.assertEquals("@RESERVED_CNF_concurrent_" + numThreads * 500, f.newCNFVariable().name());
+  }
+
+  @Test
+  public void testFormulaIdsAndOperandKeys() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    final Literal nc = f.literal("c", false);
+    Assert.assertNotEquals(a.id(), b.id());
+    Assert.assertNotEquals(nc.id(), nc.variable().id());
+    final Formula and = f.and(a, b, nc);
+    Assert.assertSame(and, f.and(nc, a, b));
+    Assert.assertSame(and, f.and(Arrays.asList(b, nc, a, b)));
+    Assert.assertSame(and, f.and(f.and(a, b), nc));
+    Assert.assertSame(f.or(a, nc), f.clause(nc, a));
+    Assert.assertSame(f.equivalence(a, b), f.equivalence(b, a));
+    final FormulaFactory g = new FormulaFactory();
+    Assert.assertSame(and, f.and(g.variable("b"), a, g.literal("c", false)));
+    Assert.assertSame(f.or(a, f.not(f.equivalence(a, b))), f.or(g.variable("a"), g.not(g.equivalence(g.variable("a"), g.variable("b")))));
+  }
 }
@@ -85,6 +85,22 @@ public class FormulaTest {
     Assert.assertEquals("key2", formula.functionCacheEntry(MyOwnCacheKey.MYKEY2));
   }
 
+  @Test
+  public void testSeparateCacheKinds() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = f.variable("a");
+    Assert.assertNull(formula.functionCacheEntry(MyOwnCacheKey.MYKEY1));
+    formula.setFunctionCacheEntry(MyOwnCacheKey.MYKEY1, "key1");
+    formula.setTransformationCacheEntry(MyOwnCacheKey.MYKEY1, f.verum());
+    formula.setPredicateCacheEntry(MyOwnCacheKey.MYKEY1, true);
+    formula.setFunctionCacheEntry(FACTORIZED_CNF, "cnf");
+    Assert.assertEquals("key1", formula.functionCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertEquals(f.verum(), formula.transformationCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertEquals(Tristate.TRUE, formula.predicateCacheEntry(MyOwnCacheKey.MYKEY1));
+    Assert.assertEquals("cnf", formula.functionCacheEntry(FACTORIZED_CNF));
+    Assert.assertNull(formula.transformationCacheEntry(FACTORIZED_CNF));
+  }
+
   @Test
   public void testFType() {
     Assert.assertEquals(FType.AND, FType.valueOf("AND"));
@@ -0,0 +1,129 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.datastructures.Assignment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Random formulas and truth tables for testing.
+ * @version 1.1
+ * @since 1.1
+ */
+public final class FormulaTestHelper {
+
+  /**
+   * Private constructor.
+   */
+  private FormulaTestHelper() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Returns a random formula over the given variables.  The formula consists of literals, negations, implications,
+   * equivalences and conjunctions and disjunctions with two or three operands.
+   * @param f      the formula factory
+   * @param random the random generator
+   * @param vars   the variables
+   * @param depth  the maximal depth of the formula
+   * @return the random formula
+   */
+  public static Formula randomFormula(final FormulaFactory f, final Random random, final Variable[] vars, int depth) {
+    if (depth == 0 || random.nextInt(5) == 0) {
+      final Variable var = vars[random.nextInt(vars.length)];
+      return random.nextBoolean() ? var : var.negate();
+    }
+    switch (random.nextInt(5)) {
+      case 0:
+        return f.not(randomFormula(f, random, vars, depth - 1));
+      case 1:
+        return f.implication(randomFormula(f, random, vars, depth - 1), randomFormula(f, random, vars, depth - 1));
+      case 2:
+        return f.equivalence(randomFormula(f, random, vars, depth - 1), randomFormula(f, random, vars, depth - 1));
+      case 3:
+        final List<Formula> ands = new ArrayList<>();
+        for (int i = 0; i < 2 + random.nextInt(2); i++)
+          ands.add(randomFormula(f, random, vars, depth - 1));
+        return f.and(ands);
+      default:
+        final List<Formula> ors = new ArrayList<>();
+        for (int i = 0; i < 2 + random.nextInt(2); i++)
+          ors.add(randomFormula(f, random, vars, depth - 1));
+        return f.or(ors);
+    }
+  }
+
+  /**
+   * Returns all assignments of the given variables, i.e. the rows of their truth table.
+   * @param vars the variables
+   * @return all assignments of the variables
+   */
+  public static List<Assignment> assignments(final Variable[] vars) {
+    final List<Assignment> assignments = new ArrayList<>(1 << vars.length);
+    for (int bits = 0; bits < 1 << vars.length; bits++) {
+      final List<Literal> lits = new ArrayList<>(vars.length);
+      for (int j = 0; j < vars.length; j++)
+        lits.add((bits & (1 << j)) != 0 ? vars[j] : vars[j].negate());
+      assignments.add(new Assignment(lits));
+    }
+    return assignments;
+  }
+
+  /**
+   * Returns the models of a set of formulas projected to the given variables.  The models are computed by the truth
+   * table of all variables of the formulas.
+   * @param formulas   the formulas
+   * @param vars       the variables of the formulas
+   * @param projection the variables to project the models to
+   * @return the projected models
+   */
+  public static Set<Assignment> models(final Collection<? extends Formula> formulas, final Variable[] vars,
+                                       final Collection<Variable> projection) {
+    final Set<Assignment> models = new HashSet<>();
+    for (final Assignment assignment : assignments(vars)) {
+      boolean satisfied = true;
+      for (final Formula formula : formulas)
+        satisfied &= formula.evaluate(assignment);
+      if (!satisfied)
+        continue;
+      final List<Literal> projected = new ArrayList<>(projection.size());
+      for (final Literal lit : assignment.literals())
+        if (projection.contains(lit.variable()))
+          projected.add(lit);
+      models.add(new Assignment(projected));
+    }
+    return models;
+  }
+}
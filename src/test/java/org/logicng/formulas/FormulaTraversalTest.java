@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+import org.logicng.predicates.CNFPredicate;
+import org.logicng.transformations.cnf.TseitinTransformation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Unit tests for {@link FormulaTraversal}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class FormulaTraversalTest {
+
+  private static final int DEPTH = 100000;
+  private static final int TSEITIN_DEPTH = 2000;
+
+  @Test
+  public void testPostOrder() {
+    final List<Formula> visited = new ArrayList<>();
+    final Formula formula = F.f.or(F.AND1, F.f.and(F.AND1, F.X), F.NA);
+    new FormulaTraversal<Formula>() {
+      @Override
+      protected Formula combine(final Formula node, final List<Formula> children) {
+        visited.add(node);
+        return node;
+      }
+    }.apply(formula);
+    Assert.assertEquals(Arrays.asList(F.A, F.B, F.AND1, F.X, F.f.and(F.AND1, F.X), F.NA, formula), visited);
+  }
+
+  @Test
+  public void testSharedNodesAreVisitedOnce() {
+    Formula formula = F.A;
+    for (int i = 0; i < 64; i++)
+      formula = F.f.or(F.f.and(formula, F.f.variable("x" + i)), F.f.and(formula, F.f.variable("y" + i)));
+    final long[] visits = new long[1];
+    final Formula root = new FormulaTraversal<Formula>() {
+      @Override
+      protected Formula combine(final Formula node, final List<Formula> children) {
+        visits[0]++;
+        return node;
+      }
+    }.apply(formula);
+    Assert.assertSame(formula, root);
+    Assert.assertEquals(F.f.subformulaFunction().apply(formula, false).size(), visits[0]);
+    Assert.assertEquals(1 + 64 * 5, visits[0]);
+  }
+
+  @Test
+  public void testLookup() {
+    final Formula formula = F.f.and(F.OR1, F.f.implication(F.OR1, F.A));
+    final List<Formula> visited = new ArrayList<>();
+    final int size = new FormulaTraversal<Integer>() {
+      @Override
+      protected Integer lookup(final Formula node) {
+        return node == F.OR1 ? 100 : null;
+      }
+
+      @Override
+      protected Integer combine(final Formula node, final List<Integer> children) {
+        visited.add(node);
+        int sum = 1;
+        for (final int child : children)
+          sum += child;
+        return sum;
+      }
+    }.apply(formula);
+    Assert.assertFalse(visited.contains(F.X));
+    Assert.assertFalse(visited.contains(F.OR1));
+    Assert.assertEquals(1 + 100 + (1 + 100 + 1), size);
+    Assert.assertEquals(Arrays.asList(F.A, F.f.implication(F.OR1, F.A), formula), visited);
+  }
+
+  @Test
+  public void testDeepNNF() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = deepFormula(f, DEPTH);
+    final Formula nnf = formula.nnf();
+    Assert.assertTrue(isNNF(nnf));
+    Assert.assertSame(nnf, formula.nnf());
+    Assert.assertEquals(formula.variables(), nnf.variables());
+    final Formula negNNF = f.not(formula).nnf();
+    Assert.assertTrue(isNNF(negNNF));
+    Assert.assertEquals(formula.literals().size(), negNNF.literals().size());
+  }
+
+  @Test
+  public void testDeepRestrictAndSubstitute() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = deepFormula(f, DEPTH);
+    Assert.assertEquals(f.verum(), formula.restrict(new Assignment(f.literal("a0", false))));
+    Assert.assertEquals(f.literal("a0", false), formula.restrict(new Assignment(f.literal("b0", false))));
+    Assert.assertEquals(f.implication(f.variable("a0"), f.variable("b0")),
+            formula.restrict(new Assignment(f.literal("a1", false))));
+    final Formula restricted = formula.restrict(new Assignment(Arrays.asList(f.variable("a0"), f.variable("b0"))));
+    Assert.assertEquals(formula.numberOfAtoms() - 2, restricted.numberOfAtoms());
+    final Substitution substitution = new Substitution();
+    substitution.addMapping(f.variable("a0"), f.variable("d"));
+    substitution.addMapping(f.variable("c"), f.literal("d", false));
+    final Formula substituted = formula.substitute(substitution);
+    Assert.assertEquals(formula.numberOfAtoms(), substituted.numberOfAtoms());
+    Assert.assertFalse(substituted.variables().contains(f.variable("a0")));
+    Assert.assertTrue(substituted.literals().contains(f.literal("d", false)));
+  }
+
+  @Test
+  public void testDeepCounts() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = deepFormula(f, DEPTH);
+    Assert.assertEquals(2 * DEPTH + 1, formula.numberOfAtoms());
+    Assert.assertEquals(4 * DEPTH + 1, formula.numberOfNodes());
+    final LinkedHashSet<Formula> subformulas = f.subformulaFunction().apply(formula, true);
+    Assert.assertEquals(4 * DEPTH + 1, subformulas.size());
+    Assert.assertSame(formula, new ArrayList<>(subformulas).get(subformulas.size() - 1));
+  }
+
+  @Test
+  public void testDeepTseitin() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = deepFormula(f, TSEITIN_DEPTH);
+    final Formula tseitin = formula.transform(new TseitinTransformation(0));
+    Assert.assertTrue(tseitin.holds(new CNFPredicate()));
+    Assert.assertTrue(tseitin.variables().containsAll(formula.variables()));
+  }
+
+  /**
+   * Generates the formula {@code a0 => (b0 & (a1 => (b1 & ... (an => (bn & c)))))}.
+   * @param f     the formula factory
+   * @param depth the number of implications
+   * @return the formula
+   */
+  private static Formula deepFormula(final FormulaFactory f, int depth) {
+    Formula formula = f.variable("c");
+    for (int i = depth - 1; i >= 0; i--)
+      formula = f.implication(f.variable("a" + i), f.and(f.variable("b" + i), formula));
+    return formula;
+  }
+
+  private static boolean isNNF(final Formula formula) {
+    for (final Formula subformula : formula.factory().subformulaFunction().apply(formula, false))
+      if (subformula.type() == FType.NOT || subformula.type() == FType.IMPL || subformula.type() == FType.EQUIV)
+        return false;
+    return true;
+  }
+}
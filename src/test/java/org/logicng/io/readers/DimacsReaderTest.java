@@ -0,0 +1,183 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.readers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.sat.MiniSat2Solver;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link DimacsReader}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class DimacsReaderTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  @Test
+  public void testFormat() throws IOException {
+    final File file = this.writeFile("c a comment\r\nc another comment\np cnf 4 3\n1 -2\t0\n  2 3\n-4 0\nc comment in between\n-1 0\n%\n0\n");
+    final List<List<Integer>> clauses = new ArrayList<>();
+    final long[] header = new long[3];
+    DimacsReader.read(file, new DimacsReader.ClauseConsumer() {
+      @Override
+      public void header(boolean weighted, int variables, int numberOfClauses, long top) {
+        Assert.assertFalse(weighted);
+        header[0] = variables;
+        header[1] = numberOfClauses;
+        header[2] = top;
+      }
+
+      @Override
+      public void clause(long weight, final LNGIntVector literals) {
+        Assert.assertEquals(-1, weight);
+        final List<Integer> clause = new ArrayList<>();
+        for (int i = 0; i < literals.size(); i++)
+          clause.add(literals.get(i));
+        clauses.add(clause);
+      }
+    });
+    Assert.assertArrayEquals(new long[]{4, 3, -1}, header);
+    Assert.assertEquals(Arrays.asList(Arrays.asList(1, -2), Arrays.asList(2, 3, -4), Arrays.asList(-1)), clauses);
+  }
+
+  @Test
+  public void testMissingLastZero() throws IOException {
+    final File file = this.writeFile("p cnf 2 2\n1 2 0\n-1 -2");
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    DimacsReader.readCNF(file, solver);
+    Assert.assertEquals(2, solver.nVars());
+    Assert.assertEquals(Tristate.TRUE, solver.solve(null));
+    Assert.assertNotEquals(solver.model().get(solver.idxForName("v1")), solver.model().get(solver.idxForName("v2")));
+  }
+
+  @Test
+  public void testMiniSatWrapper() throws IOException {
+    final File file = this.writeFile("p cnf 3 3\n1 2 0\n-1 0\n-2 3 0\n");
+    final MiniSat miniSat = MiniSat.miniSat(f);
+    DimacsReader.readCNF(file, miniSat.underlyingSolver(), "x");
+    Assert.assertEquals(Tristate.TRUE, miniSat.sat());
+    final Assignment model = miniSat.model(Arrays.asList(f.variable("x1"), f.variable("x2"), f.variable("x3")));
+    Assert.assertTrue(model.negativeLiterals().contains(f.literal("x1", false)));
+    Assert.assertTrue(model.positiveLiterals().contains(f.variable("x2")));
+    Assert.assertTrue(model.positiveLiterals().contains(f.variable("x3")));
+  }
+
+  @Test
+  public void testSatBenchmarks() throws IOException {
+    final Map<String, Boolean> expectedResults = new HashMap<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader("tests/sat/results.txt"))) {
+      while (reader.ready()) {
+        final String[] tokens = reader.readLine().split(";");
+        expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+      }
+    }
+    for (final File file : new File("tests/sat").listFiles()) {
+      if (file.getName().endsWith(".cnf")) {
+        final MiniSat2Solver solver = new MiniSat2Solver();
+        DimacsReader.readCNF(file, solver);
+        Assert.assertEquals(expectedResults.get(file.getName()), solver.solve(null) == Tristate.TRUE);
+      }
+    }
+  }
+
+  @Test
+  public void testWeightedMaxSAT() throws IOException {
+    final String[] files = new String[]{"8.wcsp.log.wcnf", "54.wcsp.log.wcnf"};
+    final int[] results = new int[]{2, 37};
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATSolver solver = MaxSATSolver.wbo();
+      DimacsReader.readWCNF(new File("tests/partialweightedmaxsat/" + files[i]), solver, f);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(results[i], solver.result());
+    }
+  }
+
+  @Test
+  public void testPureMaxSAT() throws IOException {
+    final File file = this.writeFile("p cnf 2 4\n1 0\n-1 0\n2 0\n-1 -2 0\n");
+    final MaxSATSolver solver = MaxSATSolver.msu3();
+    DimacsReader.readWCNF(file, solver, f);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(1, solver.result());
+  }
+
+  @Test
+  public void testWCNFWithoutTop() throws IOException {
+    final File file = this.writeFile("p wcnf 2 3\n3 1 0\n2 -1 0\n1 -1 2 0\n");
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    DimacsReader.readWCNF(file, solver, f, "y");
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(2, solver.result());
+    Assert.assertTrue(solver.model().positiveLiterals().contains(f.variable("y1")));
+  }
+
+  @Test(expected = IOException.class)
+  public void testIllegalCharacter() throws IOException {
+    DimacsReader.readCNF(this.writeFile("p cnf 2 1\n1 x 0\n"), new MiniSat2Solver());
+  }
+
+  @Test(expected = IOException.class)
+  public void testIllegalHeader() throws IOException {
+    DimacsReader.readCNF(this.writeFile("p dnf 2 1\n1 2 0\n"), new MiniSat2Solver());
+  }
+
+  @Test(expected = IOException.class)
+  public void testIllegalWeight() throws IOException {
+    DimacsReader.readWCNF(this.writeFile("p wcnf 2 1 10\n0 1 2 0\n"), MaxSATSolver.wbo(), f);
+  }
+
+  private File writeFile(final String content) throws IOException {
+    final File file = File.createTempFile("dimacs", ".cnf");
+    file.deleteOnExit();
+    try (final PrintWriter writer = new PrintWriter(file)) {
+      writer.print(content);
+    }
+    return file;
+  }
+}
@@ -0,0 +1,164 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.io.writers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.PigeonHoleGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for the {@link DimacsWriter}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class DimacsWriterTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(f);
+  private final PigeonHoleGenerator pg = new PigeonHoleGenerator(f);
+
+  @Test
+  public void testFormulas() throws IOException, ParserException {
+    final File file = this.tempFile();
+    DimacsWriter.writeCNF(file, p.parse("(a | ~b) & (b | c) & ~c"));
+    Assert.assertEquals("p cnf 3 3\n1 -2 0\n2 3 0\n-3 0\n", this.content(file));
+    DimacsWriter.writeCNF(file, p.parse("x | ~y"), true);
+    Assert.assertEquals("c 1 x\nc 2 y\np cnf 2 1\n1 -2 0\n", this.content(file));
+    DimacsWriter.writeCNF(file, p.parse("~x"));
+    Assert.assertEquals("p cnf 1 1\n-1 0\n", this.content(file));
+    DimacsWriter.writeCNF(file, f.verum());
+    Assert.assertEquals("p cnf 0 0\n", this.content(file));
+    DimacsWriter.writeCNF(file, f.falsum());
+    Assert.assertEquals("p cnf 0 1\n0\n", this.content(file));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoCNF() throws IOException, ParserException {
+    DimacsWriter.writeCNF(this.tempFile(), p.parse("(a & b) | c"));
+  }
+
+  @Test
+  public void testMiniSat() throws IOException, ParserException {
+    for (final MiniSat solver : new MiniSat[]{MiniSat.miniSat(f), MiniSat.glucose(f), MiniSat.miniCard(f)}) {
+      final File file = this.tempFile();
+      solver.add(p.parse("(a | b | c) & ~a & (~b | d) & (c | d | e)"));
+      DimacsWriter.writeCNF(file, solver);
+      final MiniSat2Solver copy = new MiniSat2Solver();
+      DimacsReader.readCNF(file, copy);
+      Assert.assertEquals(solver.underlyingSolver().nVars(), copy.nVars());
+      Assert.assertEquals(Tristate.TRUE, copy.solve(null));
+      Assert.assertFalse(copy.model().get(copy.idxForName("v" + (solver.underlyingSolver().idxForName("a") + 1))));
+      solver.add(pg.generate(4));
+      DimacsWriter.writeCNF(file, solver);
+      final MiniSat2Solver unsatCopy = new MiniSat2Solver();
+      DimacsReader.readCNF(file, unsatCopy);
+      Assert.assertEquals(Tristate.FALSE, unsatCopy.solve(null));
+      solver.add(f.falsum());
+      DimacsWriter.writeCNF(file, solver);
+      Assert.assertTrue(this.content(file).endsWith(" 1\n0\n"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMiniCardAtMost() throws IOException {
+    final MiniSat solver = MiniSat.miniCard(f);
+    solver.add(f.cc(CType.LE, 1, f.variable("a"), f.variable("b"), f.variable("c")));
+    DimacsWriter.writeCNF(this.tempFile(), solver);
+  }
+
+  @Test
+  public void testCleaneLing() throws IOException, ParserException {
+    for (final CleaneLing solver : new CleaneLing[]{CleaneLing.minimalistic(f), CleaneLing.full(f)}) {
+      final File file = this.tempFile();
+      solver.add(p.parse("(a | b | c) & ~a & (~b | d) & (c | d | e) & (~c | ~e)"));
+      DimacsWriter.writeCNF(file, solver);
+      final MiniSat2Solver copy = new MiniSat2Solver();
+      DimacsReader.readCNF(file, copy);
+      Assert.assertEquals(Tristate.TRUE, copy.solve(null));
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+      DimacsWriter.writeCNF(file, solver);
+      final MiniSat2Solver solvedCopy = new MiniSat2Solver();
+      DimacsReader.readCNF(file, solvedCopy);
+      Assert.assertEquals(Tristate.TRUE, solvedCopy.solve(null));
+      solver.add(pg.generate(4));
+      DimacsWriter.writeCNF(file, solver);
+      final MiniSat2Solver unsatCopy = new MiniSat2Solver();
+      DimacsReader.readCNF(file, unsatCopy);
+      Assert.assertEquals(Tristate.FALSE, unsatCopy.solve(null));
+    }
+  }
+
+  @Test
+  public void testMaxSAT() throws IOException, ParserException {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    DimacsReader.readWCNF(new File("tests/partialweightedmaxsat/8.wcsp.log.wcnf"), solver, f);
+    final File file = this.tempFile();
+    DimacsWriter.writeWCNF(file, solver);
+    final MaxSATSolver copy = MaxSATSolver.wbo();
+    DimacsReader.readWCNF(file, copy, f);
+    Assert.assertEquals(solver.underlyingSolver().nHard(), copy.underlyingSolver().nHard());
+    Assert.assertEquals(solver.underlyingSolver().nSoft(), copy.underlyingSolver().nSoft());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, copy.solve());
+    Assert.assertEquals(2, copy.result());
+
+    final MaxSATSolver small = MaxSATSolver.wbo();
+    small.addHardFormula(p.parse("a | b"));
+    small.addSoftFormula(p.parse("~a"), 3);
+    small.addSoftFormula(p.parse("~b"), 2);
+    DimacsWriter.writeWCNF(file, small);
+    Assert.assertEquals("p wcnf 2 3 6\n6 1 2 0\n3 -1 0\n2 -2 0\n", this.content(file));
+  }
+
+  private File tempFile() throws IOException {
+    final File file = File.createTempFile("dimacs", ".cnf");
+    file.deleteOnExit();
+    return file;
+  }
+
+  private String content(final File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII);
+  }
+}
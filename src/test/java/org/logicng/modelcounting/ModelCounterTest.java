@@ -0,0 +1,139 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.modelcounting;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTestHelper;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.transformations.cnf.CNFConfig;
+import org.logicng.transformations.cnf.CNFEncoder;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link ModelCounter}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class ModelCounterTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(this.f);
+  private final ModelCounter counter = new ModelCounter(this.f);
+
+  @Test
+  public void testConstants() {
+    Assert.assertEquals(BigInteger.ONE, this.counter.count(Collections.singletonList(this.f.verum())));
+    Assert.assertEquals(BigInteger.ZERO, this.counter.count(Collections.singletonList(this.f.falsum())));
+    Assert.assertEquals(BigInteger.valueOf(4), this.counter.count(Collections.singletonList(this.f.verum()),
+            Arrays.asList(this.f.variable("a"), this.f.variable("b"))));
+    Assert.assertEquals(BigInteger.ONE, this.counter.count(Collections.<Formula>emptyList()));
+  }
+
+  @Test
+  public void testSimple() throws ParserException {
+    Assert.assertEquals(BigInteger.ONE, this.count("a"));
+    Assert.assertEquals(BigInteger.valueOf(3), this.count("a | b"));
+    Assert.assertEquals(BigInteger.valueOf(2), this.count("a <=> b"));
+    Assert.assertEquals(BigInteger.valueOf(7), this.count("a | b | c"));
+    Assert.assertEquals(BigInteger.valueOf(9), this.count("(a | b) & (c | d)"));
+    Assert.assertEquals(BigInteger.ZERO, this.count("(a | b) & ~a & ~b"));
+    Assert.assertEquals(BigInteger.valueOf(5), this.count("(a => b) & (b => c) & (c => d)"));
+  }
+
+  @Test
+  public void testProjection() throws ParserException {
+    final List<Formula> formulas = Collections.singletonList(this.p.parse("(a | b) & (~a | c) & (~b | d)"));
+    final Variable a = this.f.variable("a");
+    final Variable b = this.f.variable("b");
+    Assert.assertEquals(BigInteger.valueOf(3), this.counter.count(formulas, Arrays.asList(a, b)));
+    Assert.assertEquals(BigInteger.valueOf(2), this.counter.count(formulas, Collections.singletonList(a)));
+    Assert.assertEquals(BigInteger.ONE, this.counter.count(formulas, Collections.<Variable>emptyList()));
+    Assert.assertEquals(BigInteger.valueOf(4), this.counter.count(formulas, Arrays.asList(a, this.f.variable("x"))));
+  }
+
+  @Test
+  public void testLargeCounts() {
+    final List<Formula> formulas = new ArrayList<>();
+    for (int i = 0; i < 100; i++)
+      formulas.add(this.f.or(this.f.variable("a" + i), this.f.variable("b" + i)));
+    Assert.assertEquals(BigInteger.valueOf(3).pow(100), this.counter.count(formulas));
+    final List<Formula> groups = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      final List<Variable> vars = new ArrayList<>();
+      for (int j = 0; j < 10; j++)
+        vars.add(this.f.variable("g" + i + "_" + j));
+      groups.add(this.f.exo(vars));
+    }
+    Assert.assertEquals(BigInteger.TEN.pow(30), this.counter.count(groups));
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[8];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    final List<Variable> projection = Arrays.asList(vars).subList(0, 5);
+    final ModelCounter tseitin = new ModelCounter(this.f, new CNFEncoder(this.f,
+            new CNFConfig.Builder().algorithm(CNFConfig.Algorithm.TSEITIN).atomBoundary(0).build()));
+    final ModelCounter pg = new ModelCounter(this.f, new CNFEncoder(this.f,
+            new CNFConfig.Builder().algorithm(CNFConfig.Algorithm.PLAISTED_GREENBAUM).atomBoundary(0).build()));
+    for (int i = 0; i < 200; i++) {
+      final List<Formula> formulas = Arrays.asList(FormulaTestHelper.randomFormula(this.f, random, vars, 4),
+              FormulaTestHelper.randomFormula(this.f, random, vars, 3));
+      final BigInteger all = BigInteger.valueOf(FormulaTestHelper.models(formulas, vars, Arrays.asList(vars)).size());
+      final BigInteger projected = BigInteger.valueOf(FormulaTestHelper.models(formulas, vars, projection).size());
+      Assert.assertEquals(all, this.counter.count(formulas, Arrays.asList(vars)));
+      Assert.assertEquals(projected, this.counter.count(formulas, projection));
+      Assert.assertEquals(all, tseitin.count(formulas, Arrays.asList(vars)));
+      Assert.assertEquals(projected, tseitin.count(formulas, projection));
+      Assert.assertEquals(projected, pg.count(formulas, projection));
+    }
+  }
+
+  @Test
+  public void testToString() {
+    Assert.assertEquals("ModelCounter", this.counter.toString());
+  }
+
+  private BigInteger count(final String formula) throws ParserException {
+    return this.counter.count(Collections.singletonList(this.p.parse(formula)));
+  }
+}
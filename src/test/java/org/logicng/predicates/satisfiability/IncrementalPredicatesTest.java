@@ -0,0 +1,136 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.predicates.satisfiability;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaPredicate;
+import org.logicng.formulas.FormulaTestHelper;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.sat.PigeonHoleGenerator;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the incremental mode of the satisfiability predicates.
+ * @version 1.1
+ * @since 1.1
+ */
+public class IncrementalPredicatesTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable a = f.variable("a");
+  private final Variable b = f.variable("b");
+  private final Variable x = f.variable("x");
+  private final Variable y = f.variable("y");
+  private final Literal na = f.literal("a", false);
+  private final Literal nb = f.literal("b", false);
+  private final Literal nx = f.literal("x", false);
+  private final Literal ny = f.literal("y", false);
+  private final FormulaPredicate sat = new SATPredicate(f, true);
+  private final FormulaPredicate ctr = new ContradictionPredicate(f, true);
+  private final FormulaPredicate tau = new TautologyPredicate(f, true);
+  private final FormulaPredicate con = new ContingencyPredicate(f, true);
+
+  @Test
+  public void testSimple() {
+    Assert.assertTrue(f.verum().holds(sat, false));
+    Assert.assertFalse(f.falsum().holds(sat, false));
+    Assert.assertTrue(a.holds(con, false));
+    Assert.assertTrue(f.and(a, b).holds(sat, false));
+    Assert.assertFalse(f.and(a, b).holds(tau, false));
+    Assert.assertTrue(f.not(f.or(x, y)).holds(con, false));
+    final Formula taut = f.or(f.and(a, b), f.and(na, b), f.and(a, nb), f.and(na, nb));
+    Assert.assertTrue(taut.holds(tau, false));
+    Assert.assertFalse(taut.holds(con, false));
+    final Formula cont = f.and(f.or(x, y), f.or(nx, y), f.or(x, ny), f.or(nx, ny));
+    Assert.assertFalse(cont.holds(sat, false));
+    Assert.assertTrue(cont.holds(ctr, false));
+    Assert.assertFalse(new PigeonHoleGenerator(f).generate(3).holds(sat, false));
+    Assert.assertTrue(f.implication(cont, a).holds(tau, false));
+    Assert.assertTrue(f.equivalence(cont, f.falsum()).holds(tau, false));
+  }
+
+  @Test
+  public void testPseudoBooleanConstraints() {
+    final Variable[] vars = {f.variable("p1"), f.variable("p2"), f.variable("p3")};
+    final Formula exo = f.exo(vars);
+    Assert.assertTrue(exo.holds(sat, false));
+    Assert.assertTrue(f.and(exo, vars[0], vars[1].negate()).holds(sat, false));
+    Assert.assertFalse(f.and(exo, vars[0], vars[1]).holds(sat, false));
+    Assert.assertTrue(f.implication(f.and(exo, vars[0]), f.cc(CType.LE, 1, vars)).holds(tau, false));
+  }
+
+  @Test
+  public void testSharedSubformulas() {
+    final IncrementalSATEncoding encoding = new IncrementalSATEncoding(f);
+    final Formula shared = f.or(f.and(a, b), f.and(x, y));
+    Assert.assertTrue(encoding.sat(shared));
+    final int definitions = encoding.numberOfDefinitions();
+    Assert.assertEquals(3, definitions);
+    Assert.assertFalse(encoding.sat(f.and(shared, na, nx)));
+    Assert.assertEquals(definitions + 1, encoding.numberOfDefinitions());
+    Assert.assertTrue(encoding.sat(f.not(shared)));
+    Assert.assertEquals(definitions + 2, encoding.numberOfDefinitions());
+    Assert.assertTrue(encoding.sat(shared));
+    Assert.assertEquals(definitions + 2, encoding.numberOfDefinitions());
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final FormulaFactory f = new FormulaFactory();
+    final FormulaPredicate sat = new SATPredicate(f);
+    final FormulaPredicate tau = new TautologyPredicate(f);
+    final FormulaPredicate incSat = new SATPredicate(f, true);
+    final FormulaPredicate incTau = new TautologyPredicate(f, true);
+    final FormulaPredicate incCon = new ContingencyPredicate(f, true);
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[6];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = f.variable("v" + i);
+    for (int i = 0; i < 500; i++) {
+      final Formula formula = FormulaTestHelper.randomFormula(f, random, vars, 5);
+      final boolean isSat = formula.holds(sat, false);
+      final boolean isTaut = formula.holds(tau, false);
+      Assert.assertEquals(isSat, formula.holds(incSat, false));
+      Assert.assertEquals(isTaut, formula.holds(incTau, false));
+      Assert.assertEquals(isSat && !isTaut, formula.holds(incCon, false));
+    }
+  }
+
+  @Test
+  public void testToString() {
+    Assert.assertEquals("SATPredicate", sat.toString());
+    Assert.assertEquals("ContingencyPredicate", con.toString());
+  }
+}
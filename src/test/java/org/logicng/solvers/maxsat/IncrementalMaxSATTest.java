@@ -0,0 +1,178 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.maxsat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.CardinalityEncoding;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.IncrementalStrategy;
+
+/**
+ * Unit tests for the incremental interface of the MaxSAT solvers.
+ * @version 1.1
+ * @since 1.1
+ */
+public class IncrementalMaxSATTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final MaxSATConfig[] configs = new MaxSATConfig[]{
+          new MaxSATConfig.Builder().incremental(IncrementalStrategy.ITERATIVE).cardinality(CardinalityEncoding.TOTALIZER).build(),
+          new MaxSATConfig.Builder().incremental(IncrementalStrategy.ITERATIVE).cardinality(CardinalityEncoding.TOTALIZER)
+                  .solver(MaxSATConfig.SolverType.MINISAT).build()
+  };
+
+  @Test
+  public void testIsIncremental() {
+    Assert.assertTrue(MaxSATSolver.msu3(this.configs[0]).isIncremental());
+    Assert.assertFalse(MaxSATSolver.msu3().isIncremental());
+    Assert.assertFalse(MaxSATSolver.wbo().isIncremental());
+    Assert.assertFalse(MaxSATSolver.incWBO().isIncremental());
+    Assert.assertFalse(MaxSATSolver.linearSU().isIncremental());
+    Assert.assertFalse(MaxSATSolver.linearUS().isIncremental());
+    Assert.assertFalse(MaxSATSolver.wmsu3().isIncremental());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddAfterSolveNotIncremental() {
+    final MaxSATSolver solver = MaxSATSolver.msu3();
+    solver.addSoftFormula(this.f.variable("a"), 1);
+    solver.solve();
+    solver.addHardFormula(this.f.literal("a", false));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAssumptionsNotIncremental() {
+    final MaxSATSolver solver = MaxSATSolver.linearSU();
+    solver.addSoftFormula(this.f.variable("a"), 1);
+    solver.solve(null, Collections.singletonList(this.f.literal("a", false)));
+  }
+
+  @Test
+  public void testSimple() {
+    for (final MaxSATConfig config : this.configs) {
+      final MaxSATSolver solver = MaxSATSolver.msu3(config);
+      solver.addSoftFormula(this.f.variable("a"), 1);
+      solver.addSoftFormula(this.f.variable("b"), 1);
+      solver.addSoftFormula(this.f.variable("c"), 1);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(0, solver.result());
+      solver.addHardFormula(this.f.or(this.f.literal("a", false), this.f.literal("b", false)));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(null, Collections.singletonList(this.f.literal("c", false))));
+      Assert.assertEquals(2, solver.result());
+      Assert.assertTrue(solver.model().negativeLiterals().contains(this.f.literal("c", false)));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+      solver.addSoftFormula(this.f.variable("d"), 1);
+      solver.addHardFormula(this.f.or(this.f.literal("c", false), this.f.literal("d", false)));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(2, solver.result());
+      Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, solver.solve(null, Arrays.asList(this.f.variable("c"), this.f.variable("d"))));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(2, solver.result());
+      solver.addHardFormula(this.f.variable("a"));
+      solver.addHardFormula(this.f.variable("b"));
+      Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, solver.solve());
+    }
+  }
+
+  @Test
+  public void testRandomIncrementalSolving() {
+    final Random random = new Random(42);
+    for (final MaxSATConfig config : this.configs) {
+      for (int instance = 0; instance < 10; instance++) {
+        final MaxSATSolver solver = MaxSATSolver.msu3(config);
+        final List<Formula> hard = new ArrayList<>();
+        final List<Formula> soft = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+          this.addSoft(solver, soft, this.randomClause(random, 2));
+        for (int step = 0; step < 40; step++) {
+          final Formula hardClause = this.randomClause(random, 3);
+          hard.add(hardClause);
+          solver.addHardFormula(hardClause);
+          if (random.nextInt(4) == 0)
+            this.addSoft(solver, soft, this.randomClause(random, 2));
+          final List<Literal> assumptions = new ArrayList<>();
+          if (random.nextInt(3) == 0)
+            for (int i = 0; i < 3; i++)
+              assumptions.add(this.f.literal("v" + random.nextInt(20), random.nextBoolean()));
+          final MaxSAT.MaxSATResult result = assumptions.isEmpty() ? solver.solve() : solver.solve(null, assumptions);
+          final List<Formula> hardWithAssumptions = new ArrayList<>(hard);
+          hardWithAssumptions.addAll(assumptions);
+          final MaxSATSolver reference = MaxSATSolver.linearSU();
+          for (final Formula h : hardWithAssumptions)
+            reference.addHardFormula(h);
+          for (final Formula s : soft)
+            reference.addSoftFormula(s, 1);
+          Assert.assertEquals(reference.solve(), result);
+          if (result == MaxSAT.MaxSATResult.OPTIMUM) {
+            Assert.assertEquals(reference.result(), solver.result());
+            this.checkModel(solver.model(), hardWithAssumptions, soft, solver.result());
+          }
+        }
+      }
+    }
+  }
+
+  private void addSoft(final MaxSATSolver solver, final List<Formula> soft, final Formula clause) {
+    soft.add(clause);
+    solver.addSoftFormula(clause, 1);
+  }
+
+  private Formula randomClause(final Random random, int size) {
+    final List<Literal> literals = new ArrayList<>();
+    for (int i = 0; i < size; i++)
+      literals.add(this.f.literal("v" + random.nextInt(20), random.nextBoolean()));
+    return this.f.or(literals);
+  }
+
+  private void checkModel(final Assignment model, final List<Formula> hard, final List<Formula> soft, int cost) {
+    for (final Formula h : hard)
+      Assert.assertTrue(h.evaluate(model));
+    int unsatisfied = 0;
+    for (final Formula s : soft)
+      if (!s.evaluate(model))
+        unsatisfied++;
+    Assert.assertEquals(cost, unsatisfied);
+  }
+}
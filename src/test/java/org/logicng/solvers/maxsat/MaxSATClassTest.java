@@ -36,6 +36,7 @@ import org.logicng.solvers.maxsat.algorithms.LinearUS;
 import org.logicng.solvers.maxsat.algorithms.MSU3;
 import org.logicng.solvers.maxsat.algorithms.MaxSAT;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+import org.logicng.solvers.maxsat.algorithms.OLL;
 import org.logicng.solvers.maxsat.algorithms.WBO;
 import org.logicng.solvers.maxsat.algorithms.WMSU3;
 
@@ -75,6 +76,8 @@ public class MaxSATClassTest {
     Assert.assertEquals("IncWBO", incWbo.toString());
     MaxSAT msu3 = new MSU3();
     Assert.assertEquals("MSU3", msu3.toString());
+    MaxSAT oll = new OLL();
+    Assert.assertEquals("OLL", oll.toString());
     MaxSAT linearSu = new LinearSU();
     Assert.assertEquals("LinearSU", linearSu.toString());
     MaxSAT linearUs = new LinearUS();
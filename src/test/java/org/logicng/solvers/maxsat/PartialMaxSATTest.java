@@ -106,6 +106,20 @@ public class PartialMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[1];
+    configs[0] = new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "tests/partialmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+    }
+  }
+
   @Test
   public void testLinearSU() throws IOException {
     final MaxSATConfig[] configs = new MaxSATConfig[4];
@@ -174,6 +174,25 @@ public class PureMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[2];
+    configs[0] = new Builder().solver(MaxSATConfig.SolverType.GLUCOSE).verbosity(SOME).output(logStream).build();
+    configs[1] = new Builder().solver(MaxSATConfig.SolverType.MINISAT).verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (final String file : files) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "tests/maxsat/" + file);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(1, solver.result());
+      }
+      final MaxSATSolver solver = MaxSATSolver.oll(config);
+      readCNF(solver, "tests/sat/9symml_gr_rcs_w6.shuffled.cnf");
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(0, solver.result());
+    }
+  }
+
   @Test
   public void testSingle() throws IOException {
     final MaxSATSolver solver = MaxSATSolver.incWBO(new MaxSATConfig.Builder().cardinality(CardinalityEncoding.MTOTALIZER)
@@ -55,6 +55,7 @@ public class ConfigurationsTest {
             .lsInc(1.5)
             .incremental(false)
             .initialPhase(true)
+            .cnfMethod(MiniSatConfig.CNFMethod.PG_ON_SOLVER)
             .build();
     final String expected = "MiniSatConfig{\n" +
             "varDecay=1.2\n" +
@@ -68,6 +69,8 @@ public class ConfigurationsTest {
             "learntsizeInc=1.5\n" +
             "incremental=false\n" +
             "initialPhase=true\n" +
+            "cnfMethod=PG_ON_SOLVER\n" +
+            "unsatCores=false\n" +
             "}\n";
     Assert.assertEquals(expected, config.toString());
   }
@@ -103,6 +106,8 @@ public class ConfigurationsTest {
             "reduceOnSize=true\n" +
             "reduceOnSizeSize=10\n" +
             "maxVarDecay=0.99\n" +
+            "clauseSharing=false\n" +
+            "shareLBD=2\n" +
             "}\n";
     Assert.assertEquals(expected, config.toString());
   }
@@ -0,0 +1,158 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+
+import java.util.List;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * Unit tests for the lookahead cube generator and the cube-and-conquer solver.
+ * @version 1.1
+ * @since 1.1
+ */
+public class CubeAndConquerTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PigeonHoleGenerator pg = new PigeonHoleGenerator(f);
+
+  @Test
+  public void testCubeGeneration() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(new PropositionalParser(f).parse("(a | b) & (c | d) & (~a | ~c)"));
+    final List<LNGIntVector> cubes = new LookaheadCubeGenerator(2, 10).generate(solver.underlyingSolver());
+    Assert.assertTrue(cubes.size() >= 2 && cubes.size() <= 4);
+    for (final LNGIntVector cube : cubes) {
+      Assert.assertTrue(cube.size() >= 2);
+      Assert.assertEquals(TRUE, solver.underlyingSolver().solve(null, cube));
+    }
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertEquals(1, new LookaheadCubeGenerator(0, 10).generate(solver.underlyingSolver()).size());
+  }
+
+  @Test
+  public void testFailedLiterals() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(new PropositionalParser(f).parse("(~a | b) & (~a | ~b) & (a | c | d) & (c | e)"));
+    final int a = solver.underlyingSolver().idxForName("a");
+    final List<LNGIntVector> cubes = new LookaheadCubeGenerator(2, 10).generate(solver.underlyingSolver());
+    Assert.assertFalse(cubes.isEmpty());
+    for (final LNGIntVector cube : cubes) {
+      boolean containsNotA = false;
+      for (int i = 0; i < cube.size(); i++)
+        containsNotA |= cube.get(i) == MiniSatStyleSolver.mkLit(a, true);
+      Assert.assertTrue(containsNotA);
+    }
+  }
+
+  @Test
+  public void testUnsatByPropagation() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(new PropositionalParser(f).parse("(a | b) & (~a | b) & (a | ~b) & (~a | ~b)"));
+    Assert.assertTrue(new LookaheadCubeGenerator(4, 10).generate(solver.underlyingSolver()).isEmpty());
+    final CubeAndConquerSolver cubeAndConquer = new CubeAndConquerSolver(new LookaheadCubeGenerator(4, 10), 2);
+    Assert.assertEquals(FALSE, solver.satCubeAndConquer(null, cubeAndConquer));
+    Assert.assertEquals(0, cubeAndConquer.numberOfCubes());
+  }
+
+  @Test
+  public void testUnsatMarksSolver() {
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(f.and(f.or(a, b), f.or(a.negate(), b), f.or(a, b.negate()), f.or(a.negate(), b.negate())));
+    Assert.assertTrue(solver.underlyingSolver().ok());
+    Assert.assertTrue(new LookaheadCubeGenerator(4, 10).generate(solver.underlyingSolver()).isEmpty());
+    Assert.assertFalse(solver.underlyingSolver().ok());
+    Assert.assertEquals(FALSE, solver.underlyingSolver().solve(null));
+  }
+
+  @Test
+  public void testSat() throws ParserException {
+    final Formula formula = new PropositionalParser(f).parse(
+            "(a | b | c) & (~a | ~b) & (~b | ~c) & (~a | ~c) & (d | e) & (~d | ~e) & (a => d) & (b => e) & (c => x) & (x | y | z)");
+    for (final MiniSat solver : new MiniSat[]{MiniSat.miniSat(f), MiniSat.glucose(f)}) {
+      solver.add(formula);
+      final CubeAndConquerSolver cubeAndConquer = new CubeAndConquerSolver(new LookaheadCubeGenerator(3, 20), 3);
+      Assert.assertEquals(TRUE, solver.satCubeAndConquer(null, cubeAndConquer));
+      Assert.assertTrue(cubeAndConquer.numberOfCubes() > 1);
+      Assert.assertTrue(formula.evaluate(solver.model()));
+    }
+  }
+
+  @Test
+  public void testPigeonHole() {
+    for (final MiniSat solver : new MiniSat[]{MiniSat.miniSat(f), MiniSat.glucose(f)}) {
+      solver.add(pg.generate(7));
+      final CubeAndConquerSolver cubeAndConquer = new CubeAndConquerSolver(new LookaheadCubeGenerator(4, 50), 4);
+      Assert.assertEquals(FALSE, solver.satCubeAndConquer(null, cubeAndConquer));
+      Assert.assertTrue(cubeAndConquer.numberOfCubes() > 1);
+    }
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(pg.generate(7));
+    Assert.assertEquals(FALSE, solver.satCubeAndConquer(null, new CubeAndConquerSolver()));
+  }
+
+  @Test
+  public void testTimeout() {
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(pg.generate(10));
+    Assert.assertEquals(UNDEF, solver.satCubeAndConquer(new TimeoutSATHandler(500), new CubeAndConquerSolver()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMiniCard() {
+    final MiniSat solver = MiniSat.miniCard(f);
+    solver.add(pg.generate(3));
+    solver.satCubeAndConquer(null, new CubeAndConquerSolver());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalDepth() {
+    new LookaheadCubeGenerator(-1, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalParallelism() {
+    new CubeAndConquerSolver(new LookaheadCubeGenerator(), 0);
+  }
+}
@@ -0,0 +1,190 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link DRATCoreTrimmer}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class DRATCoreTrimmerTest {
+
+  @Test
+  public void testPigeonHoleWithIrrelevantClauses() {
+    final List<LNGIntVector> formula = pigeonHole(4);
+    final int numRelevant = formula.size();
+    formula.add(new LNGIntVector(new int[]{101, 102}));
+    formula.add(new LNGIntVector(new int[]{-101, 103}));
+    formula.add(new LNGIntVector(new int[]{-102, -103, 104}));
+    for (final boolean glucose : new boolean[]{false, true}) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final MiniSatStyleSolver solver = glucose ? new GlucoseSyrup() : new MiniSat2Solver();
+      solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+      Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(solver, formula, new LNGIntVector()));
+      final LNGIntVector core = DRATCoreTrimmer.trim(formula, out.toByteArray());
+      Assert.assertEquals(numRelevant, core.size());
+      for (int i = 0; i < core.size(); i++)
+        Assert.assertEquals(i, core.get(i));
+    }
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final Random random = new Random(42);
+    int unsat = 0;
+    while (unsat < 10) {
+      final List<LNGIntVector> formula = new ArrayList<>();
+      for (int i = 0; i < 200; i++)
+        formula.add(new LNGIntVector(new int[]{randomLit(random, 40), randomLit(random, 40), randomLit(random, 40)}));
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final MiniSat2Solver solver = new MiniSat2Solver();
+      solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+      if (solveMiniSatStyle(solver, formula, new LNGIntVector()) != Tristate.FALSE)
+        continue;
+      unsat++;
+      final LNGIntVector core = DRATCoreTrimmer.trim(formula, out.toByteArray());
+      Assert.assertTrue(core.size() < formula.size());
+      final List<LNGIntVector> coreClauses = new ArrayList<>();
+      for (int i = 0; i < core.size(); i++)
+        coreClauses.add(formula.get(core.get(i)));
+      Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(new MiniSat2Solver(), coreClauses, new LNGIntVector()));
+    }
+  }
+
+  @Test
+  public void testCleaneLing() {
+    final List<LNGIntVector> formula = pigeonHole(5);
+    final int numRelevant = formula.size();
+    formula.add(new LNGIntVector(new int[]{101, 102}));
+    formula.add(new LNGIntVector(new int[]{-101, -102}));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final CleaneLingSolver solver = new CleaneLingSolver(new CleaneLingConfig.Builder().build());
+    solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+    for (final LNGIntVector clause : formula) {
+      for (int i = 0; i < clause.size(); i++)
+        solver.addlit(clause.get(i));
+      solver.addlit(0);
+    }
+    Assert.assertEquals(Tristate.FALSE, solver.solve(null));
+    final LNGIntVector core = DRATCoreTrimmer.trim(formula, out.toByteArray());
+    for (int i = 0; i < core.size(); i++)
+      Assert.assertTrue(core.get(i) < numRelevant);
+    final List<LNGIntVector> coreClauses = new ArrayList<>();
+    for (int i = 0; i < core.size(); i++)
+      coreClauses.add(formula.get(core.get(i)));
+    Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(new MiniSat2Solver(), coreClauses, new LNGIntVector()));
+  }
+
+  @Test
+  public void testAssumptions() {
+    final List<LNGIntVector> formula = new ArrayList<>();
+    formula.add(new LNGIntVector(new int[]{5, 6}));
+    formula.add(new LNGIntVector(new int[]{-1, 2}));
+    formula.add(new LNGIntVector(new int[]{-2, 3}));
+    formula.add(new LNGIntVector(new int[]{-3, -4}));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+    final LNGIntVector assumptions = new LNGIntVector(MiniSatStyleSolver.mkLit(4, false),
+            MiniSatStyleSolver.mkLit(0, false), MiniSatStyleSolver.mkLit(3, false));
+    Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(solver, formula, assumptions));
+    Assert.assertEquals("[1, 2, 3]", DRATCoreTrimmer.trim(formula, out.toByteArray()).toString());
+  }
+
+  @Test
+  public void testEmptyOriginalClause() {
+    final List<LNGIntVector> formula = new ArrayList<>();
+    formula.add(new LNGIntVector(new int[]{1, 2}));
+    formula.add(new LNGIntVector());
+    Assert.assertEquals("[1]", DRATCoreTrimmer.trim(formula, new byte[]{'a', 0}).toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoRUPLemma() {
+    final List<LNGIntVector> formula = new ArrayList<>();
+    formula.add(new LNGIntVector(new int[]{1, 2}));
+    formula.add(new LNGIntVector(new int[]{-1, 2}));
+    DRATCoreTrimmer.trim(formula, new byte[]{'a', 2, 0, 'a', 0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoAddition() {
+    DRATCoreTrimmer.trim(new ArrayList<LNGIntVector>(), new byte[]{'d', 2, 0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedProof() {
+    DRATCoreTrimmer.trim(new ArrayList<LNGIntVector>(), new byte[]{'x', 2, 0});
+  }
+
+  private static int randomLit(final Random random, int vars) {
+    return (random.nextInt(vars) + 1) * (random.nextBoolean() ? 1 : -1);
+  }
+
+  private static List<LNGIntVector> pigeonHole(int n) {
+    final List<LNGIntVector> clauses = new ArrayList<>();
+    for (int p = 0; p <= n; p++) {
+      final LNGIntVector clause = new LNGIntVector(n);
+      for (int h = 0; h < n; h++)
+        clause.push(p * n + h + 1);
+      clauses.add(clause);
+    }
+    for (int h = 0; h < n; h++)
+      for (int p = 0; p <= n; p++)
+        for (int q = p + 1; q <= n; q++)
+          clauses.add(new LNGIntVector(new int[]{-(p * n + h + 1), -(q * n + h + 1)}));
+    return clauses;
+  }
+
+  private static Tristate solveMiniSatStyle(final MiniSatStyleSolver solver, final List<LNGIntVector> formula,
+                                            final LNGIntVector assumptions) {
+    for (final LNGIntVector clause : formula) {
+      final LNGIntVector lits = new LNGIntVector(clause.size());
+      for (int i = 0; i < clause.size(); i++) {
+        final int lit = clause.get(i);
+        while (solver.nVars() < Math.abs(lit))
+          solver.newVar(true, true);
+        lits.push(MiniSatStyleSolver.mkLit(Math.abs(lit) - 1, lit < 0));
+      }
+      solver.addClause(lits);
+    }
+    return solver.solve(null, assumptions);
+  }
+}
@@ -0,0 +1,302 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link DRATProofTracer}.  The recorded proofs are checked by a simple forward RUP checker.
+ * @version 1.1
+ * @since 1.1
+ */
+public class DRATProofTracerTest {
+
+  @Test
+  public void testEncoding() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final DRATProofTracer tracer = new DRATProofTracer(Channels.newChannel(out), 16);
+    tracer.addMiniSatClause(new LNGIntVector(new int[]{0, 127}));
+    tracer.deleteMiniSatClause(new MSClause(new LNGIntVector(new int[]{1, 2}), false));
+    tracer.addCleaneLingClause(new LNGIntVector(new int[]{-3, 200}));
+    tracer.addMiniSatClause(new LNGIntVector());
+    tracer.close();
+    final byte[] expected = {'a', 2, (byte) 0x81, 1, 0, 'd', 3, 4, 0, 'a', 7, (byte) 0x90, 3, 0, 'a', 0};
+    Assert.assertArrayEquals(expected, out.toByteArray());
+    Assert.assertEquals(3, tracer.numberOfAdditions());
+    Assert.assertEquals(1, tracer.numberOfDeletions());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalBufferSize() {
+    new DRATProofTracer(Channels.newChannel(new ByteArrayOutputStream()), 8);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testMiniCardUnsupported() {
+    new MiniCard().setProofTracer(new DRATProofTracer(Channels.newChannel(new ByteArrayOutputStream())));
+  }
+
+  @Test
+  public void testMiniSatProofs() {
+    for (final List<int[]> formula : formulas()) {
+      for (final boolean incremental : new boolean[]{true, false}) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final MiniSat2Solver solver = new MiniSat2Solver(new MiniSatConfig.Builder().incremental(incremental).build());
+        solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out), 64));
+        Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(solver, formula, new LNGIntVector()));
+        checkProof(formula, out.toByteArray(), new int[0]);
+      }
+    }
+  }
+
+  @Test
+  public void testGlucoseProofs() {
+    for (final List<int[]> formula : formulas()) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final GlucoseSyrup solver = new GlucoseSyrup(new MiniSatConfig.Builder().incremental(false).build(),
+              new GlucoseConfig.Builder().build());
+      solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+      Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(solver, formula, new LNGIntVector()));
+      checkProof(formula, out.toByteArray(), new int[0]);
+    }
+  }
+
+  @Test
+  public void testCleaneLingProofs() {
+    for (final List<int[]> formula : formulas()) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final CleaneLingSolver solver = new CleaneLingSolver(new CleaneLingConfig.Builder().build());
+      solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+      for (final int[] clause : formula) {
+        for (final int lit : clause)
+          solver.addlit(lit);
+        solver.addlit(0);
+      }
+      Assert.assertEquals(Tristate.FALSE, solver.solve(null));
+      checkProof(formula, out.toByteArray(), new int[0]);
+    }
+  }
+
+  @Test
+  public void testAssumptions() {
+    final List<int[]> formula = Arrays.asList(new int[]{-1, 2}, new int[]{-2, 3}, new int[]{-3, -4}, new int[]{5, 6});
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+    final LNGIntVector assumptions = new LNGIntVector(MiniSatStyleSolver.mkLit(4, false),
+            MiniSatStyleSolver.mkLit(0, false), MiniSatStyleSolver.mkLit(3, false));
+    Assert.assertEquals(Tristate.FALSE, solveMiniSatStyle(solver, formula, assumptions));
+    checkProof(formula, out.toByteArray(), new int[]{-1, -4});
+  }
+
+  @Test
+  public void testSatisfiable() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    solver.setProofTracer(new DRATProofTracer(Channels.newChannel(out)));
+    final List<int[]> formula = Arrays.asList(new int[]{1, 2}, new int[]{-1, 2}, new int[]{1, -2});
+    Assert.assertEquals(Tristate.TRUE, solveMiniSatStyle(solver, formula, new LNGIntVector()));
+    Assert.assertEquals(0, solver.proofTracer().numberOfDeletions());
+    checkProof(formula, out.toByteArray(), null);
+  }
+
+  private static List<List<int[]>> formulas() {
+    final List<List<int[]>> formulas = new ArrayList<>();
+    formulas.add(pigeonHole(4));
+    formulas.add(pigeonHole(5));
+    final Random random = new Random(42);
+    while (formulas.size() < 8)
+      formulas.add(random3Sat(random, 30, 150));
+    final Iterator<List<int[]>> it = formulas.iterator();
+    while (it.hasNext())
+      if (!isUnsat(it.next()))
+        it.remove();
+    Assert.assertTrue(formulas.size() > 4);
+    return formulas;
+  }
+
+  private static List<int[]> pigeonHole(int n) {
+    final List<int[]> clauses = new ArrayList<>();
+    for (int p = 0; p <= n; p++) {
+      final int[] clause = new int[n];
+      for (int h = 0; h < n; h++)
+        clause[h] = p * n + h + 1;
+      clauses.add(clause);
+    }
+    for (int h = 0; h < n; h++)
+      for (int p = 0; p <= n; p++)
+        for (int q = p + 1; q <= n; q++)
+          clauses.add(new int[]{-(p * n + h + 1), -(q * n + h + 1)});
+    return clauses;
+  }
+
+  private static List<int[]> random3Sat(final Random random, int vars, int numClauses) {
+    final List<int[]> clauses = new ArrayList<>();
+    for (int i = 0; i < numClauses; i++) {
+      final int[] clause = new int[3];
+      for (int j = 0; j < 3; j++)
+        clause[j] = (random.nextInt(vars) + 1) * (random.nextBoolean() ? 1 : -1);
+      clauses.add(clause);
+    }
+    return clauses;
+  }
+
+  private static boolean isUnsat(final List<int[]> formula) {
+    return solveMiniSatStyle(new MiniSat2Solver(), formula, new LNGIntVector()) == Tristate.FALSE;
+  }
+
+  private static Tristate solveMiniSatStyle(final MiniSatStyleSolver solver, final List<int[]> formula,
+                                            final LNGIntVector assumptions) {
+    for (final int[] clause : formula) {
+      final LNGIntVector lits = new LNGIntVector(clause.length);
+      for (final int lit : clause) {
+        while (solver.nVars() < Math.abs(lit))
+          solver.newVar(true, true);
+        lits.push(MiniSatStyleSolver.mkLit(Math.abs(lit) - 1, lit < 0));
+      }
+      solver.addClause(lits);
+    }
+    return solver.solve(null, assumptions);
+  }
+
+  /**
+   * Checks a binary DRAT proof: every added clause must be a reverse unit propagation consequence of the current
+   * clauses and every deleted clause must be present.
+   * @param formula    the original clauses
+   * @param proof      the proof
+   * @param lastClause the expected last clause of the proof or {@code null} if it is not checked
+   */
+  private static void checkProof(final List<int[]> formula, final byte[] proof, final int[] lastClause) {
+    final List<int[]> db = new ArrayList<>();
+    int maxVar = 0;
+    for (final int[] clause : formula) {
+      db.add(sorted(clause));
+      for (final int lit : clause)
+        maxVar = Math.max(maxVar, Math.abs(lit));
+    }
+    int[] last = null;
+    int pos = 0;
+    while (pos < proof.length) {
+      final byte type = proof[pos++];
+      Assert.assertTrue(type == 'a' || type == 'd');
+      final List<Integer> lits = new ArrayList<>();
+      int value;
+      do {
+        value = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = proof[pos++];
+          value |= (b & 0x7f) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        if (value != 0)
+          lits.add((value & 1) == 1 ? -(value >> 1) : value >> 1);
+      } while (value != 0);
+      final int[] clause = new int[lits.size()];
+      for (int i = 0; i < clause.length; i++)
+        clause[i] = lits.get(i);
+      if (type == 'a') {
+        Assert.assertTrue("Clause is not RUP: " + Arrays.toString(clause), rup(db, clause, maxVar));
+        db.add(sorted(clause));
+        last = clause;
+      } else {
+        boolean found = false;
+        final int[] sortedClause = sorted(clause);
+        for (int i = 0; i < db.size() && !found; i++)
+          if (Arrays.equals(db.get(i), sortedClause)) {
+            db.remove(i);
+            found = true;
+          }
+        Assert.assertTrue("Deleted clause is unknown: " + Arrays.toString(clause), found);
+      }
+    }
+    if (lastClause != null)
+      Assert.assertArrayEquals(sorted(lastClause), sorted(last));
+  }
+
+  private static int[] sorted(final int[] clause) {
+    final int[] copy = Arrays.copyOf(clause, clause.length);
+    Arrays.sort(copy);
+    int size = 0;
+    for (int i = 0; i < copy.length; i++)
+      if (i == 0 || copy[i] != copy[i - 1])
+        copy[size++] = copy[i];
+    return Arrays.copyOf(copy, size);
+  }
+
+  private static boolean rup(final List<int[]> db, final int[] clause, int maxVar) {
+    final int[] vals = new int[maxVar + 1];
+    for (final int lit : clause) {
+      if (vals[Math.abs(lit)] == (lit > 0 ? 1 : -1))
+        return true;
+      vals[Math.abs(lit)] = lit > 0 ? -1 : 1;
+    }
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (final int[] c : db) {
+        int unassigned = 0;
+        int unit = 0;
+        boolean satisfied = false;
+        for (int i = 0; i < c.length && !satisfied; i++) {
+          final int val = vals[Math.abs(c[i])] * (c[i] > 0 ? 1 : -1);
+          if (val > 0)
+            satisfied = true;
+          else if (val == 0) {
+            unassigned++;
+            unit = c[i];
+          }
+        }
+        if (satisfied)
+          continue;
+        if (unassigned == 0)
+          return true;
+        if (unassigned == 1) {
+          vals[Math.abs(unit)] = unit > 0 ? 1 : -1;
+          changed = true;
+        }
+      }
+    }
+    return false;
+  }
+}
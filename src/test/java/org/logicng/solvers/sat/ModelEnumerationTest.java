@@ -0,0 +1,177 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTestHelper;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.ModelEnumerationHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for the streaming model enumeration of {@link MiniSat}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class ModelEnumerationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{
+            MiniSat.miniSat(this.f, new MiniSatConfig.Builder().incremental(true).build()),
+            MiniSat.miniSat(this.f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.glucose(this.f, new MiniSatConfig.Builder().incremental(false).build(),
+                    new GlucoseConfig.Builder().build()),
+            MiniSat.miniCard(this.f, new MiniSatConfig.Builder().incremental(true).build())
+    };
+  }
+
+  private MiniSat solverFor(final int index, final Formula formula) {
+    final MiniSat solver = this.solvers()[index];
+    solver.add(formula);
+    return solver;
+  }
+
+  @Test
+  public void testCubes() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final List<Variable> vars = Arrays.asList(this.f.variable("a"), this.f.variable("b"), this.f.variable("c"));
+    for (int s = 0; s < 3; s++) {
+      final MiniSat solver = solverFor(s, p.parse("a | b | c"));
+      final List<Assignment> cubes = collect(solver, vars, true);
+      Assert.assertEquals(3, cubes.size());
+      Assert.assertEquals(7, expand(cubes, vars).size());
+    }
+    final MiniSat solver = MiniSat.miniSat(this.f);
+    solver.add(p.parse("a | b | c"));
+    Assert.assertEquals(7, solver.enumerateAllModels(vars).size());
+  }
+
+  @Test
+  public void testStreaming() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MiniSat solver : this.solvers()) {
+      solver.add(p.parse("a | b | c | d"));
+      final int[] calls = new int[1];
+      final int count = solver.enumerateModels(null, new ModelEnumerationHandler() {
+        @Override
+        public boolean foundModel(final Assignment assignment) {
+          return ++calls[0] < 5;
+        }
+      }, false);
+      Assert.assertEquals(5, count);
+      Assert.assertEquals(5, calls[0]);
+    }
+    final MiniSat solver = MiniSat.miniSat(this.f);
+    solver.add(p.parse("a | b | c | d"));
+    Assert.assertEquals(15, solver.enumerateAllModels().size());
+  }
+
+  @Test
+  public void testUnknownAndUnsatisfiable() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MiniSat solver : this.solvers()) {
+      solver.add(p.parse("a & b"));
+      final List<Assignment> models = collect(solver, Arrays.asList(this.f.variable("a"), this.f.variable("x")), true);
+      Assert.assertEquals(1, models.size());
+      Assert.assertEquals(new Assignment(this.f.variable("a")), models.get(0));
+      solver.add(p.parse("~a"));
+      Assert.assertEquals(0, collect(solver, null, true).size());
+    }
+  }
+
+  @Test
+  public void testRandomProjections() {
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[6];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    for (int i = 0; i < 100; i++) {
+      final Formula formula = FormulaTestHelper.randomFormula(this.f, random, vars, 4);
+      final List<Variable> projection = new ArrayList<>();
+      for (int j = 0; j < 4; j++)
+        if (formula.cnf().variables().contains(vars[j]))
+          projection.add(vars[j]);
+      final Set<Assignment> expected = FormulaTestHelper.models(Collections.singletonList(formula), vars, projection);
+      for (int s = 0; s < 4; s++) {
+        Assert.assertEquals(expected, new HashSet<>(collect(solverFor(s, formula), projection, false)));
+        Assert.assertEquals(expected, new HashSet<>(solverFor(s, formula).enumerateAllModels(projection)));
+        final List<Assignment> cubes = collect(solverFor(s, formula), projection, true);
+        final List<Assignment> expanded = expand(cubes, projection);
+        Assert.assertEquals(expected.size(), expanded.size());
+        Assert.assertEquals(expected, new HashSet<>(expanded));
+      }
+    }
+  }
+
+  private static List<Assignment> collect(final MiniSat solver, final List<Variable> vars, final boolean cubes) {
+    final List<Assignment> models = new ArrayList<>();
+    solver.enumerateModels(vars, new ModelEnumerationHandler() {
+      @Override
+      public boolean foundModel(final Assignment assignment) {
+        models.add(assignment);
+        return true;
+      }
+    }, cubes);
+    return models;
+  }
+
+  private static List<Assignment> expand(final List<Assignment> cubes, final List<Variable> vars) {
+    final List<Assignment> result = new ArrayList<>();
+    for (final Assignment cube : cubes) {
+      final List<Variable> free = new ArrayList<>();
+      for (final Variable var : vars)
+        if (!cube.positiveLiterals().contains(var) && !cube.negativeVariables().contains(var))
+          free.add(var);
+      for (int bits = 0; bits < 1 << free.size(); bits++) {
+        final List<Literal> lits = new ArrayList<>(cube.literals());
+        for (int j = 0; j < free.size(); j++)
+          lits.add((bits & (1 << j)) != 0 ? free.get(j) : free.get(j).negate());
+        result.add(new Assignment(lits));
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,211 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.PortfolioSolver;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * Unit tests for the portfolio solver.
+ * @version 1.1
+ * @since 1.1
+ */
+public class PortfolioSolverTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PigeonHoleGenerator pg = new PigeonHoleGenerator(f);
+
+  @Test
+  public void testSatAndUnsat() throws ParserException {
+    final PortfolioSolver solver = PortfolioSolver.defaultPortfolio(f);
+    Assert.assertEquals(4, solver.solvers().size());
+    final Formula formula = new PropositionalParser(f).parse("(a | b) & (~a | c) & (~b | ~c)");
+    solver.add(formula);
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertNotNull(solver.winner());
+    final Assignment model = solver.model();
+    Assert.assertTrue(formula.evaluate(model));
+    solver.add(pg.generate(5));
+    Assert.assertEquals(FALSE, solver.sat());
+    Assert.assertNull(solver.model());
+    solver.reset();
+    Assert.assertNull(solver.winner());
+    solver.add(pg.generate(6));
+    Assert.assertEquals(FALSE, solver.sat());
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    final PortfolioSolver solver = PortfolioSolver.defaultPortfolio(f);
+    solver.add(new PropositionalParser(f).parse("(a => b) & (b => c)"));
+    Assert.assertEquals(FALSE, solver.sat(Arrays.asList(f.literal("a", true), f.literal("c", false))));
+    Assert.assertEquals(TRUE, solver.sat(f.literal("a", true)));
+    Assert.assertTrue(solver.model().literals().contains(f.variable("c")));
+    Assert.assertTrue(solver.winner() instanceof MiniSat);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnsupportedAssumptions() {
+    final PortfolioSolver solver = PortfolioSolver.portfolio(f, CleaneLing.minimalistic(f), CleaneLing.full(f));
+    solver.add(f.variable("a"));
+    solver.sat(f.literal("a", false));
+  }
+
+  @Test
+  public void testStateAndEnumeration() {
+    final PortfolioSolver solver = PortfolioSolver.portfolio(f, MiniSat.miniSat(f), MiniSat.miniCard(f));
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+    solver.add(f.or(vars));
+    final SolverState state = solver.saveState();
+    solver.add(f.literal("a", false));
+    Assert.assertEquals(3, solver.enumerateAllModels(vars).size());
+    solver.loadState(state);
+    Assert.assertEquals(7, solver.enumerateAllModels(vars).size());
+    Assert.assertEquals(TRUE, solver.sat(Collections.singletonList(f.literal("a", false))));
+  }
+
+  @Test
+  public void testEnumerationWithSimplifyingSolver() {
+    final Variable[] vars = new Variable[8];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = f.variable("e" + i);
+    final List<Variable> projection = Arrays.asList(vars[0], vars[1], vars[2]);
+    for (int seed = 0; seed < 200; seed++) {
+      final Random random = new Random(seed);
+      final List<Formula> clauses = new ArrayList<>();
+      for (int i = 0; i < 12; i++)
+        clauses.add(f.or(randomLiteral(random, vars), randomLiteral(random, vars), randomLiteral(random, vars)));
+      final Formula cnf = f.and(clauses);
+      final MiniSat miniSat = MiniSat.miniSat(f);
+      miniSat.add(cnf);
+      final int expected = miniSat.enumerateAllModels(projection).size();
+      final PortfolioSolver defaultPortfolio = PortfolioSolver.defaultPortfolio(f);
+      defaultPortfolio.add(cnf);
+      Assert.assertEquals(expected, defaultPortfolio.enumerateAllModels(projection).size());
+      final PortfolioSolver withFull = PortfolioSolver.portfolio(f, MiniSat.miniSat(f), CleaneLing.full(f));
+      withFull.add(cnf);
+      Assert.assertEquals(expected, withFull.enumerateAllModels(projection).size());
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testOnlyRetiredSolvers() {
+    final PortfolioSolver solver = PortfolioSolver.portfolio(f, CleaneLing.full(f));
+    solver.add(f.or(f.variable("a"), f.variable("b")));
+    Assert.assertEquals(TRUE, solver.sat());
+    solver.add(f.literal("a", false));
+    solver.sat();
+  }
+
+  @Test
+  public void testTimeout() {
+    final PortfolioSolver solver = PortfolioSolver.defaultPortfolio(f);
+    solver.add(pg.generate(10));
+    Assert.assertEquals(UNDEF, solver.sat(new TimeoutSATHandler(500)));
+    Assert.assertNull(solver.winner());
+  }
+
+  @Test
+  public void testGlucosePortfolioWithClauseSharing() throws ParserException {
+    final PortfolioSolver solver = PortfolioSolver.glucosePortfolio(f, 4);
+    Assert.assertEquals(4, solver.solvers().size());
+    solver.add(pg.generate(7));
+    Assert.assertEquals(FALSE, solver.sat());
+    solver.reset();
+    final Formula formula = new PropositionalParser(f).parse("(a | b | c) & (~a | ~b) & (~b | ~c) & (~a | ~c) & (d => a)");
+    solver.add(formula);
+    Assert.assertEquals(TRUE, solver.sat());
+    Assert.assertTrue(formula.evaluate(solver.model()));
+  }
+
+  @Test
+  public void testGlucosePortfolioResetThenSat() {
+    final Formula lastPigeon = f.or(f.variable("v50"), f.variable("v51"), f.variable("v52"), f.variable("v53"),
+            f.variable("v54"), f.variable("v55"), f.variable("v56"));
+    final List<Formula> operands = new ArrayList<>();
+    for (final Formula op : pg.generate(7))
+      if (!op.equals(lastPigeon))
+        operands.add(op);
+    final Formula satisfiable = f.and(operands);
+    for (int i = 0; i < 5; i++) {
+      final PortfolioSolver solver = PortfolioSolver.glucosePortfolio(f, 4);
+      solver.add(pg.generate(7));
+      Assert.assertEquals(FALSE, solver.sat());
+      solver.reset();
+      solver.add(satisfiable);
+      Assert.assertEquals(TRUE, solver.sat());
+      Assert.assertTrue(satisfiable.evaluate(solver.model()));
+    }
+  }
+
+  @Test
+  public void testClauseExchange() {
+    final LearntClauseExchange exchange = new LearntClauseExchange(100);
+    final GlucoseConfig config = new GlucoseConfig.Builder().clauseExchange(exchange).shareLBD(3).build();
+    final MiniSat s1 = MiniSat.glucose(f, new MiniSatConfig.Builder().build(), config);
+    final MiniSat s2 = MiniSat.glucose(f, new MiniSatConfig.Builder().initialPhase(true).build(), config);
+    s1.add(pg.generate(6));
+    s2.add(pg.generate(6));
+    Assert.assertEquals(FALSE, s1.sat());
+    Assert.assertTrue(exchange.numberOfExportedClauses() > 0);
+    Assert.assertEquals(FALSE, s2.sat());
+    Assert.assertEquals(100, exchange.capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyPortfolio() {
+    PortfolioSolver.portfolio(f);
+  }
+
+  private Literal randomLiteral(final Random random, final Variable[] vars) {
+    return f.literal(vars[random.nextInt(vars.length)].name(), random.nextBoolean());
+  }
+}
@@ -0,0 +1,263 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.explanations.unsatcores.UNSATCore;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.propositions.Proposition;
+import org.logicng.propositions.StandardProposition;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the unsatisfiable cores and failed assumptions of {@link MiniSat}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class UnsatCoreTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(this.f);
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{
+            MiniSat.miniSat(this.f, new MiniSatConfig.Builder().unsatCores(true).build()),
+            MiniSat.miniSat(this.f, new MiniSatConfig.Builder().unsatCores(true).incremental(false).build()),
+            MiniSat.miniSat(this.f, new MiniSatConfig.Builder().unsatCores(true).cnfMethod(MiniSatConfig.CNFMethod.PG_ON_SOLVER).build()),
+            MiniSat.glucose(this.f, new MiniSatConfig.Builder().unsatCores(true).incremental(false).build(),
+                    new GlucoseConfig.Builder().build()),
+            MiniSat.miniCard(this.f, new MiniSatConfig.Builder().unsatCores(true).build())
+    };
+  }
+
+  private List<Proposition> propositions(final String... formulas) throws ParserException {
+    final List<Proposition> props = new ArrayList<>();
+    for (final String formula : formulas)
+      props.add(new StandardProposition(formula, this.p.parse(formula)));
+    return props;
+  }
+
+  private boolean isUnsat(final List<Proposition> propositions) {
+    final MiniSat solver = MiniSat.miniSat(this.f);
+    for (final Proposition proposition : propositions)
+      solver.add(proposition);
+    return solver.sat() == Tristate.FALSE;
+  }
+
+  private Literal randomLiteral(final Random random, final Variable[] vars) {
+    final Variable var = vars[random.nextInt(vars.length)];
+    return random.nextBoolean() ? var : var.negate();
+  }
+
+  @Test
+  public void testCore() throws ParserException {
+    final List<Proposition> props = propositions("c | d", "a", "c => e", "a => b", "~e | f", "~b", "f => c");
+    for (final MiniSat solver : solvers()) {
+      for (final Proposition prop : props)
+        solver.add(prop);
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+      final UNSATCore core = solver.unsatCore();
+      Assert.assertFalse(core.isMUS());
+      Assert.assertTrue(isUnsat(core.propositions()));
+      Assert.assertTrue(props.subList(1, 6).containsAll(core.propositions()));
+      Assert.assertTrue(core.propositions().containsAll(Arrays.asList(props.get(1), props.get(3), props.get(5))));
+    }
+  }
+
+  @Test
+  public void testTrimmedCore() throws ParserException {
+    final List<Proposition> props = propositions("a | b", "a => c", "b => c", "~c", "a => d", "d => c", "b", "~b | c");
+    for (final MiniSat solver : solvers()) {
+      for (final Proposition prop : props)
+        solver.add(prop);
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+      final UNSATCore core = solver.unsatCore();
+      final UNSATCore trimmed = solver.unsatCore(true);
+      Assert.assertTrue(isUnsat(trimmed.propositions()));
+      Assert.assertTrue(core.propositions().containsAll(trimmed.propositions()));
+      Assert.assertEquals(core, solver.unsatCore());
+    }
+  }
+
+  @Test
+  public void testTrimmedCoreRandom() {
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[12];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = this.f.variable("v" + i);
+    int unsat = 0;
+    for (int round = 0; round < 50; round++) {
+      final List<Proposition> props = new ArrayList<>();
+      for (int i = 0; i < 70; i++)
+        props.add(new StandardProposition(this.f.or(randomLiteral(random, vars), randomLiteral(random, vars),
+                randomLiteral(random, vars))));
+      for (final MiniSat solver : solvers()) {
+        for (final Proposition prop : props)
+          solver.add(prop);
+        if (solver.sat() == Tristate.TRUE)
+          continue;
+        unsat++;
+        final UNSATCore core = solver.unsatCore();
+        final UNSATCore trimmed = solver.unsatCore(true);
+        Assert.assertTrue(isUnsat(trimmed.propositions()));
+        Assert.assertTrue(core.propositions().containsAll(trimmed.propositions()));
+      }
+    }
+    Assert.assertTrue(unsat > 0);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testTrimmedCoreWithCardinalityConstraint() {
+    final MiniSat solver = MiniSat.miniCard(this.f, new MiniSatConfig.Builder().unsatCores(true).build());
+    final Variable a = this.f.variable("a");
+    final Variable b = this.f.variable("b");
+    solver.add(this.f.cc(CType.LE, 1, a, b));
+    solver.add(new StandardProposition(a));
+    solver.add(new StandardProposition(b));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    solver.unsatCore(true);
+  }
+
+  @Test
+  public void testSatisfiable() throws ParserException {
+    for (final MiniSat solver : solvers()) {
+      for (final Proposition prop : propositions("a | b", "a => c", "~c"))
+        solver.add(prop);
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+      Assert.assertNull(solver.unsatCore());
+      Assert.assertNull(solver.failedAssumptions());
+      Assert.assertTrue(solver.model().positiveLiterals().contains(this.f.variable("b")));
+    }
+  }
+
+  @Test
+  public void testUnsatWithoutPropositions() throws ParserException {
+    for (final MiniSat solver : solvers()) {
+      solver.add(this.p.parse("a & ~a"));
+      for (final Proposition prop : propositions("b", "c"))
+        solver.add(prop);
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+      Assert.assertTrue(solver.unsatCore().propositions().isEmpty());
+    }
+  }
+
+  @Test
+  public void testFailedAssumptions() throws ParserException {
+    final Literal a = this.f.literal("a", true);
+    final Literal notB = this.f.literal("b", false);
+    final Literal c = this.f.literal("c", true);
+    final Literal d = this.f.literal("d", true);
+    for (final MiniSat solver : solvers()) {
+      final List<Proposition> props = propositions("a => b", "c => e", "d => x");
+      for (final Proposition prop : props)
+        solver.add(prop);
+      Assert.assertEquals(Tristate.FALSE, solver.sat(Arrays.asList(c, a, d, notB)));
+      Assert.assertEquals(Arrays.asList(a, notB), solver.failedAssumptions());
+      Assert.assertEquals(props.subList(0, 1), solver.unsatCore().propositions());
+      Assert.assertEquals(Tristate.TRUE, solver.sat(Arrays.asList(a, c)));
+      Assert.assertNull(solver.failedAssumptions());
+      Assert.assertEquals(Tristate.FALSE, solver.sat(Arrays.asList(this.f.literal("x", false), c, d)));
+      Assert.assertEquals(Arrays.asList(this.f.literal("x", false), d), solver.failedAssumptions());
+      Assert.assertEquals(props.subList(2, 3), solver.unsatCore().propositions());
+    }
+  }
+
+  @Test
+  public void testFailedAssumptionsWithoutTracking() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(this.f);
+    solver.add(this.p.parse("a => b"));
+    solver.add(new StandardProposition(this.p.parse("c")));
+    Assert.assertEquals(Tristate.FALSE, solver.sat(Arrays.asList(this.f.literal("a", true), this.f.literal("b", false))));
+    Assert.assertEquals(2, solver.failedAssumptions().size());
+  }
+
+  @Test
+  public void testSaveAndLoadState() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(this.f, new MiniSatConfig.Builder().unsatCores(true).build());
+    final List<Proposition> props = propositions("a", "a => b", "~b", "~a");
+    solver.add(props.get(0));
+    solver.add(props.get(1));
+    final SolverState state = solver.saveState();
+    solver.add(props.get(2));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    Assert.assertEquals(props.subList(0, 3), solver.unsatCore().propositions());
+    solver.loadState(state);
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    solver.add(props.get(3));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    Assert.assertEquals(Arrays.asList(props.get(0), props.get(3)), solver.unsatCore().propositions());
+  }
+
+  @Test
+  public void testReset() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(this.f, new MiniSatConfig.Builder().unsatCores(true).build());
+    for (final Proposition prop : propositions("a", "~a"))
+      solver.add(prop);
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    solver.reset();
+    solver.add(new StandardProposition(this.p.parse("b")));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertEquals(this.f.variable("b"), solver.model().positiveLiterals().get(0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCoreWithoutTracking() throws ParserException {
+    final MiniSat solver = MiniSat.miniSat(this.f);
+    solver.add(this.p.parse("a & ~a"));
+    solver.sat();
+    solver.unsatCore();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCoreBeforeSolving() {
+    solvers()[0].unsatCore();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCoreOnCleaneLing() throws ParserException {
+    final CleaneLing solver = CleaneLing.minimalistic(this.f);
+    solver.add(this.p.parse("a & ~a"));
+    solver.sat();
+    solver.unsatCore();
+  }
+}
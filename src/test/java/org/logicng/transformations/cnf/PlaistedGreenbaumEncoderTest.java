@@ -0,0 +1,224 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations.cnf;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.EncodingResult;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTestHelper;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.io.parsers.PseudoBooleanParser;
+import org.logicng.predicates.CNFPredicate;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.MiniSatConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+/**
+ * Unit Tests for {@link PlaistedGreenbaumEncoder}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class PlaistedGreenbaumEncoderTest {
+
+  private final PlaistedGreenbaumEncoder encoder = new PlaistedGreenbaumEncoder();
+  private final CNFPredicate cnfPredicate = new CNFPredicate();
+
+  @Test
+  public void testConstants() {
+    Assert.assertEquals(F.TRUE, this.encode(F.TRUE));
+    Assert.assertEquals(F.FALSE, this.encode(F.FALSE));
+    Assert.assertEquals(F.FALSE, this.encode(F.f.not(F.TRUE)));
+  }
+
+  @Test
+  public void testLiterals() {
+    Assert.assertEquals(F.A, this.encode(F.A));
+    Assert.assertEquals(F.NA, this.encode(F.NA));
+    Assert.assertEquals(F.NA, this.encode(F.f.not(F.A)));
+  }
+
+  @Test
+  public void testClausesWithoutAuxiliaryVariables() {
+    Assert.assertEquals(F.AND1, this.encode(F.AND1));
+    Assert.assertEquals(F.OR1, this.encode(F.OR1));
+    Assert.assertEquals(F.IMP1.cnf(), this.encode(F.IMP1));
+    final Formula cnf = F.f.and(F.OR1, F.OR2, F.f.or(F.NA, F.B));
+    Assert.assertEquals(cnf, this.encode(cnf));
+    Assert.assertEquals(cnf.variables(), this.encode(cnf).variables());
+  }
+
+  @Test
+  public void testFormulas() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(F.f);
+    final List<Formula> formulas = Arrays.asList(F.IMP1, F.IMP2, F.IMP3, F.EQ1, F.EQ2, F.EQ3, F.EQ4, F.NOT1, F.NOT2,
+            p.parse("(a & b & x) | (c & d & ~y)"),
+            p.parse("(a & b & x) | (c & d & ~y) | (~z | (c & d & ~y))"),
+            p.parse("~(~a | b)"),
+            p.parse("~((a | b) | ~(x | y))"),
+            p.parse("~(a & b | ~a & ~b)"),
+            p.parse("~(~(a | b) & ~(x | y) | (a | b) & (x | y))"),
+            p.parse("~(a & b) & (c | (a & b))"),
+            p.parse("~(~(a | b) => ~(x | y))"),
+            p.parse("~(~(a | b) <=> ~(x | y))"),
+            p.parse("d & ((a | b) => c) | ~x & ~y"),
+            p.parse("(a <=> (b => (c <=> ~d))) | (x & (y | ~(a & b)))"),
+            p.parse("((a => b) => c) <=> ((x <=> y) | ~(a & c))"));
+    for (final Formula formula : formulas) {
+      final Formula encoding = this.encode(formula);
+      Assert.assertTrue(encoding.holds(this.cnfPredicate));
+      Assert.assertTrue(this.equivalentModels(formula, encoding, formula.variables()));
+    }
+  }
+
+  @Test
+  public void testPBC() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PseudoBooleanParser p = new PseudoBooleanParser(f);
+    final Formula f1 = p.parse("a + b + c <= 1");
+    final Formula f2 = p.parse("~(a + b + c <= 1)");
+    final Formula f3 = p.parse("d | (2 * a + b + c >= 3)");
+    for (final Formula formula : Arrays.asList(f1, f2, f3)) {
+      final Formula encoding = this.encode(formula);
+      Assert.assertTrue(encoding.holds(this.cnfPredicate));
+      Assert.assertTrue(this.equivalentModels(formula, encoding, formula.variables()));
+    }
+  }
+
+  @Test
+  public void testPBCPolarities() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable x = f.variable("x");
+    final Variable[] as = new Variable[6];
+    for (int i = 0; i < as.length; i++)
+      as[i] = f.variable("a" + i);
+    final PBConstraint cc = f.cc(CType.LE, 2, as);
+    final MiniSatConfig config = new MiniSatConfig.Builder().cnfMethod(MiniSatConfig.CNFMethod.PG_ON_SOLVER).build();
+    final List<Formula> negativeOperands = new ArrayList<>();
+    negativeOperands.add(f.or(x, f.not(cc)));
+    negativeOperands.add(x.negate());
+    for (final Variable a : as)
+      negativeOperands.add(a.negate());
+    final SATSolver negativeSolver = MiniSat.miniSat(f, config);
+    negativeSolver.add(f.and(negativeOperands));
+    Assert.assertEquals(Tristate.FALSE, negativeSolver.sat());
+    final Formula equivalence = f.equivalence(x, cc);
+    final SATSolver bothSolver = MiniSat.miniSat(f, config);
+    bothSolver.add(equivalence);
+    final Variable[] vars = Arrays.copyOf(as, as.length + 1);
+    vars[as.length] = x;
+    for (final Assignment assignment : FormulaTestHelper.assignments(vars)) {
+      final boolean expected = equivalence.evaluate(assignment);
+      Assert.assertEquals(expected ? Tristate.TRUE : Tristate.FALSE, bothSolver.sat(assignment.literals()));
+    }
+  }
+
+  @Test
+  public void testSharedSubformulas() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(F.f);
+    final Formula formula = p.parse("((a & b) | x) & ((a & b) | y) & ((a & b) | z)");
+    final Formula encoding = this.encode(formula);
+    Assert.assertEquals(formula.variables().size() + 1, encoding.variables().size());
+    Assert.assertTrue(this.equivalentModels(formula, encoding, formula.variables()));
+  }
+
+  @Test
+  public void testSolver() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSatConfig config = new MiniSatConfig.Builder().cnfMethod(MiniSatConfig.CNFMethod.PG_ON_SOLVER).build();
+    final Formula formula = p.parse("(a <=> (b => (c <=> ~d))) | (x & (y | ~(a & b)))");
+    final Formula negation = f.not(formula);
+    for (final SATSolver solver : Arrays.asList(MiniSat.miniSat(f, config), MiniSat.glucose(f, config,
+            new GlucoseConfig.Builder().build()), MiniSat.miniCard(f, config))) {
+      solver.add(formula);
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+      Assert.assertTrue(formula.evaluate(solver.model(formula.variables())));
+      Assert.assertEquals(modelsOf(formula, formula.variables()), new HashSet<>(solver.enumerateAllModels(formula.variables())));
+      solver.add(negation);
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+    }
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(42);
+    final Variable[] vars = new Variable[6];
+    for (int i = 0; i < vars.length; i++)
+      vars[i] = f.variable("v" + i);
+    final MiniSatConfig config = new MiniSatConfig.Builder().cnfMethod(MiniSatConfig.CNFMethod.PG_ON_SOLVER).build();
+    for (int i = 0; i < 200; i++) {
+      final Formula formula = FormulaTestHelper.randomFormula(f, random, vars, 5);
+      final SATSolver pgSolver = MiniSat.miniSat(f, config);
+      pgSolver.add(formula);
+      for (final Assignment assignment : FormulaTestHelper.assignments(vars)) {
+        final boolean expected = formula.evaluate(assignment);
+        Assert.assertEquals(expected ? Tristate.TRUE : Tristate.FALSE, pgSolver.sat(assignment.literals()));
+      }
+    }
+  }
+
+  @Test
+  public void testToString() {
+    Assert.assertEquals("PlaistedGreenbaumEncoder", this.encoder.toString());
+  }
+
+  private Formula encode(final Formula formula) {
+    final EncodingResult result = EncodingResult.resultForFormula(formula.factory());
+    this.encoder.encode(formula, result);
+    return formula.factory().and(result.result());
+  }
+
+  private boolean equivalentModels(final Formula f1, final Formula f2, final SortedSet<Variable> vars) {
+    return modelsOf(f1, vars).equals(modelsOf(f2, vars));
+  }
+
+  private static HashSet<Assignment> modelsOf(final Formula formula, final SortedSet<Variable> vars) {
+    final SATSolver s = MiniSat.miniSat(formula.factory());
+    s.add(formula);
+    return new HashSet<>(s.enumerateAllModels(vars));
+  }
+}
@@ -0,0 +1,175 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.transformations.qe;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.predicates.CNFPredicate;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for {@link ResolutionQuantifierElimination}.
+ * @version 1.1
+ * @since 1.1
+ */
+public class ResolutionQuantifierEliminationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(f);
+  private final ResolutionQuantifierElimination ex1 = new ResolutionQuantifierElimination();
+  private final ResolutionQuantifierElimination ex2 = new ResolutionQuantifierElimination(f.variable("x"));
+  private final ResolutionQuantifierElimination ex3 = new ResolutionQuantifierElimination(Arrays.asList(f.variable("x"), f.variable("y")));
+
+  @Test
+  public void testConstants() {
+    Assert.assertEquals(f.verum(), f.verum().transform(ex1));
+    Assert.assertEquals(f.verum(), f.verum().transform(ex2));
+    Assert.assertEquals(f.falsum(), f.falsum().transform(ex1));
+    Assert.assertEquals(f.falsum(), f.falsum().transform(ex3));
+  }
+
+  @Test
+  public void testLiterals() {
+    final Formula x = f.variable("x");
+    final Formula y = f.literal("y", false);
+    Assert.assertEquals(x, x.transform(ex1));
+    Assert.assertEquals(f.verum(), x.transform(ex2));
+    Assert.assertEquals(y, y.transform(ex2));
+    Assert.assertEquals(f.verum(), y.transform(ex3));
+  }
+
+  @Test
+  public void testFormulas() throws ParserException {
+    final Formula f1 = p.parse("a & (b | ~c)");
+    final Formula f2 = p.parse("x & (b | ~c)");
+    final Formula f3 = p.parse("x & (x | ~y)");
+    final Formula f4 = p.parse("(x | a) & (~x | b) & (y | c) & (~y | ~c)");
+    Assert.assertEquals(f1, f1.transform(ex2));
+    Assert.assertEquals(p.parse("b | ~c"), f2.transform(ex2));
+    Assert.assertEquals(f.verum(), f3.transform(ex3));
+    Assert.assertEquals(p.parse("a | b"), f4.transform(ex3));
+    Assert.assertEquals(f.falsum(), p.parse("(x | y) & (x | ~y) & (~x | a) & (~x | ~a)").transform(ex3));
+    Assert.assertEquals(f.falsum(), p.parse("(x | y) & (x | ~y) & ~x").transform(ex3));
+  }
+
+  @Test
+  public void testAgainstShannonExpansion() throws ParserException {
+    final List<Formula> formulas = Arrays.asList(
+            p.parse("(x => a) & (y <=> (b | x)) & (c | ~y)"),
+            p.parse("(x <=> y) | (a & ~x) | (b <=> (c & y))"),
+            p.parse("~(x & a) <=> (y | b) & ~(c => x)"),
+            p.parse("(a | x | y) & (~a | ~x) & (b | ~y) & (~b | c | x)"));
+    final ExistentialQuantifierElimination shannon = new ExistentialQuantifierElimination(f.variable("x"), f.variable("y"));
+    for (final Formula formula : formulas) {
+      final Formula result = formula.transform(ex3);
+      Assert.assertTrue(result.holds(new CNFPredicate()));
+      Assert.assertFalse(result.variables().contains(f.variable("x")));
+      Assert.assertFalse(result.variables().contains(f.variable("y")));
+      final SATSolver solver = MiniSat.miniSat(f);
+      solver.add(f.not(f.equivalence(result, formula.transform(shannon))));
+      Assert.assertEquals(Tristate.FALSE, solver.sat());
+    }
+  }
+
+  @Test
+  public void testManyAuxiliaryVariables() {
+    final int n = 300;
+    final List<Formula> definitions = new ArrayList<>();
+    final List<Variable> aux = new ArrayList<>();
+    final List<Variable> inputs = new ArrayList<>();
+    Variable previous = f.variable("i0");
+    inputs.add(previous);
+    for (int i = 1; i < n; i++) {
+      final Variable input = f.variable("i" + i);
+      final Variable out = f.variable("t" + i);
+      inputs.add(input);
+      aux.add(out);
+      definitions.add(f.equivalence(out, i % 2 == 0 ? f.or(previous, input) : f.and(previous, f.not(input))));
+      previous = out;
+    }
+    final Variable result = f.variable("r");
+    definitions.add(f.equivalence(result, previous));
+    final Formula formula = f.and(definitions);
+    final Formula projected = formula.transform(new ResolutionQuantifierElimination(aux));
+    Assert.assertTrue(projected.holds(new CNFPredicate()));
+    final SortedSet<Variable> expectedVars = new TreeSet<>(inputs);
+    expectedVars.add(result);
+    Assert.assertTrue(expectedVars.containsAll(projected.variables()));
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(formula);
+    final Random random = new Random(42);
+    for (int k = 0; k < 50; k++) {
+      final List<Literal> assignment = randomAssignment(random, expectedVars);
+      Assert.assertEquals(solver.sat(assignment) == Tristate.TRUE, projected.evaluate(new Assignment(assignment)));
+    }
+  }
+
+  @Test
+  public void testAuxiliaryVariablesOfTheCNFAreEliminated() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula formula = p.parse("(a & b & c & d) | (e & f & g & h) | (i & j & k & l) | (m & n & o & x)");
+    final Formula result = formula.transform(new ResolutionQuantifierElimination(f.variable("x")));
+    final SortedSet<Variable> expected = new TreeSet<>(formula.variables());
+    expected.remove(f.variable("x"));
+    Assert.assertEquals(expected, result.variables());
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(f.not(f.equivalence(result, p.parse("(a & b & c & d) | (e & f & g & h) | (i & j & k & l) | (m & n & o)"))));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+  }
+
+  @Test
+  public void testToString() {
+    Assert.assertEquals("ResolutionQuantifierElimination", ex1.toString());
+  }
+
+  private List<Literal> randomAssignment(final Random random, final Collection<Variable> variables) {
+    final List<Literal> literals = new ArrayList<>();
+    for (final Variable var : variables)
+      literals.add(random.nextBoolean() ? var : var.negate());
+    return literals;
+  }
+}